@@ -1,4 +1,4 @@
-import { ExtensionContext, OutputChannel, Uri, window } from 'vscode';
+import { ExtensionContext, OutputChannel, Uri, window, workspace } from 'vscode';
 import { AddressInfo, createServer } from 'net';
 import { launch, Application } from './lib/equinox';
 import { findJavaExecutable } from './lib/utils';
@@ -46,6 +46,9 @@ export function activate(context: ExtensionContext) {
         ],
         progressOnInitialization: true,
         outputChannel: channel,
+        synchronize: {
+            fileEvents: workspace.createFileSystemWatcher('**/src/main/resources/**/*.{story,steps}')
+        }
     };
 
     client = new LanguageClient("Client", () => launchServer(context, debugChannel), clientOptions);
@@ -0,0 +1,164 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.document.TextDocumentEditor;
+import org.vividus.studio.plugin.document.TextDocumentEventListener;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.service.CompletionItemService;
+import org.vividus.studio.plugin.service.RecentlyUsedSteps;
+import org.vividus.studio.plugin.service.SemanticTokensService;
+import org.vividus.studio.plugin.service.StepDefinitionResolver;
+import org.vividus.studio.plugin.service.StepDocumentationService;
+import org.vividus.studio.plugin.service.StepUsageIndex;
+
+/**
+ * Wires the language server services the same way the server module does and opens a generated story and a
+ * generated composite steps file, the document events are dispatched to the listeners in the server order.
+ */
+public final class BenchmarkWorkspace
+{
+    public static final String STORY = "file:///benchmarks/synthetic.story";
+    public static final String COMPOSITE_STEPS = "file:///benchmarks/synthetic.steps";
+
+    private static final long SEED = 20_200_101L;
+
+    private final TextDocumentEditor textDocumentEditor = new TextDocumentEditor();
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final SemanticTokensService semanticTokensService;
+    private final CompletionItemService completionItemService;
+    private final List<TextDocumentEventListener> listeners;
+    private final List<StepDefinition> stepDefinitions;
+
+    public BenchmarkWorkspace(int stepDefinitionCount, int lineCount)
+    {
+        this.stepDefinitions = new StepDefinitionGenerator(SEED).generate(stepDefinitionCount);
+        VividusStudioSettings settings = new VividusStudioSettings();
+        this.stepDefinitionResolver = new StepDefinitionResolver(textDocumentEditor, null, null);
+        this.stepDefinitionResolver.refresh(stepDefinitions);
+        this.semanticTokensService = new SemanticTokensService(stepDefinitionResolver, textDocumentEditor, settings);
+        this.completionItemService = new CompletionItemService(stepDefinitionResolver,
+                new StepDocumentationService(settings), new VividusStudioEnvronment(), new RecentlyUsedSteps(),
+                settings, new StepUsageIndex());
+        this.listeners = List.of(textDocumentEditor, stepDefinitionResolver, semanticTokensService);
+
+        DocumentGenerator documentGenerator = new DocumentGenerator(stepDefinitions, SEED);
+        open(STORY, "vividus-story", documentGenerator.generateStory(lineCount));
+        open(COMPOSITE_STEPS, "vividus-composite-step", documentGenerator.generateCompositeSteps(lineCount));
+    }
+
+    public static long getSeed()
+    {
+        return SEED;
+    }
+
+    public List<StepDefinition> getStepDefinitions()
+    {
+        return stepDefinitions;
+    }
+
+    public List<String> getTextDocument(String documentIdentifier)
+    {
+        return textDocumentEditor.getTextDocument(documentIdentifier);
+    }
+
+    public StepDefinitionResolver getStepDefinitionResolver()
+    {
+        return stepDefinitionResolver;
+    }
+
+    public SemanticTokensService getSemanticTokensService()
+    {
+        return semanticTokensService;
+    }
+
+    public CompletionItemService getCompletionItemService()
+    {
+        return completionItemService;
+    }
+
+    /**
+     * Replaces the content of the line the way the client does on typing
+     *
+     * @param documentIdentifier The identifier of document
+     * @param line The index of line to replace
+     * @param text The new content of the line
+     */
+    public void replaceLine(String documentIdentifier, int line, String text)
+    {
+        int length = textDocumentEditor.getTextDocument(documentIdentifier).get(line).length();
+        TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent(
+                new Range(new Position(line, 0), new Position(line, length)), text);
+        int version = textDocumentEditor.getVersion(documentIdentifier) + 1;
+        DidChangeTextDocumentParams params = new DidChangeTextDocumentParams(
+                new VersionedTextDocumentIdentifier(documentIdentifier, version), List.of(change));
+        listeners.forEach(listener -> listener.onChange(params));
+    }
+
+    /**
+     * Drops the step resolutions cached for the document, so the next resolution starts from scratch
+     *
+     * @param documentIdentifier The identifier of document
+     */
+    public void resetResolutions(String documentIdentifier)
+    {
+        stepDefinitionResolver.onClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(documentIdentifier)));
+    }
+
+    /**
+     * Finds the first step line of the given type starting from the middle of the document
+     *
+     * @param documentIdentifier The identifier of document
+     * @param prefix The prefix of step line
+     * @return The index of the line
+     */
+    public int findLineFromMiddle(String documentIdentifier, String prefix)
+    {
+        List<String> lines = getTextDocument(documentIdentifier);
+        for (int line = lines.size() / 2; line < lines.size(); line++)
+        {
+            if (lines.get(line).startsWith(prefix))
+            {
+                return line;
+            }
+        }
+        throw new IllegalStateException("No line starting with '" + prefix + "' in the second half of the document");
+    }
+
+    private void open(String documentIdentifier, String languageId, List<String> lines)
+    {
+        DidOpenTextDocumentParams params = new DidOpenTextDocumentParams(
+                new TextDocumentItem(documentIdentifier, languageId, 0, String.join("\n", lines)));
+        listeners.forEach(listener -> listener.onOpen(params));
+    }
+}
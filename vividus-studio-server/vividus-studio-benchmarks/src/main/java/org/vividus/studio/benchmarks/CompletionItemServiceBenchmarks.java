@@ -0,0 +1,74 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.studio.plugin.service.CompletionItemService;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletionItemServiceBenchmarks
+{
+    @Param("5000")
+    private int stepDefinitionCount;
+
+    @Param("10000")
+    private int lineCount;
+
+    @Param({ "When ", "When I click on ", "Then page-" })
+    private String typed;
+
+    private CompletionItemService completionItemService;
+    private Position position;
+
+    @Setup
+    public void setUp()
+    {
+        BenchmarkWorkspace workspace = new BenchmarkWorkspace(stepDefinitionCount, lineCount);
+        completionItemService = workspace.getCompletionItemService();
+        int line = workspace.findLineFromMiddle(BenchmarkWorkspace.STORY, "When ");
+        workspace.replaceLine(BenchmarkWorkspace.STORY, line, typed);
+        position = new Position(line, typed.length());
+    }
+
+    @Benchmark
+    public CompletionList findAllAtPosition()
+    {
+        return completionItemService.findAllAtPosition(BenchmarkWorkspace.STORY, position, false);
+    }
+}
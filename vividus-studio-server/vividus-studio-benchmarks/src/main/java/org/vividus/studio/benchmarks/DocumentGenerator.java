@@ -0,0 +1,125 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.vividus.studio.plugin.model.StepDefinition;
+
+/**
+ * Generates stories and composite steps files made of the steps matching the provided step definitions, the
+ * documents contain the regular story elements, comments, unresolvable steps and multiline table arguments.
+ */
+public final class DocumentGenerator
+{
+    private static final int MIN_STEPS = 8;
+    private static final int MAX_EXTRA_STEPS = 12;
+    private static final int MIN_COMPOSITE_STEPS = 3;
+    private static final int MAX_EXTRA_COMPOSITE_STEPS = 7;
+    private static final int UNRESOLVED_STEP_RATIO = 25;
+    private static final int MULTILINE_ARGUMENT_RATIO = 3;
+    private static final int EXAMPLES_RATIO = 5;
+    private static final int TABLE_ROWS = 4;
+
+    private final List<StepDefinition> stepDefinitions;
+    private final StepDefinitionGenerator stepGenerator;
+    private final Random random;
+
+    public DocumentGenerator(List<StepDefinition> stepDefinitions, long seed)
+    {
+        this.stepDefinitions = stepDefinitions;
+        this.stepGenerator = new StepDefinitionGenerator(seed);
+        this.random = new Random(seed);
+    }
+
+    public List<String> generateStory(int lineCount)
+    {
+        List<String> lines = new ArrayList<>(lineCount + MAX_EXTRA_STEPS * TABLE_ROWS);
+        lines.add("Description: Synthetic story generated for benchmarks");
+        lines.add("");
+        lines.add("Meta:");
+        lines.add("    @feature benchmarks");
+        lines.add("");
+        for (int scenario = 1; lines.size() < lineCount; scenario++)
+        {
+            lines.add("Scenario: Synthetic scenario " + scenario);
+            lines.add("Meta:");
+            lines.add("    @scenario " + scenario);
+            lines.add("!-- Generated scenario " + scenario);
+            appendSteps(lines, MIN_STEPS + random.nextInt(MAX_EXTRA_STEPS));
+            if (scenario % EXAMPLES_RATIO == 0)
+            {
+                lines.add("Examples:");
+                appendTable(lines);
+            }
+            lines.add("");
+        }
+        return List.copyOf(lines.subList(0, lineCount));
+    }
+
+    public List<String> generateCompositeSteps(int lineCount)
+    {
+        List<String> lines = new ArrayList<>(lineCount + MAX_EXTRA_COMPOSITE_STEPS * TABLE_ROWS);
+        for (int composite = 1; lines.size() < lineCount; composite++)
+        {
+            lines.add("Composite: When I run composite step " + composite + " with `$argument`");
+            lines.add("!-- Generated composite step " + composite);
+            appendSteps(lines, MIN_COMPOSITE_STEPS + random.nextInt(MAX_EXTRA_COMPOSITE_STEPS));
+            lines.add("");
+        }
+        return List.copyOf(lines.subList(0, lineCount));
+    }
+
+    private void appendSteps(List<String> lines, int count)
+    {
+        for (int index = 0; index < count; index++)
+        {
+            if (random.nextInt(UNRESOLVED_STEP_RATIO) == 0)
+            {
+                lines.add("When I perform unknown action " + index);
+                continue;
+            }
+            StepDefinition stepDefinition = stepDefinitions.get(random.nextInt(stepDefinitions.size()));
+            String step = stepGenerator.instantiate(stepDefinition);
+            List<String> tokens = stepDefinition.getMatchTokens();
+            if (tokens.get(tokens.size() - 1).isEmpty() && random.nextInt(MULTILINE_ARGUMENT_RATIO) == 0)
+            {
+                String lastToken = tokens.get(tokens.size() - 2);
+                lines.add(step.substring(0, step.lastIndexOf(lastToken) + lastToken.length()));
+                appendTable(lines);
+            }
+            else
+            {
+                lines.add(step);
+            }
+        }
+    }
+
+    private void appendTable(List<String> lines)
+    {
+        lines.add("|city   |region        |alignment|");
+        for (int row = 1; row < TABLE_ROWS; row++)
+        {
+            lines.add("|city-" + row + " |region-" + random.nextInt(TABLE_ROWS) + "      |Imperial |");
+        }
+    }
+}
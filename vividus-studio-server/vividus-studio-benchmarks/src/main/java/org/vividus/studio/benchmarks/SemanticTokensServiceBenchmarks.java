@@ -0,0 +1,117 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.studio.plugin.service.SemanticTokensService;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemanticTokensServiceBenchmarks
+{
+    private static final int VISIBLE_LINES = 60;
+
+    @Param("5000")
+    private int stepDefinitionCount;
+
+    @Param("10000")
+    private int lineCount;
+
+    @Param({ BenchmarkWorkspace.STORY, BenchmarkWorkspace.COMPOSITE_STEPS })
+    private String document;
+
+    private BenchmarkWorkspace workspace;
+    private SemanticTokensService semanticTokensService;
+    private int changedLine;
+    private String changedLineText;
+    private String alternativeLineText;
+    private boolean changed;
+    private String previousResultId;
+    private Range visibleRange;
+
+    @Setup
+    public void setUp()
+    {
+        workspace = new BenchmarkWorkspace(stepDefinitionCount, lineCount);
+        semanticTokensService = workspace.getSemanticTokensService();
+        changedLine = workspace.findLineFromMiddle(document, "When ");
+        changedLineText = workspace.getTextDocument(document).get(changedLine);
+        alternativeLineText = changedLineText.substring(0, changedLineText.length() - 1);
+        visibleRange = new Range(new Position(changedLine, 0), new Position(changedLine + VISIBLE_LINES, 0));
+        previousResultId = semanticTokensService.getFullSemanticTokens(document).getResultId();
+    }
+
+    @Benchmark
+    public List<Integer> encodeDocument()
+    {
+        return semanticTokensService.getSemanticTokens(document);
+    }
+
+    @Benchmark
+    public List<Integer> encodeVisibleRange()
+    {
+        return semanticTokensService.getSemanticTokens(document, visibleRange);
+    }
+
+    @Benchmark
+    public SemanticTokens fullAfterLineChange()
+    {
+        changeLine();
+        return semanticTokensService.getFullSemanticTokens(document);
+    }
+
+    @Benchmark
+    public Either<SemanticTokens, SemanticTokensDelta> deltaAfterLineChange()
+    {
+        changeLine();
+        Either<SemanticTokens, SemanticTokensDelta> result = semanticTokensService
+                .getSemanticTokensDelta(document, previousResultId);
+        previousResultId = result.isLeft() ? result.getLeft().getResultId() : result.getRight().getResultId();
+        return result;
+    }
+
+    private void changeLine()
+    {
+        changed = !changed;
+        workspace.replaceLine(document, changedLine, changed ? alternativeLineText : changedLineText);
+    }
+}
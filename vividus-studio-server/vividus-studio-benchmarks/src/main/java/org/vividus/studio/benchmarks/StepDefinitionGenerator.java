@@ -0,0 +1,143 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.vividus.studio.plugin.model.Parameter;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepType;
+
+/**
+ * Generates step definitions shaped like the ones found in VIVIDUS plugins: the steps share a small vocabulary, so
+ * many of them have common head tokens, have up to three parameters quoted with backticks, some of the parameters
+ * have limited number of choices and some steps end with an unbound parameter accepting multiline values.
+ */
+public final class StepDefinitionGenerator
+{
+    private static final String[] VERBS = { "click on", "wait for", "change", "save", "compare", "initialize",
+        "execute", "select", "enter", "validate" };
+    private static final String[] SUBJECTS = { "element", "variable", "request", "response", "table", "cookie",
+        "page", "window", "file", "context" };
+    private static final String[] CONNECTORS = { "located by", "with value", "to", "in scope", "from", "using",
+        "is equal to", "matching" };
+    private static final String[] PARAMETER_NAMES = { "locator", "value", "name", "scopes", "timeout", "expected",
+        "data", "url" };
+    private static final List<String> CHOICES = List.of("true", "false");
+    private static final String DOCUMENTATION = "The step is generated for benchmarking purposes. It performs the"
+            + " action described by the step name against the subject identified by the arguments and fails if the"
+            + " action can not be completed within the configured timeout.";
+
+    private static final int MAX_PARAMETERS = 3;
+    private static final int UNBOUND_TAIL_RATIO = 4;
+    private static final int CHOICE_RATIO = 6;
+    private static final int DEPRECATED_RATIO = 50;
+    private static final int ARGUMENT_BOUND = 1000;
+
+    private final Random random;
+
+    public StepDefinitionGenerator(long seed)
+    {
+        this.random = new Random(seed);
+    }
+
+    public List<StepDefinition> generate(int count)
+    {
+        StepType[] stepTypes = StepType.values();
+        List<StepDefinition> stepDefinitions = new ArrayList<>(count);
+        for (int index = 0; index < count; index++)
+        {
+            stepDefinitions.add(generate(stepTypes[index % stepTypes.length], index));
+        }
+        return stepDefinitions;
+    }
+
+    /**
+     * Creates the step matching the step definition by substituting its parameters with arguments
+     *
+     * @param stepDefinition The step definition
+     * @return The step
+     */
+    public String instantiate(StepDefinition stepDefinition)
+    {
+        List<String> tokens = stepDefinition.getMatchTokens();
+        List<Parameter> parameters = stepDefinition.getParameters();
+        StringBuilder step = new StringBuilder(tokens.get(0));
+        for (int index = 0; index < parameters.size(); index++)
+        {
+            List<String> values = parameters.get(index).getValues();
+            step.append(values.isEmpty() ? "value-" + random.nextInt(ARGUMENT_BOUND)
+                    : values.get(random.nextInt(values.size())));
+            step.append(tokens.get(index + 1));
+        }
+        return step.toString();
+    }
+
+    private StepDefinition generate(StepType stepType, int index)
+    {
+        String subject = pick(SUBJECTS);
+        StringBuilder step = new StringBuilder(stepType.getType()).append(' ');
+        if (stepType != StepType.THEN)
+        {
+            step.append("I ").append(pick(VERBS)).append(' ');
+        }
+        step.append(subject).append('-').append(index);
+
+        int parameterCount = random.nextInt(MAX_PARAMETERS + 1);
+        boolean unboundTail = parameterCount > 0 && random.nextInt(UNBOUND_TAIL_RATIO) == 0;
+        List<Parameter> parameters = new ArrayList<>(parameterCount);
+        List<String> tokens = new ArrayList<>(parameterCount + 1);
+        int tokenStart = 0;
+        for (int parameterIndex = 1; parameterIndex <= parameterCount; parameterIndex++)
+        {
+            boolean quoted = !unboundTail || parameterIndex < parameterCount;
+            step.append(' ').append(pick(CONNECTORS)).append(' ');
+            if (quoted)
+            {
+                step.append('`');
+            }
+            tokens.add(step.substring(tokenStart));
+
+            String name = "$" + PARAMETER_NAMES[(index + parameterIndex) % PARAMETER_NAMES.length];
+            List<String> values = random.nextInt(CHOICE_RATIO) == 0 ? CHOICES : List.of();
+            parameters.add(new Parameter(parameterIndex, name, step.length(), values));
+            step.append(name);
+
+            tokenStart = step.length();
+            if (quoted)
+            {
+                step.append('`');
+            }
+        }
+        tokens.add(step.substring(tokenStart));
+
+        StepDefinition stepDefinition = new StepDefinition("vividus-plugin-" + subject, step.toString(),
+                DOCUMENTATION, parameters, tokens);
+        stepDefinition.setDeprecated(random.nextInt(DEPRECATED_RATIO) == 0);
+        return stepDefinition;
+    }
+
+    private String pick(String[] values)
+    {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,101 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vividus.studio.plugin.service.StepDefinitionResolver;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepDefinitionResolverBenchmarks
+{
+    private static final int VISIBLE_LINES = 60;
+    private static final String UNRESOLVED_STEP = "When I perform action changed on typing";
+
+    @Param("5000")
+    private int stepDefinitionCount;
+
+    @Param("10000")
+    private int lineCount;
+
+    @Param({ BenchmarkWorkspace.STORY, BenchmarkWorkspace.COMPOSITE_STEPS })
+    private String document;
+
+    private BenchmarkWorkspace workspace;
+    private StepDefinitionResolver stepDefinitionResolver;
+    private int changedLine;
+    private String changedLineText;
+    private boolean changed;
+
+    @Setup
+    public void setUp()
+    {
+        workspace = new BenchmarkWorkspace(stepDefinitionCount, lineCount);
+        stepDefinitionResolver = workspace.getStepDefinitionResolver();
+        changedLine = workspace.findLineFromMiddle(document, "When ");
+        changedLineText = workspace.getTextDocument(document).get(changedLine);
+    }
+
+    @Benchmark
+    public void resolveCached(Blackhole blackhole)
+    {
+        stepDefinitionResolver.resolve(document).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void resolveUncached(Blackhole blackhole)
+    {
+        workspace.resetResolutions(document);
+        stepDefinitionResolver.resolve(document).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void resolveVisibleRangeUncached(Blackhole blackhole)
+    {
+        workspace.resetResolutions(document);
+        stepDefinitionResolver.resolve(document, changedLine, changedLine + VISIBLE_LINES)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void resolveAfterLineChange(Blackhole blackhole)
+    {
+        changed = !changed;
+        workspace.replaceLine(document, changedLine, changed ? UNRESOLVED_STEP : changedLineText);
+        stepDefinitionResolver.resolve(document).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,97 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.studio.plugin.match.TokenMatcher;
+import org.vividus.studio.plugin.match.TokenMatcher.MatchOutcome;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenMatcherBenchmarks
+{
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int SAMPLE_MASK = SAMPLE_SIZE - 1;
+
+    @Param("5000")
+    private int stepDefinitionCount;
+
+    private final StepDefinition[] stepDefinitions = new StepDefinition[SAMPLE_SIZE];
+    private final String[] steps = new String[SAMPLE_SIZE];
+    private int cursor;
+
+    @Setup
+    public void setUp()
+    {
+        StepDefinitionGenerator generator = new StepDefinitionGenerator(BenchmarkWorkspace.getSeed());
+        List<StepDefinition> generated = generator.generate(stepDefinitionCount);
+        for (int index = 0; index < SAMPLE_SIZE; index++)
+        {
+            StepDefinition stepDefinition = generated.get(index * generated.size() / SAMPLE_SIZE);
+            stepDefinitions[index] = stepDefinition;
+            steps[index] = generator.instantiate(stepDefinition);
+        }
+    }
+
+    @Benchmark
+    public MatchOutcome matchCompiled()
+    {
+        int index = next();
+        return stepDefinitions[index].getMatcher().match(steps[index]);
+    }
+
+    @Benchmark
+    public MatchOutcome matchCompiledMismatch()
+    {
+        int index = next();
+        return stepDefinitions[(index + 1) & SAMPLE_MASK].getMatcher().match(steps[index]);
+    }
+
+    @Benchmark
+    public MatchOutcome compileAndMatch()
+    {
+        int index = next();
+        return TokenMatcher.match(steps[index], stepDefinitions[index].getMatchTokens());
+    }
+
+    private int next()
+    {
+        cursor = (cursor + 1) & SAMPLE_MASK;
+        return cursor;
+    }
+}
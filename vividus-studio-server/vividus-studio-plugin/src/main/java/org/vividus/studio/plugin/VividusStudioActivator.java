@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,16 +32,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.studio.plugin.configuration.VividusStudioModule;
 import org.vividus.studio.plugin.server.SocketListener;
+import org.vividus.studio.plugin.validator.StepValidationApplication;
 
 public class VividusStudioActivator implements BundleActivator
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(VividusStudioActivator.class);
+    private static final String APPLICATION_PROPERTY = "eclipse.application";
 
     @Override
     public void start(BundleContext context) throws Exception
     {
         logBundleStage("Start", context);
 
+        if (StepValidationApplication.ID.equals(context.getProperty(APPLICATION_PROPERTY)))
+        {
+            LOGGER.info("Language server is not started for application {}", StepValidationApplication.ID);
+            return;
+        }
+
         String host = getPropertySafely("host", context);
         String port = getPropertySafely("port", context);
 
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,12 @@
 
 package org.vividus.studio.plugin.command;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface ICommand
 {
-    CompletableFuture<Object> execute();
+    CompletableFuture<Object> execute(List<Object> arguments);
 
     String getName();
 }
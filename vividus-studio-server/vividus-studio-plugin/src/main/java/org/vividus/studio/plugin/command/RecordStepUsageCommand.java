@@ -0,0 +1,68 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.command;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.JsonElement;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.vividus.studio.plugin.service.RecentlyUsedSteps;
+
+/**
+ * Records the step inserted by the completion item, the command is attached to every step completion item and
+ * receives the module and the step of the completion item as arguments
+ */
+@Singleton
+public class RecordStepUsageCommand implements ICommand
+{
+    public static final String NAME = "vividus.recordStepUsage";
+
+    private final RecentlyUsedSteps recentlyUsedSteps;
+
+    @Inject
+    public RecordStepUsageCommand(RecentlyUsedSteps recentlyUsedSteps)
+    {
+        this.recentlyUsedSteps = recentlyUsedSteps;
+    }
+
+    @Override
+    public CompletableFuture<Object> execute(List<Object> arguments)
+    {
+        if (arguments.size() == 2)
+        {
+            recentlyUsedSteps.record(asString(arguments.get(0)), asString(arguments.get(1)));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static String asString(Object argument)
+    {
+        return argument instanceof JsonElement element ? element.getAsString() : String.valueOf(argument);
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+}
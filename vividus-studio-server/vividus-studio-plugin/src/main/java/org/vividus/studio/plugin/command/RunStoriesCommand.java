@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2024 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import static org.apache.commons.lang3.StringUtils.removeEnd;
 import static org.apache.commons.lang3.StringUtils.removeStart;
 import static org.vividus.studio.plugin.util.RuntimeWrapper.wrapMono;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -62,7 +63,7 @@ public class RunStoriesCommand implements ICommand
     }
 
     @Override
-    public CompletableFuture<Object> execute()
+    public CompletableFuture<Object> execute(List<Object> arguments)
     {
         return clientNotificationService.createProgress().thenApplyAsync(token -> wrapMono(() ->
         {
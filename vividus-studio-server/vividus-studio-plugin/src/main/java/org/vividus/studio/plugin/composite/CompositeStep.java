@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,11 +23,13 @@ public class CompositeStep
 {
     private final String name;
     private final String body;
+    private final int line;
 
-    CompositeStep(String name, String body)
+    CompositeStep(String name, String body, int line)
     {
         this.name = name;
         this.body = body;
+        this.line = line;
     }
 
     public String getName()
@@ -39,4 +41,14 @@ public class CompositeStep
     {
         return body;
     }
+
+    /**
+     * Returns the zero-based index of the line declaring the composite step
+     *
+     * @return The line index
+     */
+    public int getLine()
+    {
+        return line;
+    }
 }
@@ -6,6 +6,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import org.vividus.studio.plugin.util.Splitter;
+
 public final class CompositeStepParser
 {
     private static final Pattern COMPOSITE_STEP_TOKENIZER = Pattern
@@ -21,13 +23,18 @@ public final class CompositeStepParser
     {
         List<CompositeStep> compositeSteps = new ArrayList<>();
 
+        int line = 0;
+        int lineCountedTo = 0;
         Matcher compositeStepMatcher = COMPOSITE_STEP_TOKENIZER.matcher(content);
         while (compositeStepMatcher.find())
         {
             String name = compositeStepMatcher.group(COMPOSITE_NAME).strip();
             String body = compositeStepMatcher.group(COMPOSITE_BODY).strip();
 
-            compositeSteps.add(new CompositeStep(name, body));
+            line += Splitter.countLineBreaks(content.subSequence(lineCountedTo, compositeStepMatcher.start()));
+            lineCountedTo = compositeStepMatcher.start();
+
+            compositeSteps.add(new CompositeStep(name, body, line));
         }
 
         return compositeSteps.stream();
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.vividus.studio.plugin.document.TextDocumentEventListener;
 import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.factory.StepDefinitionFactory;
 import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
 import org.vividus.studio.plugin.service.IStepDefinitionsAware;
 import org.vividus.studio.plugin.util.ResourceUtils;
 
@@ -65,10 +66,16 @@ public class CompositeStepsSaveListener implements TextDocumentEventListener
             Path documentPath = ResourceUtils.asFile(documentUri).toPath();
             Path resourcesPath = ResourceUtils.resolveResourcesPath(vividusStudioEnvronment.getProject());
             String location = resourcesPath.relativize(documentPath).toString();
+            String path = documentPath.toAbsolutePath().toString();
 
             List<StepDefinition> composites = CompositeStepParser.parse(document)
-                               .map(cs -> stepDefinitionFactory.createStepDefinition(location, cs.getName(),
-                                       cs.getBody(), true, true))
+                               .map(cs ->
+                               {
+                                   StepDefinition definition = stepDefinitionFactory.createStepDefinition(location,
+                                           cs.getName(), cs.getBody(), true, true);
+                                   definition.setLocation(StepDefinitionLocation.ofFile(path, cs.getLine()));
+                                   return definition;
+                               })
                                .collect(Collectors.toList());
 
             stepDefinitionsAware.refresh(composites);
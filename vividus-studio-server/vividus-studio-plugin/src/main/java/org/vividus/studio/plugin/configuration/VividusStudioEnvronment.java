@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,15 +19,23 @@
 
 package org.vividus.studio.plugin.configuration;
 
+import java.util.Optional;
+
 import com.google.inject.Singleton;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.ClientCapabilities;
+import org.eclipse.lsp4j.CompletionCapabilities;
+import org.eclipse.lsp4j.CompletionItemCapabilities;
+import org.eclipse.lsp4j.CompletionItemResolveSupportCapabilities;
+import org.eclipse.lsp4j.TextDocumentClientCapabilities;
 
 @Singleton
 public class VividusStudioEnvronment
 {
     private IJavaProject javaProject;
+    private ClientCapabilities clientCapabilities = new ClientCapabilities();
 
     public IJavaProject getJavaProject()
     {
@@ -43,4 +51,27 @@ public class VividusStudioEnvronment
     {
         return javaProject.getProject();
     }
+
+    public void setClientCapabilities(ClientCapabilities clientCapabilities)
+    {
+        this.clientCapabilities = clientCapabilities;
+    }
+
+    /**
+     * Checks whether the client is able to resolve the completion item property lazily
+     *
+     * @param property The name of the completion item property, e.g. <code>textEdit</code>
+     * @return <code>true</code> if the property can be set on the completion item resolution
+     */
+    public boolean isCompletionItemPropertyResolvable(String property)
+    {
+        return Optional.ofNullable(clientCapabilities)
+                .map(ClientCapabilities::getTextDocument)
+                .map(TextDocumentClientCapabilities::getCompletion)
+                .map(CompletionCapabilities::getCompletionItem)
+                .map(CompletionItemCapabilities::getResolveSupport)
+                .map(CompletionItemResolveSupportCapabilities::getProperties)
+                .filter(properties -> properties.contains(property))
+                .isPresent();
+    }
 }
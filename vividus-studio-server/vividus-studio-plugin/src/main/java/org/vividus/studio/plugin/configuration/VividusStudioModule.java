@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.vividus.studio.plugin.command.ICommand;
+import org.vividus.studio.plugin.command.RecordStepUsageCommand;
 import org.vividus.studio.plugin.command.RunStoriesCommand;
 import org.vividus.studio.plugin.composite.CompositeStepsSaveListener;
 import org.vividus.studio.plugin.document.TextDocumentEditor;
@@ -48,12 +49,18 @@ import org.vividus.studio.plugin.loader.LocalJavaProjectLoader;
 import org.vividus.studio.plugin.server.SocketListener;
 import org.vividus.studio.plugin.server.VividusStudioLanguageServer;
 import org.vividus.studio.plugin.service.CompletionItemService;
+import org.vividus.studio.plugin.service.DiagnosticsService;
 import org.vividus.studio.plugin.service.ICompletionItemService;
 import org.vividus.studio.plugin.service.IStepDefinitionsAware;
+import org.vividus.studio.plugin.service.SemanticTokensService;
 import org.vividus.studio.plugin.service.StepDefinitionResolver;
 import org.vividus.studio.plugin.service.StepDefinitionsProvider;
+import org.vividus.studio.plugin.service.StepIndexListener;
+import org.vividus.studio.plugin.service.StepReferenceIndex;
+import org.vividus.studio.plugin.service.StepUsageIndex;
 import org.vividus.studio.plugin.service.VividusStudioTextDocumentService;
 import org.vividus.studio.plugin.service.VividusStudioWorkspaceService;
+import org.vividus.studio.plugin.service.WorkspaceStepIndex;
 
 public class VividusStudioModule extends AbstractModule
 {
@@ -76,10 +83,20 @@ public class VividusStudioModule extends AbstractModule
 
         Multibinder<ICommand> commandBuilder = Multibinder.newSetBinder(binder(), ICommand.class);
         commandBuilder.addBinding().to(RunStoriesCommand.class);
+        commandBuilder.addBinding().to(RecordStepUsageCommand.class);
 
         Multibinder<TextDocumentEventListener> listenerBuilder = Multibinder.newSetBinder(binder(),
                 TextDocumentEventListener.class);
         listenerBuilder.addBinding().to(TextDocumentEditor.class);
         listenerBuilder.addBinding().to(CompositeStepsSaveListener.class);
+        listenerBuilder.addBinding().to(StepDefinitionResolver.class);
+        listenerBuilder.addBinding().to(SemanticTokensService.class);
+        listenerBuilder.addBinding().to(WorkspaceStepIndex.class);
+        listenerBuilder.addBinding().to(DiagnosticsService.class);
+
+        Multibinder<StepIndexListener> stepIndexListenerBuilder = Multibinder.newSetBinder(binder(),
+                StepIndexListener.class);
+        stepIndexListenerBuilder.addBinding().to(StepUsageIndex.class);
+        stepIndexListenerBuilder.addBinding().to(StepReferenceIndex.class);
     }
 }
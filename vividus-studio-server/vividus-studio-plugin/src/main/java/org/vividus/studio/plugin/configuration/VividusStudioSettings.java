@@ -0,0 +1,130 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.configuration;
+
+import com.google.inject.Singleton;
+
+import org.vividus.studio.plugin.service.RequestType;
+
+/**
+ * Tuning settings of the language server, every setting can be overridden with the system property passed to the
+ * server JVM, e.g. <code>-Dvividus.studio.executor.completion.threads=2</code>
+ */
+@Singleton
+public class VividusStudioSettings
+{
+    private static final String PREFIX = "vividus.studio.";
+    private static final int DEFAULT_EXECUTOR_THREADS = 1;
+    private static final int DEFAULT_EXECUTOR_QUEUE_CAPACITY = 16;
+    private static final int DEFAULT_SEMANTIC_TOKENS_DEBOUNCE_MILLIS = 150;
+    private static final int DEFAULT_DIAGNOSTICS_DEBOUNCE_MILLIS = 300;
+    private static final int DEFAULT_METRICS_LOG_INTERVAL_SECONDS = 0;
+    private static final int DEFAULT_DOCUMENTATION_CACHE_SIZE = 256;
+    private static final int DEFAULT_COMPLETION_ITEMS_LIMIT = 100;
+
+    public int getExecutorThreads(RequestType requestType)
+    {
+        return getInt("executor." + requestType.getKey() + ".threads", DEFAULT_EXECUTOR_THREADS);
+    }
+
+    public int getExecutorQueueCapacity(RequestType requestType)
+    {
+        return getInt("executor." + requestType.getKey() + ".queue-capacity", DEFAULT_EXECUTOR_QUEUE_CAPACITY);
+    }
+
+    public int getSemanticTokensDebounceMillis()
+    {
+        return getInt("semantic-tokens.debounce-millis", DEFAULT_SEMANTIC_TOKENS_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Returns the delay of recalculation of diagnostics after the last document change, the diagnostics are
+     * recalculated once per burst of changes
+     *
+     * @return The delay in milliseconds
+     */
+    public int getDiagnosticsDebounceMillis()
+    {
+        return getInt("diagnostics.debounce-millis", DEFAULT_DIAGNOSTICS_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Returns the interval of logging the request metrics, the metrics are not logged if the interval is not positive
+     *
+     * @return The interval in seconds
+     */
+    public int getMetricsLogIntervalSeconds()
+    {
+        return getInt("metrics.log-interval-seconds", DEFAULT_METRICS_LOG_INTERVAL_SECONDS);
+    }
+
+    public int getStepScannerThreads()
+    {
+        return getInt("step-scanner.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the number of threads validating the story and composite step files on workspace diagnostics requests
+     *
+     * @return The number of threads
+     */
+    public int getWorkspaceDiagnosticsThreads()
+    {
+        return getInt("workspace-diagnostics.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the maximum number of step documentations and their Markdown renderings kept in memory after they are
+     * loaded for completion items and hovers
+     *
+     * @return The maximum number of cached documentations
+     */
+    public int getDocumentationCacheSize()
+    {
+        return getInt("documentation.cache-size", DEFAULT_DOCUMENTATION_CACHE_SIZE);
+    }
+
+    /**
+     * Returns the maximum number of items in the completion list, the list is marked as incomplete if more steps
+     * match, so the client requests the completion again as the user types
+     *
+     * @return The maximum number of completion items
+     */
+    public int getCompletionItemsLimit()
+    {
+        return getInt("completion.items-limit", DEFAULT_COMPLETION_ITEMS_LIMIT);
+    }
+
+    /**
+     * Returns whether the project dependencies are scanned by reading their class files directly, the Java model is
+     * used to scan the dependency if this setting is disabled or the dependency can't be read
+     *
+     * @return <code>true</code> if the class files are read directly
+     */
+    public boolean isBytecodeStepScannerEnabled()
+    {
+        return Boolean.parseBoolean(System.getProperty(PREFIX + "step-scanner.bytecode", "true"));
+    }
+
+    private static int getInt(String name, int defaultValue)
+    {
+        return Integer.getInteger(PREFIX + name, defaultValue);
+    }
+}
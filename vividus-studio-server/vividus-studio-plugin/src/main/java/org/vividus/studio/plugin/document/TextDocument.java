@@ -0,0 +1,301 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.document;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable snapshot of text document lines backed by a persistent balanced tree (rope of lines). Line lookup and
+ * replacement of a range of lines take logarithmic time and replacement produces a new snapshot sharing the unchanged
+ * parts of the tree with the original one, so snapshots are cheap to create and safe to read from any thread. Each
+ * snapshot carries the LSP version of the document it was taken from.
+ */
+public final class TextDocument extends AbstractList<String>
+{
+    private static final TextDocument EMPTY = new TextDocument(null, 0);
+
+    private final Node root;
+    private final int version;
+
+    private TextDocument(Node root, int version)
+    {
+        this.root = root;
+        this.version = version;
+    }
+
+    public static TextDocument empty()
+    {
+        return EMPTY;
+    }
+
+    public static TextDocument of(List<String> lines)
+    {
+        return lines.isEmpty() ? EMPTY : new TextDocument(build(lines, 0, lines.size()), 0);
+    }
+
+    public int getVersion()
+    {
+        return version;
+    }
+
+    public TextDocument withVersion(int version)
+    {
+        return new TextDocument(root, version);
+    }
+
+    @Override
+    public String get(int index)
+    {
+        if (index < 0 || index >= size())
+        {
+            throw new IndexOutOfBoundsException("Line index " + index + " is out of bounds for document of "
+                    + size() + " lines");
+        }
+        Node node = root;
+        int position = index;
+        while (true)
+        {
+            int leftSize = size(node.left);
+            if (position < leftSize)
+            {
+                node = node.left;
+            }
+            else if (position == leftSize)
+            {
+                return node.line;
+            }
+            else
+            {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<String> iterator()
+    {
+        return new LineIterator(root);
+    }
+
+    /**
+     * Replaces the range of lines with the new lines
+     *
+     * @param fromLine The first line to replace, inclusive
+     * @param toLine The last line to replace, exclusive
+     * @param lines The lines to put instead of the replaced ones
+     * @return The new document snapshot of the same version, the current snapshot is left untouched
+     */
+    public TextDocument replace(int fromLine, int toLine, List<String> lines)
+    {
+        if (fromLine < 0 || toLine > size() || fromLine > toLine)
+        {
+            throw new IndexOutOfBoundsException("Lines range [" + fromLine + ", " + toLine
+                    + ") is out of bounds for document of " + size() + " lines");
+        }
+        Node[] head = split(root, fromLine);
+        Node[] tail = split(head[1], toLine - fromLine);
+        Node middle = lines.isEmpty() ? null : build(lines, 0, lines.size());
+        return new TextDocument(concat(concat(head[0], middle), tail[1]), version);
+    }
+
+    private static Node build(List<String> lines, int from, int to)
+    {
+        if (from >= to)
+        {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node(build(lines, from, middle), lines.get(middle), build(lines, middle + 1, to));
+    }
+
+    /**
+     * Splits the tree into two trees, the first one contains the first <code>count</code> lines and the second one
+     * contains the rest of lines
+     */
+    private static Node[] split(Node node, int count)
+    {
+        if (node == null)
+        {
+            return new Node[2];
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize)
+        {
+            Node[] parts = split(node.left, count);
+            parts[1] = join(parts[1], node.line, node.right);
+            return parts;
+        }
+        Node[] parts = split(node.right, count - leftSize - 1);
+        parts[0] = join(node.left, node.line, parts[0]);
+        return parts;
+    }
+
+    private static Node concat(Node left, Node right)
+    {
+        if (left == null)
+        {
+            return right;
+        }
+        if (right == null)
+        {
+            return left;
+        }
+        Node[] parts = split(left, left.size - 1);
+        return join(parts[0], parts[1].line, right);
+    }
+
+    /**
+     * Joins two balanced trees and the line between them into a balanced tree
+     */
+    private static Node join(Node left, String line, Node right)
+    {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1)
+        {
+            return joinRight(left, line, right);
+        }
+        if (rightHeight > leftHeight + 1)
+        {
+            return joinLeft(left, line, right);
+        }
+        return new Node(left, line, right);
+    }
+
+    private static Node joinRight(Node left, String line, Node right)
+    {
+        if (height(left.right) <= height(right) + 1)
+        {
+            Node joined = new Node(left.right, line, right);
+            if (height(joined) <= height(left.left) + 1)
+            {
+                return new Node(left.left, left.line, joined);
+            }
+            return rotateLeft(new Node(left.left, left.line, rotateRight(joined)));
+        }
+        Node joined = joinRight(left.right, line, right);
+        Node node = new Node(left.left, left.line, joined);
+        return height(joined) <= height(left.left) + 1 ? node : rotateLeft(node);
+    }
+
+    private static Node joinLeft(Node left, String line, Node right)
+    {
+        if (height(right.left) <= height(left) + 1)
+        {
+            Node joined = new Node(left, line, right.left);
+            if (height(joined) <= height(right.right) + 1)
+            {
+                return new Node(joined, right.line, right.right);
+            }
+            return rotateRight(new Node(rotateLeft(joined), right.line, right.right));
+        }
+        Node joined = joinLeft(left, line, right.left);
+        Node node = new Node(joined, right.line, right.right);
+        return height(joined) <= height(right.right) + 1 ? node : rotateRight(node);
+    }
+
+    private static Node rotateLeft(Node node)
+    {
+        Node right = node.right;
+        return new Node(new Node(node.left, node.line, right.left), right.line, right.right);
+    }
+
+    private static Node rotateRight(Node node)
+    {
+        Node left = node.left;
+        return new Node(left.left, left.line, new Node(left.right, node.line, node.right));
+    }
+
+    private static int size(Node node)
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node)
+    {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node
+    {
+        private final Node left;
+        private final String line;
+        private final Node right;
+        private final int size;
+        private final int height;
+
+        private Node(Node left, String line, Node right)
+        {
+            this.left = left;
+            this.line = line;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    private static final class LineIterator implements Iterator<String>
+    {
+        private final Deque<Node> path = new ArrayDeque<>();
+
+        private LineIterator(Node root)
+        {
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public String next()
+        {
+            if (path.isEmpty())
+            {
+                throw new NoSuchElementException();
+            }
+            Node node = path.pop();
+            pushLeft(node.right);
+            return node.line;
+        }
+
+        private void pushLeft(Node node)
+        {
+            for (Node current = node; current != null; current = current.left)
+            {
+                path.push(current);
+            }
+        }
+    }
+}
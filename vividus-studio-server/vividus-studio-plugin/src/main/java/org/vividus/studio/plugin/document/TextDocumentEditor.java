@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,11 +21,9 @@ package org.vividus.studio.plugin.document;
 
 import static org.vividus.studio.plugin.util.Splitter.split;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.inject.Singleton;
 
@@ -34,8 +32,10 @@ import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,35 +43,39 @@ import org.slf4j.LoggerFactory;
 public class TextDocumentEditor implements TextDocumentEventListener, TextDocumentProvider
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(TextDocumentEditor.class);
-    private final Map<String, List<String>> textDocuments = new HashMap<>();
+    private final Map<String, TextDocument> textDocuments = new ConcurrentHashMap<>();
 
     @Override
     public void onOpen(DidOpenTextDocumentParams openEvent)
     {
         TextDocumentItem textDocumentItem = openEvent.getTextDocument();
-        List<String> documentLines = split(textDocumentItem.getText());
-        /**
-         * Add empty line since if we have several empty lines and the end of event text the last one gets trimmed.
-         * Added empty line doesn't affect cases where we do not have ending empty lines.
-         */
-        documentLines.add(StringUtils.EMPTY);
-        textDocuments.put(textDocumentItem.getUri(), documentLines);
+        textDocuments.put(textDocumentItem.getUri(),
+                createDocument(textDocumentItem.getText()).withVersion(textDocumentItem.getVersion()));
     }
 
     @Override
     public void onChange(DidChangeTextDocumentParams changeEvent)
     {
-        String uri = changeEvent.getTextDocument().getUri();
-        List<String> documentLines = textDocuments.get(uri);
-        changeEvent.getContentChanges().forEach(e ->
+        VersionedTextDocumentIdentifier identifier = changeEvent.getTextDocument();
+        textDocuments.computeIfPresent(identifier.getUri(), (uri, document) ->
         {
-            boolean outcome = handleEvent(e, documentLines);
-            if (!outcome)
+            TextDocument current = document;
+            for (TextDocumentContentChangeEvent event : changeEvent.getContentChanges())
             {
-                LOGGER.atError().addArgument(System::lineSeparator)
-                                .addArgument(changeEvent)
-                                .log("Unable to handle change event:{}{}");
+                TextDocument changed = handleEvent(event, current);
+                if (changed == null)
+                {
+                    LOGGER.atError().addArgument(System::lineSeparator)
+                                    .addArgument(changeEvent)
+                                    .log("Unable to handle change event:{}{}");
+                }
+                else
+                {
+                    current = changed;
+                }
             }
+            Integer version = identifier.getVersion();
+            return version == null ? current : current.withVersion(version);
         });
     }
 
@@ -85,88 +89,52 @@ public class TextDocumentEditor implements TextDocumentEventListener, TextDocume
     @Override
     public List<String> getTextDocument(String identifier)
     {
-        List<String> text = textDocuments.get(identifier);
-        return text == null ? List.of() : new ArrayList<>(text);
+        TextDocument text = textDocuments.get(identifier);
+        return text == null ? TextDocument.empty() : text;
     }
 
-    private boolean handleEvent(TextDocumentContentChangeEvent event, List<String> container)
+    @Override
+    public int getVersion(String identifier)
     {
-        String eventText = event.getText();
-
-        Position startPos = event.getRange().getStart();
-        Position endPos = event.getRange().getEnd();
-
-        String startLine = container.get(startPos.getLine());
+        TextDocument text = textDocuments.get(identifier);
+        return text == null ? UNKNOWN_VERSION : text.getVersion();
+    }
 
-        // handle new line insertion
-        if (System.lineSeparator().equals(eventText))
-        {
-            int lineIndex = startPos.getLine();
-            String currentLine = startLine.substring(0, startPos.getCharacter());
-            String nextLine = startLine.substring(startPos.getCharacter());
-            container.set(lineIndex, currentLine);
-            container.add(lineIndex + 1, nextLine);
-            return true;
-        }
+    private static TextDocument createDocument(String text)
+    {
+        List<String> documentLines = split(text);
+        /**
+         * Add empty line since if we have several empty lines and the end of event text the last one gets trimmed.
+         * Added empty line doesn't affect cases where we do not have ending empty lines.
+         */
+        documentLines.add(StringUtils.EMPTY);
+        return TextDocument.of(documentLines);
+    }
 
-        List<String> tokens = split(eventText);
+    private static TextDocument handleEvent(TextDocumentContentChangeEvent event, TextDocument document)
+    {
+        String eventText = event.getText();
+        Range range = event.getRange();
 
-        // handle insertion of text with several lines
-        if (tokens.size() > 1)
+        if (range == null)
         {
-            String endLine = container.get(endPos.getLine());
-
-            String startToken = startLine.substring(0, startPos.getCharacter());
-            String endToken = endLine.substring(endPos.getCharacter());
-
-            List<String> bulk = new ArrayList<>();
-            bulk.add(startToken + tokens.remove(0));
-            bulk.addAll(tokens.subList(0, tokens.size() - 1));
-            bulk.add(tokens.get(tokens.size() - 1) + endToken);
-
-            insertLines(bulk, container, startPos, endPos);
-
-            return true;
+            return createDocument(eventText);
         }
 
-        // handle insertion/removal of characters at the same line
-        if (startPos.getLine() == endPos.getLine())
-        {
-            container.set(startPos.getLine(), positionalConcat(startLine, startPos, endPos, eventText));
-            return true;
-        }
+        Position startPos = range.getStart();
+        Position endPos = range.getEnd();
 
-        // handle removal across multiple lines
-        if (startPos.getLine() < endPos.getLine())
+        if (startPos.getLine() > endPos.getLine())
         {
-            String endLine = container.get(endPos.getLine());
-
-            insertLines(List.of(positionalConcat(startLine, startPos, endLine, endPos, eventText)), container, startPos,
-                    endPos);
-            return true;
+            return null;
         }
 
-        return false;
-    }
-
-    private static void insertLines(List<String> lines, List<String> container, Position startPos, Position endPos)
-    {
-        int lineDiff = endPos.getLine() - startPos.getLine() + 1;
-        int deleteAt = startPos.getLine();
+        String startLine = document.get(startPos.getLine());
+        String endLine = document.get(endPos.getLine());
 
-        IntStream.range(0, lineDiff).forEach(i -> container.remove(deleteAt));
-
-        container.addAll(startPos.getLine(), lines);
-    }
+        String text = startLine.substring(0, startPos.getCharacter()) + eventText
+                + endLine.substring(endPos.getCharacter());
 
-    private static String positionalConcat(String startLine, Position startPos, String endLine, Position endPos,
-            String concatToken)
-    {
-        return startLine.substring(0, startPos.getCharacter()) + concatToken + endLine.substring(endPos.getCharacter());
-    }
-
-    private static String positionalConcat(String line, Position startPos, Position endPos, String concatToken)
-    {
-        return positionalConcat(line, startPos, line, endPos, concatToken);
+        return document.replace(startPos.getLine(), endPos.getLine() + 1, split(text));
     }
 }
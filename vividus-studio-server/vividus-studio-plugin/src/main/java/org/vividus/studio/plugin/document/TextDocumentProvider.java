@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,5 +23,22 @@ import java.util.List;
 
 public interface TextDocumentProvider
 {
+    int UNKNOWN_VERSION = -1;
+
+    /**
+     * Returns the immutable snapshot of the document lines, the snapshot is not affected by subsequent changes of the
+     * document, so it can be safely read from any thread
+     *
+     * @param identifier The identifier of document
+     * @return The document lines or empty list if the document is not open
+     */
     List<String> getTextDocument(String identifier);
+
+    /**
+     * Returns the version of the latest snapshot of the document
+     *
+     * @param identifier The identifier of document
+     * @return The version of document or {@link #UNKNOWN_VERSION} if the document is not open
+     */
+    int getVersion(String identifier);
 }
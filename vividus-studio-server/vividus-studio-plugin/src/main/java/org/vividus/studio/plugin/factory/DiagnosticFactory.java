@@ -0,0 +1,81 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.DiagnosticTag;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.Step;
+import org.vividus.studio.plugin.util.Splitter;
+
+@Singleton
+public class DiagnosticFactory
+{
+    private static final String SOURCE = "vividus";
+
+    /**
+     * Creates diagnostics of the step: the step not fully matching any step definition is reported as an error, the
+     * ambiguous and deprecated steps are reported as warnings, the diagnostics cover the first line of the step
+     *
+     * @param step The step
+     * @param resolved The step definition resolved for the step or <code>null</code> if the step doesn't match any
+     * step definition
+     * @return The diagnostics or empty list if the step is valid
+     */
+    public List<Diagnostic> createDiagnostics(Step step, ResolvedStepDefinition resolved)
+    {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        if (resolved == null || !resolved.isFullyMatched())
+        {
+            diagnostics.add(new Diagnostic(createRange(step), "Step does not match any step definition",
+                    DiagnosticSeverity.Error, SOURCE));
+            return diagnostics;
+        }
+        if (resolved.isAmbiguous())
+        {
+            diagnostics.add(new Diagnostic(createRange(step), "Step matches more than one step definition",
+                    DiagnosticSeverity.Warning, SOURCE));
+        }
+        if (resolved.isDeprecated())
+        {
+            Diagnostic deprecated = new Diagnostic(createRange(step), "Step is deprecated",
+                    DiagnosticSeverity.Warning, SOURCE);
+            deprecated.setTags(List.of(DiagnosticTag.Deprecated));
+            diagnostics.add(deprecated);
+        }
+        return diagnostics;
+    }
+
+    private static Range createRange(Step step)
+    {
+        String value = step.getValue();
+        int lineBreak = Splitter.indexOfLineBreak(value, 0, value.length());
+        int line = step.getLineIndex();
+        return new Range(new Position(line, 0), new Position(line, lineBreak == -1 ? value.length() : lineBreak));
+    }
+}
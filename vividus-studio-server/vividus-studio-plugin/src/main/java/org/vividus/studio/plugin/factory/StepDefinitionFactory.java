@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ package org.vividus.studio.plugin.factory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,6 +50,18 @@ public class StepDefinitionFactory
 
     public StepDefinition createStepDefinition(String module, String stepAsString, String documentation,
             Map<Integer, List<String>> parameterVariants, boolean composite, boolean dynamic)
+    {
+        return createStepDefinition(module, stepAsString, () -> documentation, parameterVariants, composite, dynamic);
+    }
+
+    public StepDefinition createStepDefinition(String module, String stepAsString, Supplier<String> documentation,
+            Map<Integer, List<String>> parameterVariants)
+    {
+        return createStepDefinition(module, stepAsString, documentation, parameterVariants, false, false);
+    }
+
+    public StepDefinition createStepDefinition(String module, String stepAsString, Supplier<String> documentation,
+            Map<Integer, List<String>> parameterVariants, boolean composite, boolean dynamic)
     {
         List<Parameter> parameters = new ArrayList<>();
         Matcher parameterMatcher = PARAMETER_NAME_PATTERN.matcher(stepAsString);
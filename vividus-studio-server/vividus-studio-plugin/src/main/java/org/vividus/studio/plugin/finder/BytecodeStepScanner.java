@@ -0,0 +1,185 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jdt.core.Signature;
+import org.vividus.studio.plugin.composite.CompositeStepParser;
+import org.vividus.studio.plugin.factory.StepDefinitionFactory;
+import org.vividus.studio.plugin.finder.ClassFileReader.ClassInfo;
+import org.vividus.studio.plugin.finder.ClassFileReader.MethodInfo;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
+import org.vividus.studio.plugin.util.ResourceUtils;
+
+/**
+ * Finds step definitions by reading the jar entries directly instead of populating the JDT Java model: the class
+ * files are parsed with {@link ClassFileReader}, the documentation is referenced in the source attachment if it's
+ * available and the variants of enum parameters are resolved from the enums of the same jar first. The versioned
+ * entries of multi-release jars are skipped, so the classes are not scanned twice.
+ */
+final class BytecodeStepScanner
+{
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String VERSIONED_ENTRIES_PREFIX = "META-INF/versions/";
+    private static final String DEPRECATED = "Ljava/lang/Deprecated;";
+    private static final Supplier<String> NO_DOCUMENTATION = () -> StepDefinitionFinder.NO_DOCUMENTATION;
+    private static final Map<String, String> STEP_ANNOTATIONS = Map.of(
+        "Lorg/jbehave/core/annotations/Given;", "Given",
+        "Lorg/jbehave/core/annotations/When;", "When",
+        "Lorg/jbehave/core/annotations/Then;", "Then"
+    );
+
+    private final StepDefinitionFactory stepDefinitionFactory;
+
+    BytecodeStepScanner(StepDefinitionFactory stepDefinitionFactory)
+    {
+        this.stepDefinitionFactory = stepDefinitionFactory;
+    }
+
+    /**
+     * Scans the jar for java and composite step definitions
+     *
+     * @param jar The jar to scan
+     * @param sources The source attachment of the jar used to load the documentation of java steps
+     * @param module The name of the module the step definitions belong to
+     * @param typeValues The function resolving the values of the types declared outside the jar, it accepts the
+     * type signature in the JDT format, e.g. <code>Lcom.acme.Color;</code>
+     * @return The java step definitions followed by the composite step definitions
+     * @throws IOException If the jar or any of its class files can't be read
+     */
+    List<StepDefinition> scan(File jar, Optional<File> sources, String module,
+            Function<String, List<String>> typeValues) throws IOException
+    {
+        List<ClassInfo> stepClasses = new ArrayList<>();
+        Map<String, List<String>> enums = new HashMap<>();
+        List<StepDefinition> compositeSteps = new ArrayList<>();
+        String archive = jar.getAbsolutePath();
+
+        try (ZipFile zipFile = new ZipFile(jar, StandardCharsets.UTF_8))
+        {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements())
+            {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (name.startsWith(VERSIONED_ENTRIES_PREFIX))
+                {
+                    continue;
+                }
+                if (name.endsWith(CLASS_EXTENSION))
+                {
+                    try (InputStream classFile = zipFile.getInputStream(entry))
+                    {
+                        ClassFileReader.read(classFile, STEP_ANNOTATIONS.keySet()).ifPresent(classInfo ->
+                        {
+                            if (classInfo.isEnum())
+                            {
+                                enums.put("L" + classInfo.getName() + ";", classInfo.getConstants());
+                            }
+                            if (!classInfo.getMethods().isEmpty())
+                            {
+                                stepClasses.add(classInfo);
+                            }
+                        });
+                    }
+                }
+                else if (ResourceUtils.isCompositeFile(name))
+                {
+                    try (InputStream compositeFile = zipFile.getInputStream(entry))
+                    {
+                        String content = IOUtils.toString(compositeFile, StandardCharsets.UTF_8);
+                        CompositeStepParser.parse(content).forEach(cs ->
+                        {
+                            StepDefinition definition = stepDefinitionFactory.createStepDefinition(module,
+                                    cs.getName(), cs.getBody(), true, false);
+                            definition.setLocation(StepDefinitionLocation.ofArchiveEntry(archive, name,
+                                    cs.getLine()));
+                            compositeSteps.add(definition);
+                        });
+                    }
+                }
+            }
+        }
+
+        Function<String, List<String>> allTypeValues = type -> Optional.ofNullable(enums.get(type))
+                .orElseGet(() -> typeValues.apply(type));
+        List<StepDefinition> stepDefinitions = createJavaSteps(stepClasses, archive, sources, module,
+                allTypeValues);
+        stepDefinitions.addAll(compositeSteps);
+        return stepDefinitions;
+    }
+
+    private List<StepDefinition> createJavaSteps(List<ClassInfo> stepClasses, String archive, Optional<File> sources,
+            String module, Function<String, List<String>> typeValues)
+    {
+        List<StepDefinition> stepDefinitions = new ArrayList<>();
+        String sourcesPath = sources.map(File::getAbsolutePath).orElse(null);
+        for (ClassInfo stepClass : stepClasses)
+        {
+            for (MethodInfo method : stepClass.getMethods())
+            {
+                getStep(method).ifPresent(step ->
+                {
+                    String value = step.getValue();
+                    String signature = method.getSignature().replace('/', '.');
+                    Supplier<String> documentation = sources
+                            .<Supplier<String>>map(s -> new JavadocReference(s, stepClass.getName(), method.getName(),
+                                    signature, value))
+                            .orElse(NO_DOCUMENTATION);
+                    String[] parameterTypes = Signature.getParameterTypes(signature);
+
+                    StepDefinition definition = stepDefinitionFactory.createStepDefinition(module,
+                            step.getKey() + " " + value, documentation,
+                            StepDefinitionFinder.getParameterVariants(parameterTypes, typeValues));
+                    definition.setDeprecated(method.getAnnotations().containsKey(DEPRECATED));
+                    definition.setLocation(StepDefinitionLocation.ofMethod(archive, sourcesPath, stepClass.getName(),
+                            method.getName(), signature));
+                    stepDefinitions.add(definition);
+                });
+            }
+        }
+        return stepDefinitions;
+    }
+
+    private static Optional<Entry<String, String>> getStep(MethodInfo method)
+    {
+        return method.getAnnotations().entrySet().stream()
+                .filter(a -> STEP_ANNOTATIONS.containsKey(a.getKey()) && a.getValue().isPresent())
+                .map(a -> Map.entry(STEP_ANNOTATIONS.get(a.getKey()), a.getValue().get()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,414 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lightweight reader of the class file format which extracts only the parts needed to find step definitions: the
+ * runtime visible annotations of methods with their string <code>value</code> elements, the method signatures and
+ * the public static fields of enums. Bridge and synthetic methods are skipped, since javac copies the annotations of
+ * the overriding methods to them. Classes which are not enums and don't refer any of the requested annotations are
+ * skipped right after the constant pool is read.
+ */
+final class ClassFileReader
+{
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_BRIDGE = 0x0040;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ACC_ENUM = 0x4000;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final int METHOD_HANDLE_SIZE = 3;
+    private static final int SHORT_ENTRY_SIZE = 2;
+    private static final int INT_ENTRY_SIZE = 4;
+    private static final int LONG_ENTRY_SIZE = 8;
+
+    private static final String SIGNATURE = "Signature";
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String VALUE = "value";
+
+    private ClassFileReader()
+    {
+    }
+
+    /**
+     * Reads the class file
+     *
+     * @param classFile The stream of the class file content
+     * @param annotations The descriptors of the method annotations to look for, e.g.
+     * <code>Lorg/jbehave/core/annotations/Given;</code>
+     * @return The read class or empty optional if the class is neither enum nor refers any of the annotations
+     * @throws IOException If the class file is malformed or can't be read
+     */
+    static Optional<ClassInfo> read(InputStream classFile, Set<String> annotations) throws IOException
+    {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(classFile));
+        if (input.readInt() != MAGIC)
+        {
+            throw new IOException("Not a class file");
+        }
+        input.readUnsignedShort();
+        input.readUnsignedShort();
+
+        ConstantPool pool = ConstantPool.read(input);
+
+        int accessFlags = input.readUnsignedShort();
+        String name = pool.getClassName(input.readUnsignedShort()).replace('/', '.');
+        boolean enumType = (accessFlags & ACC_ENUM) != 0;
+        if (!enumType && !pool.containsAny(annotations))
+        {
+            return Optional.empty();
+        }
+
+        input.readUnsignedShort();
+        skip(input, input.readUnsignedShort() * SHORT_ENTRY_SIZE);
+
+        List<String> constants = new ArrayList<>();
+        int fieldsCount = input.readUnsignedShort();
+        for (int index = 0; index < fieldsCount; index++)
+        {
+            int fieldFlags = input.readUnsignedShort();
+            String fieldName = pool.getUtf8(input.readUnsignedShort());
+            input.readUnsignedShort();
+            skipAttributes(input);
+            if (enumType && Modifier.isPublic(fieldFlags) && Modifier.isStatic(fieldFlags))
+            {
+                constants.add(fieldName);
+            }
+        }
+
+        List<MethodInfo> methods = new ArrayList<>();
+        int methodsCount = input.readUnsignedShort();
+        for (int index = 0; index < methodsCount; index++)
+        {
+            int methodFlags = input.readUnsignedShort();
+            String methodName = pool.getUtf8(input.readUnsignedShort());
+            String signature = pool.getUtf8(input.readUnsignedShort());
+            Map<String, Optional<String>> methodAnnotations = new LinkedHashMap<>();
+            int attributesCount = input.readUnsignedShort();
+            for (int attribute = 0; attribute < attributesCount; attribute++)
+            {
+                String attributeName = pool.getUtf8(input.readUnsignedShort());
+                int length = input.readInt();
+                if (SIGNATURE.equals(attributeName))
+                {
+                    signature = pool.getUtf8(input.readUnsignedShort());
+                }
+                else if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName))
+                {
+                    int annotationsCount = input.readUnsignedShort();
+                    for (int annotation = 0; annotation < annotationsCount; annotation++)
+                    {
+                        String type = pool.getUtf8(input.readUnsignedShort());
+                        methodAnnotations.put(type, readAnnotationValue(input, pool));
+                    }
+                }
+                else
+                {
+                    skip(input, length);
+                }
+            }
+            if (!methodAnnotations.isEmpty() && (methodFlags & (ACC_BRIDGE | ACC_SYNTHETIC)) == 0)
+            {
+                methods.add(new MethodInfo(methodName, signature, methodAnnotations));
+            }
+        }
+
+        return Optional.of(new ClassInfo(name, enumType, constants, methods));
+    }
+
+    private static Optional<String> readAnnotationValue(DataInputStream input, ConstantPool pool) throws IOException
+    {
+        Optional<String> value = Optional.empty();
+        int pairsCount = input.readUnsignedShort();
+        for (int index = 0; index < pairsCount; index++)
+        {
+            String elementName = pool.getUtf8(input.readUnsignedShort());
+            int tag = input.readUnsignedByte();
+            if (VALUE.equals(elementName) && tag == 's')
+            {
+                value = Optional.of(pool.getUtf8(input.readUnsignedShort()));
+            }
+            else
+            {
+                skipElementValue(input, tag);
+            }
+        }
+        return value;
+    }
+
+    private static void skipElementValue(DataInputStream input, int tag) throws IOException
+    {
+        if (tag == 'e')
+        {
+            skip(input, INT_ENTRY_SIZE);
+        }
+        else if (tag == '@')
+        {
+            input.readUnsignedShort();
+            int pairsCount = input.readUnsignedShort();
+            for (int index = 0; index < pairsCount; index++)
+            {
+                input.readUnsignedShort();
+                skipElementValue(input, input.readUnsignedByte());
+            }
+        }
+        else if (tag == '[')
+        {
+            int valuesCount = input.readUnsignedShort();
+            for (int index = 0; index < valuesCount; index++)
+            {
+                skipElementValue(input, input.readUnsignedByte());
+            }
+        }
+        else if ("BCDFIJSZsc".indexOf(tag) >= 0)
+        {
+            skip(input, SHORT_ENTRY_SIZE);
+        }
+        else
+        {
+            throw new IOException("Unknown annotation element value tag: " + tag);
+        }
+    }
+
+    private static void skipAttributes(DataInputStream input) throws IOException
+    {
+        int attributesCount = input.readUnsignedShort();
+        for (int index = 0; index < attributesCount; index++)
+        {
+            input.readUnsignedShort();
+            skip(input, input.readInt());
+        }
+    }
+
+    private static void skip(DataInputStream input, int length) throws IOException
+    {
+        input.skipNBytes(length);
+    }
+
+    private static final class ConstantPool
+    {
+        private final String[] utf8;
+        private final int[] classNames;
+
+        private ConstantPool(int size)
+        {
+            this.utf8 = new String[size];
+            this.classNames = new int[size];
+        }
+
+        private static ConstantPool read(DataInputStream input) throws IOException
+        {
+            int size = input.readUnsignedShort();
+            ConstantPool pool = new ConstantPool(size);
+            for (int index = 1; index < size; index++)
+            {
+                int tag = input.readUnsignedByte();
+                if (tag == CONSTANT_UTF8)
+                {
+                    pool.utf8[index] = input.readUTF();
+                }
+                else if (tag == CONSTANT_CLASS)
+                {
+                    pool.classNames[index] = input.readUnsignedShort();
+                }
+                else if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE)
+                {
+                    skip(input, LONG_ENTRY_SIZE);
+                    index++;
+                }
+                else
+                {
+                    skip(input, getEntrySize(tag));
+                }
+            }
+            return pool;
+        }
+
+        private static int getEntrySize(int tag) throws IOException
+        {
+            if (tag == CONSTANT_STRING || tag == CONSTANT_METHOD_TYPE || tag == CONSTANT_MODULE
+                    || tag == CONSTANT_PACKAGE)
+            {
+                return SHORT_ENTRY_SIZE;
+            }
+            if (tag == CONSTANT_METHOD_HANDLE)
+            {
+                return METHOD_HANDLE_SIZE;
+            }
+            if (tag == CONSTANT_INTEGER || tag == CONSTANT_FLOAT || tag == CONSTANT_FIELDREF
+                    || tag == CONSTANT_METHODREF || tag == CONSTANT_INTERFACE_METHODREF
+                    || tag == CONSTANT_NAME_AND_TYPE || tag == CONSTANT_DYNAMIC || tag == CONSTANT_INVOKE_DYNAMIC)
+            {
+                return INT_ENTRY_SIZE;
+            }
+            throw new IOException("Unknown constant pool tag: " + tag);
+        }
+
+        private String getUtf8(int index) throws IOException
+        {
+            if (index <= 0 || index >= utf8.length || utf8[index] == null)
+            {
+                throw new IOException("Invalid constant pool UTF-8 entry index: " + index);
+            }
+            return utf8[index];
+        }
+
+        private String getClassName(int index) throws IOException
+        {
+            if (index <= 0 || index >= classNames.length)
+            {
+                throw new IOException("Invalid constant pool class entry index: " + index);
+            }
+            return getUtf8(classNames[index]);
+        }
+
+        private boolean containsAny(Set<String> values)
+        {
+            for (String value : utf8)
+            {
+                if (value != null && values.contains(value))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class ClassInfo
+    {
+        private final String name;
+        private final boolean enumType;
+        private final List<String> constants;
+        private final List<MethodInfo> methods;
+
+        private ClassInfo(String name, boolean enumType, List<String> constants, List<MethodInfo> methods)
+        {
+            this.name = name;
+            this.enumType = enumType;
+            this.constants = constants;
+            this.methods = methods;
+        }
+
+        /**
+         * Returns the fully qualified name of the class using <code>$</code> as the separator of nested classes
+         *
+         * @return The class name
+         */
+        String getName()
+        {
+            return name;
+        }
+
+        boolean isEnum()
+        {
+            return enumType;
+        }
+
+        /**
+         * Returns the names of public static fields of the enum in the declaration order
+         *
+         * @return The enum constants or empty list if the class is not enum
+         */
+        List<String> getConstants()
+        {
+            return constants;
+        }
+
+        /**
+         * Returns the methods having at least one runtime visible annotation
+         *
+         * @return The annotated methods
+         */
+        List<MethodInfo> getMethods()
+        {
+            return methods;
+        }
+    }
+
+    static final class MethodInfo
+    {
+        private final String name;
+        private final String signature;
+        private final Map<String, Optional<String>> annotations;
+
+        private MethodInfo(String name, String signature, Map<String, Optional<String>> annotations)
+        {
+            this.name = name;
+            this.signature = signature;
+            this.annotations = annotations;
+        }
+
+        String getName()
+        {
+            return name;
+        }
+
+        /**
+         * Returns the generic signature of the method if it's present in the class file, otherwise the descriptor
+         *
+         * @return The method signature, e.g. <code>(Ljava/util/List&lt;Lcom/acme/Color;&gt;;)V</code>
+         */
+        String getSignature()
+        {
+            return signature;
+        }
+
+        /**
+         * Returns the runtime visible annotations of the method in the declaration order mapped to their string
+         * <code>value</code> elements
+         *
+         * @return The annotations keyed by their descriptors
+         */
+        Map<String, Optional<String>> getAnnotations()
+        {
+            return annotations;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,5 +27,18 @@ import org.vividus.studio.plugin.model.StepDefinition;
 
 public interface IStepDefinitionFinder
 {
-    Collection<StepDefinition> find(IJavaProject javaProject) throws IOException;
+    default Collection<StepDefinition> find(IJavaProject javaProject) throws IOException
+    {
+        return find(javaProject, (source, stepDefinitions, scanned, total) -> { });
+    }
+
+    /**
+     * Finds the step definitions declared in the project dependencies and the project resources
+     *
+     * @param javaProject The project to scan
+     * @param listener The listener notified about the partial results as soon as every source is scanned
+     * @return All found step definitions
+     * @throws IOException If an I/O error occurs while reading the project resources
+     */
+    Collection<StepDefinition> find(IJavaProject javaProject, StepDefinitionsListener listener) throws IOException;
 }
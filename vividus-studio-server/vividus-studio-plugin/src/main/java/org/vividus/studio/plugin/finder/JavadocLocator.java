@@ -0,0 +1,131 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.vividus.studio.plugin.util.JavaSourceUtils;
+
+/**
+ * Locates Javadoc comments of methods in the Java source without building the AST, the comment is considered to
+ * belong to the method if only annotations, modifiers and the return type are placed between the comment end and the
+ * method name, i.e. the text between them contains neither another comment end nor braces or semicolons outside
+ * annotation arguments.
+ */
+final class JavadocLocator
+{
+    private static final Pattern JAVADOC_PATTERN = Pattern.compile("/\\*\\*.*?\\*/", Pattern.DOTALL);
+    private static final String COMMENT_END = "*/";
+
+    private final String source;
+
+    JavadocLocator(String source)
+    {
+        this.source = source;
+    }
+
+    /**
+     * Finds the Javadoc comment of the method, if there are several methods with the same name, only the ones with
+     * the given number of parameters are considered and the one annotated with the given annotation value is
+     * preferred
+     *
+     * @param methodName The name of the method
+     * @param parameterCount The number of the method parameters or <code>-1</code> if it's not known
+     * @param annotationValue The string value of the method annotation
+     * @return The Javadoc comment including its delimiters or empty optional if the method has no Javadoc
+     */
+    Optional<String> find(String methodName, int parameterCount, String annotationValue)
+    {
+        Pattern declaration = Pattern.compile("\\b" + Pattern.quote(methodName) + "\\s*\\(");
+        Set<String> literals = JavaSourceUtils.toStringLiterals(annotationValue);
+        Optional<String> candidate = Optional.empty();
+
+        Matcher javadoc = JAVADOC_PATTERN.matcher(source);
+        while (javadoc.find())
+        {
+            int headerStart = javadoc.end();
+            Matcher method = declaration.matcher(source).region(headerStart, source.length());
+            if (!method.find())
+            {
+                continue;
+            }
+            String header = source.substring(headerStart, method.start());
+            if (!isDeclarationHeader(header) || parameterCount >= 0
+                    && JavaSourceUtils.countParameters(source, method.end() - 1) != parameterCount)
+            {
+                continue;
+            }
+            if (literals.stream().anyMatch(header::contains))
+            {
+                return Optional.of(javadoc.group());
+            }
+            if (candidate.isEmpty())
+            {
+                candidate = Optional.of(javadoc.group());
+            }
+        }
+        return candidate;
+    }
+
+    private static boolean isDeclarationHeader(String header)
+    {
+        if (header.contains(COMMENT_END))
+        {
+            return false;
+        }
+        int depth = 0;
+        boolean literal = false;
+        for (int index = 0; index < header.length(); index++)
+        {
+            char current = header.charAt(index);
+            if (literal)
+            {
+                if (current == '\\')
+                {
+                    index++;
+                }
+                else if (current == '"')
+                {
+                    literal = false;
+                }
+            }
+            else if (current == '"')
+            {
+                literal = true;
+            }
+            else if (current == '(')
+            {
+                depth++;
+            }
+            else if (current == ')')
+            {
+                depth--;
+            }
+            else if (depth == 0 && (current == '{' || current == '}' || current == ';'))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
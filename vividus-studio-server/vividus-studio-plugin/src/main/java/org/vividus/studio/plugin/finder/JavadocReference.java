@@ -0,0 +1,120 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.util.JavaSourceUtils;
+
+/**
+ * Reference to the Javadoc of the step method located in the source attachment of the jar, the Javadoc is read from
+ * the source attachment every time it's requested, so only the location of the Javadoc is kept in memory.
+ */
+final class JavadocReference implements Supplier<String>
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavadocReference.class);
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    private final File sources;
+    private final String className;
+    private final String methodName;
+    private final String methodSignature;
+    private final String annotationValue;
+
+    JavadocReference(File sources, String className, String methodName, String methodSignature,
+            String annotationValue)
+    {
+        this.sources = sources;
+        this.className = className;
+        this.methodName = methodName;
+        this.methodSignature = methodSignature;
+        this.annotationValue = annotationValue;
+    }
+
+    @Override
+    public String get()
+    {
+        try (ZipFile sourcesFile = new ZipFile(sources, StandardCharsets.UTF_8))
+        {
+            return readSource(sourcesFile).map(JavadocLocator::new)
+                    .flatMap(locator -> locator.find(methodName, JavaSourceUtils.getParameterCount(methodSignature),
+                            annotationValue))
+                    .orElse(StepDefinitionFinder.NO_DOCUMENTATION);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to read documentation of {}#{} from {}", className, methodName,
+                    sources);
+            return StepDefinitionFinder.NO_DOCUMENTATION;
+        }
+    }
+
+    private Optional<String> readSource(ZipFile sourcesFile) throws IOException
+    {
+        int nestedClassSeparator = className.indexOf('$');
+        String topLevelClassName = nestedClassSeparator < 0 ? className
+                : className.substring(0, nestedClassSeparator);
+        ZipEntry entry = sourcesFile.getEntry(topLevelClassName.replace('.', '/') + JAVA_EXTENSION);
+        if (entry == null)
+        {
+            return Optional.empty();
+        }
+        try (InputStream source = sourcesFile.getInputStream(entry))
+        {
+            return Optional.of(IOUtils.toString(source, StandardCharsets.UTF_8));
+        }
+    }
+
+    File getSources()
+    {
+        return sources;
+    }
+
+    String getClassName()
+    {
+        return className;
+    }
+
+    String getMethodName()
+    {
+        return methodName;
+    }
+
+    String getMethodSignature()
+    {
+        return methodSignature;
+    }
+
+    String getAnnotationValue()
+    {
+        return annotationValue;
+    }
+}
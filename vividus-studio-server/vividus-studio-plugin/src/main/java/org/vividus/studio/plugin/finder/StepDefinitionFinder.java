@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,10 @@
 
 package org.vividus.studio.plugin.finder;
 
+import static org.vividus.studio.plugin.util.RuntimeWrapper.join;
 import static org.vividus.studio.plugin.util.RuntimeWrapper.wrapStream;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -31,25 +33,34 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.jar.Manifest;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IBuffer;
@@ -71,9 +82,12 @@ import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.studio.plugin.composite.CompositeStepParser;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.exception.VividusStudioException;
 import org.vividus.studio.plugin.factory.StepDefinitionFactory;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
 import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
 import org.vividus.studio.plugin.util.ResourceUtils;
 import org.vividus.studio.plugin.util.RuntimeWrapper;
 
@@ -83,7 +97,11 @@ public class StepDefinitionFinder implements IStepDefinitionFinder
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(StepDefinitionFinder.class);
 
+    static final String NO_DOCUMENTATION = "No documentation available";
+
     private static final String TYPE = "type";
+    private static final String LOCAL_COMPOSITE_STEPS = "local composite steps";
+    private static final long SCAN_THREAD_KEEP_ALIVE_SECONDS = 60;
 
     private static final Pattern COLLECTION_PARAMETER_PATTERN = Pattern.compile("Ljava\\.util\\.(?:Set|List)<(.+)>;");
 
@@ -91,41 +109,141 @@ public class StepDefinitionFinder implements IStepDefinitionFinder
             .compile("^org\\.jbehave\\.core\\.annotations\\.(When|Then|Given)$");
 
     private final StepDefinitionFactory stepDefinitionFactory;
+    private final StepDefinitionIndex stepDefinitionIndex;
+    private final RequestMetrics requestMetrics;
+    private final ExecutorService scanExecutor;
+    private final BytecodeStepScanner bytecodeStepScanner;
+    private final boolean bytecodeScanEnabled;
 
     @Inject
-    public StepDefinitionFinder(StepDefinitionFactory stepDefinitionFactory)
+    public StepDefinitionFinder(StepDefinitionFactory stepDefinitionFactory, StepDefinitionIndex stepDefinitionIndex,
+            RequestMetrics requestMetrics, VividusStudioSettings settings)
     {
         this.stepDefinitionFactory = stepDefinitionFactory;
+        this.stepDefinitionIndex = stepDefinitionIndex;
+        this.requestMetrics = requestMetrics;
+
+        int threads = settings.getStepScannerThreads();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, SCAN_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("vividus-studio-step-scanner-%d")
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        this.scanExecutor = executor;
+        this.bytecodeStepScanner = new BytecodeStepScanner(stepDefinitionFactory);
+        this.bytecodeScanEnabled = settings.isBytecodeStepScannerEnabled();
     }
 
     @Override
-    public Collection<StepDefinition> find(IJavaProject javaProject) throws IOException
+    public Collection<StepDefinition> find(IJavaProject javaProject, StepDefinitionsListener listener)
+            throws IOException
+    {
+        return requestMetrics.measure("stepDefinitionFinder/find", () -> findStepDefinitions(javaProject, listener));
+    }
+
+    /**
+     * Scans the project dependencies concurrently on the dedicated executor, every dependency is scanned in a single
+     * pass collecting both java and composite steps, the listener is notified as soon as a dependency is scanned, so
+     * the steps become available before the whole project is scanned
+     */
+    private Collection<StepDefinition> findStepDefinitions(IJavaProject javaProject,
+            StepDefinitionsListener listener) throws IOException
     {
         LOGGER.info("Scanning project {}", javaProject.getProject().getName());
-        List<IPackageFragment> fragments = children(javaProject).parallel()
-                                                        .filter(JarPackageFragmentRoot.class::isInstance)
-                                                        .map(JarPackageFragmentRoot.class::cast)
-                                                        .filter(StepDefinitionFinder::isStepDefinitionScanCandidate)
-                                                        .flatMap(StepDefinitionFinder::children)
-                                                        .filter(IPackageFragment.class::isInstance)
-                                                        .map(IPackageFragment.class::cast)
-                                                        .collect(Collectors.toList());
-
-        List<StepDefinition> javaStepDefinitions = findJavaSteps(fragments);
-        LOGGER.info("Found {} java steps", javaStepDefinitions.size());
-
-        List<StepDefinition> compositeStepDefinitions = findCompositeSteps(fragments);
+        List<JarPackageFragmentRoot> jars = children(javaProject)
+                .filter(JarPackageFragmentRoot.class::isInstance)
+                .map(JarPackageFragmentRoot.class::cast)
+                .filter(StepDefinitionFinder::isStepDefinitionScanCandidate)
+                .collect(Collectors.toList());
+        stepDefinitionIndex.retain(jars.stream()
+                .map(JarPackageFragmentRoot::getPath)
+                .filter(Objects::nonNull)
+                .map(IPath::toFile)
+                .collect(Collectors.toList()));
+
+        int total = jars.size() + 1;
+        AtomicInteger scanned = new AtomicInteger();
+        Map<String, List<String>> typesCache = new ConcurrentHashMap<>();
+        List<CompletableFuture<List<StepDefinition>>> jarScans = jars.stream()
+                .map(jar -> CompletableFuture.supplyAsync(() -> findInJar(jar, typesCache), scanExecutor)
+                        .thenApply(found ->
+                        {
+                            listener.onFound(jar.getElementName(), found, scanned.incrementAndGet(), total);
+                            return found;
+                        }))
+                .collect(Collectors.toList());
+
         Path resourcesFolder = ResourceUtils.resolveResourcesPath(javaProject.getProject());
-        compositeStepDefinitions.addAll(findLocalCompositeSteps(resourcesFolder));
-        LOGGER.info("Found {} composite steps", compositeStepDefinitions.size());
+        List<StepDefinition> localCompositeStepDefinitions = findLocalCompositeSteps(resourcesFolder);
+        LOGGER.info("Found {} local composite steps", localCompositeStepDefinitions.size());
+        listener.onFound(LOCAL_COMPOSITE_STEPS, localCompositeStepDefinitions, scanned.incrementAndGet(), total);
 
         List<StepDefinition> stepDefinitions = new ArrayList<>();
-        stepDefinitions.addAll(javaStepDefinitions);
-        stepDefinitions.addAll(compositeStepDefinitions);
+        jarScans.forEach(scan -> stepDefinitions.addAll(join(scan)));
+        LOGGER.info("Found {} library steps", stepDefinitions.size());
+        stepDefinitions.addAll(localCompositeStepDefinitions);
 
         return stepDefinitions;
     }
 
+    private List<StepDefinition> findInJar(JarPackageFragmentRoot jar, Map<String, List<String>> typesCache)
+    {
+        Optional<File> jarFile = Optional.ofNullable(jar.getPath()).map(IPath::toFile).filter(File::isFile);
+        Optional<List<StepDefinition>> indexed = jarFile.flatMap(file -> stepDefinitionIndex.get(file,
+                type -> typesCache.computeIfAbsent(type, getClassTypeValues(jar.getJavaProject()))));
+        if (indexed.isPresent())
+        {
+            return indexed.get();
+        }
+
+        List<StepDefinition> stepDefinitions = jarFile.filter(file -> bytecodeScanEnabled)
+                .flatMap(file -> scanBytecode(jar, file, typesCache))
+                .orElseGet(() -> scanJavaModel(jar, typesCache));
+        LOGGER.info("Found {} steps in {}", stepDefinitions.size(), jar.getElementName());
+
+        jarFile.ifPresent(file -> stepDefinitionIndex.put(file, stepDefinitions));
+        return stepDefinitions;
+    }
+
+    private Optional<List<StepDefinition>> scanBytecode(JarPackageFragmentRoot jar, File jarFile,
+            Map<String, List<String>> typesCache)
+    {
+        Optional<File> sources = Optional.ofNullable(RuntimeWrapper.wrapMono(jar::getSourceAttachmentPath,
+                error("source attachment", jar.getElementName()))).map(IPath::toFile).filter(File::isFile);
+        try
+        {
+            return Optional.of(bytecodeStepScanner.scan(jarFile, sources, jar.getElementName(),
+                    type -> typesCache.computeIfAbsent(type, getClassTypeValues(jar.getJavaProject()))));
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to read {}, falling back to Java model scan", jarFile);
+            return Optional.empty();
+        }
+    }
+
+    private List<StepDefinition> scanJavaModel(JarPackageFragmentRoot jar, Map<String, List<String>> typesCache)
+    {
+        String archive = Optional.ofNullable(jar.getPath()).map(path -> path.toFile().getAbsolutePath()).orElse(null);
+        String sources = Optional.ofNullable(RuntimeWrapper.wrapMono(jar::getSourceAttachmentPath,
+                error("source attachment", jar.getElementName()))).map(path -> path.toFile().getAbsolutePath())
+                .orElse(null);
+        List<StepDefinition> javaSteps = new ArrayList<>();
+        List<StepDefinition> compositeSteps = new ArrayList<>();
+        children(jar).filter(IPackageFragment.class::isInstance)
+                     .map(IPackageFragment.class::cast)
+                     .forEach(fragment ->
+                     {
+                         findJavaSteps(fragment, archive, sources, typesCache).forEach(javaSteps::add);
+                         findCompositeSteps(fragment, archive).forEach(compositeSteps::add);
+                     });
+
+        List<StepDefinition> stepDefinitions = new ArrayList<>(javaSteps);
+        stepDefinitions.addAll(compositeSteps);
+        return stepDefinitions;
+    }
+
     private List<StepDefinition> findLocalCompositeSteps(Path resourcesFolder) throws IOException
     {
         List<StepDefinition> composites = new ArrayList<>();
@@ -139,10 +257,14 @@ public class StepDefinitionFinder implements IStepDefinitionFinder
                 {
                     String stepsContent = Files.readString(file, StandardCharsets.UTF_8);
                     String location = resourcesFolder.relativize(file).toString();
-                    CompositeStepParser.parse(stepsContent)
-                            .map(cs -> stepDefinitionFactory.createStepDefinition(location, cs.getName(),
-                                    cs.getBody(), true, true))
-                            .forEach(composites::add);
+                    String path = file.toAbsolutePath().toString();
+                    CompositeStepParser.parse(stepsContent).forEach(cs ->
+                    {
+                        StepDefinition definition = stepDefinitionFactory.createStepDefinition(location,
+                                cs.getName(), cs.getBody(), true, true);
+                        definition.setLocation(StepDefinitionLocation.ofFile(path, cs.getLine()));
+                        composites.add(definition);
+                    });
                 }
                 return FileVisitResult.CONTINUE;
             }
@@ -151,12 +273,10 @@ public class StepDefinitionFinder implements IStepDefinitionFinder
         return composites;
     }
 
-    private List<StepDefinition> findCompositeSteps(List<IPackageFragment> fragments)
+    private Stream<StepDefinition> findCompositeSteps(IPackageFragment fragment, String archive)
     {
-        return fragments.parallelStream()
-                        .map(pf -> RuntimeWrapper.wrapMono(pf::getNonJavaResources,
-                                error("non java resources", pf.getElementName())))
-                        .flatMap(Arrays::stream)
+        return Stream.of(RuntimeWrapper.wrapMono(fragment::getNonJavaResources,
+                                error("non java resources", fragment.getElementName())))
                         .filter(IJarEntryResource.class::isInstance)
                         .map(IJarEntryResource.class::cast)
                         .filter(e -> ResourceUtils.isCompositeFile(e.getName()))
@@ -164,13 +284,20 @@ public class StepDefinitionFinder implements IStepDefinitionFinder
                         {
                             IPackageFragment parent = (IPackageFragment) r.getParent();
                             String module = parent.getParent().getElementName();
+                            String entry = r.getFullPath().makeRelative().toString();
                             try (InputStream inputStream = RuntimeWrapper.wrapMono(r::getContents,
                                     error("content", "resource")))
                             {
                                 String content = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
                                 return CompositeStepParser.parse(content)
-                                    .map(cs -> stepDefinitionFactory.createStepDefinition(module, cs.getName(),
-                                            cs.getBody(), true, false))
+                                    .map(cs ->
+                                    {
+                                        StepDefinition definition = stepDefinitionFactory.createStepDefinition(
+                                                module, cs.getName(), cs.getBody(), true, false);
+                                        definition.setLocation(StepDefinitionLocation.ofArchiveEntry(archive, entry,
+                                                cs.getLine()));
+                                        return definition;
+                                    })
                                     .collect(Collectors.toList());
                             }
                             catch (IOException e)
@@ -178,82 +305,111 @@ public class StepDefinitionFinder implements IStepDefinitionFinder
                                 throw new UncheckedIOException(e);
                             }
                         })
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
+                        .flatMap(List::stream);
     }
 
-    private List<StepDefinition> findJavaSteps(List<IPackageFragment> fragments)
+    private Stream<StepDefinition> findJavaSteps(IPackageFragment fragment, String archive, String sources,
+            Map<String, List<String>> typesCache)
     {
-        Map<String, List<String>> typesCache = new ConcurrentHashMap<>();
-        return fragments.parallelStream()
-                        .flatMap(StepDefinitionFinder::children)
-                        .filter(e -> IJavaElement.CLASS_FILE == e.getElementType())
-                        .filter(e -> StringUtils.contains(e.getElementName(), "Steps"))
-                        .map(IClassFile.class::cast)
-                        .flatMap(c -> findStepDefinitions(c, typesCache))
-                        .collect(Collectors.toList());
+        return children(fragment).filter(e -> IJavaElement.CLASS_FILE == e.getElementType())
+                                 .filter(e -> StringUtils.contains(e.getElementName(), "Steps"))
+                                 .map(IClassFile.class::cast)
+                                 .flatMap(c -> findStepDefinitions(c, archive, sources, typesCache));
     }
 
-    private Stream<StepDefinition> findStepDefinitions(IClassFile classFile, Map<String, List<String>> typesCache)
+    private Stream<StepDefinition> findStepDefinitions(IClassFile classFile, String archive, String sources,
+            Map<String, List<String>> typesCache)
     {
         String module = classFile.getParent().getParent().getElementName();
         IOpenable openable = classFile.getOpenable();
-        IBuffer buffer = RuntimeWrapper.wrapMono(openable::getBuffer, error("buffer", classFile.getElementName()));
 
         return children(classFile)
             .map(IMember.class::cast)
             .flatMap(StepDefinitionFinder::children)
             .filter(m -> m.getElementType() == IJavaElement.METHOD)
             .map(IMethod.class::cast)
-            .map(m -> getStepDefinition(m, buffer, module, typesCache))
+            .map(m -> getStepDefinition(m, openable, module, archive, sources, typesCache))
             .filter(Optional::isPresent)
             .map(Optional::get);
     }
 
-    private Optional<StepDefinition> getStepDefinition(IMethod method, IBuffer buffer, String module,
-            Map<String, List<String>> argumentsCache)
+    private Optional<StepDefinition> getStepDefinition(IMethod method, IOpenable openable, String module,
+            String archive, String sources, Map<String, List<String>> argumentsCache)
     {
         List<IAnnotation> annotations = wrapStream(method::getAnnotations,
                 error("annotations", method.getElementName())).collect(Collectors.toList());
         return getStepAsString(annotations)
             .map(stepAsString ->
             {
-                ISourceRange range = RuntimeWrapper.wrapMono(method::getJavadocRange,
-                        error("javadoc range", method.getElementName()));
-                String documentation = range != null ? buffer.getText(range.getOffset(), range.getLength())
-                        : "No documentation available";
-
-                Map<Integer, List<String>> parameterVariants = new HashMap<>();
-                String[] parameterTypes = method.getParameterTypes();
-                for (int index = 0; index < parameterTypes.length; index++)
-                {
-                    String rawParameterType = parameterTypes[index];
-
-                    int signatureKind = Signature.getTypeSignatureKind(rawParameterType);
-                    if (signatureKind == Signature.CLASS_TYPE_SIGNATURE)
-                    {
-                        Matcher collectionParameterMatcher = COLLECTION_PARAMETER_PATTERN.matcher(rawParameterType);
-                        rawParameterType = collectionParameterMatcher.matches()
-                                ? collectionParameterMatcher.group(1)
-                                : rawParameterType;
-
-                        List<String> variants = argumentsCache.computeIfAbsent(rawParameterType,
-                                getClassTypeValues(method.getJavaProject()));
-
-                        if (!variants.isEmpty())
-                        {
-                            parameterVariants.put(index, variants);
-                        }
-                    }
-                }
-
+                Map<Integer, List<String>> parameterVariants = getParameterVariants(method.getParameterTypes(),
+                        type -> argumentsCache.computeIfAbsent(type, getClassTypeValues(method.getJavaProject())));
+
+                String className = method.getDeclaringType().getFullyQualifiedName();
+                String signature = RuntimeWrapper.wrapMono(method::getSignature,
+                        error("signature", method.getElementName()));
+                Supplier<String> documentation = sources != null && new File(sources).isFile()
+                        ? new JavadocReference(new File(sources), className, method.getElementName(), signature,
+                                stepAsString.substring(stepAsString.indexOf(' ') + 1))
+                        : () -> getJavadoc(method, openable);
                 StepDefinition definition = stepDefinitionFactory.createStepDefinition(module, stepAsString,
                         documentation, parameterVariants);
                 definition.setDeprecated(isDeprecated(annotations));
+                definition.setLocation(StepDefinitionLocation.ofMethod(archive, sources, className,
+                        method.getElementName(), signature));
                 return definition;
             });
     }
 
+    /**
+     * Reads the Javadoc of the method on demand, since getting of the Javadoc range requires the source attachment of
+     * the class file to be opened and parsed
+     */
+    private static String getJavadoc(IMethod method, IOpenable openable)
+    {
+        ISourceRange range = RuntimeWrapper.wrapMono(method::getJavadocRange,
+                error("javadoc range", method.getElementName()));
+        if (range == null)
+        {
+            return NO_DOCUMENTATION;
+        }
+        IBuffer buffer = RuntimeWrapper.wrapMono(openable::getBuffer, error("buffer", method.getElementName()));
+        return buffer.getText(range.getOffset(), range.getLength());
+    }
+
+    /**
+     * Resolves the values of the step parameters having enum types or collections of enum types
+     *
+     * @param parameterTypes The parameter type signatures in the JDT format
+     * @param typeValues The function resolving the values of the type by its signature
+     * @return The values of the parameters keyed by the parameter indices
+     */
+    static Map<Integer, List<String>> getParameterVariants(String[] parameterTypes,
+            Function<String, List<String>> typeValues)
+    {
+        Map<Integer, List<String>> parameterVariants = new HashMap<>();
+        for (int index = 0; index < parameterTypes.length; index++)
+        {
+            String rawParameterType = parameterTypes[index];
+
+            int signatureKind = Signature.getTypeSignatureKind(rawParameterType);
+            if (signatureKind == Signature.CLASS_TYPE_SIGNATURE)
+            {
+                Matcher collectionParameterMatcher = COLLECTION_PARAMETER_PATTERN.matcher(rawParameterType);
+                rawParameterType = collectionParameterMatcher.matches()
+                        ? collectionParameterMatcher.group(1)
+                        : rawParameterType;
+
+                List<String> variants = typeValues.apply(rawParameterType);
+
+                if (!variants.isEmpty())
+                {
+                    parameterVariants.put(index, variants);
+                }
+            }
+        }
+        return parameterVariants;
+    }
+
     private static Function<String, List<String>> getClassTypeValues(IJavaProject project)
     {
         return rType ->
@@ -0,0 +1,338 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.jdt.core.Signature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.factory.StepDefinitionFactory;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
+
+/**
+ * Persistent index of the step definitions found in the project dependencies. The index is stored in the workspace
+ * metadata folder, every jar has its own entry keyed by the jar path, the entry is considered up to date as long as
+ * the size and the last modification time of the jar match the ones recorded at the moment of indexing. The Javadoc
+ * of java steps is stored as the reference to the source attachment, so it's loaded only when it's requested, the
+ * Javadoc of java steps not backed by the source attachment archive is not stored at all. The values of the enum
+ * parameters are not stored, since the enums may be declared in other jars, instead they are resolved from the
+ * method signature every time the entry is loaded. The entries of the jars which are not on the classpath anymore
+ * are removed once the project is scanned.
+ */
+@Singleton
+public class StepDefinitionIndex
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepDefinitionIndex.class);
+
+    private static final int FORMAT_VERSION = 3;
+    private static final String INDEX_LOCATION = ".metadata/.plugins/org.vividus.studio.plugin/step-definitions";
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final Gson gson = new Gson();
+
+    private final IWorkspace workspace;
+    private final StepDefinitionFactory stepDefinitionFactory;
+
+    @Inject
+    public StepDefinitionIndex(IWorkspace workspace, StepDefinitionFactory stepDefinitionFactory)
+    {
+        this.workspace = workspace;
+        this.stepDefinitionFactory = stepDefinitionFactory;
+    }
+
+    /**
+     * Looks up step definitions indexed for the given jar
+     *
+     * @param jar The jar to get step definitions for
+     * @param typeValues The function resolving the values of the parameter types, it accepts the type signature in
+     * the JDT format, e.g. <code>Lcom.acme.Color;</code>
+     * @return The indexed step definitions or empty optional if the jar is not indexed or has been changed since
+     * it was indexed
+     */
+    public Optional<List<StepDefinition>> get(File jar, Function<String, List<String>> typeValues)
+    {
+        Path entryPath = resolveEntryPath(jar);
+        if (!Files.isRegularFile(entryPath))
+        {
+            return Optional.empty();
+        }
+
+        try (Reader reader = Files.newBufferedReader(entryPath, StandardCharsets.UTF_8))
+        {
+            IndexEntry entry = gson.fromJson(reader, IndexEntry.class);
+            if (entry == null || !entry.isUpToDate(jar))
+            {
+                return Optional.empty();
+            }
+            LOGGER.debug("Using indexed step definitions for {}", jar);
+            return Optional.of(entry.definitions.stream()
+                    .map(definition -> asStepDefinition(definition, entry.path, typeValues))
+                    .collect(Collectors.toList()));
+        }
+        catch (IOException | JsonParseException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to read step definitions index entry for {}", jar);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores step definitions found in the given jar
+     *
+     * @param jar The jar containing step definitions
+     * @param stepDefinitions The step definitions to store
+     */
+    public void put(File jar, Collection<StepDefinition> stepDefinitions)
+    {
+        IndexEntry entry = new IndexEntry();
+        entry.version = FORMAT_VERSION;
+        entry.path = jar.getAbsolutePath();
+        entry.size = jar.length();
+        entry.lastModified = jar.lastModified();
+        entry.definitions = stepDefinitions.stream().map(IndexedStepDefinition::new).collect(Collectors.toList());
+
+        Path entryPath = resolveEntryPath(jar);
+        try
+        {
+            Files.createDirectories(entryPath.getParent());
+            Path tempPath = Files.createTempFile(entryPath.getParent(), entryPath.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8))
+            {
+                gson.toJson(entry, writer);
+            }
+            Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to write step definitions index entry for {}", jar);
+        }
+    }
+
+    /**
+     * Removes the entries of the jars other than the given ones
+     *
+     * @param jars The jars on the classpath of the project
+     */
+    public void retain(Collection<File> jars)
+    {
+        Path indexPath = resolveIndexPath();
+        if (!Files.isDirectory(indexPath))
+        {
+            return;
+        }
+
+        Set<Path> entryPaths = jars.stream().map(this::resolveEntryPath).collect(Collectors.toSet());
+        try (Stream<Path> entries = Files.list(indexPath))
+        {
+            entries.filter(entry -> entry.getFileName().toString().endsWith(ENTRY_EXTENSION))
+                   .filter(entry -> !entryPaths.contains(entry))
+                   .forEach(StepDefinitionIndex::delete);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to clean up step definitions index {}", indexPath);
+        }
+    }
+
+    private StepDefinition asStepDefinition(IndexedStepDefinition indexed, String archive,
+            Function<String, List<String>> typeValues)
+    {
+        String text = indexed.documentation != null ? indexed.documentation : StepDefinitionFinder.NO_DOCUMENTATION;
+        Supplier<String> documentation = indexed.javadoc != null ? indexed.javadoc.asReference() : () -> text;
+        Map<Integer, List<String>> parameterValues = !indexed.composite && indexed.location != null
+                && indexed.location.methodSignature != null
+                        ? StepDefinitionFinder.getParameterVariants(
+                                Signature.getParameterTypes(indexed.location.methodSignature), typeValues)
+                        : Map.of();
+        StepDefinition definition = stepDefinitionFactory.createStepDefinition(indexed.module, indexed.step,
+                documentation, parameterValues, indexed.composite, false);
+        definition.setDeprecated(indexed.deprecated);
+        if (indexed.location != null)
+        {
+            definition.setLocation(indexed.location.asLocation(archive));
+        }
+        return definition;
+    }
+
+    private Path resolveEntryPath(File jar)
+    {
+        String key = Hashing.sha256().hashString(jar.getAbsolutePath(), StandardCharsets.UTF_8).toString();
+        return resolveIndexPath().resolve(key + ENTRY_EXTENSION);
+    }
+
+    private Path resolveIndexPath()
+    {
+        return workspace.getRoot().getLocation().toFile().toPath().resolve(INDEX_LOCATION);
+    }
+
+    private static void delete(Path entry)
+    {
+        try
+        {
+            Files.deleteIfExists(entry);
+            LOGGER.debug("Removed step definitions index entry {}", entry);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to remove step definitions index entry {}", entry);
+        }
+    }
+
+    private static final class IndexEntry
+    {
+        private int version;
+        private String path;
+        private long size;
+        private long lastModified;
+        private List<IndexedStepDefinition> definitions;
+
+        private boolean isUpToDate(File jar)
+        {
+            return version == FORMAT_VERSION && jar.getAbsolutePath().equals(path) && jar.length() == size
+                    && jar.lastModified() == lastModified && definitions != null;
+        }
+    }
+
+    private static final class IndexedStepDefinition
+    {
+        private String module;
+        private String step;
+        private String documentation;
+        private IndexedJavadoc javadoc;
+        private boolean composite;
+        private boolean deprecated;
+        private IndexedLocation location;
+
+        @SuppressWarnings("unused")
+        private IndexedStepDefinition()
+        {
+            // Used by Gson
+        }
+
+        private IndexedStepDefinition(StepDefinition definition)
+        {
+            this.module = definition.getModule();
+            this.step = definition.getStepAsString();
+            if (definition.getDocumentationSource() instanceof JavadocReference reference)
+            {
+                this.javadoc = new IndexedJavadoc(reference);
+            }
+            else if (definition.isComposite())
+            {
+                this.documentation = definition.getDocumentation();
+            }
+            this.composite = definition.isComposite();
+            this.deprecated = definition.isDeprecated();
+            if (definition.getLocation() != null)
+            {
+                this.location = new IndexedLocation(definition.getLocation());
+            }
+        }
+    }
+
+    /**
+     * The location of the step definition without the jar path, since it's the same for all the definitions of the
+     * index entry
+     */
+    private static final class IndexedLocation
+    {
+        private String path;
+        private String sources;
+        private String methodName;
+        private String methodSignature;
+        private int line;
+
+        @SuppressWarnings("unused")
+        private IndexedLocation()
+        {
+            // Used by Gson
+        }
+
+        private IndexedLocation(StepDefinitionLocation location)
+        {
+            this.path = location.getPath();
+            this.sources = location.getSources();
+            this.methodName = location.getMethodName();
+            this.methodSignature = location.getMethodSignature();
+            this.line = location.getLine();
+        }
+
+        private StepDefinitionLocation asLocation(String archive)
+        {
+            return methodName != null
+                    ? StepDefinitionLocation.ofMethod(archive, sources, path, methodName, methodSignature)
+                    : StepDefinitionLocation.ofArchiveEntry(archive, path, line);
+        }
+    }
+
+    private static final class IndexedJavadoc
+    {
+        private String sources;
+        private String className;
+        private String methodName;
+        private String methodSignature;
+        private String annotationValue;
+
+        @SuppressWarnings("unused")
+        private IndexedJavadoc()
+        {
+            // Used by Gson
+        }
+
+        private IndexedJavadoc(JavadocReference reference)
+        {
+            this.sources = reference.getSources().getAbsolutePath();
+            this.className = reference.getClassName();
+            this.methodName = reference.getMethodName();
+            this.methodSignature = reference.getMethodSignature();
+            this.annotationValue = reference.getAnnotationValue();
+        }
+
+        private JavadocReference asReference()
+        {
+            return new JavadocReference(new File(sources), className, methodName, methodSignature, annotationValue);
+        }
+    }
+}
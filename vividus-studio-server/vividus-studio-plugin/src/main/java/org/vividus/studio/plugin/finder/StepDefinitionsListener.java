@@ -0,0 +1,39 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import java.util.Collection;
+
+import org.vividus.studio.plugin.model.StepDefinition;
+
+@FunctionalInterface
+public interface StepDefinitionsListener
+{
+    /**
+     * Notifies about the step definitions found in the single source, e.g. the project dependency, the notifications
+     * are sent from the scanning threads as soon as the source is scanned
+     *
+     * @param source The name of the scanned source
+     * @param stepDefinitions The step definitions found in the source
+     * @param scanned The number of the sources scanned so far
+     * @param total The total number of the sources to scan
+     */
+    void onFound(String source, Collection<StepDefinition> stepDefinitions, int scanned, int total);
+}
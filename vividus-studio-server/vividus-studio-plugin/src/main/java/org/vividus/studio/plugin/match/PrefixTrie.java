@@ -0,0 +1,179 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.match;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Character trie associating values with string keys. The trie is used to narrow down the set of step definitions
+ * to the ones whose head match token is related to the step text: either the token is a prefix of the text or the
+ * text is a prefix of the token. Any other definition is guaranteed to not match the text.
+ *
+ * @param <T> The type of the values
+ */
+public final class PrefixTrie<T>
+{
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Associates the value with the key, several values can be associated with the same key
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put(String key, T value)
+    {
+        Node<T> node = root;
+        for (int index = 0; index < key.length(); index++)
+        {
+            node = node.getOrCreateChild(key.charAt(index));
+        }
+        node.addValue(new Entry<>(size++, value));
+    }
+
+    /**
+     * Finds the values whose keys are either prefixes of the input or start with the input
+     *
+     * @param input The input to find values for
+     * @return The found values in the order they were put into the trie
+     */
+    public List<T> findRelated(String input)
+    {
+        List<Entry<T>> found = new ArrayList<>();
+        Node<T> node = root;
+        for (int index = 0; index < input.length() && node != null; index++)
+        {
+            node.collectValues(found);
+            node = node.getChild(input.charAt(index));
+        }
+
+        if (node != null)
+        {
+            Deque<Node<T>> nodes = new ArrayDeque<>();
+            nodes.push(node);
+            while (!nodes.isEmpty())
+            {
+                Node<T> current = nodes.pop();
+                current.collectValues(found);
+                current.pushChildren(nodes);
+            }
+        }
+
+        return found.stream()
+                    .sorted(Comparator.comparingInt(Entry::getOrdinal))
+                    .map(Entry::getValue)
+                    .collect(Collectors.toList());
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    private static final class Node<T>
+    {
+        private char[] keys = new char[0];
+        @SuppressWarnings("unchecked")
+        private Node<T>[] children = new Node[0];
+        private List<Entry<T>> values = List.of();
+
+        private Node<T> getChild(char key)
+        {
+            int position = Arrays.binarySearch(keys, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node<T> getOrCreateChild(char key)
+        {
+            int position = Arrays.binarySearch(keys, key);
+            if (position >= 0)
+            {
+                return children[position];
+            }
+
+            int insertAt = -position - 1;
+            int length = keys.length;
+
+            char[] newKeys = Arrays.copyOf(keys, length + 1);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, length - insertAt);
+            newKeys[insertAt] = key;
+
+            Node<T>[] newChildren = Arrays.copyOf(children, length + 1);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, length - insertAt);
+            Node<T> child = new Node<>();
+            newChildren[insertAt] = child;
+
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void addValue(Entry<T> entry)
+        {
+            if (values.isEmpty())
+            {
+                values = new ArrayList<>(1);
+            }
+            values.add(entry);
+        }
+
+        private void collectValues(List<Entry<T>> collector)
+        {
+            collector.addAll(values);
+        }
+
+        private void pushChildren(Deque<Node<T>> nodes)
+        {
+            for (Node<T> child : children)
+            {
+                nodes.push(child);
+            }
+        }
+    }
+
+    private static final class Entry<T>
+    {
+        private final int ordinal;
+        private final T value;
+
+        private Entry(int ordinal, T value)
+        {
+            this.ordinal = ordinal;
+            this.value = value;
+        }
+
+        private int getOrdinal()
+        {
+            return ordinal;
+        }
+
+        private T getValue()
+        {
+            return value;
+        }
+    }
+}
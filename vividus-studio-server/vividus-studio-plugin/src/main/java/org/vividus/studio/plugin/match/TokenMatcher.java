@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,145 +19,179 @@
 
 package org.vividus.studio.plugin.match;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.mutable.MutableInt;
+import com.google.common.primitives.Ints;
 
+/**
+ * Immutable matcher compiled from the match tokens of a step definition. The matcher holds the tokens as char arrays
+ * and writes the match indices into a per-thread primitive buffer, so no intermediate objects are created while
+ * matching and the only allocations are the ones of a successful outcome.
+ */
 public final class TokenMatcher
 {
-    private TokenMatcher()
+    private static final int NOT_FOUND = -1;
+    private static final int INITIAL_BUFFER_SIZE = 32;
+    private static final ThreadLocal<int[]> INDICES_BUFFER = ThreadLocal
+            .withInitial(() -> new int[INITIAL_BUFFER_SIZE]);
+
+    private final List<String> tokenStrings;
+    private final String headToken;
+    private final char[][] tokens;
+    private final boolean[] lastTokenFlags;
+
+    private TokenMatcher(List<String> tokenStrings)
+    {
+        this.tokenStrings = List.copyOf(tokenStrings);
+        this.headToken = tokenStrings.get(0);
+        this.tokens = new char[tokenStrings.size()][];
+        this.lastTokenFlags = new boolean[tokens.length];
+        for (int index = 0; index < tokens.length; index++)
+        {
+            tokens[index] = tokenStrings.get(index).toCharArray();
+        }
+        lastTokenFlags[tokens.length - 1] = true;
+    }
+
+    public static TokenMatcher compile(List<String> tokenStrings)
     {
+        return new TokenMatcher(tokenStrings);
     }
 
     public static MatchOutcome match(String input, List<String> tokenStrings)
     {
-        String headToken = tokenStrings.get(0);
+        return compile(tokenStrings).match(input);
+    }
 
-        if (input.length() <= headToken.length())
+    public MatchOutcome match(String input)
+    {
+        int inputLength = input.length();
+        int headTokenLength = headToken.length();
+
+        if (inputLength <= headTokenLength)
         {
-            return headToken.startsWith(input) ? MatchOutcome.passed(0, headToken, List.of())
-                    : MatchOutcome.failed();
+            if (!headToken.startsWith(input))
+            {
+                return MatchOutcome.FAILED;
+            }
+            boolean complete = tokens.length == 1 && inputLength == headTokenLength;
+            return MatchOutcome.passed(0, headToken, List.of(), complete);
         }
 
-        if (!input.startsWith(headToken))
+        if (!input.startsWith(headToken) || tokens.length == 1)
         {
-            return MatchOutcome.failed();
+            return MatchOutcome.FAILED;
         }
 
-        List<Token> tokens = tokenStrings.stream()
-                                         .map(Token::new)
-                                         .collect(Collectors.collectingAndThen(Collectors.toList(), list ->
-                                         {
-                                             list.get(list.size() - 1).setLast(true);
-                                             return list;
-                                         }));
+        int[] indices = getIndicesBuffer();
+        int count = 0;
+        indices[count++] = headTokenLength;
 
-        int headTokenLength = headToken.length();
-
-        List<Integer> indices = new ArrayList<>();
-        indices.add(headTokenLength);
+        int position = headTokenLength;
 
-        MutableInt position = new MutableInt(headTokenLength);
-
-        for (int index = 1; index < tokens.size(); index++)
+        for (int index = 1; index < tokens.length; index++)
         {
-            Token token = tokens.get(index);
+            char[] token = tokens[index];
 
-            if (token.getToken().isEmpty())
+            if (token.length == 0)
             {
-                indices.add(input.length());
+                indices[count++] = inputLength;
                 break;
             }
 
-            Outcome outcome = matchToken(token, input, position, indices);
+            int matchIndex = locate(token, input, position);
+            if (matchIndex == NOT_FOUND)
+            {
+                return MatchOutcome.FAILED;
+            }
 
-            while (outcome == Outcome.PROCEED_NEXT_CHAR)
+            int available = inputLength - matchIndex;
+            if (available < token.length)
             {
-                position.increment();
-                outcome = matchToken(token, input, position, indices);
+                indices[count++] = matchIndex;
+                String subToken = tokenStrings.get(index).substring(0, available);
+                return MatchOutcome.passed(index, subToken, indices, count, false);
             }
 
-            if (outcome == Outcome.COMPLETED)
+            position = matchIndex + token.length;
+
+            if (lastTokenFlags[index] && position < inputLength)
             {
-                String subToken = token.getToken().substring(0, position.getValue());
-                return MatchOutcome.passed(index, subToken, indices);
+                return MatchOutcome.FAILED;
             }
 
-            if (outcome == Outcome.FAILED)
+            indices[count++] = matchIndex;
+            if (inputLength != position)
             {
-                return MatchOutcome.failed();
+                indices[count++] = position;
             }
         }
 
-        return MatchOutcome.passed(tokens.size() - 1, "", indices);
+        return MatchOutcome.passed(tokens.length - 1, "", indices, count, true);
     }
 
-    private static Outcome matchToken(Token token, String input, MutableInt position, List<Integer> indices)
+    private int[] getIndicesBuffer()
     {
-        String tokenAsString = token.getToken();
-        int currentPos = position.intValue();
-
-        char headChar = tokenAsString.charAt(0);
-        int matchIndex = input.indexOf(headChar, currentPos);
-        if (matchIndex == -1)
+        // head token end, start and end of each subsequent token
+        int required = 2 * tokens.length;
+        int[] buffer = INDICES_BUFFER.get();
+        if (buffer.length < required)
         {
-            return Outcome.FAILED;
+            buffer = new int[Math.max(required, buffer.length * 2)];
+            INDICES_BUFFER.set(buffer);
         }
+        return buffer;
+    }
 
-        currentPos = matchIndex;
-
-        int inputLength = input.length();
-        int completedPosition = inputLength - 1;
-        for (int tokenPos = 1; tokenPos < tokenAsString.length(); tokenPos++)
+    /**
+     * Finds the first position starting from which the input either contains the token or ends with the token
+     * prefix
+     */
+    private static int locate(char[] token, String input, int from)
+    {
+        char headChar = token[0];
+        for (int index = input.indexOf(headChar, from); index != NOT_FOUND; index = input.indexOf(headChar, index + 1))
         {
-            int nextPos = currentPos + tokenPos;
-            if (nextPos > completedPosition)
-            {
-                indices.add(currentPos);
-                position.setValue(tokenPos);
-                return Outcome.COMPLETED;
-            }
-
-            char tokenChar = tokenAsString.charAt(tokenPos);
-            char inputChar = input.charAt(currentPos + tokenPos);
-
-            if (tokenChar != inputChar)
+            if (regionMatches(token, input, index))
             {
-                return Outcome.PROCEED_NEXT_CHAR;
+                return index;
             }
         }
+        return NOT_FOUND;
+    }
 
-        int nextPosition = currentPos + tokenAsString.length();
-        position.setValue(nextPosition);
-
-        if (token.isLast() && position.intValue() < inputLength)
-        {
-            return Outcome.FAILED;
-        }
-
-        indices.add(currentPos);
-        if (inputLength != nextPosition)
+    private static boolean regionMatches(char[] token, String input, int offset)
+    {
+        int length = Math.min(token.length, input.length() - offset);
+        for (int tokenPos = 1; tokenPos < length; tokenPos++)
         {
-            indices.add(nextPosition);
+            if (token[tokenPos] != input.charAt(offset + tokenPos))
+            {
+                return false;
+            }
         }
-        return Outcome.PROCEED_NEXT_TOKEN;
+        return true;
     }
 
     public static final class MatchOutcome
     {
+        private static final MatchOutcome FAILED = new MatchOutcome(false, -1, null, List.of(), false);
+
         private final boolean match;
         private final int tokenIndex;
         private final String subToken;
         private final List<Integer> argIndices;
+        private final boolean complete;
 
-        private MatchOutcome(boolean match, int tokenIndex, String subToken, List<Integer> argIndices)
+        private MatchOutcome(boolean match, int tokenIndex, String subToken, List<Integer> argIndices,
+                boolean complete)
         {
             this.match = match;
             this.tokenIndex = tokenIndex;
             this.subToken = subToken;
             this.argIndices = argIndices;
+            this.complete = complete;
         }
 
         public boolean isMatch()
@@ -165,6 +199,18 @@ public final class TokenMatcher
             return match;
         }
 
+        /**
+         * Returns whether the input is a complete step: the input is not shorter than the head token and consumes
+         * the whole last token, so neither the prefix of the step definition nor the partly typed last token is
+         * considered complete
+         *
+         * @return <code>true</code> if the input is complete
+         */
+        public boolean isComplete()
+        {
+            return complete;
+        }
+
         public int getTokenIndex()
         {
             return tokenIndex;
@@ -180,48 +226,16 @@ public final class TokenMatcher
             return argIndices;
         }
 
-        private static MatchOutcome failed()
-        {
-            return new MatchOutcome(false, -1, null, List.of());
-        }
-
-        private static MatchOutcome passed(int tokenIndex, String subToken, List<Integer> matchIndices)
+        private static MatchOutcome passed(int tokenIndex, String subToken, List<Integer> matchIndices,
+                boolean complete)
         {
-            return new MatchOutcome(true, tokenIndex, subToken, matchIndices);
-        }
-    }
-
-    private static final class Token
-    {
-        private final String token;
-        private boolean last;
-
-        private Token(String token)
-        {
-            this.token = token;
+            return new MatchOutcome(true, tokenIndex, subToken, matchIndices, complete);
         }
 
-        private boolean isLast()
+        private static MatchOutcome passed(int tokenIndex, String subToken, int[] matchIndices, int count,
+                boolean complete)
         {
-            return last;
+            return passed(tokenIndex, subToken, Ints.asList(Arrays.copyOf(matchIndices, count)), complete);
         }
-
-        private void setLast(boolean last)
-        {
-            this.last = last;
-        }
-
-        private String getToken()
-        {
-            return token;
-        }
-    }
-
-    private enum Outcome
-    {
-        COMPLETED,
-        PROCEED_NEXT_TOKEN,
-        FAILED,
-        PROCEED_NEXT_CHAR;
     }
 }
@@ -0,0 +1,86 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with power of two microsecond buckets, the percentiles are reported as the upper
+ * bound of the bucket they fall into, so the error is within a factor of two, which is enough to tell slow requests
+ * from fast ones without storing every sample.
+ */
+final class LatencyHistogram
+{
+    private static final int BUCKETS = 48;
+    private static final double MEDIAN = 0.5;
+    private static final double P90 = 0.9;
+    private static final double P99 = 0.99;
+    private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    void record(long nanos)
+    {
+        long duration = Math.max(nanos, 0);
+        long micros = TimeUnit.NANOSECONDS.toMicros(duration);
+        buckets.incrementAndGet(Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKETS - 1));
+        count.increment();
+        totalNanos.add(duration);
+        maxNanos.accumulate(duration);
+    }
+
+    Distribution toDistribution()
+    {
+        long samples = count.sum();
+        if (samples == 0)
+        {
+            return Distribution.EMPTY;
+        }
+        long max = maxNanos.get();
+        return new Distribution(toMillis(totalNanos.sum() / samples), toMillis(percentile(MEDIAN, samples, max)),
+                toMillis(percentile(P90, samples, max)), toMillis(percentile(P99, samples, max)), toMillis(max));
+    }
+
+    private long percentile(double quantile, long samples, long max)
+    {
+        long rank = (long) Math.ceil(quantile * samples);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < BUCKETS - 1; bucket++)
+        {
+            cumulative += buckets.get(bucket);
+            if (cumulative >= rank)
+            {
+                return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << bucket), max);
+            }
+        }
+        return max;
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / NANOS_IN_MILLI;
+    }
+}
@@ -0,0 +1,99 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.metrics;
+
+/**
+ * Snapshot of the metrics of the operation, the snapshot is serialized as is in response to the
+ * <code>vividus/metrics</code> request
+ */
+public final class OperationStatistics
+{
+    private final String operation;
+    private final long count;
+    private final long failures;
+    private final long dropped;
+    private final Distribution latency;
+    private final Distribution queueWait;
+    private final long meanAllocatedBytes;
+
+    OperationStatistics(String operation, long count, long failures, long dropped, Distribution latency,
+            Distribution queueWait, long meanAllocatedBytes)
+    {
+        this.operation = operation;
+        this.count = count;
+        this.failures = failures;
+        this.dropped = dropped;
+        this.latency = latency;
+        this.queueWait = queueWait;
+        this.meanAllocatedBytes = meanAllocatedBytes;
+    }
+
+    public String getOperation()
+    {
+        return operation;
+    }
+
+    /**
+     * @return The number of completed executions including the failed ones
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    public long getFailures()
+    {
+        return failures;
+    }
+
+    /**
+     * @return The number of requests dropped or cancelled before the execution start
+     */
+    public long getDropped()
+    {
+        return dropped;
+    }
+
+    public Distribution getLatency()
+    {
+        return latency;
+    }
+
+    public Distribution getQueueWait()
+    {
+        return queueWait;
+    }
+
+    /**
+     * @return The mean number of bytes allocated by the execution thread or <code>-1</code> if the JVM doesn't
+     * support the measurement
+     */
+    public long getMeanAllocatedBytes()
+    {
+        return meanAllocatedBytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s: count=%d failures=%d dropped=%d latency=[%s] queue-wait=[%s] allocated=%dB",
+                operation, count, failures, dropped, latency, queueWait, meanAllocatedBytes);
+    }
+}
@@ -0,0 +1,254 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sun.management.ThreadMXBean;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+
+/**
+ * Collects latency, queue wait, allocation and outcome metrics of the language server requests and of the other long
+ * running operations grouped by the operation name. The metrics are returned by the <code>vividus/metrics</code>
+ * request and optionally logged with the interval configured in {@link VividusStudioSettings}. The allocations are
+ * measured only if the runtime provides <code>com.sun.management</code> API, otherwise only the wall-clock latency
+ * and the queue wait are measured.
+ */
+@Singleton
+public class RequestMetrics
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestMetrics.class);
+
+    private static final long UNSUPPORTED = -1;
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final LongSupplier allocationCounter;
+
+    @Inject
+    public RequestMetrics(VividusStudioSettings settings)
+    {
+        this.allocationCounter = createAllocationCounter();
+
+        int interval = settings.getMetricsLogIntervalSeconds();
+        if (interval > 0)
+        {
+            ScheduledExecutorService logger = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("vividus-studio-metrics-%d")
+                    .build());
+            logger.scheduleAtFixedRate(this::log, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Starts the measurement of the operation executed right away on the current thread
+     *
+     * @return The sample to pass to {@link #stop(String, Sample, boolean)}
+     */
+    public Sample start()
+    {
+        return start(System.nanoTime());
+    }
+
+    /**
+     * Starts the measurement of the operation executed on the current thread
+     *
+     * @param queuedAt The {@link System#nanoTime()} when the operation was queued for the execution
+     * @return The sample to pass to {@link #stop(String, Sample, boolean)}
+     */
+    public Sample start(long queuedAt)
+    {
+        return new Sample(queuedAt, System.nanoTime(), currentThreadAllocatedBytes());
+    }
+
+    /**
+     * Completes the measurement of the operation, the method must be invoked on the thread the measurement was started
+     * on
+     *
+     * @param operation The name of operation
+     * @param sample The sample returned by {@link #start(long)}
+     * @param failed Whether the operation failed
+     */
+    public void stop(String operation, Sample sample, boolean failed)
+    {
+        long allocatedBytes = sample.allocatedBefore == UNSUPPORTED ? UNSUPPORTED
+                : currentThreadAllocatedBytes() - sample.allocatedBefore;
+        getOperation(operation).record(sample.startedAt - sample.queuedAt, System.nanoTime() - sample.startedAt,
+                allocatedBytes, failed);
+    }
+
+    public void recordDrop(String operation)
+    {
+        getOperation(operation).dropped.increment();
+    }
+
+    public <T, E extends Throwable> T measure(String operation, FailableSupplier<T, E> action) throws E
+    {
+        Sample sample = start();
+        boolean failed = true;
+        try
+        {
+            T result = action.get();
+            failed = false;
+            return result;
+        }
+        finally
+        {
+            stop(operation, sample, failed);
+        }
+    }
+
+    public List<OperationStatistics> getStatistics()
+    {
+        return operations.entrySet()
+                         .stream()
+                         .map(e -> e.getValue().toStatistics(e.getKey()))
+                         .sorted(Comparator.comparing(OperationStatistics::getOperation))
+                         .collect(Collectors.toList());
+    }
+
+    private void log()
+    {
+        List<OperationStatistics> statistics = getStatistics();
+        if (!statistics.isEmpty())
+        {
+            LOGGER.info("Request metrics:{}{}", System.lineSeparator(), statistics.stream()
+                    .map(OperationStatistics::toString)
+                    .collect(Collectors.joining(System.lineSeparator())));
+        }
+    }
+
+    private OperationMetrics getOperation(String operation)
+    {
+        return operations.computeIfAbsent(operation, o -> new OperationMetrics());
+    }
+
+    private long currentThreadAllocatedBytes()
+    {
+        return allocationCounter != null ? allocationCounter.getAsLong() : UNSUPPORTED;
+    }
+
+    private static LongSupplier createAllocationCounter()
+    {
+        try
+        {
+            return ThreadAllocationCounter.create();
+        }
+        catch (NoClassDefFoundError e)
+        {
+            LOGGER.info("Allocations of requests are not measured, since com.sun.management API is not available");
+            return null;
+        }
+    }
+
+    public static final class Sample
+    {
+        private final long queuedAt;
+        private final long startedAt;
+        private final long allocatedBefore;
+
+        private Sample(long queuedAt, long startedAt, long allocatedBefore)
+        {
+            this.queuedAt = queuedAt;
+            this.startedAt = startedAt;
+            this.allocatedBefore = allocatedBefore;
+        }
+    }
+
+    /**
+     * The counter of the bytes allocated by the current thread, it's the only class referring to
+     * <code>com.sun.management</code> API, so it fails to load if the optional import of the API is not resolved
+     */
+    private static final class ThreadAllocationCounter implements LongSupplier
+    {
+        private final ThreadMXBean threadMXBean;
+
+        private ThreadAllocationCounter(ThreadMXBean threadMXBean)
+        {
+            this.threadMXBean = threadMXBean;
+        }
+
+        private static LongSupplier create()
+        {
+            return ManagementFactory.getThreadMXBean() instanceof ThreadMXBean allocationAware
+                    && allocationAware.isThreadAllocatedMemorySupported()
+                    ? new ThreadAllocationCounter(allocationAware) : null;
+        }
+
+        @Override
+        public long getAsLong()
+        {
+            return threadMXBean.isThreadAllocatedMemoryEnabled() ? threadMXBean.getCurrentThreadAllocatedBytes()
+                    : UNSUPPORTED;
+        }
+    }
+
+    private static final class OperationMetrics
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder allocationSamples = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+
+        private void record(long queueWaitNanos, long latencyNanos, long allocated, boolean failed)
+        {
+            count.increment();
+            if (failed)
+            {
+                failures.increment();
+            }
+            latency.record(latencyNanos);
+            queueWait.record(queueWaitNanos);
+            if (allocated != UNSUPPORTED)
+            {
+                allocatedBytes.add(allocated);
+                allocationSamples.increment();
+            }
+        }
+
+        private OperationStatistics toStatistics(String operation)
+        {
+            long samples = allocationSamples.sum();
+            return new OperationStatistics(operation, count.sum(), failures.sum(), dropped.sum(),
+                    latency.toDistribution(), queueWait.toDistribution(),
+                    samples == 0 ? UNSUPPORTED : allocatedBytes.sum() / samples);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact index of the steps of a single file: the identifiers of the resolved step definitions and the lines of the
+ * steps are kept in the parallel arrays
+ */
+public final class IndexedSteps
+{
+    private final String documentUri;
+    private final int[] stepDefinitionIds;
+    private final int[] lines;
+
+    private IndexedSteps(String documentUri, int[] stepDefinitionIds, int[] lines)
+    {
+        this.documentUri = documentUri;
+        this.stepDefinitionIds = stepDefinitionIds;
+        this.lines = lines;
+    }
+
+    public static IndexedSteps of(String documentUri, List<ResolvedStepDefinition> resolvedSteps)
+    {
+        int[] stepDefinitionIds = new int[resolvedSteps.size()];
+        int[] lines = new int[resolvedSteps.size()];
+        int size = 0;
+        for (ResolvedStepDefinition resolved : resolvedSteps)
+        {
+            if (resolved.getId() >= 0)
+            {
+                stepDefinitionIds[size] = resolved.getId();
+                lines[size] = resolved.getStep().getLineIndex();
+                size++;
+            }
+        }
+        return new IndexedSteps(documentUri, Arrays.copyOf(stepDefinitionIds, size), Arrays.copyOf(lines, size));
+    }
+
+    public String getDocumentUri()
+    {
+        return documentUri;
+    }
+
+    public int size()
+    {
+        return stepDefinitionIds.length;
+    }
+
+    public int getStepDefinitionId(int index)
+    {
+        return stepDefinitionIds[index];
+    }
+
+    public int getLine(int index)
+    {
+        return lines[index];
+    }
+}
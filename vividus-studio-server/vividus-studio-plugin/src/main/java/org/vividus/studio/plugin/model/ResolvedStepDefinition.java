@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2022 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,16 +27,26 @@ public class ResolvedStepDefinition extends StepDefinition
     private final int tokenIndex;
     private final String subToken;
     private final List<Integer> argIndices;
+    private final boolean fullyMatched;
+    private final boolean ambiguous;
 
     public ResolvedStepDefinition(Step step, int tokenIndex, String subToken, List<Integer> argIndices,
-            StepDefinition stepDefinition)
+            StepDefinition stepDefinition, boolean fullyMatched)
     {
-        super(stepDefinition.getModule(), stepDefinition.getStepAsString(), stepDefinition.getDocumentation(),
-                stepDefinition.getParameters(), stepDefinition.getMatchTokens());
+        this(step, tokenIndex, subToken, argIndices, stepDefinition, fullyMatched, false);
+    }
+
+    @SuppressWarnings("paramNum")
+    public ResolvedStepDefinition(Step step, int tokenIndex, String subToken, List<Integer> argIndices,
+            StepDefinition stepDefinition, boolean fullyMatched, boolean ambiguous)
+    {
+        super(stepDefinition);
         this.step = step;
         this.tokenIndex = tokenIndex;
         this.subToken = subToken;
         this.argIndices = argIndices;
+        this.fullyMatched = fullyMatched;
+        this.ambiguous = ambiguous;
     }
 
     public Step getStep()
@@ -58,4 +68,25 @@ public class ResolvedStepDefinition extends StepDefinition
     {
         return argIndices;
     }
+
+    /**
+     * Returns whether the step is complete and matches all the tokens of the step definition, the prefixes of the
+     * step definition and the steps with partly typed last token are not fully matched
+     *
+     * @return <code>true</code> if the step is fully matched
+     */
+    public boolean isFullyMatched()
+    {
+        return fullyMatched;
+    }
+
+    /**
+     * Returns whether the step fully matches more than one step definition
+     *
+     * @return <code>true</code> if the step is ambiguous
+     */
+    public boolean isAmbiguous()
+    {
+        return ambiguous;
+    }
 }
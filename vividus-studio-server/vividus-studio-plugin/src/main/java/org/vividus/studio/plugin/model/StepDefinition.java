@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,22 +21,44 @@ package org.vividus.studio.plugin.model;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.vividus.studio.plugin.match.TokenMatcher;
 
 public class StepDefinition
 {
     private final String module;
     private final String stepAsString;
-    private final String documentation;
+    private final Supplier<String> documentation;
     private final List<Parameter> parameters;
     private final List<String> matchTokens;
     private final StepType stepType;
+    private final TokenMatcher matcher;
 
+    private int id = -1;
     private boolean deprecated;
     private boolean composite;
     private boolean dynamic;
+    private StepDefinitionLocation location;
 
     public StepDefinition(String module, String stepAsString, String documentation, List<Parameter> parameters,
             List<String> matchTokens)
+    {
+        this(module, stepAsString, () -> documentation, parameters, matchTokens);
+    }
+
+    /**
+     * Creates the step definition with the documentation loaded on demand, the loaded documentation is not retained
+     * by the step definition, so the loader is invoked every time the documentation is requested
+     *
+     * @param module The module containing the step
+     * @param stepAsString The step
+     * @param documentation The loader of the step documentation
+     * @param parameters The step parameters
+     * @param matchTokens The tokens of the step between the parameters
+     */
+    public StepDefinition(String module, String stepAsString, Supplier<String> documentation,
+            List<Parameter> parameters, List<String> matchTokens)
     {
         this.module = module;
         this.stepAsString = stepAsString;
@@ -44,6 +66,23 @@ public class StepDefinition
         this.parameters = parameters;
         this.matchTokens = matchTokens;
         this.stepType = StepType.detect(stepAsString);
+        this.matcher = TokenMatcher.compile(matchTokens);
+    }
+
+    protected StepDefinition(StepDefinition stepDefinition)
+    {
+        this.module = stepDefinition.module;
+        this.stepAsString = stepDefinition.stepAsString;
+        this.documentation = stepDefinition.documentation;
+        this.parameters = stepDefinition.parameters;
+        this.matchTokens = stepDefinition.matchTokens;
+        this.stepType = stepDefinition.stepType;
+        this.matcher = stepDefinition.matcher;
+        this.id = stepDefinition.id;
+        this.deprecated = stepDefinition.deprecated;
+        this.composite = stepDefinition.composite;
+        this.dynamic = stepDefinition.dynamic;
+        this.location = stepDefinition.location;
     }
 
     public String getModule()
@@ -57,6 +96,11 @@ public class StepDefinition
     }
 
     public String getDocumentation()
+    {
+        return documentation.get();
+    }
+
+    public Supplier<String> getDocumentationSource()
     {
         return documentation;
     }
@@ -71,11 +115,32 @@ public class StepDefinition
         return matchTokens;
     }
 
+    public TokenMatcher getMatcher()
+    {
+        return matcher;
+    }
+
     public StepType getStepType()
     {
         return stepType;
     }
 
+    /**
+     * Returns the identifier of the step definition, the identifier is a small non-negative number that stays the
+     * same for the step of the module while the server is running, so it can be used as an index in arrays
+     *
+     * @return The identifier or <code>-1</code> if the step definition is not registered yet
+     */
+    public int getId()
+    {
+        return id;
+    }
+
+    public void setId(int id)
+    {
+        this.id = id;
+    }
+
     public boolean isDeprecated()
     {
         return deprecated;
@@ -106,10 +171,25 @@ public class StepDefinition
         this.dynamic = dynamic;
     }
 
+    /**
+     * Returns the location of the step definition declaration recorded when the step definition was found
+     *
+     * @return The location or <code>null</code> if the location is unknown
+     */
+    public StepDefinitionLocation getLocation()
+    {
+        return location;
+    }
+
+    public void setLocation(StepDefinitionLocation location)
+    {
+        this.location = location;
+    }
+
     @Override
     public int hashCode()
     {
-        return Objects.hash(documentation, module, stepAsString, composite, dynamic);
+        return Objects.hash(module, stepAsString, composite, dynamic);
     }
 
     @Override
@@ -124,8 +204,7 @@ public class StepDefinition
             return false;
         }
         StepDefinition other = (StepDefinition) obj;
-        return Objects.equals(documentation, other.documentation)
-                && Objects.equals(module, other.module)
+        return Objects.equals(module, other.module)
                 && Objects.equals(stepAsString, other.stepAsString)
                 && composite == other.composite
                 && dynamic == other.dynamic;
@@ -0,0 +1,142 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.model;
+
+/**
+ * Compact handle of the step definition declaration recorded when the step definition is found, the handle refers
+ * either the step method by the jar, the class name and the method signature, or the composite step by the file or
+ * the jar entry and the line of the composite step declaration.
+ */
+public final class StepDefinitionLocation
+{
+    private static final int UNKNOWN_LINE = -1;
+
+    private final String archive;
+    private final String path;
+    private final String sources;
+    private final String methodName;
+    private final String methodSignature;
+    private final int line;
+
+    @SuppressWarnings("paramNum")
+    private StepDefinitionLocation(String archive, String path, String sources, String methodName,
+            String methodSignature, int line)
+    {
+        this.archive = archive;
+        this.path = path;
+        this.sources = sources;
+        this.methodName = methodName;
+        this.methodSignature = methodSignature;
+        this.line = line;
+    }
+
+    /**
+     * Creates the location of the step method
+     *
+     * @param archive The absolute path of the jar containing the class
+     * @param sources The absolute path of the source attachment of the jar or <code>null</code> if the jar has no
+     * source attachment
+     * @param className The fully qualified name of the class, e.g. <code>org.vividus.steps.Steps$Nested</code>
+     * @param methodName The name of the method
+     * @param methodSignature The method signature in the JDT format, e.g. <code>(Ljava.lang.String;)V</code>
+     * @return The location
+     */
+    public static StepDefinitionLocation ofMethod(String archive, String sources, String className,
+            String methodName, String methodSignature)
+    {
+        return new StepDefinitionLocation(archive, className, sources, methodName, methodSignature, UNKNOWN_LINE);
+    }
+
+    /**
+     * Creates the location of the composite step declared in the jar entry
+     *
+     * @param archive The absolute path of the jar
+     * @param entry The name of the jar entry, e.g. <code>steps/defaults/composite.steps</code>
+     * @param line The zero-based index of the line declaring the composite step
+     * @return The location
+     */
+    public static StepDefinitionLocation ofArchiveEntry(String archive, String entry, int line)
+    {
+        return new StepDefinitionLocation(archive, entry, null, null, null, line);
+    }
+
+    /**
+     * Creates the location of the composite step declared in the project file
+     *
+     * @param file The absolute path of the file
+     * @param line The zero-based index of the line declaring the composite step
+     * @return The location
+     */
+    public static StepDefinitionLocation ofFile(String file, int line)
+    {
+        return new StepDefinitionLocation(null, file, null, null, null, line);
+    }
+
+    /**
+     * Returns the absolute path of the jar containing the step definition
+     *
+     * @return The jar path or <code>null</code> if the step definition is declared in the project file
+     */
+    public String getArchive()
+    {
+        return archive;
+    }
+
+    /**
+     * Returns the fully qualified name of the class for the step method, the name of the jar entry or the absolute
+     * path of the file for the composite step
+     *
+     * @return The path
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+    public String getSources()
+    {
+        return sources;
+    }
+
+    public String getMethodName()
+    {
+        return methodName;
+    }
+
+    public String getMethodSignature()
+    {
+        return methodSignature;
+    }
+
+    /**
+     * Returns the zero-based index of the line declaring the composite step
+     *
+     * @return The line index or <code>-1</code> for the step method
+     */
+    public int getLine()
+    {
+        return line;
+    }
+
+    public boolean isMethod()
+    {
+        return methodName != null;
+    }
+}
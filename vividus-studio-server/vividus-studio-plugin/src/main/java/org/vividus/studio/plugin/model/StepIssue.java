@@ -0,0 +1,66 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.model;
+
+public class StepIssue
+{
+    private final String file;
+    private final int line;
+    private final String step;
+    private final Type type;
+
+    public StepIssue(String file, int line, String step, Type type)
+    {
+        this.file = file;
+        this.line = line;
+        this.step = step;
+        this.type = type;
+    }
+
+    public String getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Returns the one-based number of the first line of the step
+     *
+     * @return The line number
+     */
+    public int getLine()
+    {
+        return line;
+    }
+
+    public String getStep()
+    {
+        return step;
+    }
+
+    public Type getType()
+    {
+        return type;
+    }
+
+    public enum Type
+    {
+        UNRESOLVED, AMBIGUOUS, DEPRECATED
+    }
+}
@@ -0,0 +1,79 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ValidationReport
+{
+    private final List<String> files;
+    private final int steps;
+    private final long durationNanos;
+    private final List<StepIssue> issues;
+
+    public ValidationReport(List<String> files, int steps, long durationNanos, List<StepIssue> issues)
+    {
+        this.files = files;
+        this.steps = steps;
+        this.durationNanos = durationNanos;
+        this.issues = issues;
+    }
+
+    public List<String> getFiles()
+    {
+        return files;
+    }
+
+    public int getSteps()
+    {
+        return steps;
+    }
+
+    public long getDurationMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    public List<StepIssue> getIssues()
+    {
+        return issues;
+    }
+
+    public boolean hasUnresolvedSteps()
+    {
+        return issues.stream().anyMatch(issue -> issue.getType() == StepIssue.Type.UNRESOLVED);
+    }
+
+    public double getFilesPerSecond()
+    {
+        return perSecond(files.size());
+    }
+
+    public double getStepsPerSecond()
+    {
+        return perSecond(steps);
+    }
+
+    private double perSecond(int count)
+    {
+        return durationNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2024 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,11 +40,13 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.DiagnosticRegistrationOptions;
 import org.eclipse.lsp4j.DocumentFilter;
 import org.eclipse.lsp4j.ExecuteCommandOptions;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.eclipse.lsp4j.SemanticTokensServerFull;
 import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentSyncKind;
@@ -66,7 +68,10 @@ import org.vividus.studio.plugin.loader.IJavaProjectLoader;
 import org.vividus.studio.plugin.log.VividusStudioLogAppender;
 import org.vividus.studio.plugin.service.ClientNotificationService;
 import org.vividus.studio.plugin.service.ConfigurationService;
+import org.vividus.studio.plugin.service.RequestExecutor;
+import org.vividus.studio.plugin.service.RequestType;
 import org.vividus.studio.plugin.service.StepDefinitionResolver;
+import org.vividus.studio.plugin.service.WorkspaceStepIndex;
 
 @SuppressWarnings("paramNum")
 @Singleton
@@ -86,8 +91,10 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
     private final ConfigurationService configurationService;
     private final VividusStudioEnvronment vividusStudioConfiguration;
     private final Set<ICommand> commands;
+    private final RequestExecutor requestExecutor;
+    private final WorkspaceStepIndex workspaceStepIndex;
 
-    private boolean exit;
+    private volatile boolean exit;
 
     @Inject
     public VividusStudioLanguageServer(
@@ -100,7 +107,9 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
             ClientNotificationService clientNotificationService,
             ConfigurationService configurationService,
             VividusStudioEnvronment vividusStudioConfiguration,
-            Set<ICommand> commands)
+            Set<ICommand> commands,
+            RequestExecutor requestExecutor,
+            WorkspaceStepIndex workspaceStepIndex)
     {
         this.textDocumentService = textDocumentService;
         this.stepDefinitionResolver = stepDefinitionResolver;
@@ -112,16 +121,19 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
         this.configurationService = configurationService;
         this.vividusStudioConfiguration = vividusStudioConfiguration;
         this.commands = commands;
+        this.requestExecutor = requestExecutor;
+        this.workspaceStepIndex = workspaceStepIndex;
     }
 
     @Override
     public CompletableFuture<InitializeResult> initialize(InitializeParams params)
     {
-        return CompletableFuture.supplyAsync(() ->
+        return requestExecutor.submit(RequestType.PROJECT, "initialize", cancelChecker ->
         {
             Either<String, Integer> token = params.getWorkDoneToken();
 
             clientNotificationService.startProgress(token, "Initialization", "Initialize project");
+            vividusStudioConfiguration.setClientCapabilities(params.getCapabilities());
 
             ServerCapabilities capabilities = new ServerCapabilities();
             capabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
@@ -133,7 +145,8 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
             capabilities.setExecuteCommandProvider(commandOptions);
 
             SemanticTokensLegend legend = new SemanticTokensLegend(List.of("vividus-step-argument"), List.of());
-            SemanticTokensWithRegistrationOptions options = new SemanticTokensWithRegistrationOptions(legend, true);
+            SemanticTokensWithRegistrationOptions options = new SemanticTokensWithRegistrationOptions(legend,
+                    new SemanticTokensServerFull(true), true);
             options.setDocumentSelector(List.of(
                 new DocumentFilter("vividus-story", null, null),
                 new DocumentFilter("vividus-composite-step", null, null)
@@ -144,6 +157,10 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
             codeActionOptions.setCodeActionKinds(List.of(CodeActionKind.Source));
             codeActionOptions.setResolveProvider(true);
             capabilities.setCodeActionProvider(codeActionOptions);
+            capabilities.setReferencesProvider(true);
+            capabilities.setDefinitionProvider(true);
+            capabilities.setHoverProvider(true);
+            capabilities.setDiagnosticProvider(new DiagnosticRegistrationOptions(true, true));
 
             Optional<IJavaProject> javaProject = projectLoader.load(params.getRootUri(),
                     msg -> clientNotificationService.progress(token, msg),
@@ -153,7 +170,8 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
             javaProject.ifPresent(jp ->
             {
                 vividusStudioConfiguration.setJavaProject(jp);
-                stepDefinitionResolver.refresh();
+                stepDefinitionResolver.refresh(msg -> clientNotificationService.progress(token, msg));
+                workspaceStepIndex.rebuild();
             });
 
             wrap(jvmConfigurator::configureDefaultJvm, VividusStudioException::new);
@@ -167,7 +185,7 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
     @Override
     public CompletableFuture<Object> shutdown()
     {
-        return CompletableFuture.supplyAsync(() ->
+        return requestExecutor.submit(RequestType.PROJECT, "shutdown", cancelChecker ->
         {
             LOGGER.info("Shutting down...");
             wrapMono(() -> this.workspace.save(true, null), VividusStudioException::new);
@@ -179,6 +197,7 @@ public class VividusStudioLanguageServer implements LanguageServer, SocketListen
     public void exit()
     {
         LOGGER.info("Exiting from the server process...");
+        requestExecutor.shutdown();
         exit = true;
     }
 
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,6 +87,27 @@ public class ClientNotificationService
         this.languageClient.logMessage(messageParams);
     }
 
+    /**
+     * Reports the partial result of the request, the request which results are reported partially must complete with
+     * an empty result
+     *
+     * @param token The partial result token passed by the client in the request parameters
+     * @param partialResult The partial result
+     */
+    public void reportPartialResult(Either<String, Integer> token, Object partialResult)
+    {
+        this.languageClient.notifyProgress(new ProgressParams(token, Either.forRight(partialResult)));
+    }
+
+    /**
+     * Asks the client to pull the document and workspace diagnostics again, e.g. once the step definitions are
+     * refreshed
+     */
+    public void refreshDiagnostics()
+    {
+        this.languageClient.refreshDiagnostics();
+    }
+
     private void showMessage(String message, MessageType messageType)
     {
         MessageParams messageParams = new MessageParams(messageType, message);
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,74 +22,91 @@ package org.vividus.studio.plugin.service;
 import static java.lang.String.format;
 import static java.lang.String.join;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.CompletionItemTag;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.InsertReplaceEdit;
 import org.eclipse.lsp4j.InsertTextFormat;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.vividus.studio.plugin.command.RecordStepUsageCommand;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.model.Parameter;
 import org.vividus.studio.plugin.model.ResolvedStepDefinition;
 import org.vividus.studio.plugin.model.StepDefinition;
 
+/**
+ * Provides completion items in two phases: the completion list carries only the data needed to show and filter the
+ * items, while the module, the documentation and, if the client supports its lazy resolution, the text edit are set
+ * when the item is resolved.
+ */
 @Singleton
 public class CompletionItemService implements ICompletionItemService
 {
-    private static final String HASH = "hash";
-    private static final String TRIGGER = "trigger";
+    private static final String MODULE = "module";
+    private static final String LINE = "line";
+    private static final String CHARACTER = "character";
+    private static final String TOKEN_INDEX = "tokenIndex";
+    private static final String SUB_TOKEN = "subToken";
+    private static final String TEXT_EDIT = "textEdit";
+    private static final String SORT_TEXT_FORMAT = "%05d";
     private static final String PLACEHOLDER_FORMAT = "${%d:%s}";
     private static final String CHOICE_FORMAT = "${%d|%s|}";
+    private static final String RECORD_USAGE_TITLE = "Record step usage";
 
     private final StepDefinitionResolver stepDefinitionResolver;
+    private final StepDocumentationService stepDocumentationService;
+    private final VividusStudioEnvronment vividusStudioEnvironment;
+    private final RecentlyUsedSteps recentlyUsedSteps;
+    private final VividusStudioSettings vividusStudioSettings;
+    private final StepUsageIndex stepUsageIndex;
 
     @Inject
-    public CompletionItemService(StepDefinitionResolver stepDefinitionResolver)
+    public CompletionItemService(StepDefinitionResolver stepDefinitionResolver,
+            StepDocumentationService stepDocumentationService, VividusStudioEnvronment vividusStudioEnvironment,
+            RecentlyUsedSteps recentlyUsedSteps, VividusStudioSettings vividusStudioSettings,
+            StepUsageIndex stepUsageIndex)
     {
         this.stepDefinitionResolver = stepDefinitionResolver;
+        this.stepDocumentationService = stepDocumentationService;
+        this.vividusStudioEnvironment = vividusStudioEnvironment;
+        this.recentlyUsedSteps = recentlyUsedSteps;
+        this.vividusStudioSettings = vividusStudioSettings;
+        this.stepUsageIndex = stepUsageIndex;
     }
 
-    private static CompletionItem asCompletionItem(StepDefinition stepDefinition)
-    {
-        CompletionItem item = new CompletionItem(stepDefinition.getStepAsString());
-        item.setKind(CompletionItemKind.Method);
-
-        setSnippet(item, stepDefinition);
-        setInfo(item, stepDefinition);
-        setData(item, stepDefinition);
-
-        return item;
-    }
-
-    private static void setSnippet(CompletionItem item, StepDefinition stepDefinition)
+    private static String createSnippet(StepDefinition stepDefinition)
     {
-        item.setInsertTextFormat(InsertTextFormat.Snippet);
-
         List<Parameter> parameters = stepDefinition.getParameters();
         int size = parameters.size();
         String [] search = new String[size];
         String [] replacement = new String[size];
 
-        IntStream.range(0, size).forEach(i ->
+        for (int i = 0; i < size; i++)
         {
             Parameter parameter = parameters.get(i);
             search[i] = parameter.getName();
             replacement[i] = createSnippet(parameter);
-        });
+        }
 
-        String snipperText = StringUtils.replaceEach(stepDefinition.getStepAsString(), search, replacement);
-        item.setInsertText(snipperText);
+        return StringUtils.replaceEach(stepDefinition.getStepAsString(), search, replacement);
     }
 
     private static String createSnippet(Parameter parameter)
@@ -100,64 +117,146 @@ public class CompletionItemService implements ICompletionItemService
                 : format(CHOICE_FORMAT, parameter.getIndex(), join(",", values));
     }
 
-    private static void setInfo(CompletionItem item, StepDefinition stepDefinition)
+    private static String createInsertText(StepDefinition stepDefinition, int matchTokenIndex, String subToken,
+            int charPosition)
     {
-        item.setDetail(stepDefinition.getModule());
-        item.setDocumentation(stepDefinition.getDocumentation());
-        if (stepDefinition.isDeprecated())
+        if (subToken.isEmpty())
         {
-            item.setTags(List.of(CompletionItemTag.Deprecated));
+            return "";
         }
+        String snippet = createSnippet(stepDefinition);
+        if (matchTokenIndex == 0)
+        {
+            return snippet.substring(charPosition);
+        }
+        Parameter parameter = stepDefinition.getParameters().get(matchTokenIndex - 1);
+        return StringUtils.substringAfter(snippet, createSnippet(parameter) + subToken);
     }
 
-    private static void setData(CompletionItem item, StepDefinition stepDefinition)
+    /**
+     * Checks whether the text inserted by the completion item is empty without building the snippet, the snippet
+     * placeholders replace the parameter names, so they don't affect whether there is any text after the typed part of
+     * the step
+     */
+    private static boolean insertsNothing(StepDefinition stepDefinition, int matchTokenIndex, String subToken,
+            int charPosition)
     {
-        JsonObject state = new JsonObject();
-        state.addProperty(TRIGGER, stepDefinition.getStepType().getId());
-        state.addProperty(HASH, stepDefinition.hashCode());
-        item.setData(state);
+        if (subToken.isEmpty())
+        {
+            return true;
+        }
+        String step = stepDefinition.getStepAsString();
+        if (matchTokenIndex == 0)
+        {
+            return charPosition >= step.length();
+        }
+        Parameter parameter = stepDefinition.getParameters().get(matchTokenIndex - 1);
+        return StringUtils.substringAfter(step, parameter.getName() + subToken).isEmpty();
     }
 
-    @Override
-    public List<CompletionItem> findAllAtPosition(String documentIdentifier, Position position)
+    private static Either<TextEdit, InsertReplaceEdit> createTextEdit(int line, int character, String insertText)
     {
-        return stepDefinitionResolver.resolveAtPosition(documentIdentifier, position)
-                .map(match(position))
-                .collect(Collectors.toList());
+        Position snippetPosition = new Position(line, character);
+        return Either.forLeft(new TextEdit(new Range(snippetPosition, snippetPosition), insertText));
     }
 
-    private Function<ResolvedStepDefinition, CompletionItem> match(Position position)
+    @Override
+    public CompletionList findAllAtPosition(String documentIdentifier, Position position, boolean invokedOnTyping,
+            CancelChecker cancelChecker)
     {
-        return def ->
-        {
-            CompletionItem item = asCompletionItem(def);
+        boolean resolveTextEdit = vividusStudioEnvironment.isCompletionItemPropertyResolvable(TEXT_EDIT);
+        int charPosition = position.getCharacter();
+        int limit = vividusStudioSettings.getCompletionItemsLimit();
 
-            int matchTokenIndex = def.getTokenIndex();
-            String subToken = def.getSubToken();
-            int charPosition = position.getCharacter();
+        ToIntFunction<StepDefinition> usageCounts = stepUsageIndex.getUsageCounts();
 
-            String insertText = "";
-            if (!subToken.isEmpty())
+        List<ResolvedStepDefinition> stepDefinitions = stepDefinitionResolver.resolveAtPosition(documentIdentifier,
+                position)
+                .peek(def -> cancelChecker.checkCanceled())
+                .collect(Collectors.toCollection(ArrayList::new));
+        stepDefinitions.sort(Comparator
+                .comparing(ResolvedStepDefinition::getTokenIndex, Comparator.reverseOrder())
+                .thenComparing(StepDefinition::isDeprecated)
+                .thenComparingInt(recentlyUsedSteps.getRecency())
+                .thenComparing(Comparator.comparingInt(usageCounts).reversed()));
+
+        List<CompletionItem> items = new ArrayList<>();
+        boolean incomplete = false;
+        for (ResolvedStepDefinition def : stepDefinitions)
+        {
+            cancelChecker.checkCanceled();
+            if (invokedOnTyping && insertsNothing(def, def.getTokenIndex(), def.getSubToken(), charPosition))
             {
-                if (matchTokenIndex == 0)
-                {
-                    insertText = item.getInsertText().substring(charPosition);
-                }
-                else
-                {
-                    Parameter parameter = def.getParameters()
-                            .get(matchTokenIndex - 1);
-                    insertText = StringUtils.substringAfter(item.getInsertText(),
-                            createSnippet(parameter) + subToken);
-                }
+                continue;
+            }
+            if (items.size() == limit)
+            {
+                incomplete = true;
+                break;
+            }
+
+            CompletionItem item = new CompletionItem(def.getStepAsString());
+            item.setKind(CompletionItemKind.Method);
+            item.setInsertTextFormat(InsertTextFormat.Snippet);
+            item.setSortText(format(SORT_TEXT_FORMAT, items.size()));
+            if (def.isDeprecated())
+            {
+                item.setTags(List.of(CompletionItemTag.Deprecated));
             }
+            if (items.isEmpty() && usageCounts.applyAsInt(def) > 0)
+            {
+                item.setPreselect(true);
+            }
+            if (!resolveTextEdit)
+            {
+                item.setTextEdit(createTextEdit(position.getLine(), charPosition,
+                        createInsertText(def, def.getTokenIndex(), def.getSubToken(), charPosition)));
+            }
+            item.setCommand(new Command(RECORD_USAGE_TITLE, RecordStepUsageCommand.NAME,
+                    List.of(def.getModule(), def.getStepAsString())));
+            item.setData(createData(def, position));
+            items.add(item);
+        }
+        return new CompletionList(incomplete, items);
+    }
 
-            Position snippetPosition = new Position(position.getLine(), charPosition);
-            TextEdit textEdit = new TextEdit(new Range(snippetPosition,
-                    snippetPosition), insertText);
-            item.setTextEdit(Either.forLeft(textEdit));
+    private static JsonObject createData(ResolvedStepDefinition stepDefinition, Position position)
+    {
+        JsonObject data = new JsonObject();
+        data.addProperty(MODULE, stepDefinition.getModule());
+        data.addProperty(LINE, position.getLine());
+        data.addProperty(CHARACTER, position.getCharacter());
+        data.addProperty(TOKEN_INDEX, stepDefinition.getTokenIndex());
+        data.addProperty(SUB_TOKEN, stepDefinition.getSubToken());
+        return data;
+    }
 
-            return item;
-        };
+    /**
+     * Sets the module, the documentation and the text edit, if it was not set on the completion list, of the step
+     * definition the completion item is created for
+     *
+     * @param item The completion item to resolve
+     * @return The resolved completion item
+     */
+    @Override
+    public CompletionItem resolve(CompletionItem item)
+    {
+        if (item.getData() instanceof JsonObject data && data.has(MODULE))
+        {
+            String module = data.get(MODULE).getAsString();
+            stepDefinitionResolver.findStepDefinition(module, item.getLabel()).ifPresent(stepDefinition ->
+            {
+                item.setDetail(module);
+                item.setDocumentation(stepDocumentationService.getDocumentation(stepDefinition));
+                if (item.getTextEdit() == null)
+                {
+                    int character = data.get(CHARACTER).getAsInt();
+                    String insertText = createInsertText(stepDefinition, data.get(TOKEN_INDEX).getAsInt(),
+                            data.get(SUB_TOKEN).getAsString(), character);
+                    item.setTextEdit(createTextEdit(data.get(LINE).getAsInt(), character, insertText));
+                }
+            });
+        }
+        return item;
     }
 }
@@ -0,0 +1,585 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.RelatedUnchangedDocumentDiagnosticReport;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceUnchangedDocumentDiagnosticReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.document.TextDocumentEventListener;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.factory.DiagnosticFactory;
+import org.vividus.studio.plugin.util.ResourceUtils;
+import org.vividus.studio.plugin.util.Splitter;
+
+/**
+ * Calculates diagnostics of the open documents for the steps not fully matching any step definition, the steps
+ * matching more than one step definition and the deprecated steps, the diagnostics are pulled by the client using
+ * document and workspace diagnostic requests. The diagnostics are kept per step line: on document change the
+ * diagnostics below the change are shifted and only the changed step blocks are resolved again once the changes stop
+ * for the debounce delay or the diagnostics are pulled, whichever comes first, the resolutions are taken from the
+ * resolver cache, so the unchanged steps are never matched again.
+ */
+@Singleton
+public class DiagnosticsService implements TextDocumentEventListener, StepDefinitionsRevisionListener
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticsService.class);
+
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final DiagnosticFactory diagnosticFactory;
+    private final TextDocumentProvider textDocumentProvider;
+    private final ClientNotificationService clientNotificationService;
+    private final int debounceMillis;
+    private final ScheduledExecutorService executor;
+    private final Map<String, DocumentDiagnostics> documents = new ConcurrentHashMap<>();
+    private final AtomicLong openedDocuments = new AtomicLong();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    @Inject
+    public DiagnosticsService(StepDefinitionResolver stepDefinitionResolver, DiagnosticFactory diagnosticFactory,
+            TextDocumentProvider textDocumentProvider, ClientNotificationService clientNotificationService,
+            VividusStudioSettings settings)
+    {
+        this(stepDefinitionResolver, diagnosticFactory, textDocumentProvider, clientNotificationService, settings,
+                createExecutor());
+    }
+
+    DiagnosticsService(StepDefinitionResolver stepDefinitionResolver, DiagnosticFactory diagnosticFactory,
+            TextDocumentProvider textDocumentProvider, ClientNotificationService clientNotificationService,
+            VividusStudioSettings settings, ScheduledExecutorService executor)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.diagnosticFactory = diagnosticFactory;
+        this.textDocumentProvider = textDocumentProvider;
+        this.clientNotificationService = clientNotificationService;
+        this.debounceMillis = settings.getDiagnosticsDebounceMillis();
+        this.executor = executor;
+        stepDefinitionResolver.addRevisionListener(this);
+    }
+
+    @Override
+    public void onOpen(DidOpenTextDocumentParams openEvent)
+    {
+        TextDocumentItem document = openEvent.getTextDocument();
+        DocumentDiagnostics diagnostics = new DocumentDiagnostics(document.getUri(),
+                openedDocuments.incrementAndGet(), document.getVersion());
+        documents.put(ResourceUtils.normalizeUri(document.getUri()), diagnostics);
+        schedule(diagnostics, 0);
+    }
+
+    @Override
+    public void onChange(DidChangeTextDocumentParams changeEvent)
+    {
+        VersionedTextDocumentIdentifier identifier = changeEvent.getTextDocument();
+        String documentIdentifier = identifier.getUri();
+        DocumentDiagnostics diagnostics = documents.get(ResourceUtils.normalizeUri(documentIdentifier));
+        if (diagnostics == null)
+        {
+            return;
+        }
+        synchronized (diagnostics)
+        {
+            changeEvent.getContentChanges().forEach(change ->
+            {
+                Range range = change.getRange();
+                if (range == null)
+                {
+                    diagnostics.invalidateAll();
+                    return;
+                }
+                diagnostics.invalidate(range.getStart().getLine(), range.getEnd().getLine(),
+                        Splitter.countLineBreaks(change.getText()));
+            });
+            Integer version = identifier.getVersion();
+            diagnostics.setVersion(version == null ? textDocumentProvider.getVersion(documentIdentifier) : version);
+        }
+        schedule(diagnostics, debounceMillis);
+    }
+
+    @Override
+    public void onClose(DidCloseTextDocumentParams closeEvent)
+    {
+        String documentIdentifier = closeEvent.getTextDocument().getUri();
+        DocumentDiagnostics diagnostics = documents.remove(ResourceUtils.normalizeUri(documentIdentifier));
+        if (diagnostics != null)
+        {
+            synchronized (diagnostics)
+            {
+                diagnostics.close();
+            }
+        }
+    }
+
+    /**
+     * Asks the client to pull diagnostics again once the step definitions are refreshed, the step definitions of the
+     * project dependencies are merged one by one, so the request is postponed for the debounce delay to send a single
+     * request for a burst of refreshes
+     */
+    @Override
+    public void onRevisionChanged(int revision)
+    {
+        if (refreshPending.compareAndSet(false, true))
+        {
+            executor.schedule(() ->
+            {
+                refreshPending.set(false);
+                clientNotificationService.refreshDiagnostics();
+            }, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the diagnostics report of the open document, the steps changed since the previous calculation are
+     * resolved right away
+     *
+     * @param documentIdentifier The identifier of the document
+     * @param previousResultId The identifier of the report the client already has or <code>null</code>
+     * @return The report, which is empty if the document is not open
+     */
+    public DocumentDiagnosticReport diagnose(String documentIdentifier, String previousResultId)
+    {
+        return calculate(documentIdentifier).map(snapshot ->
+        {
+            String resultId = snapshot.getResultId();
+            if (resultId != null && resultId.equals(previousResultId))
+            {
+                return new DocumentDiagnosticReport(new RelatedUnchangedDocumentDiagnosticReport(resultId));
+            }
+            RelatedFullDocumentDiagnosticReport report = new RelatedFullDocumentDiagnosticReport(
+                    snapshot.getDiagnostics());
+            report.setResultId(resultId);
+            return new DocumentDiagnosticReport(report);
+        }).orElseGet(() -> new DocumentDiagnosticReport(new RelatedFullDocumentDiagnosticReport(List.of())));
+    }
+
+    /**
+     * Returns the workspace diagnostics report of the open document, the report is bound to the version of the
+     * document the diagnostics are calculated for
+     *
+     * @param documentIdentifier The identifier of the document
+     * @param previousResultId The identifier of the report the client already has or <code>null</code>
+     * @return The report or empty optional if the document is not open
+     */
+    public Optional<WorkspaceDocumentDiagnosticReport> diagnoseInWorkspace(String documentIdentifier,
+            String previousResultId)
+    {
+        return calculate(documentIdentifier).map(snapshot ->
+        {
+            String resultId = snapshot.getResultId();
+            if (resultId != null && resultId.equals(previousResultId))
+            {
+                return new WorkspaceDocumentDiagnosticReport(new WorkspaceUnchangedDocumentDiagnosticReport(
+                        resultId, documentIdentifier, snapshot.getVersion()));
+            }
+            WorkspaceFullDocumentDiagnosticReport report = new WorkspaceFullDocumentDiagnosticReport(
+                    snapshot.getDiagnostics(), documentIdentifier, snapshot.getVersion());
+            report.setResultId(resultId);
+            return new WorkspaceDocumentDiagnosticReport(report);
+        });
+    }
+
+    private Optional<DiagnosticsSnapshot> calculate(String documentIdentifier)
+    {
+        DocumentDiagnostics diagnostics = documents.get(ResourceUtils.normalizeUri(documentIdentifier));
+        if (diagnostics == null)
+        {
+            return Optional.empty();
+        }
+        recalculate(diagnostics);
+        synchronized (diagnostics)
+        {
+            return diagnostics.isClosed() ? Optional.empty() : Optional.of(diagnostics.snapshot());
+        }
+    }
+
+    private void schedule(DocumentDiagnostics diagnostics, long delayMillis)
+    {
+        synchronized (diagnostics)
+        {
+            diagnostics.reschedule(executor.schedule(() -> precalculate(diagnostics), delayMillis,
+                    TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @SuppressWarnings("IllegalCatchExtended")
+    private void precalculate(DocumentDiagnostics diagnostics)
+    {
+        try
+        {
+            recalculate(diagnostics);
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Unable to calculate diagnostics for {}", diagnostics.getDocumentIdentifier(), e);
+        }
+    }
+
+    /**
+     * Resolves the steps of the dirty lines without holding the monitor of the document diagnostics, so the document
+     * changes are not blocked by the resolution, the result is dropped if the document or the step definitions are
+     * changed meanwhile, since the changes mark the lines for the next recalculation. The dirty lines are extended
+     * back to the head of the step enclosing the line above them, since the change may cut off or continue that step
+     */
+    private void recalculate(DocumentDiagnostics diagnostics)
+    {
+        String documentIdentifier = diagnostics.getDocumentIdentifier();
+        int version;
+        int revision;
+        int fromLine;
+        int toLine;
+        synchronized (diagnostics)
+        {
+            version = diagnostics.getVersion();
+            if (diagnostics.isClosed() || textDocumentProvider.getVersion(documentIdentifier) != version)
+            {
+                return;
+            }
+
+            revision = stepDefinitionResolver.getRevision();
+            if (diagnostics.getRevision() != revision)
+            {
+                diagnostics.invalidateAll();
+                diagnostics.setRevision(revision);
+            }
+            if (!diagnostics.isDirty())
+            {
+                return;
+            }
+            fromLine = diagnostics.getDirtyFrom();
+            toLine = diagnostics.getDirtyTo();
+        }
+
+        if (fromLine > 0)
+        {
+            fromLine = Math.min(fromLine,
+                    stepDefinitionResolver.findStepHead(documentIdentifier, fromLine - 1).orElse(fromLine));
+        }
+
+        List<StepDiagnostics> stepDiagnostics = stepDefinitionResolver.resolveSteps(documentIdentifier, fromLine,
+                toLine, (step, resolved) -> new StepDiagnostics(step.getLineIndex(),
+                        diagnosticFactory.createDiagnostics(step, resolved)))
+                .collect(Collectors.toList());
+
+        synchronized (diagnostics)
+        {
+            if (diagnostics.isClosed() || diagnostics.getVersion() != version
+                    || stepDefinitionResolver.getRevision() != revision
+                    || textDocumentProvider.getVersion(documentIdentifier) != version)
+            {
+                return;
+            }
+
+            diagnostics.update(fromLine, toLine, stepDiagnostics);
+        }
+    }
+
+    private static ScheduledExecutorService createExecutor()
+    {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("vividus-studio-diagnostics-%d")
+                .build());
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static final class StepDiagnostics
+    {
+        private final int line;
+        private final List<Diagnostic> diagnostics;
+
+        private StepDiagnostics(int line, List<Diagnostic> diagnostics)
+        {
+            this.line = line;
+            this.diagnostics = diagnostics;
+        }
+
+        private int getLine()
+        {
+            return line;
+        }
+
+        private List<Diagnostic> getDiagnostics()
+        {
+            return diagnostics;
+        }
+    }
+
+    private static final class DiagnosticsSnapshot
+    {
+        private final String resultId;
+        private final int version;
+        private final List<Diagnostic> diagnostics;
+
+        private DiagnosticsSnapshot(String resultId, int version, List<Diagnostic> diagnostics)
+        {
+            this.resultId = resultId;
+            this.version = version;
+            this.diagnostics = diagnostics;
+        }
+
+        private String getResultId()
+        {
+            return resultId;
+        }
+
+        private int getVersion()
+        {
+            return version;
+        }
+
+        private List<Diagnostic> getDiagnostics()
+        {
+            return diagnostics;
+        }
+    }
+
+    /**
+     * Diagnostics of the single document along with the range of lines to recalculate, the state is guarded by the
+     * monitor of the instance
+     */
+    private static final class DocumentDiagnostics
+    {
+        private final NavigableMap<Integer, List<Diagnostic>> diagnosticsByLine = new TreeMap<>();
+        private final String documentIdentifier;
+        private final long session;
+        private int version;
+        private int revision = -1;
+        private int dirtyFrom;
+        private int dirtyTo = Integer.MAX_VALUE;
+        private int calculatedVersion = -1;
+        private int calculatedRevision = -1;
+        private boolean closed;
+        private Future<?> scheduled;
+
+        private DocumentDiagnostics(String documentIdentifier, long session, int version)
+        {
+            this.documentIdentifier = documentIdentifier;
+            this.session = session;
+            this.version = version;
+        }
+
+        /**
+         * Returns the identifier of the document as it's sent by the client, since the text document provider keeps
+         * the documents by such identifiers
+         *
+         * @return The identifier of the document
+         */
+        private String getDocumentIdentifier()
+        {
+            return documentIdentifier;
+        }
+
+        private int getVersion()
+        {
+            return version;
+        }
+
+        private void setVersion(int version)
+        {
+            this.version = version;
+        }
+
+        private int getRevision()
+        {
+            return revision;
+        }
+
+        private void setRevision(int revision)
+        {
+            this.revision = revision;
+        }
+
+        private int getDirtyFrom()
+        {
+            return dirtyFrom;
+        }
+
+        private int getDirtyTo()
+        {
+            return dirtyTo;
+        }
+
+        private boolean isDirty()
+        {
+            return dirtyFrom <= dirtyTo;
+        }
+
+        private boolean isClosed()
+        {
+            return closed;
+        }
+
+        private void close()
+        {
+            closed = true;
+            cancelScheduled();
+        }
+
+        private void reschedule(Future<?> next)
+        {
+            cancelScheduled();
+            scheduled = next;
+        }
+
+        private void cancelScheduled()
+        {
+            if (scheduled != null)
+            {
+                scheduled.cancel(false);
+            }
+        }
+
+        private void invalidateAll()
+        {
+            dirtyFrom = 0;
+            dirtyTo = Integer.MAX_VALUE;
+        }
+
+        /**
+         * Drops the diagnostics of the changed lines, shifts the diagnostics located below the change and marks the
+         * changed lines for recalculation
+         *
+         * @param startLine The first changed line
+         * @param endLine The last changed line
+         * @param insertedLines The number of line breaks in the inserted text
+         */
+        private void invalidate(int startLine, int endLine, int insertedLines)
+        {
+            int lineDelta = insertedLines - (endLine - startLine);
+            NavigableMap<Integer, List<Diagnostic>> changed = diagnosticsByLine.tailMap(startLine, true);
+            Map<Integer, List<Diagnostic>> below = new TreeMap<>(changed.tailMap(endLine, false));
+            changed.clear();
+            below.forEach((line, diagnostics) -> diagnosticsByLine.put(line + lineDelta, diagnostics.stream()
+                    .map(diagnostic -> move(diagnostic, lineDelta))
+                    .collect(Collectors.toList())));
+
+            int changedTo = startLine + insertedLines;
+            if (isDirty())
+            {
+                if (dirtyFrom > endLine)
+                {
+                    dirtyFrom += lineDelta;
+                }
+                if (dirtyTo > endLine && dirtyTo != Integer.MAX_VALUE)
+                {
+                    dirtyTo += lineDelta;
+                }
+                dirtyFrom = Math.min(dirtyFrom, startLine);
+                dirtyTo = Math.max(dirtyTo, changedTo);
+            }
+            else
+            {
+                dirtyFrom = startLine;
+                dirtyTo = changedTo;
+            }
+        }
+
+        /**
+         * Replaces the diagnostics of the recalculated lines, the recalculated steps may start before the first
+         * line or after the last line of the range if the range starts or ends in the middle of step block
+         *
+         * @param fromLine The first recalculated line
+         * @param toLine The last recalculated line
+         * @param stepDiagnostics The diagnostics of the recalculated steps
+         */
+        private void update(int fromLine, int toLine, List<StepDiagnostics> stepDiagnostics)
+        {
+            int clearFrom = fromLine;
+            int clearTo = toLine;
+            for (StepDiagnostics step : stepDiagnostics)
+            {
+                clearFrom = Math.min(clearFrom, step.getLine());
+                clearTo = Math.max(clearTo, step.getLine());
+            }
+            diagnosticsByLine.subMap(clearFrom, true, clearTo, true).clear();
+            stepDiagnostics.stream()
+                    .filter(step -> !step.getDiagnostics().isEmpty())
+                    .forEach(step -> diagnosticsByLine.put(step.getLine(), step.getDiagnostics()));
+
+            dirtyFrom = Integer.MAX_VALUE;
+            dirtyTo = -1;
+            calculatedVersion = version;
+            calculatedRevision = revision;
+        }
+
+        /**
+         * Returns the diagnostics calculated for the latest version of the document, the result identifier includes
+         * the number of the document opening, so the identifiers are not repeated after the document is reopened
+         *
+         * @return The snapshot of the diagnostics, without the result identifier if the diagnostics are not
+         * calculated yet
+         */
+        private DiagnosticsSnapshot snapshot()
+        {
+            if (calculatedVersion != version)
+            {
+                return new DiagnosticsSnapshot(null, version, List.of());
+            }
+            String resultId = session + "-" + calculatedVersion + "-" + calculatedRevision;
+            return new DiagnosticsSnapshot(resultId, version, diagnosticsByLine.values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList()));
+        }
+
+        private static Diagnostic move(Diagnostic diagnostic, int lineDelta)
+        {
+            Position start = diagnostic.getRange().getStart();
+            Position end = diagnostic.getRange().getEnd();
+            Diagnostic moved = new Diagnostic(new Range(new Position(start.getLine() + lineDelta, start.getCharacter()),
+                    new Position(end.getLine() + lineDelta, end.getCharacter())), diagnostic.getMessage(),
+                    diagnostic.getSeverity(), diagnostic.getSource());
+            moved.setTags(diagnostic.getTags());
+            return moved;
+        }
+    }
+}
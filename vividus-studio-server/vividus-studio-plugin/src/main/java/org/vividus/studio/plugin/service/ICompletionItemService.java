@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,12 +19,28 @@
 
 package org.vividus.studio.plugin.service;
 
-import java.util.List;
-
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 
 public interface ICompletionItemService
 {
-    List<CompletionItem> findAllAtPosition(String documentIdentifier, Position position);
+    /**
+     * Finds completion items for the step at the position, the items are ranked by the number of matched step tokens,
+     * then not deprecated steps go before deprecated ones, then recently used steps go first and then the steps used
+     * more often in the project go first. Only the top ranked items are returned, the list is marked as incomplete if
+     * some items are omitted.
+     *
+     * @param documentIdentifier The identifier of document
+     * @param position The position to complete the step at
+     * @param invokedOnTyping Whether the completion is invoked on typing, the items which insert nothing are skipped
+     * in this case
+     * @param cancelChecker The check whether the completion request is cancelled or outdated
+     * @return The completion list
+     */
+    CompletionList findAllAtPosition(String documentIdentifier, Position position, boolean invokedOnTyping,
+            CancelChecker cancelChecker);
+
+    CompletionItem resolve(CompletionItem item);
 }
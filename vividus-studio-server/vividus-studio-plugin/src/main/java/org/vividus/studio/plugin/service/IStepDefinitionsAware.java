@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,12 +20,13 @@
 package org.vividus.studio.plugin.service;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.vividus.studio.plugin.model.StepDefinition;
 
 public interface IStepDefinitionsAware
 {
-    void refresh();
+    void refresh(Consumer<String> progress);
 
     void refresh(Collection<StepDefinition> stepDefinitions);
 }
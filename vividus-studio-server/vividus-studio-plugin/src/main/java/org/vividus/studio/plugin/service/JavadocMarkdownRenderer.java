@@ -0,0 +1,226 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders Javadoc comments to Markdown without building the AST, the comment delimiters and the leading asterisks
+ * are stripped, the inline tags and the common HTML tags are converted to their Markdown counterparts, the other tags
+ * are dropped, and the <code>@param</code>, <code>@return</code> and <code>@deprecated</code> block tags are rendered
+ * as separate sections.
+ */
+final class JavadocMarkdownRenderer
+{
+    private static final String JAVADOC_START = "/**";
+    private static final String JAVADOC_END = "*/";
+    private static final String LINE_BREAK = "\n";
+    private static final String PARAGRAPH_BREAK = "\n\n";
+
+    private static final Pattern LEADING_ASTERISK = Pattern.compile("^[ \\t]*\\*(?!/) ?", Pattern.MULTILINE);
+    private static final Pattern BLOCK_TAG = Pattern.compile("^\\s*@(\\w+)\\s*(.*)$", Pattern.DOTALL);
+    private static final Pattern INLINE_TAG = Pattern.compile("\\{@(\\w+)\\s*([^}]*)}");
+    private static final Pattern HTML_TAG = Pattern.compile("<(/?)(\\w+)[^>]*>");
+    private static final Pattern LINE_BREAKS = Pattern.compile("\\s*\\R\\s*");
+    private static final Pattern EXCESSIVE_LINE_BREAKS = Pattern.compile("\\n[ \\t]*\\n(\\s*\\n)+");
+
+    private static final Map<String, String> HTML_TAGS = Map.ofEntries(
+            Map.entry("p", PARAGRAPH_BREAK),
+            Map.entry("br", "  \n"),
+            Map.entry("b", "**"),
+            Map.entry("strong", "**"),
+            Map.entry("i", "*"),
+            Map.entry("em", "*"),
+            Map.entry("code", "`"),
+            Map.entry("ul", LINE_BREAK),
+            Map.entry("ol", LINE_BREAK)
+    );
+
+    /**
+     * The tags which Markdown counterparts have to start a new line
+     */
+    private static final Map<String, String> HTML_LINE_TAGS = Map.of(
+            "pre", "```",
+            "li", "- "
+    );
+
+    private static final Pattern HTML_ENTITY = Pattern.compile("&(lt|gt|quot|amp|nbsp|#64);");
+    private static final Map<String, String> HTML_ENTITIES = Map.of(
+            "lt", "<",
+            "gt", ">",
+            "quot", "\"",
+            "amp", "&",
+            "nbsp", " ",
+            "#64", "@"
+    );
+
+    private static final Map<String, String> BLOCK_SECTIONS = Map.of(
+            "return", "**Returns:** ",
+            "deprecated", "**Deprecated:** "
+    );
+
+    private JavadocMarkdownRenderer()
+    {
+    }
+
+    /**
+     * Renders the Javadoc comment to Markdown
+     *
+     * @param javadoc The Javadoc comment including its delimiters
+     * @return The Markdown text
+     */
+    static String render(String javadoc)
+    {
+        String comment = javadoc.strip();
+        if (comment.startsWith(JAVADOC_START))
+        {
+            comment = comment.substring(JAVADOC_START.length());
+        }
+        if (comment.endsWith(JAVADOC_END))
+        {
+            comment = comment.substring(0, comment.length() - JAVADOC_END.length());
+        }
+        comment = LEADING_ASTERISK.matcher(comment).replaceAll("");
+
+        StringBuilder description = new StringBuilder();
+        List<String> parameters = new ArrayList<>();
+        StringBuilder sections = new StringBuilder();
+        for (String block : splitBlocks(comment))
+        {
+            Matcher tag = BLOCK_TAG.matcher(block);
+            if (!tag.matches())
+            {
+                description.append(renderText(block));
+                continue;
+            }
+            String name = tag.group(1);
+            String text = tag.group(2).strip();
+            if ("param".equals(name))
+            {
+                String[] nameAndDescription = text.split("\\s+", 2);
+                String parameterDescription = nameAndDescription.length > 1
+                        ? " - " + renderTagText(nameAndDescription[1]) : "";
+                parameters.add("- `" + nameAndDescription[0] + '`' + parameterDescription);
+            }
+            else if (BLOCK_SECTIONS.containsKey(name))
+            {
+                sections.append(PARAGRAPH_BREAK).append(BLOCK_SECTIONS.get(name)).append(renderTagText(text));
+            }
+        }
+
+        StringBuilder markdown = new StringBuilder(description.toString().strip());
+        if (!parameters.isEmpty())
+        {
+            markdown.append(PARAGRAPH_BREAK).append("**Parameters:**").append(LINE_BREAK)
+                    .append(String.join(LINE_BREAK, parameters));
+        }
+        markdown.append(sections);
+        return EXCESSIVE_LINE_BREAKS.matcher(markdown.toString().strip()).replaceAll(PARAGRAPH_BREAK);
+    }
+
+    /**
+     * Splits the comment into the description and the block tags, the block tag starts at the line beginning with
+     * <code>@</code> and lasts until the next block tag
+     */
+    private static List<String> splitBlocks(String comment)
+    {
+        List<String> blocks = new ArrayList<>();
+        StringBuilder block = new StringBuilder();
+        for (String line : comment.split("\\R", -1))
+        {
+            if (line.stripLeading().startsWith("@") && !block.isEmpty())
+            {
+                blocks.add(block.toString());
+                block.setLength(0);
+            }
+            block.append(line).append(LINE_BREAK);
+        }
+        blocks.add(block.toString());
+        return blocks;
+    }
+
+    private static String renderTagText(String text)
+    {
+        return LINE_BREAKS.matcher(renderText(text).strip()).replaceAll(" ");
+    }
+
+    private static String renderText(String text)
+    {
+        StringBuilder markdown = new StringBuilder();
+        Matcher inlineTag = INLINE_TAG.matcher(text);
+        int position = 0;
+        while (inlineTag.find())
+        {
+            markdown.append(renderHtml(text.substring(position, inlineTag.start())));
+            markdown.append(renderInlineTag(inlineTag.group(1), inlineTag.group(2).strip()));
+            position = inlineTag.end();
+        }
+        return markdown.append(renderHtml(text.substring(position))).toString();
+    }
+
+    private static String renderInlineTag(String name, String content)
+    {
+        if ("code".equals(name))
+        {
+            return '`' + content + '`';
+        }
+        if ("link".equals(name) || "linkplain".equals(name))
+        {
+            String[] referenceAndLabel = content.split("\\s+", 2);
+            return referenceAndLabel.length > 1 ? referenceAndLabel[1] : '`' + referenceAndLabel[0] + '`';
+        }
+        return content;
+    }
+
+    private static String renderHtml(String text)
+    {
+        Matcher htmlTag = HTML_TAG.matcher(text);
+        StringBuilder markdown = new StringBuilder();
+        while (htmlTag.find())
+        {
+            htmlTag.appendReplacement(markdown, "");
+            String name = htmlTag.group(2).toLowerCase();
+            boolean closing = !htmlTag.group(1).isEmpty();
+            String lineTag = HTML_LINE_TAGS.get(name);
+            if (lineTag != null)
+            {
+                if (closing && "li".equals(name))
+                {
+                    continue;
+                }
+                if (!markdown.isEmpty() && markdown.charAt(markdown.length() - 1) != '\n')
+                {
+                    markdown.append(LINE_BREAK);
+                }
+                markdown.append(lineTag);
+            }
+            else if (!closing || !"p".equals(name))
+            {
+                markdown.append(HTML_TAGS.getOrDefault(name, ""));
+            }
+        }
+        htmlTag.appendTail(markdown);
+        return HTML_ENTITY.matcher(markdown).replaceAll(entity -> HTML_ENTITIES.get(entity.group(1)));
+    }
+}
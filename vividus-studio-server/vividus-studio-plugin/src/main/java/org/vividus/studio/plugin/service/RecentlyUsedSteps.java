@@ -0,0 +1,73 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import com.google.inject.Singleton;
+
+import org.vividus.studio.plugin.model.StepDefinition;
+
+/**
+ * Keeps the steps used most recently, the step is used when the completion item created for it is accepted
+ */
+@Singleton
+public class RecentlyUsedSteps
+{
+    private static final int CAPACITY = 64;
+
+    private final Deque<List<String>> steps = new ArrayDeque<>();
+
+    public synchronized void record(String module, String stepAsString)
+    {
+        List<String> key = List.of(module, stepAsString);
+        steps.remove(key);
+        steps.addFirst(key);
+        if (steps.size() > CAPACITY)
+        {
+            steps.removeLast();
+        }
+    }
+
+    /**
+     * Returns the function calculating the recency of the step definition: <code>0</code> for the step used last,
+     * <code>1</code> for the step used before it and so on, the steps that were not used recently get
+     * {@link Integer#MAX_VALUE}
+     *
+     * @return The recency function based on the steps used so far
+     */
+    public synchronized ToIntFunction<StepDefinition> getRecency()
+    {
+        Map<List<String>, Integer> recency = new HashMap<>();
+        Iterator<List<String>> iterator = steps.iterator();
+        for (int index = 0; iterator.hasNext(); index++)
+        {
+            recency.put(iterator.next(), index);
+        }
+        return stepDefinition -> recency.getOrDefault(
+                List.of(stepDefinition.getModule(), stepDefinition.getStepAsString()), Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,221 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
+import org.vividus.studio.plugin.metrics.RequestMetrics.Sample;
+
+/**
+ * Executes language server requests on executors dedicated to every {@link RequestType}. When the queue of the
+ * droppable request type is full the oldest queued request is dropped and completed with
+ * {@link ResponseErrorCode#ServerCancelled} error, the queues of the other request types are not bounded. The requests are skipped and completed with
+ * {@link ResponseErrorCode#ContentModified} error if they become outdated before or during the execution and with
+ * {@link CancellationException} if they are cancelled by the client. The queue wait, latency, allocation and outcome
+ * of every request are recorded to {@link RequestMetrics} under the request method name.
+ */
+@Singleton
+public class RequestExecutor
+{
+    private final Map<RequestType, ThreadPoolExecutor> executors = new EnumMap<>(RequestType.class);
+    private final RequestMetrics requestMetrics;
+
+    @Inject
+    public RequestExecutor(VividusStudioSettings settings, RequestMetrics requestMetrics)
+    {
+        this.requestMetrics = requestMetrics;
+        for (RequestType requestType : RequestType.values())
+        {
+            int threads = settings.getExecutorThreads(requestType);
+            Validate.isTrue(threads > 0, "The number of '%s' executor threads must be positive, but got %d",
+                    requestType.getKey(), threads);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    createQueue(requestType, settings),
+                    new ThreadFactoryBuilder().setDaemon(true)
+                                              .setNameFormat("vividus-studio-" + requestType.getKey() + "-%d")
+                                              .build(),
+                    new DropOldestPolicy());
+            executors.put(requestType, executor);
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(RequestType requestType, String method,
+            Function<CancelChecker, T> request)
+    {
+        return submit(requestType, method, () -> true, request);
+    }
+
+    /**
+     * Submits the request for the execution
+     *
+     * @param <T> The type of the request result
+     * @param requestType The type of the request
+     * @param method The name of the request method the metrics of the request are recorded under
+     * @param upToDate The check whether the request is still relevant, e.g. the document it was issued for hasn't
+     * been changed since then
+     * @param request The request to execute, the request is able to check whether it was cancelled or became
+     * outdated using the passed {@link CancelChecker}
+     * @return The future of the request result, cancellation of the future cancels the request
+     */
+    public <T> CompletableFuture<T> submit(RequestType requestType, String method, BooleanSupplier upToDate,
+            Function<CancelChecker, T> request)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CancelChecker cancelChecker = () ->
+        {
+            if (future.isCancelled())
+            {
+                throw new CancellationException();
+            }
+            if (!upToDate.getAsBoolean())
+            {
+                throw new ResponseErrorException(new ResponseError(ResponseErrorCode.ContentModified,
+                        "The document has been modified since the request was issued", null));
+            }
+        };
+        executors.get(requestType).execute(new RequestTask<>(method, future, cancelChecker, request,
+                requestMetrics));
+        return future;
+    }
+
+    public void shutdown()
+    {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    private static BlockingQueue<Runnable> createQueue(RequestType requestType, VividusStudioSettings settings)
+    {
+        if (!requestType.isDroppable())
+        {
+            return new LinkedBlockingQueue<>();
+        }
+        int queueCapacity = settings.getExecutorQueueCapacity(requestType);
+        Validate.isTrue(queueCapacity > 0, "The queue capacity of '%s' executor must be positive, but got %d",
+                requestType.getKey(), queueCapacity);
+        return new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    private static final class RequestTask<T> implements Runnable
+    {
+        private final String method;
+        private final CompletableFuture<T> future;
+        private final CancelChecker cancelChecker;
+        private final Function<CancelChecker, T> request;
+        private final RequestMetrics requestMetrics;
+        private final long queuedAt = System.nanoTime();
+
+        private RequestTask(String method, CompletableFuture<T> future, CancelChecker cancelChecker,
+                Function<CancelChecker, T> request, RequestMetrics requestMetrics)
+        {
+            this.method = method;
+            this.future = future;
+            this.cancelChecker = cancelChecker;
+            this.request = request;
+            this.requestMetrics = requestMetrics;
+        }
+
+        @Override
+        @SuppressWarnings("IllegalCatchExtended")
+        public void run()
+        {
+            if (future.isDone())
+            {
+                requestMetrics.recordDrop(method);
+                return;
+            }
+            Sample sample = requestMetrics.start(queuedAt);
+            T result = null;
+            Throwable failure = null;
+            try
+            {
+                cancelChecker.checkCanceled();
+                result = request.apply(cancelChecker);
+                cancelChecker.checkCanceled();
+            }
+            catch (Throwable e)
+            {
+                failure = e;
+            }
+            requestMetrics.stop(method, sample, failure != null);
+            if (failure == null)
+            {
+                future.complete(result);
+            }
+            else
+            {
+                future.completeExceptionally(failure);
+            }
+        }
+
+        private void drop()
+        {
+            requestMetrics.recordDrop(method);
+            future.completeExceptionally(new ResponseErrorException(new ResponseError(
+                    ResponseErrorCode.ServerCancelled, "The request is dropped since the server is overloaded",
+                    null)));
+        }
+    }
+
+    private static final class DropOldestPolicy implements RejectedExecutionHandler
+    {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor)
+        {
+            if (executor.isShutdown())
+            {
+                drop(runnable);
+                return;
+            }
+            Runnable oldest = executor.getQueue().poll();
+            if (oldest != null)
+            {
+                drop(oldest);
+            }
+            executor.execute(runnable);
+        }
+
+        private static void drop(Runnable runnable)
+        {
+            ((RequestTask<?>) runnable).drop();
+        }
+    }
+}
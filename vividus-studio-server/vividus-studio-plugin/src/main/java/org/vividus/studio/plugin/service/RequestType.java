@@ -0,0 +1,57 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.Locale;
+
+/**
+ * Types of requests served by the language server, every type has its own executor and queue, so a long running
+ * request of one type doesn't delay requests of other types. The queued requests of the droppable types are dropped
+ * when the queue is full, while the requests of the other types, e.g. project initialization and refresh, are never
+ * dropped.
+ */
+public enum RequestType
+{
+    COMPLETION(true),
+    SEMANTIC_TOKENS(true),
+    CODE_ACTION(true),
+    NAVIGATION(true),
+    DOCUMENT_DIAGNOSTIC(true),
+    WORKSPACE_DIAGNOSTIC(true),
+    STEPS(false),
+    PROJECT(false);
+
+    private final boolean droppable;
+
+    RequestType(boolean droppable)
+    {
+        this.droppable = droppable;
+    }
+
+    public String getKey()
+    {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public boolean isDroppable()
+    {
+        return droppable;
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2022 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,39 +19,218 @@
 
 package org.vividus.studio.plugin.service;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.apache.commons.lang3.mutable.MutableInt;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.document.TextDocumentEventListener;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
 import org.vividus.studio.plugin.model.Step;
 import org.vividus.studio.plugin.util.Splitter;
 
 @Singleton
-public class SemanticTokensService
+public class SemanticTokensService implements TextDocumentEventListener
 {
     private static final int NEW_LINE = 1;
+    private static final CancelChecker NOT_CANCELLABLE = () -> { };
+    private static final long POLL_INTERVAL_MILLIS = 50;
 
     private final StepDefinitionResolver stepDefinitionResolver;
+    private final TextDocumentProvider textDocumentProvider;
+    private final int debounceMillis;
+    private final Map<String, TokensSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, PendingTokens> pendingTokens = new ConcurrentHashMap<>();
+    private final AtomicLong resultIdSequence = new AtomicLong();
+    private final ScheduledExecutorService debouncer;
 
     @Inject
-    public SemanticTokensService(StepDefinitionResolver stepDefinitionResolver)
+    public SemanticTokensService(StepDefinitionResolver stepDefinitionResolver,
+            TextDocumentProvider textDocumentProvider, VividusStudioSettings settings)
     {
         this.stepDefinitionResolver = stepDefinitionResolver;
+        this.textDocumentProvider = textDocumentProvider;
+        this.debounceMillis = settings.getSemanticTokensDebounceMillis();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("vividus-studio-semantic-tokens-debouncer-%d")
+                .build());
+        executor.setRemoveOnCancelPolicy(true);
+        this.debouncer = executor;
+    }
+
+    /**
+     * Calculates semantic tokens for the whole document and remembers them as the base for the next delta request
+     *
+     * @param documentIdentifier The identifier of document
+     * @param cancelChecker The check whether the request is cancelled or outdated
+     * @return The semantic tokens with the result id
+     */
+    public SemanticTokens getFullSemanticTokens(String documentIdentifier, CancelChecker cancelChecker)
+    {
+        int[] data = getDocumentTokens(documentIdentifier, cancelChecker);
+        return new SemanticTokens(remember(documentIdentifier, data), Ints.asList(data));
+    }
+
+    /**
+     * Calculates semantic tokens for the whole document and returns them as edits of the tokens previously returned
+     * to the client, if the previous tokens are not known the full tokens are returned
+     *
+     * @param documentIdentifier The identifier of document
+     * @param previousResultId The result id of the tokens previously returned to the client
+     * @param cancelChecker The check whether the request is cancelled or outdated
+     * @return The semantic tokens delta or the full semantic tokens
+     */
+    public Either<SemanticTokens, SemanticTokensDelta> getSemanticTokensDelta(String documentIdentifier,
+            String previousResultId, CancelChecker cancelChecker)
+    {
+        TokensSnapshot previous = snapshots.get(documentIdentifier);
+        int[] data = getDocumentTokens(documentIdentifier, cancelChecker);
+        String resultId = remember(documentIdentifier, data);
+        if (previous == null || !previous.getResultId().equals(previousResultId))
+        {
+            return Either.forLeft(new SemanticTokens(resultId, Ints.asList(data)));
+        }
+        return Either.forRight(new SemanticTokensDelta(computeEdits(previous.getData(), data), resultId));
+    }
+
+    public List<Integer> getSemanticTokens(String documentIdentifier, Range range, CancelChecker cancelChecker)
+    {
+        return Ints.asList(encode(stepDefinitionResolver.resolve(documentIdentifier, range.getStart().getLine(),
+                range.getEnd().getLine()), cancelChecker));
     }
 
     public List<Integer> getSemanticTokens(String documentIdentifier)
     {
-        SemanticTokens semanticTokens = new SemanticTokens();
+        return Ints.asList(encode(stepDefinitionResolver.resolve(documentIdentifier), NOT_CANCELLABLE));
+    }
+
+    /**
+     * Schedules calculation of semantic tokens for the changed document, the calculation is postponed until no more
+     * changes of the document are received within the debounce window, so a burst of changes results in a single
+     * calculation
+     *
+     * @param changeEvent The change event
+     */
+    @Override
+    public void onChange(DidChangeTextDocumentParams changeEvent)
+    {
+        VersionedTextDocumentIdentifier identifier = changeEvent.getTextDocument();
+        String documentIdentifier = identifier.getUri();
+        Integer version = identifier.getVersion();
+        PendingTokens pending = new PendingTokens(
+                version == null ? textDocumentProvider.getVersion(documentIdentifier) : version,
+                stepDefinitionResolver.getRevision(),
+                () -> encode(stepDefinitionResolver.resolve(documentIdentifier), NOT_CANCELLABLE));
+        PendingTokens previous = pendingTokens.put(documentIdentifier, pending);
+        if (previous != null)
+        {
+            previous.supersede(pending);
+        }
+        pending.schedule(debouncer, debounceMillis);
+    }
+
+    @Override
+    public void onClose(DidCloseTextDocumentParams closeEvent)
+    {
+        String documentIdentifier = closeEvent.getTextDocument().getUri();
+        snapshots.remove(documentIdentifier);
+        PendingTokens pending = pendingTokens.remove(documentIdentifier);
+        if (pending != null)
+        {
+            pending.cancel();
+        }
+    }
+
+    /**
+     * Returns the tokens precalculated for the current document version if any, waiting for the calculation to
+     * complete if it's in progress or running it right away if it's still postponed, otherwise calculates the tokens
+     */
+    private int[] getDocumentTokens(String documentIdentifier, CancelChecker cancelChecker)
+    {
+        PendingTokens pending = pendingTokens.get(documentIdentifier);
+        if (pending != null && pending.getVersion() == textDocumentProvider.getVersion(documentIdentifier)
+                && pending.getRevision() == stepDefinitionResolver.getRevision())
+        {
+            return pending.get(cancelChecker);
+        }
+        return encode(stepDefinitionResolver.resolve(documentIdentifier), cancelChecker);
+    }
+
+    private String remember(String documentIdentifier, int[] data)
+    {
+        String resultId = Long.toString(resultIdSequence.incrementAndGet());
+        snapshots.put(documentIdentifier, new TokensSnapshot(resultId, data));
+        return resultId;
+    }
+
+    private static List<SemanticTokensEdit> computeEdits(int[] previous, int[] current)
+    {
+        int minLength = Math.min(previous.length, current.length);
+
+        int prefix = 0;
+        while (prefix < minLength && previous[prefix] == current[prefix])
+        {
+            prefix++;
+        }
+
+        if (prefix == previous.length && prefix == current.length)
+        {
+            return List.of();
+        }
+
+        int suffix = 0;
+        while (suffix < minLength - prefix
+                && previous[previous.length - 1 - suffix] == current[current.length - 1 - suffix])
+        {
+            suffix++;
+        }
+
+        List<Integer> data = Ints.asList(Arrays.copyOfRange(current, prefix, current.length - suffix));
+        return List.of(new SemanticTokensEdit(prefix, previous.length - prefix - suffix, data));
+    }
+
+    private static int[] encode(Stream<ResolvedStepDefinition> resolvedStepDefinitions, CancelChecker cancelChecker)
+    {
+        SemanticTokensBuilder semanticTokens = new SemanticTokensBuilder();
 
         MutableInt lineShift = new MutableInt(0);
 
-        stepDefinitionResolver.resolve(documentIdentifier).filter(def -> !def.getArgIndices().isEmpty()).forEach(def ->
+        Stream<ResolvedStepDefinition> checked = resolvedStepDefinitions.peek(def -> cancelChecker.checkCanceled());
+        checked.filter(def -> !def.getArgIndices().isEmpty()).forEach(def ->
         {
             Step step = def.getStep();
+            String value = step.getValue();
 
             int shiftedLine = step.getLineIndex() - lineShift.intValue();
             lineShift.setValue(step.getLineIndex());
@@ -59,86 +238,223 @@ public class SemanticTokensService
             List<Integer> argIndices = def.getArgIndices();
             semanticTokens.shiftLine(shiftedLine);
 
-            Integer previousFrom = 0;
+            int previousFrom = 0;
             for (int pos = 0; pos < argIndices.size() - 1; pos += 2)
             {
-                if (pos != 0)
-                {
-                    semanticTokens.shiftLine(0);
-                }
-
-                Integer from = argIndices.get(pos);
+                int from = argIndices.get(pos);
                 int to = argIndices.get(pos + 1);
-                Integer length = to - from;
-
-                String argument = step.getValue().substring(from, to);
-                List<Integer> argumentLengths = Splitter.split(argument)
-                        .stream()
-                        .map(String::length)
-                        .collect(Collectors.toList());
 
-                if (argumentLengths.size() == 1)
+                int lineBreak = Splitter.indexOfLineBreak(value, from, to);
+                if (lineBreak == -1)
                 {
-                    semanticTokens.addToken(from - previousFrom, length);
+                    semanticTokens.addToken(from - previousFrom, to - from);
                     previousFrom = from;
                 }
                 else
                 {
-                    for (int index = 0; index < argumentLengths.size(); index++)
+                    semanticTokens.addToken(from - previousFrom, lineBreak - from);
+
+                    int shift = lineBreak - from + NEW_LINE;
+                    int lines = 1;
+                    int lineStart = lineBreak + Splitter.lineBreakLength(value, lineBreak, to);
+                    for (lineBreak = Splitter.indexOfLineBreak(value, lineStart, to); lineBreak != -1;
+                            lineBreak = Splitter.indexOfLineBreak(value, lineStart, to))
                     {
-                        int argumentLength = argumentLengths.get(index);
-                        if (index == 0)
-                        {
-                            semanticTokens.addToken(from - previousFrom, argumentLength);
-                        }
-                        else
-                        {
-                            semanticTokens.shiftLine(1);
-                            semanticTokens.addToken(0, argumentLength);
-                        }
+                        semanticTokens.shiftLine(1);
+                        semanticTokens.addToken(0, lineBreak - lineStart);
+                        shift += lineBreak - lineStart + NEW_LINE;
+                        lines++;
+                        lineStart = lineBreak + Splitter.lineBreakLength(value, lineBreak, to);
                     }
+                    semanticTokens.shiftLine(1);
+                    semanticTokens.addToken(0, to - lineStart);
 
-                    int limit = argumentLengths.size() - 1;
-                    int shift = argumentLengths.stream()
-                                               .limit(limit)
-                                               .mapToInt(Integer::intValue)
-                                               .map(size -> size + NEW_LINE)
-                                               .sum();
-
-                    lineShift.add(limit);
+                    lineShift.add(lines);
                     previousFrom = from + shift;
                 }
             }
         });
 
-        return semanticTokens.getSemanticTokens();
+        return semanticTokens.toArray();
+    }
+
+    /**
+     * Accumulates semantic tokens as LSP integer tuples: delta line, delta start, length, token type and token
+     * modifiers
+     */
+    private static final class SemanticTokensBuilder
+    {
+        private static final int TUPLE_SIZE = 5;
+        private static final int INITIAL_CAPACITY = 64 * TUPLE_SIZE;
+
+        private int[] data = new int[INITIAL_CAPACITY];
+        private int size;
+        private int pendingLineDelta;
+
+        private void shiftLine(int lineDelta)
+        {
+            pendingLineDelta += lineDelta;
+        }
+
+        private void addToken(int startDelta, int length)
+        {
+            if (size + TUPLE_SIZE > data.length)
+            {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = pendingLineDelta;
+            data[size++] = startDelta;
+            data[size++] = length;
+            data[size++] = 0;
+            data[size++] = 0;
+            pendingLineDelta = 0;
+        }
+
+        private int[] toArray()
+        {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    private static final class TokensSnapshot
+    {
+        private final String resultId;
+        private final int[] data;
+
+        private TokensSnapshot(String resultId, int[] data)
+        {
+            this.resultId = resultId;
+            this.data = data;
+        }
+
+        private String getResultId()
+        {
+            return resultId;
+        }
+
+        private int[] getData()
+        {
+            return data;
+        }
     }
 
-    private static final class SemanticTokens
+    private static final class PendingTokens
     {
-        private final List<Integer> semanticTokens;
+        private final int version;
+        private final int revision;
+        private final Supplier<int[]> calculation;
+        private final CompletableFuture<int[]> result = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Future<?> scheduled;
+
+        private PendingTokens(int version, int revision, Supplier<int[]> calculation)
+        {
+            this.version = version;
+            this.revision = revision;
+            this.calculation = calculation;
+        }
+
+        private int getVersion()
+        {
+            return version;
+        }
+
+        private int getRevision()
+        {
+            return revision;
+        }
+
+        private void schedule(ScheduledExecutorService executor, long delayMillis)
+        {
+            scheduled = executor.schedule(this::calculate, delayMillis, TimeUnit.MILLISECONDS);
+        }
 
-        private SemanticTokens()
+        /**
+         * Waits for the tokens checking periodically whether the request is cancelled, so the request thread is
+         * released as soon as the request is cancelled or outdated rather than once the calculation completes
+         */
+        private int[] get(CancelChecker cancelChecker)
         {
-            semanticTokens = new ArrayList<>();
+            calculate();
+            while (true)
+            {
+                cancelChecker.checkCanceled();
+                try
+                {
+                    return result.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                catch (TimeoutException e)
+                {
+                    // Keep waiting unless the request is cancelled
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException();
+                }
+                catch (ExecutionException e)
+                {
+                    throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+
+        /**
+         * Cancels the postponed calculation and makes the requests waiting for these tokens receive the tokens of
+         * the newer document version, the outdated requests are discarded by the request executor anyway
+         */
+        private void supersede(PendingTokens next)
+        {
+            if (started.compareAndSet(false, true))
+            {
+                cancelScheduled();
+                next.result.whenComplete((data, error) ->
+                {
+                    if (error == null)
+                    {
+                        result.complete(data);
+                    }
+                    else
+                    {
+                        result.completeExceptionally(error);
+                    }
+                });
+            }
         }
 
-        private void shiftLine(Integer nextLine)
+        private void cancel()
         {
-            semanticTokens.add(nextLine);
+            if (started.compareAndSet(false, true))
+            {
+                cancelScheduled();
+                result.cancel(false);
+            }
         }
 
-        private void addToken(Integer from, Integer length)
+        private void cancelScheduled()
         {
-            semanticTokens.add(from);
-            semanticTokens.add(length);
-            semanticTokens.add(0);
-            semanticTokens.add(0);
+            Future<?> task = scheduled;
+            if (task != null)
+            {
+                task.cancel(false);
+            }
         }
 
-        private List<Integer> getSemanticTokens()
+        @SuppressWarnings("IllegalCatchExtended")
+        private void calculate()
         {
-            return semanticTokens;
+            if (started.compareAndSet(false, true))
+            {
+                try
+                {
+                    result.complete(calculation.get());
+                }
+                catch (RuntimeException e)
+                {
+                    result.completeExceptionally(e);
+                }
+            }
         }
     }
 }
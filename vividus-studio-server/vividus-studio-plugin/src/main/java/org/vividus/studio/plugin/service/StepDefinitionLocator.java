@@ -0,0 +1,231 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
+import org.vividus.studio.plugin.util.JavaSourceUtils;
+import org.vividus.studio.plugin.util.Splitter;
+
+/**
+ * Locates declarations of step definitions using the locations recorded when the step definitions are found, so the
+ * classpath is never scanned again. Since the clients are not able to open jar entries, the declaring entries are
+ * extracted from the jars into the workspace metadata folder and are reused as long as they are newer than the jars.
+ */
+@Singleton
+public class StepDefinitionLocator
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepDefinitionLocator.class);
+
+    private static final String SOURCES_LOCATION = ".metadata/.plugins/org.vividus.studio.plugin/sources";
+    private static final String JAVA_EXTENSION = ".java";
+
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final IWorkspace workspace;
+
+    @Inject
+    public StepDefinitionLocator(StepDefinitionResolver stepDefinitionResolver, IWorkspace workspace)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.workspace = workspace;
+    }
+
+    /**
+     * Finds the declaration of the step definition the step at the position is resolved to
+     *
+     * @param documentIdentifier The identifier of the document containing the step
+     * @param position The position within the step
+     * @return The declaration location or empty list if the position is outside steps, the step is not resolved or
+     * the declaration is not available, e.g. the jar with the step method has no source attachment
+     */
+    public List<Location> findDefinition(String documentIdentifier, Position position)
+    {
+        int line = position.getLine();
+        return stepDefinitionResolver.resolve(documentIdentifier, line, line)
+                .findFirst()
+                .filter(ResolvedStepDefinition::isFullyMatched)
+                .flatMap(this::findDefinition)
+                .map(List::of)
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Finds the declaration of the step definition
+     *
+     * @param stepDefinition The step definition
+     * @return The declaration location or empty optional if the declaration is not available
+     */
+    public Optional<Location> findDefinition(StepDefinition stepDefinition)
+    {
+        StepDefinitionLocation location = stepDefinition.getLocation();
+        if (location == null)
+        {
+            return Optional.empty();
+        }
+        if (location.isMethod())
+        {
+            return findMethod(location, stepDefinition.getStepAsString());
+        }
+        if (location.getArchive() == null)
+        {
+            return Optional.of(createLocation(Path.of(location.getPath()), location.getLine()));
+        }
+        return extract(new File(location.getArchive()), location.getPath())
+                .map(file -> createLocation(file, location.getLine()));
+    }
+
+    private Optional<Location> findMethod(StepDefinitionLocation location, String stepAsString)
+    {
+        if (location.getSources() == null)
+        {
+            return Optional.empty();
+        }
+        String className = location.getPath();
+        int nestedClassSeparator = className.indexOf('$');
+        String topLevelClassName = nestedClassSeparator < 0 ? className
+                : className.substring(0, nestedClassSeparator);
+        String annotationValue = stepAsString.substring(stepAsString.indexOf(' ') + 1);
+
+        return extract(new File(location.getSources()), topLevelClassName.replace('.', '/') + JAVA_EXTENSION)
+                .flatMap(file -> readString(file).map(
+                        source -> createLocation(file, findMethodLine(source, location.getMethodName(),
+                                JavaSourceUtils.getParameterCount(location.getMethodSignature()), annotationValue))));
+    }
+
+    /**
+     * Finds the line of the method declaration, if there are several methods with the same name, only the ones with
+     * the given number of parameters are considered, if there are none of them, all the methods are considered, and
+     * the one following the given annotation value is preferred
+     */
+    private static int findMethodLine(String source, String methodName, int parameterCount, String annotationValue)
+    {
+        Matcher declaration = Pattern.compile("\\b" + Pattern.quote(methodName) + "\\s*\\(").matcher(source);
+        int annotation = JavaSourceUtils.toStringLiterals(annotationValue).stream()
+                .mapToInt(source::indexOf)
+                .filter(index -> index >= 0)
+                .min()
+                .orElse(0);
+        int first = -1;
+        int firstAfterAnnotation = -1;
+        while (declaration.find())
+        {
+            int start = declaration.start();
+            if (parameterCount >= 0 && JavaSourceUtils.countParameters(source, declaration.end() - 1)
+                    != parameterCount)
+            {
+                continue;
+            }
+            if (first < 0)
+            {
+                first = start;
+            }
+            if (start >= annotation)
+            {
+                firstAfterAnnotation = start;
+                break;
+            }
+        }
+        if (first < 0 && parameterCount >= 0)
+        {
+            return findMethodLine(source, methodName, -1, annotationValue);
+        }
+        int start = firstAfterAnnotation >= 0 ? firstAfterAnnotation : first;
+        return start < 0 ? 0 : Splitter.countLineBreaks(source.subSequence(0, start));
+    }
+
+    private Optional<Path> extract(File archive, String entryName)
+    {
+        Path folder = workspace.getRoot().getLocation().toFile().toPath().resolve(SOURCES_LOCATION)
+                .resolve(Hashing.sha256().hashString(archive.getAbsolutePath(), StandardCharsets.UTF_8).toString());
+        Path target = folder.resolve(entryName).normalize();
+        if (!target.startsWith(folder))
+        {
+            return Optional.empty();
+        }
+        if (Files.isRegularFile(target) && target.toFile().lastModified() >= archive.lastModified())
+        {
+            return Optional.of(target);
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive, StandardCharsets.UTF_8))
+        {
+            ZipEntry entry = zipFile.getEntry(entryName);
+            if (entry == null)
+            {
+                return Optional.empty();
+            }
+            Files.createDirectories(target.getParent());
+            try (InputStream content = zipFile.getInputStream(entry))
+            {
+                Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return Optional.of(target);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to extract {} from {}", entryName, archive);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> readString(Path file)
+    {
+        try
+        {
+            return Optional.of(Files.readString(file, StandardCharsets.UTF_8));
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to read {}", file);
+            return Optional.empty();
+        }
+    }
+
+    private static Location createLocation(Path file, int line)
+    {
+        Position position = new Position(line, 0);
+        return new Location(file.toUri().toString(), new Range(position, position));
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2022 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,14 +23,26 @@ import static java.util.Map.entry;
 import static org.vividus.studio.plugin.util.RuntimeWrapper.wrapMono;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -40,28 +52,41 @@ import com.google.common.base.Suppliers;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.document.TextDocumentEventListener;
 import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.exception.VividusStudioException;
 import org.vividus.studio.plugin.finder.IStepDefinitionFinder;
-import org.vividus.studio.plugin.match.TokenMatcher;
+import org.vividus.studio.plugin.match.PrefixTrie;
 import org.vividus.studio.plugin.match.TokenMatcher.MatchOutcome;
 import org.vividus.studio.plugin.model.ResolvedStepDefinition;
 import org.vividus.studio.plugin.model.Step;
 import org.vividus.studio.plugin.model.StepDefinition;
 import org.vividus.studio.plugin.model.StepType;
 import org.vividus.studio.plugin.util.ResourceUtils;
+import org.vividus.studio.plugin.util.Splitter;
 
 @Singleton
-public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefinitionsProvider
+public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefinitionsProvider, TextDocumentEventListener
 {
     private static final String COMMENT = "!--";
+    private static final String AND = "And";
     private static final List<String> STORY_STEP_BREAKERS = List.of(
         COMMENT,
+        "Description:",
         "Scenario:",
         "Meta:",
         "GivenStories:",
+        "Lifecycle:",
+        "Before:",
+        "After:",
+        "Scope:",
+        "Outcome:",
         "Examples:"
     );
     private static final List<String> COMPOSITE_STEP_BREAKERS = List.of(
@@ -72,7 +97,18 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
     private final List<StepDefinition> staticStepDefinitions = new ArrayList<>();
     private final List<StepDefinition> dynamicStepDefinitions = new ArrayList<>();
 
-    private Supplier<Map<StepType, List<StepDefinition>>> groupedStepDefinitions;
+    private final Map<List<String>, Integer> stepDefinitionIds = new HashMap<>();
+    private final Object refreshLock = new Object();
+    private final AtomicInteger refreshGeneration = new AtomicInteger();
+    private int mergedGeneration;
+
+    private volatile Supplier<Map<StepType, List<StepDefinition>>> groupedStepDefinitions = Suppliers.ofInstance(
+            Map.of());
+    private volatile Supplier<Map<StepType, PrefixTrie<StepDefinition>>> headTokenIndex = Suppliers.ofInstance(
+            new EnumMap<>(StepType.class));
+    private volatile Map<String, DocumentResolutions> resolutions = new ConcurrentHashMap<>();
+    private final AtomicInteger revision = new AtomicInteger();
+    private final List<StepDefinitionsRevisionListener> revisionListeners = new CopyOnWriteArrayList<>();
 
     private final TextDocumentProvider textDocumentProvider;
     private final IStepDefinitionFinder stepDefinitionFinder;
@@ -93,28 +129,133 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
                 getNotStepPredicate(documentIdentifier), position)
                 .getStep()
                 .stream()
-                .flatMap(step -> resolve(step, getByType(step.getType()), false));
+                .flatMap(step -> resolve(step, false));
     }
 
     /**
      * The method resolves each step line in the document to step definition that the step matches, if step matches
-     * more than one definition, the one more specific definition will be returned.
+     * more than one definition, the one more specific definition will be returned. The resolutions are cached per
+     * step line and step text until the lines of the step are changed or step definitions are refreshed.
      *
      * @param documentIdentifier The identifier of document containing steps to resolve
      * @return The stream of resolved step definitions
      */
     public Stream<ResolvedStepDefinition> resolve(String documentIdentifier)
     {
-        List<String> document = textDocumentProvider.getTextDocument(documentIdentifier);
-        if (document.isEmpty())
+        return resolve(documentIdentifier, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The method resolves steps located within the range of lines, steps starting before the range and spanning into
+     * it are resolved as well.
+     *
+     * @param documentIdentifier The identifier of document containing steps to resolve
+     * @param fromLine The first line of the range, inclusive
+     * @param toLine The last line of the range, inclusive
+     * @return The stream of resolved step definitions
+     */
+    public Stream<ResolvedStepDefinition> resolve(String documentIdentifier, int fromLine, int toLine)
+    {
+        return resolveSteps(documentIdentifier, fromLine, toLine, (step, resolved) -> resolved)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * The method finds steps within the range of lines the same way as {@link #resolve(String, int, int)} does and
+     * maps every found step along with its cached resolution, so the steps not matching any step definition are
+     * available as well.
+     *
+     * @param <T> The type of mapping result
+     * @param documentIdentifier The identifier of document containing steps to resolve
+     * @param fromLine The first line of the range, inclusive
+     * @param toLine The last line of the range, inclusive
+     * @param mapper The function mapping the step and the resolved step definition, the latter is <code>null</code>
+     * if the step doesn't match any step definition
+     * @return The stream of mapping results
+     */
+    public <T> Stream<T> resolveSteps(String documentIdentifier, int fromLine, int toLine,
+            BiFunction<Step, ResolvedStepDefinition, T> mapper)
+    {
+        List<Step> steps = findSteps(textDocumentProvider.getTextDocument(documentIdentifier),
+                getNotStepPredicate(documentIdentifier), fromLine, toLine);
+        if (steps.isEmpty())
         {
             return Stream.empty();
         }
 
-        int searchIndex = document.size() - 1;
+        DocumentResolutions documentResolutions = resolutions.computeIfAbsent(documentIdentifier,
+                id -> new DocumentResolutions());
+        return steps.stream().map(step -> mapper.apply(step, resolveCached(step, documentResolutions)));
+    }
 
+    /**
+     * The method resolves steps of the document that is not necessarily opened in the editor, the resolutions are
+     * not cached.
+     *
+     * @param documentIdentifier The identifier of document, used to detect the document type
+     * @param document The lines of the document
+     * @return The stream of resolved step definitions
+     */
+    public Stream<ResolvedStepDefinition> resolve(String documentIdentifier, List<String> document)
+    {
+        return resolveSteps(documentIdentifier, document, (step, resolved) -> resolved).filter(Objects::nonNull);
+    }
+
+    /**
+     * The method finds all steps of the document that is not necessarily opened in the editor and maps every found
+     * step along with its resolution, the resolutions are not cached.
+     *
+     * @param <T> The type of mapping result
+     * @param documentIdentifier The identifier of document, used to detect the document type
+     * @param document The lines of the document
+     * @param mapper The function mapping the step and the resolved step definition, the latter is <code>null</code>
+     * if the step doesn't match any step definition
+     * @return The stream of mapping results
+     */
+    public <T> Stream<T> resolveSteps(String documentIdentifier, List<String> document,
+            BiFunction<Step, ResolvedStepDefinition, T> mapper)
+    {
+        return findSteps(document, getNotStepPredicate(documentIdentifier), 0, Integer.MAX_VALUE).stream()
+                .map(step -> mapper.apply(step, resolve(step, true).findFirst().orElse(null)));
+    }
+
+    /**
+     * Finds the first line of the step the line belongs to
+     *
+     * @param documentIdentifier The identifier of document
+     * @param lineIndex The index of the line
+     * @return The index of the first line of the step or empty optional if the line doesn't belong to any step
+     */
+    public OptionalInt findStepHead(String documentIdentifier, int lineIndex)
+    {
+        List<String> document = textDocumentProvider.getTextDocument(documentIdentifier);
         Predicate<String> notStepPredicate = getNotStepPredicate(documentIdentifier);
-        List<Step> steps = new ArrayList<>(document.size());
+        for (int index = Math.min(lineIndex, document.size() - 1); index >= 0; index--)
+        {
+            String line = document.get(index);
+            if (notStepPredicate.test(line))
+            {
+                break;
+            }
+            if (isStepHead(line))
+            {
+                return OptionalInt.of(index);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    private static List<Step> findSteps(List<String> document, Predicate<String> notStepPredicate, int fromLine,
+            int toLine)
+    {
+        if (document.isEmpty() || fromLine >= document.size())
+        {
+            return List.of();
+        }
+
+        int searchIndex = findStepBlockEnd(document, notStepPredicate, Math.min(toLine, document.size() - 1));
+
+        List<Step> steps = new ArrayList<>();
         do
         {
             String currentLine = document.get(searchIndex);
@@ -122,35 +263,138 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
             searchIndex = result.getNextPosition();
             result.getStep().ifPresent(steps::add);
         }
-        while (searchIndex > 0);
+        while (searchIndex > 0 && searchIndex >= fromLine);
 
         Collections.reverse(steps);
+        return steps;
+    }
 
-        return steps.stream().flatMap(step -> resolve(step, getByType(step.getType()), true));
+    private ResolvedStepDefinition resolveCached(Step step, DocumentResolutions documentResolutions)
+    {
+        CachedResolution cached = documentResolutions.get(step);
+        if (cached == null)
+        {
+            ResolvedStepDefinition resolved = resolve(step, true).findFirst().orElse(null);
+            cached = new CachedResolution(step.getType(), step.getValue(), resolved);
+            documentResolutions.put(step.getLineIndex(), cached);
+        }
+        return cached.getResolved();
     }
 
-    private List<StepDefinition> getByType(StepType stepType)
+    @Override
+    public void onChange(DidChangeTextDocumentParams changeEvent)
     {
-        return Optional.ofNullable(groupedStepDefinitions.get().get(stepType)).orElse(List.of());
+        DocumentResolutions documentResolutions = resolutions.get(changeEvent.getTextDocument().getUri());
+        if (documentResolutions == null)
+        {
+            return;
+        }
+        changeEvent.getContentChanges().forEach(change ->
+        {
+            Range range = change.getRange();
+            if (range == null)
+            {
+                documentResolutions.clear();
+                return;
+            }
+            int startLine = range.getStart().getLine();
+            int endLine = range.getEnd().getLine();
+            int insertedLines = Splitter.countLineBreaks(change.getText());
+            documentResolutions.invalidate(startLine, endLine, insertedLines - (endLine - startLine));
+        });
     }
 
     @Override
-    public void refresh()
+    public void onClose(DidCloseTextDocumentParams closeEvent)
+    {
+        resolutions.remove(closeEvent.getTextDocument().getUri());
+    }
+
+    private List<StepDefinition> getCandidates(StepType type, String stepValue)
+    {
+        return Optional.ofNullable(headTokenIndex.get().get(type))
+                       .map(index -> index.findRelated(stepValue))
+                       .orElse(List.of());
+    }
+
+    /**
+     * Returns the step value to match step definitions against, the <code>And</code> keyword is replaced with the
+     * keyword of the step type, as the step definitions start with the keyword of their type
+     *
+     * @param step The step
+     * @return The step value to match
+     */
+    private static String toMatchedValue(Step step)
+    {
+        String value = step.getValue();
+        return isAndStep(value) ? step.getType().getType() + value.substring(AND.length()) : value;
+    }
+
+    /**
+     * Rescans step definitions of the project, the step definitions found in each dependency are published as soon as
+     * the dependency is scanned, so the steps become available for resolution before the whole project is scanned
+     *
+     * @param progress The consumer of progress messages
+     */
+    @Override
+    public void refresh(Consumer<String> progress)
     {
+        int generation = refreshGeneration.incrementAndGet();
         Collection<StepDefinition> stepDefinitions = wrapMono(
-                () -> stepDefinitionFinder.find(vividusStudioConfiguration.getJavaProject()),
+                () -> stepDefinitionFinder.find(vividusStudioConfiguration.getJavaProject(),
+                        (source, found, scanned, total) ->
+                        {
+                            merge(found, generation);
+                            progress.accept(String.format("Found %d steps in %s (%d/%d)", found.size(), source,
+                                    scanned, total));
+                        }),
                 VividusStudioException::new);
 
-        this.staticStepDefinitions.clear();
-
-        refresh(stepDefinitions);
+        merge(stepDefinitions, true, true);
     }
 
     @Override
     public void refresh(Collection<StepDefinition> stepDefinitions)
     {
-        this.groupedStepDefinitions = Suppliers.memoize(() ->
+        merge(stepDefinitions, false, false);
+    }
+
+    /**
+     * Merges the step definitions found in the single dependency, the static step definitions found by the previous
+     * refresh are replaced by the first merge of the refresh, the dependencies are scanned concurrently, so the first
+     * merge is detected under the refresh lock
+     *
+     * @param stepDefinitions The step definitions found in the dependency
+     * @param generation The generation of the refresh the step definitions are found by
+     */
+    private void merge(Collection<StepDefinition> stepDefinitions, int generation)
+    {
+        synchronized (refreshLock)
         {
+            merge(stepDefinitions, mergedGeneration != generation, false);
+            mergedGeneration = generation;
+        }
+    }
+
+    /**
+     * Merges the step definitions and assigns the identifiers to the new ones, the identifiers of the step definitions
+     * which are gone are dropped once all the step definitions of the project are found and reused for the new step
+     * definitions, so the identifiers stay bounded by the number of the step definitions
+     *
+     * @param stepDefinitions The step definitions to merge
+     * @param replaceStatic Whether to replace the static step definitions
+     * @param dropUnusedIds Whether to drop the identifiers of the step definitions which are gone
+     */
+    private void merge(Collection<StepDefinition> stepDefinitions, boolean replaceStatic, boolean dropUnusedIds)
+    {
+        int mergedRevision;
+        synchronized (refreshLock)
+        {
+            if (replaceStatic)
+            {
+                this.staticStepDefinitions.clear();
+            }
+
             List<StepDefinition> dynamicDefinitions = new ArrayList<>();
             stepDefinitions.forEach(sd ->
             {
@@ -172,13 +416,88 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
             }
             this.dynamicStepDefinitions.addAll(dynamicDefinitions);
 
-            List<StepDefinition> allStepDefinitions = new ArrayList<>();
-            allStepDefinitions.addAll(this.staticStepDefinitions);
+            List<StepDefinition> allStepDefinitions = new ArrayList<>(this.staticStepDefinitions);
             allStepDefinitions.addAll(this.dynamicStepDefinitions);
+            if (dropUnusedIds)
+            {
+                stepDefinitionIds.keySet().retainAll(allStepDefinitions.stream()
+                        .map(StepDefinitionResolver::getIdKey)
+                        .collect(Collectors.toSet()));
+            }
+            BitSet usedIds = new BitSet();
+            stepDefinitionIds.values().forEach(usedIds::set);
+            allStepDefinitions.forEach(sd -> sd.setId(stepDefinitionIds.computeIfAbsent(getIdKey(sd), key ->
+            {
+                int id = usedIds.nextClearBit(0);
+                usedIds.set(id);
+                return id;
+            })));
+
+            Supplier<Map<StepType, List<StepDefinition>>> grouped = Suppliers.memoize(
+                    () -> allStepDefinitions.stream()
+                            .collect(Collectors.groupingBy(StepDefinition::getStepType, Collectors.toList())));
+            this.groupedStepDefinitions = grouped;
+            this.headTokenIndex = Suppliers.memoize(() -> indexByHeadToken(grouped.get()));
+            this.resolutions = new ConcurrentHashMap<>();
+            mergedRevision = this.revision.incrementAndGet();
+        }
+        revisionListeners.forEach(listener -> listener.onRevisionChanged(mergedRevision));
+    }
+
+    /**
+     * Returns the revision of step definitions which is changed on every refresh of step definitions, so results
+     * calculated using the previous step definitions can be detected
+     *
+     * @return The revision of step definitions
+     */
+    public int getRevision()
+    {
+        return revision.get();
+    }
+
+    /**
+     * Registers the listener notified every time the step definitions are refreshed, the listener is notified on the
+     * thread refreshing the step definitions, so it must not block
+     *
+     * @param listener The listener of the step definitions revision
+     */
+    public void addRevisionListener(StepDefinitionsRevisionListener listener)
+    {
+        revisionListeners.add(listener);
+    }
+
+    private static List<String> getIdKey(StepDefinition stepDefinition)
+    {
+        return List.of(stepDefinition.getModule(), stepDefinition.getStepAsString());
+    }
 
-            return allStepDefinitions.stream()
-                    .collect(Collectors.groupingBy(StepDefinition::getStepType, Collectors.toList()));
+    private static Map<StepType, PrefixTrie<StepDefinition>> indexByHeadToken(
+            Map<StepType, List<StepDefinition>> stepDefinitions)
+    {
+        Map<StepType, PrefixTrie<StepDefinition>> index = new EnumMap<>(StepType.class);
+        stepDefinitions.forEach((type, definitions) ->
+        {
+            PrefixTrie<StepDefinition> trie = new PrefixTrie<>();
+            definitions.forEach(definition -> trie.put(definition.getMatchTokens().get(0), definition));
+            index.put(type, trie);
         });
+        return index;
+    }
+
+    /**
+     * Finds the step definition by its module and step
+     *
+     * @param module The module of the step definition
+     * @param stepAsString The step of the step definition
+     * @return The step definition or empty optional if there is no such step definition
+     */
+    public Optional<StepDefinition> findStepDefinition(String module, String stepAsString)
+    {
+        return StepType.detectSafely(stepAsString)
+                .map(type -> groupedStepDefinitions.get().getOrDefault(type, List.of()))
+                .flatMap(definitions -> definitions.stream()
+                        .filter(d -> d.getStepAsString().equals(stepAsString) && d.getModule().equals(module))
+                        .findFirst());
     }
 
     @Override
@@ -187,42 +506,69 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
         return groupedStepDefinitions.get().values().stream().flatMap(List::stream);
     }
 
-    private Stream<ResolvedStepDefinition> resolve(Step step, List<StepDefinition> definitions,
-            boolean limitResultsToOne)
+    private Stream<ResolvedStepDefinition> resolve(Step step, boolean limitResultsToOne)
     {
+        String matchedValue = toMatchedValue(step);
+        int shift = step.getValue().length() - matchedValue.length();
         List<Entry<StepDefinition, MatchOutcome>> matchedDefinitions = new ArrayList<>();
-        for (StepDefinition definition : definitions)
+        Entry<StepDefinition, MatchOutcome> fullMatch = null;
+        for (StepDefinition definition : getCandidates(step.getType(), matchedValue))
         {
-            List<String> matchTokens = definition.getMatchTokens();
-            MatchOutcome outcome = TokenMatcher.match(step.getValue(), matchTokens);
+            MatchOutcome outcome = definition.getMatcher().match(matchedValue);
 
             if (outcome.isMatch())
             {
-                if (limitResultsToOne && outcome.getTokenIndex() == matchTokens.size() - 1)
+                if (limitResultsToOne && outcome.isComplete())
                 {
-                    return Stream.of(createResolved(step, outcome, definition));
+                    if (fullMatch != null)
+                    {
+                        return Stream.of(createResolved(step, shift, fullMatch.getValue(), fullMatch.getKey(), true));
+                    }
+                    fullMatch = entry(definition, outcome);
+                }
+                else
+                {
+                    matchedDefinitions.add(entry(definition, outcome));
                 }
-
-                matchedDefinitions.add(entry(definition, outcome));
             }
         }
 
+        if (fullMatch != null)
+        {
+            return Stream.of(createResolved(step, shift, fullMatch.getValue(), fullMatch.getKey(), false));
+        }
+
         Collections.sort(matchedDefinitions,
                 Comparator.comparing(e -> e.getValue().getTokenIndex(), Comparator.reverseOrder()));
 
         if (limitResultsToOne && !matchedDefinitions.isEmpty())
         {
             Entry<StepDefinition, MatchOutcome> entry = matchedDefinitions.get(0);
-            return Stream.of(createResolved(step, entry.getValue(), entry.getKey()));
+            return Stream.of(createResolved(step, shift, entry.getValue(), entry.getKey(), false));
         }
 
-        return matchedDefinitions.stream().map(e -> createResolved(step, e.getValue(), e.getKey()));
+        return matchedDefinitions.stream().map(e -> createResolved(step, shift, e.getValue(), e.getKey(), false));
     }
 
-    private static ResolvedStepDefinition createResolved(Step step, MatchOutcome outcome, StepDefinition definition)
+    /**
+     * Creates the resolved step definition, the argument indices are shifted by the difference between the length
+     * of the step and the length of the matched step value, so they point to the arguments in the step as it is
+     * written in the document
+     *
+     * @param step The resolved step
+     * @param shift The difference between the length of the step and the length of the matched step value
+     * @param outcome The outcome of the step matching
+     * @param definition The matched step definition
+     * @param ambiguous Whether the step matches more than one step definition
+     * @return The resolved step definition
+     */
+    private static ResolvedStepDefinition createResolved(Step step, int shift, MatchOutcome outcome,
+            StepDefinition definition, boolean ambiguous)
     {
-        return new ResolvedStepDefinition(step, outcome.getTokenIndex(), outcome.getSubToken(),
-                outcome.getArgIndices(), definition);
+        List<Integer> argIndices = shift == 0 ? outcome.getArgIndices()
+                : outcome.getArgIndices().stream().map(index -> index + shift).collect(Collectors.toList());
+        return new ResolvedStepDefinition(step, outcome.getTokenIndex(), outcome.getSubToken(), argIndices,
+                definition, outcome.isComplete(), ambiguous);
     }
 
     private static FindResult findStep(List<String> document, Predicate<String> notStepPredicate, Position position)
@@ -235,16 +581,76 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
         }
 
         String token = line.substring(0, position.getCharacter());
-        Optional<StepType> type = StepType.detectSafely(token);
-        if (type.isPresent())
+        if (isStepHead(token))
         {
-            Step step = new Step(lineIndex, type.get(), token);
+            Step step = detectStepType(document, notStepPredicate, lineIndex, token)
+                    .map(type -> new Step(lineIndex, type, token))
+                    .orElse(null);
             return FindResult.create(lineIndex, step);
         }
 
         return findStepHead(lineIndex, document, notStepPredicate, token);
     }
 
+    private static boolean isStepHead(String line)
+    {
+        return StepType.detectSafely(line).isPresent() || isAndStep(line);
+    }
+
+    private static boolean isAndStep(String line)
+    {
+        return AND.equals(StringUtils.substringBefore(line, " "));
+    }
+
+    /**
+     * Detects the type of the step starting at the line, the <code>And</code> step takes the type of the closest
+     * preceding step, the comments are skipped while the preceding step is searched, while the other step breakers
+     * stop the search
+     *
+     * @param document The lines of the document
+     * @param notStepPredicate The predicate detecting the step breakers
+     * @param lineIndex The index of the line the step starts at
+     * @param line The line the step starts at
+     * @return The type of the step or empty optional if the type can't be detected
+     */
+    private static Optional<StepType> detectStepType(List<String> document, Predicate<String> notStepPredicate,
+            int lineIndex, String line)
+    {
+        if (!isAndStep(line))
+        {
+            return StepType.detectSafely(line);
+        }
+        for (int index = lineIndex - 1; index >= 0; index--)
+        {
+            String previousLine = document.get(index);
+            Optional<StepType> type = StepType.detectSafely(previousLine);
+            if (type.isPresent())
+            {
+                return type;
+            }
+            if (notStepPredicate.test(previousLine) && !previousLine.startsWith(COMMENT))
+            {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static int findStepBlockEnd(List<String> document, Predicate<String> notStepPredicate, int lineIndex)
+    {
+        int blockEnd = lineIndex;
+        while (blockEnd + 1 < document.size())
+        {
+            String nextLine = document.get(blockEnd + 1);
+            if (notStepPredicate.test(nextLine) || isStepHead(nextLine))
+            {
+                break;
+            }
+            blockEnd++;
+        }
+        return blockEnd;
+    }
+
     private static Predicate<String> getNotStepPredicate(String documentId)
     {
         List<String> stepBreakers = ResourceUtils.isCompositeFile(documentId) ? COMPOSITE_STEP_BREAKERS
@@ -258,12 +664,15 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
         for (int index = currentIndex - 1; index >= 0; index--)
         {
             String line = lines.get(index);
-            Optional<StepType> type = StepType.detectSafely(line);
-            if (type.isPresent())
+            if (isStepHead(line))
             {
-                String multilineToken = lines.subList(index, currentIndex).stream()
-                        .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator() + ending));
-                Step step = new Step(index, type.get(), multilineToken);
+                int headIndex = index;
+                Step step = detectStepType(lines, notStepPredicate, headIndex, line).map(type ->
+                {
+                    String multilineToken = lines.subList(headIndex, currentIndex).stream()
+                            .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator() + ending));
+                    return new Step(headIndex, type, multilineToken);
+                }).orElse(null);
                 return FindResult.create(index, step);
             }
 
@@ -302,4 +711,95 @@ public class StepDefinitionResolver implements IStepDefinitionsAware, StepDefini
             return new FindResult(currentIndex - 1, Optional.ofNullable(step));
         }
     }
+
+    private static final class DocumentResolutions
+    {
+        private final NavigableMap<Integer, CachedResolution> resolutionsByLine = new TreeMap<>();
+
+        private synchronized CachedResolution get(Step step)
+        {
+            CachedResolution cached = resolutionsByLine.get(step.getLineIndex());
+            return cached != null && cached.getStepType() == step.getType()
+                    && cached.getStepValue().equals(step.getValue()) ? cached : null;
+        }
+
+        private synchronized void put(int lineIndex, CachedResolution resolution)
+        {
+            resolutionsByLine.put(lineIndex, resolution);
+        }
+
+        private synchronized void clear()
+        {
+            resolutionsByLine.clear();
+        }
+
+        /**
+         * Drops the resolutions of the steps touching the changed lines and shifts the resolutions of the steps
+         * located below the change
+         *
+         * @param startLine The first changed line
+         * @param endLine The last changed line
+         * @param lineDelta The difference between the number of lines after and before the change
+         */
+        private synchronized void invalidate(int startLine, int endLine, int lineDelta)
+        {
+            Integer enclosingStepLine = resolutionsByLine.floorKey(startLine);
+            int fromLine = enclosingStepLine == null ? startLine : enclosingStepLine;
+            resolutionsByLine.subMap(fromLine, true, endLine, true).clear();
+
+            if (lineDelta != 0)
+            {
+                NavigableMap<Integer, CachedResolution> below = resolutionsByLine.tailMap(endLine, false);
+                Map<Integer, CachedResolution> shifted = new TreeMap<>(below);
+                below.clear();
+                shifted.forEach((line, resolution) ->
+                {
+                    int lineIndex = line + lineDelta;
+                    resolutionsByLine.put(lineIndex, resolution.moveTo(lineIndex));
+                });
+            }
+        }
+    }
+
+    private static final class CachedResolution
+    {
+        private final StepType stepType;
+        private final String stepValue;
+        private final ResolvedStepDefinition resolved;
+
+        private CachedResolution(StepType stepType, String stepValue, ResolvedStepDefinition resolved)
+        {
+            this.stepType = stepType;
+            this.stepValue = stepValue;
+            this.resolved = resolved;
+        }
+
+        private StepType getStepType()
+        {
+            return stepType;
+        }
+
+        private String getStepValue()
+        {
+            return stepValue;
+        }
+
+        private ResolvedStepDefinition getResolved()
+        {
+            return resolved;
+        }
+
+        private CachedResolution moveTo(int lineIndex)
+        {
+            if (resolved == null)
+            {
+                return this;
+            }
+            Step step = resolved.getStep();
+            Step movedStep = new Step(lineIndex, step.getType(), step.getValue());
+            return new CachedResolution(stepType, stepValue, new ResolvedStepDefinition(movedStep,
+                    resolved.getTokenIndex(), resolved.getSubToken(), resolved.getArgIndices(), resolved,
+                    resolved.isFullyMatched(), resolved.isAmbiguous()));
+        }
+    }
 }
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@
 package org.vividus.studio.plugin.service;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.vividus.studio.plugin.model.StepDefinition;
@@ -28,7 +29,7 @@ public interface StepDefinitionsProvider
 {
     Stream<StepDefinition> getStepDefinitions();
 
-    void refresh();
+    void refresh(Consumer<String> progress);
 
     void refresh(Collection<StepDefinition> stepDefinitions);
 }
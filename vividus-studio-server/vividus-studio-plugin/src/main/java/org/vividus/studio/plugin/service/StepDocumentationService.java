@@ -0,0 +1,107 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+/**
+ * Provides documentation of step definitions, the documentation is loaded on demand and the most recently used
+ * documentations are kept in the bounded cache. The cache is keyed by the identity of the documentation source, which
+ * is shared by the step definition and all its resolutions, so re-resolving the step doesn't load the documentation
+ * again, while documentations of step definitions replaced on refresh are not served and are evicted once the step
+ * definitions are collected. The
+ * Markdown renderings of Javadoc comments are cached by the comment text, so the step definitions sharing the same
+ * Javadoc, e.g. aliases of the same step method, share a single rendering which is produced only once.
+ */
+@Singleton
+public class StepDocumentationService
+{
+    private static final String CODE_FENCE = "```";
+    private static final String JAVADOC_START = "/**";
+
+    private final Cache<Supplier<String>, String> documentations;
+    private final Cache<String, String> markdowns;
+
+    @Inject
+    public StepDocumentationService(VividusStudioSettings settings)
+    {
+        this.documentations = CacheBuilder.newBuilder()
+                .maximumSize(settings.getDocumentationCacheSize())
+                .weakKeys()
+                .build();
+        this.markdowns = CacheBuilder.newBuilder()
+                .maximumSize(settings.getDocumentationCacheSize())
+                .build();
+    }
+
+    public String getDocumentation(StepDefinition stepDefinition)
+    {
+        Supplier<String> source = stepDefinition.getDocumentationSource();
+        String documentation = documentations.getIfPresent(source);
+        if (documentation == null)
+        {
+            documentation = source.get();
+            if (documentation != null)
+            {
+                documentations.put(source, documentation);
+            }
+        }
+        return documentation;
+    }
+
+    /**
+     * Returns the documentation of the step definition as Markdown, the Javadoc of java steps is cleaned of the
+     * comment markup and the body of composite steps is rendered as code block
+     *
+     * @param stepDefinition The step definition
+     * @return The Markdown documentation or <code>null</code> if the step definition has no documentation
+     */
+    public String getMarkdown(StepDefinition stepDefinition)
+    {
+        String documentation = getDocumentation(stepDefinition);
+        if (documentation == null)
+        {
+            return null;
+        }
+        if (stepDefinition.isComposite())
+        {
+            return CODE_FENCE + '\n' + documentation.strip() + '\n' + CODE_FENCE;
+        }
+        if (!documentation.startsWith(JAVADOC_START))
+        {
+            return documentation;
+        }
+        String markdown = markdowns.getIfPresent(documentation);
+        if (markdown == null)
+        {
+            markdown = JavadocMarkdownRenderer.render(documentation);
+            markdowns.put(documentation, markdown);
+        }
+        return markdown;
+    }
+}
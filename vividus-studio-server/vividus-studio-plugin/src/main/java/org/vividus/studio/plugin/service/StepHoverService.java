@@ -0,0 +1,102 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.MarkupKind;
+import org.eclipse.lsp4j.Position;
+import org.vividus.studio.plugin.model.Parameter;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+
+/**
+ * Creates hovers for steps, the hover shows the Markdown documentation of the step definition the step is resolved
+ * to along with the values of the step parameters having limited number of choices. The step resolution is taken
+ * from the resolver cache and the documentation from the documentation cache, so no Javadoc is parsed on hover.
+ */
+@Singleton
+public class StepHoverService
+{
+    private static final String PARAGRAPH_BREAK = "\n\n";
+
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final StepDocumentationService stepDocumentationService;
+
+    @Inject
+    public StepHoverService(StepDefinitionResolver stepDefinitionResolver,
+            StepDocumentationService stepDocumentationService)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.stepDocumentationService = stepDocumentationService;
+    }
+
+    /**
+     * Creates the hover for the step at the position
+     *
+     * @param documentIdentifier The identifier of the document containing the step
+     * @param position The position within the step
+     * @return The hover or empty optional if the position is outside steps or the step is not resolved
+     */
+    public Optional<Hover> hover(String documentIdentifier, Position position)
+    {
+        int line = position.getLine();
+        return stepDefinitionResolver.resolve(documentIdentifier, line, line)
+                .findFirst()
+                .filter(ResolvedStepDefinition::isFullyMatched)
+                .map(this::createHover);
+    }
+
+    private Hover createHover(ResolvedStepDefinition stepDefinition)
+    {
+        StringBuilder markdown = new StringBuilder();
+        String documentation = stepDocumentationService.getMarkdown(stepDefinition);
+        if (documentation != null)
+        {
+            markdown.append(documentation);
+        }
+
+        List<String> parameterValues = stepDefinition.getParameters().stream()
+                .filter(parameter -> !parameter.getValues().isEmpty())
+                .map(StepHoverService::formatValues)
+                .collect(Collectors.toList());
+        if (!parameterValues.isEmpty())
+        {
+            if (!markdown.isEmpty())
+            {
+                markdown.append(PARAGRAPH_BREAK);
+            }
+            markdown.append("**Parameter values:**\n").append(String.join("\n", parameterValues));
+        }
+        return new Hover(new MarkupContent(MarkupKind.MARKDOWN, markdown.toString()));
+    }
+
+    private static String formatValues(Parameter parameter)
+    {
+        return parameter.getValues().stream()
+                .collect(Collectors.joining("`, `", "- `" + parameter.getName() + "`: `", "`"));
+    }
+}
@@ -0,0 +1,36 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.List;
+
+import org.vividus.studio.plugin.model.IndexedSteps;
+
+public interface StepIndexListener
+{
+    /**
+     * Notifies about the change of the workspace step index, the indexes of the changed files are passed in both
+     * lists: the previous ones as removed and the current ones as added
+     *
+     * @param removed The indexes of the files removed from the workspace step index
+     * @param added The indexes of the files added to the workspace step index
+     */
+    void onIndexChanged(List<IndexedSteps> removed, List<IndexedSteps> added);
+}
@@ -0,0 +1,142 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.vividus.studio.plugin.model.IndexedSteps;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+/**
+ * Inverted index of the {@link WorkspaceStepIndex}: every step definition is mapped to the indexed files using it.
+ * The index is updated per changed file, so looking up the references of a step definition touches only the files
+ * actually using it instead of resolving the steps of all the project files.
+ */
+@Singleton
+public class StepReferenceIndex implements StepIndexListener
+{
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final StepDefinitionLocator stepDefinitionLocator;
+
+    private final Map<Integer, Set<IndexedSteps>> filesByStepDefinition = new ConcurrentHashMap<>();
+
+    @Inject
+    public StepReferenceIndex(StepDefinitionResolver stepDefinitionResolver,
+            StepDefinitionLocator stepDefinitionLocator)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.stepDefinitionLocator = stepDefinitionLocator;
+    }
+
+    @Override
+    public synchronized void onIndexChanged(List<IndexedSteps> removed, List<IndexedSteps> added)
+    {
+        removed.forEach(steps -> forEachStepDefinitionId(steps,
+                id -> filesByStepDefinition.computeIfPresent(id, (key, files) ->
+                {
+                    files.remove(steps);
+                    return files.isEmpty() ? null : files;
+                })));
+        added.forEach(steps -> forEachStepDefinitionId(steps,
+                id -> filesByStepDefinition.computeIfAbsent(id, key -> ConcurrentHashMap.newKeySet()).add(steps)));
+    }
+
+    /**
+     * Finds the locations of the steps resolved to the same step definition as the step at the position
+     *
+     * @param documentIdentifier The identifier of document containing the step
+     * @param position The position within the step
+     * @param includeDeclaration Whether to include the location of the step definition declaration, if it's
+     * available, in front of the step locations
+     * @param cancelChecker The check whether the request is cancelled or outdated
+     * @return The locations of the steps ordered by documents and lines or empty list if the step at the position
+     * is not fully matched
+     */
+    public List<Location> findReferences(String documentIdentifier, Position position, boolean includeDeclaration,
+            CancelChecker cancelChecker)
+    {
+        int line = position.getLine();
+        return stepDefinitionResolver.resolve(documentIdentifier, line, line)
+                .findFirst()
+                .filter(ResolvedStepDefinition::isFullyMatched)
+                .map(stepDefinition ->
+                {
+                    List<Location> references = findReferences(stepDefinition, cancelChecker);
+                    if (includeDeclaration)
+                    {
+                        stepDefinitionLocator.findDefinition(stepDefinition)
+                                .ifPresent(declaration -> references.add(0, declaration));
+                    }
+                    return references;
+                })
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Finds the locations of the steps resolved to the step definition
+     *
+     * @param stepDefinition The step definition
+     * @param cancelChecker The check whether the request is cancelled or outdated
+     * @return The locations of the steps ordered by documents and lines
+     */
+    public List<Location> findReferences(StepDefinition stepDefinition, CancelChecker cancelChecker)
+    {
+        int stepDefinitionId = stepDefinition.getId();
+        List<Location> locations = new ArrayList<>();
+        filesByStepDefinition.getOrDefault(stepDefinitionId, Set.of()).forEach(steps ->
+        {
+            cancelChecker.checkCanceled();
+            for (int index = 0; index < steps.size(); index++)
+            {
+                if (steps.getStepDefinitionId(index) == stepDefinitionId)
+                {
+                    int line = steps.getLine(index);
+                    locations.add(new Location(steps.getDocumentUri(),
+                            new Range(new Position(line, 0), new Position(line + 1, 0))));
+                }
+            }
+        });
+        locations.sort(Comparator.comparing(Location::getUri)
+                .thenComparingInt(location -> location.getRange().getStart().getLine()));
+        return locations;
+    }
+
+    private static void forEachStepDefinitionId(IndexedSteps steps, IntConsumer consumer)
+    {
+        for (int index = 0; index < steps.size(); index++)
+        {
+            consumer.accept(steps.getStepDefinitionId(index));
+        }
+    }
+}
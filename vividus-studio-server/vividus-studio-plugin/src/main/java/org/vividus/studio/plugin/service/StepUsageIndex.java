@@ -0,0 +1,94 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import com.google.inject.Singleton;
+
+import org.vividus.studio.plugin.model.IndexedSteps;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+/**
+ * Counts how many times every step definition is used in the files of the {@link WorkspaceStepIndex}. The counts are
+ * kept in the array indexed by {@link StepDefinition#getId()}, the array is replaced as a whole on every update, so
+ * it can be read without locking. The array is trimmed to the last used identifier, since the identifiers of the
+ * removed step definitions are reused.
+ */
+@Singleton
+public class StepUsageIndex implements StepIndexListener
+{
+    private volatile int[] usageCounts = new int[0];
+
+    @Override
+    public synchronized void onIndexChanged(List<IndexedSteps> removed, List<IndexedSteps> added)
+    {
+        int maxId = added.stream()
+                .mapToInt(StepUsageIndex::maxStepDefinitionId)
+                .max()
+                .orElse(-1);
+        int[] counts = Arrays.copyOf(usageCounts, Math.max(usageCounts.length, maxId + 1));
+        removed.forEach(steps -> count(counts, steps, -1));
+        added.forEach(steps -> count(counts, steps, 1));
+
+        int length = counts.length;
+        while (length > 0 && counts[length - 1] == 0)
+        {
+            length--;
+        }
+        usageCounts = length == counts.length ? counts : Arrays.copyOf(counts, length);
+    }
+
+    /**
+     * Returns the function getting the number of usages of the step definition, the function is based on the counts
+     * available at the moment of the call
+     *
+     * @return The usage count function
+     */
+    public ToIntFunction<StepDefinition> getUsageCounts()
+    {
+        int[] counts = usageCounts;
+        return stepDefinition ->
+        {
+            int id = stepDefinition.getId();
+            return id >= 0 && id < counts.length ? counts[id] : 0;
+        };
+    }
+
+    private static int maxStepDefinitionId(IndexedSteps steps)
+    {
+        int maxId = -1;
+        for (int index = 0; index < steps.size(); index++)
+        {
+            maxId = Math.max(maxId, steps.getStepDefinitionId(index));
+        }
+        return maxId;
+    }
+
+    private static void count(int[] counts, IndexedSteps steps, int delta)
+    {
+        for (int index = 0; index < steps.size(); index++)
+        {
+            counts[steps.getStepDefinitionId(index)] += delta;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
+import org.vividus.studio.plugin.metrics.OperationStatistics;
 
 @JsonSegment("vividus")
 public interface VividusStudioService
@@ -33,4 +34,7 @@ public interface VividusStudioService
 
     @JsonRequest
     CompletableFuture<Void> refreshProject();
+
+    @JsonRequest
+    CompletableFuture<List<OperationStatistics>> metrics();
 }
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ package org.vividus.studio.plugin.service;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 import com.google.inject.Inject;
@@ -34,24 +36,40 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
 import org.eclipse.lsp4j.CompletionTriggerKind;
+import org.eclipse.lsp4j.DefinitionParams;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
 import org.vividus.studio.plugin.document.TextDocumentEventListener;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.exception.VividusStudioException;
 import org.vividus.studio.plugin.factory.CodeActionFactory;
 import org.vividus.studio.plugin.loader.IJavaProjectLoader;
+import org.vividus.studio.plugin.metrics.OperationStatistics;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
 import org.vividus.studio.plugin.model.StepDefinition;
 import org.vividus.studio.plugin.util.RuntimeWrapper;
 
+@SuppressWarnings("paramNum")
 @Singleton
 public class VividusStudioTextDocumentService implements TextDocumentService, VividusStudioService
 {
@@ -65,13 +83,24 @@ public class VividusStudioTextDocumentService implements TextDocumentService, Vi
     private final ClientNotificationService clientNotificationService;
     private final IJavaProjectLoader projectLoader;
     private final VividusStudioEnvronment vividusStudioConfiguration;
+    private final TextDocumentProvider textDocumentProvider;
+    private final RequestExecutor requestExecutor;
+    private final RequestMetrics requestMetrics;
+    private final WorkspaceStepIndex workspaceStepIndex;
+    private final StepReferenceIndex stepReferenceIndex;
+    private final StepDefinitionLocator stepDefinitionLocator;
+    private final StepHoverService stepHoverService;
+    private final DiagnosticsService diagnosticsService;
 
     @Inject
     public VividusStudioTextDocumentService(ICompletionItemService completionItemService,
             Set<TextDocumentEventListener> textDocumentEventListeners, SemanticTokensService semanticTokensService,
             CodeActionFactory codeActionFactory, StepDefinitionsProvider stepDefinitionsProvider,
             ClientNotificationService clientNotificationService, IJavaProjectLoader projectLoader,
-            VividusStudioEnvronment vividusStudioConfiguration)
+            VividusStudioEnvronment vividusStudioConfiguration, TextDocumentProvider textDocumentProvider,
+            RequestExecutor requestExecutor, RequestMetrics requestMetrics, WorkspaceStepIndex workspaceStepIndex,
+            StepReferenceIndex stepReferenceIndex, StepDefinitionLocator stepDefinitionLocator,
+            StepHoverService stepHoverService, DiagnosticsService diagnosticsService)
     {
         this.completionItemService = completionItemService;
         this.textDocumentEventListeners = textDocumentEventListeners;
@@ -81,48 +110,76 @@ public class VividusStudioTextDocumentService implements TextDocumentService, Vi
         this.clientNotificationService = clientNotificationService;
         this.projectLoader = projectLoader;
         this.vividusStudioConfiguration = vividusStudioConfiguration;
+        this.textDocumentProvider = textDocumentProvider;
+        this.requestExecutor = requestExecutor;
+        this.requestMetrics = requestMetrics;
+        this.workspaceStepIndex = workspaceStepIndex;
+        this.stepReferenceIndex = stepReferenceIndex;
+        this.stepDefinitionLocator = stepDefinitionLocator;
+        this.stepHoverService = stepHoverService;
+        this.diagnosticsService = diagnosticsService;
     }
 
     @Override
     public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(CompletionParams completionParams)
     {
-        return CompletableFuture.supplyAsync(() ->
+        String identifier = completionParams.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.COMPLETION, "textDocument/completion",
+                isLatestVersion(identifier), cancelChecker ->
         {
-            List<CompletionItem> completionItems = List.of();
+            CompletionList completionList = new CompletionList(List.of());
             if (completionParams.getContext().getTriggerKind() == CompletionTriggerKind.Invoked)
             {
                 boolean invokedOnTyping = typingChecker.checkSingleType(completionParams.getPosition());
-                String identifier = completionParams.getTextDocument().getUri();
-                completionItems = completionItemService.findAllAtPosition(identifier, completionParams.getPosition())
-                        .stream()
-                        .filter(item -> !item.getTextEdit().getLeft().getNewText().isEmpty() || !invokedOnTyping)
-                        .collect(Collectors.toList());
+                completionList = completionItemService.findAllAtPosition(identifier, completionParams.getPosition(),
+                        invokedOnTyping, cancelChecker);
             }
-            return Either.forLeft(completionItems);
+            return Either.forRight(completionList);
         });
     }
 
     @Override
     public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved)
     {
-        return CompletableFuture.completedFuture(unresolved);
+        return requestExecutor.submit(RequestType.COMPLETION, "completionItem/resolve",
+                cancelChecker -> completionItemService.resolve(unresolved));
     }
 
     @Override
     public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params)
     {
-        return CompletableFuture.supplyAsync(() ->
-        {
-            String documentIdentifier = params.getTextDocument().getUri();
-            List<Integer> semanticTokens = semanticTokensService.getSemanticTokens(documentIdentifier);
-            return new SemanticTokens(semanticTokens);
-        });
+        String documentIdentifier = params.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.SEMANTIC_TOKENS, "textDocument/semanticTokens/full",
+                isLatestVersion(documentIdentifier),
+                cancelChecker -> semanticTokensService.getFullSemanticTokens(documentIdentifier, cancelChecker));
+    }
+
+    @Override
+    public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+            SemanticTokensDeltaParams params)
+    {
+        String documentIdentifier = params.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.SEMANTIC_TOKENS, "textDocument/semanticTokens/full/delta",
+                isLatestVersion(documentIdentifier),
+                cancelChecker -> semanticTokensService.getSemanticTokensDelta(documentIdentifier,
+                        params.getPreviousResultId(), cancelChecker));
+    }
+
+    @Override
+    public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params)
+    {
+        String documentIdentifier = params.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.SEMANTIC_TOKENS, "textDocument/semanticTokens/range",
+                isLatestVersion(documentIdentifier),
+                cancelChecker -> new SemanticTokens(
+                        semanticTokensService.getSemanticTokens(documentIdentifier, params.getRange(), cancelChecker)));
     }
 
     @Override
     public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params)
     {
-        return CompletableFuture.supplyAsync(() -> codeActionFactory.createCodeActions(params));
+        return requestExecutor.submit(RequestType.CODE_ACTION, "textDocument/codeAction",
+                cancelChecker -> codeActionFactory.createCodeActions(params));
     }
 
     @Override
@@ -131,6 +188,45 @@ public class VividusStudioTextDocumentService implements TextDocumentService, Vi
         return CompletableFuture.completedFuture(unresolved);
     }
 
+    @Override
+    public CompletableFuture<List<? extends Location>> references(ReferenceParams params)
+    {
+        String documentIdentifier = params.getTextDocument().getUri();
+        boolean includeDeclaration = params.getContext() != null && params.getContext().isIncludeDeclaration();
+        return requestExecutor.submit(RequestType.NAVIGATION, "textDocument/references",
+                isLatestVersion(documentIdentifier), cancelChecker -> stepReferenceIndex.findReferences(
+                        documentIdentifier, params.getPosition(), includeDeclaration, cancelChecker));
+    }
+
+    @Override
+    public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(
+            DefinitionParams params)
+    {
+        String documentIdentifier = params.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.NAVIGATION, "textDocument/definition",
+                isLatestVersion(documentIdentifier),
+                cancelChecker -> Either.forLeft(
+                        stepDefinitionLocator.findDefinition(documentIdentifier, params.getPosition())));
+    }
+
+    @Override
+    public CompletableFuture<Hover> hover(HoverParams params)
+    {
+        String documentIdentifier = params.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.NAVIGATION, "textDocument/hover",
+                isLatestVersion(documentIdentifier),
+                cancelChecker -> stepHoverService.hover(documentIdentifier, params.getPosition()).orElse(null));
+    }
+
+    @Override
+    public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params)
+    {
+        String documentIdentifier = params.getTextDocument().getUri();
+        return requestExecutor.submit(RequestType.DOCUMENT_DIAGNOSTIC, "textDocument/diagnostic",
+                isLatestVersion(documentIdentifier),
+                cancelChecker -> diagnosticsService.diagnose(documentIdentifier, params.getPreviousResultId()));
+    }
+
     @Override
     public void didOpen(DidOpenTextDocumentParams params)
     {
@@ -159,44 +255,95 @@ public class VividusStudioTextDocumentService implements TextDocumentService, Vi
     @Override
     public CompletableFuture<List<String>> getSteps()
     {
-        return CompletableFuture.supplyAsync(() -> stepDefinitionsProvider.getStepDefinitions()
-                .map(StepDefinition::getStepAsString)
-                .collect(Collectors.toList()));
+        return requestExecutor.submit(RequestType.STEPS, "vividus/getSteps",
+                cancelChecker -> stepDefinitionsProvider.getStepDefinitions()
+                        .map(StepDefinition::getStepAsString)
+                        .collect(Collectors.toList()));
     }
 
+    /**
+     * Refreshes the project, the request is submitted right away and the progress is created by the request itself,
+     * so the future returned to the client is the future of the request and the client cancellation reaches the
+     * request
+     */
     @Override
     public CompletableFuture<Void> refreshProject()
     {
-        return clientNotificationService.createProgress().thenAccept(token -> RuntimeWrapper.wrap(() ->
+        return requestExecutor.submit(RequestType.PROJECT, "vividus/refreshProject", cancelChecker ->
         {
-            clientNotificationService.startProgress(token, "Refresh", "Refreshing...");
+            Either<String, Integer> token = clientNotificationService.createProgress().join();
+            cancelChecker.checkCanceled();
+            RuntimeWrapper.wrap(() ->
+            {
+                clientNotificationService.startProgress(token, "Refresh", "Refreshing...");
+
+                projectLoader.reload(vividusStudioConfiguration.getProject(),
+                        msg -> clientNotificationService.progress(token, msg), clientNotificationService::showError);
+                stepDefinitionsProvider.refresh(msg -> clientNotificationService.progress(token, msg));
+                workspaceStepIndex.rebuild();
+
+                clientNotificationService.endProgress(token, "Completed");
+            }, VividusStudioException::new);
+            return null;
+        });
+    }
 
-            projectLoader.reload(vividusStudioConfiguration.getProject(),
-                    msg -> clientNotificationService.progress(token, msg), clientNotificationService::showError);
-            stepDefinitionsProvider.refresh();
+    @Override
+    public CompletableFuture<List<OperationStatistics>> metrics()
+    {
+        return CompletableFuture.completedFuture(requestMetrics.getStatistics());
+    }
 
-            clientNotificationService.endProgress(token, "Completed");
-        }, VividusStudioException::new));
+    private BooleanSupplier isLatestVersion(String documentIdentifier)
+    {
+        int version = textDocumentProvider.getVersion(documentIdentifier);
+        return () -> textDocumentProvider.getVersion(documentIdentifier) == version;
     }
 
+    /**
+     * Keeps the last change as a single immutable value, since it's updated on the message thread and read by the
+     * request handlers running asynchronously
+     */
     private static final class TypingChecker
     {
-        private boolean singleType;
-        private int character;
+        private final AtomicReference<LastChange> lastChange = new AtomicReference<>(new LastChange(false, 0));
 
         private void set(DidChangeTextDocumentParams params)
         {
             List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
             TextDocumentContentChangeEvent change = contentChanges.get(contentChanges.size() - 1);
-            Position position = change.getRange().getStart();
+            Range range = change.getRange();
+            int character = range == null ? 0 : range.getStart().getCharacter();
 
-            this.singleType = change.getText().length() == 1;
-            this.character = position.getCharacter();
+            lastChange.set(new LastChange(range != null && change.getText().length() == 1, character));
         }
 
         private boolean checkSingleType(Position position)
         {
-            return singleType && character + 1 == position.getCharacter();
+            LastChange change = lastChange.get();
+            return change.isSingleType() && change.getCharacter() + 1 == position.getCharacter();
+        }
+    }
+
+    private static final class LastChange
+    {
+        private final boolean singleType;
+        private final int character;
+
+        private LastChange(boolean singleType, int character)
+        {
+            this.singleType = singleType;
+            this.character = character;
+        }
+
+        private boolean isSingleType()
+        {
+            return singleType;
+        }
+
+        private int getCharacter()
+        {
+            return character;
         }
     }
 }
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@
 
 package org.vividus.studio.plugin.service;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -28,6 +30,8 @@ import com.google.inject.Singleton;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.vividus.studio.plugin.command.ICommand;
 
@@ -35,11 +39,18 @@ import org.vividus.studio.plugin.command.ICommand;
 public class VividusStudioWorkspaceService implements WorkspaceService
 {
     private final Set<ICommand> commands;
+    private final WorkspaceStepIndex workspaceStepIndex;
+    private final RequestExecutor requestExecutor;
+    private final WorkspaceDiagnosticsService workspaceDiagnosticsService;
 
     @Inject
-    public VividusStudioWorkspaceService(Set<ICommand> commands)
+    public VividusStudioWorkspaceService(Set<ICommand> commands, WorkspaceStepIndex workspaceStepIndex,
+            RequestExecutor requestExecutor, WorkspaceDiagnosticsService workspaceDiagnosticsService)
     {
         this.commands = commands;
+        this.workspaceStepIndex = workspaceStepIndex;
+        this.requestExecutor = requestExecutor;
+        this.workspaceDiagnosticsService = workspaceDiagnosticsService;
     }
 
     @Override
@@ -50,15 +61,24 @@ public class VividusStudioWorkspaceService implements WorkspaceService
     @Override
     public void didChangeWatchedFiles(DidChangeWatchedFilesParams params)
     {
+        workspaceStepIndex.onFilesChanged(params.getChanges());
+    }
+
+    @Override
+    public CompletableFuture<WorkspaceDiagnosticReport> diagnostic(WorkspaceDiagnosticParams params)
+    {
+        return requestExecutor.submit(RequestType.WORKSPACE_DIAGNOSTIC, "workspace/diagnostic",
+                cancelChecker -> workspaceDiagnosticsService.diagnose(params, cancelChecker));
     }
 
     @Override
     public CompletableFuture<Object> executeCommand(ExecuteCommandParams params)
     {
         String commandName = params.getCommand();
+        List<Object> arguments = Optional.ofNullable(params.getArguments()).orElseGet(List::of);
         return commands.stream().filter(cmd -> cmd.getName().equals(commandName))
                                 .findFirst()
                                 .get()
-                                .execute();
+                                .execute(arguments);
     }
 }
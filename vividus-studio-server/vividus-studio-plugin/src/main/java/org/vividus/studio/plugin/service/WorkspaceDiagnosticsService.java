@@ -0,0 +1,262 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.vividus.studio.plugin.util.RuntimeWrapper.join;
+import static org.vividus.studio.plugin.util.RuntimeWrapper.wrapMono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PreviousResultId;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReportPartialResult;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceUnchangedDocumentDiagnosticReport;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.exception.VividusStudioException;
+import org.vividus.studio.plugin.factory.DiagnosticFactory;
+import org.vividus.studio.plugin.util.ResourceUtils;
+import org.vividus.studio.plugin.util.Splitter;
+
+/**
+ * Validates all the story and composite step files of the project resources on workspace diagnostics requests. The
+ * files are validated in parallel batches, the reports of every batch are sent to the client as a partial result as
+ * soon as the batch is validated. The diagnostics are cached by the file content hash and the step definitions
+ * revision, so the files not changed since the previous request are not resolved again and are reported as unchanged
+ * if the client already has their diagnostics.
+ */
+@Singleton
+public class WorkspaceDiagnosticsService
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceDiagnosticsService.class);
+
+    private static final int BATCH_SIZE = 64;
+    private static final int THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final DiagnosticFactory diagnosticFactory;
+    private final DiagnosticsService diagnosticsService;
+    private final VividusStudioEnvronment vividusStudioEnvironment;
+    private final ClientNotificationService clientNotificationService;
+    private final Executor executor;
+
+    private final Map<Path, CachedReport> reports = new ConcurrentHashMap<>();
+
+    @Inject
+    public WorkspaceDiagnosticsService(StepDefinitionResolver stepDefinitionResolver,
+            DiagnosticFactory diagnosticFactory, DiagnosticsService diagnosticsService,
+            VividusStudioEnvronment vividusStudioEnvironment, ClientNotificationService clientNotificationService,
+            VividusStudioSettings settings)
+    {
+        this(stepDefinitionResolver, diagnosticFactory, diagnosticsService, vividusStudioEnvironment,
+                clientNotificationService, createExecutor(settings.getWorkspaceDiagnosticsThreads()));
+    }
+
+    WorkspaceDiagnosticsService(StepDefinitionResolver stepDefinitionResolver, DiagnosticFactory diagnosticFactory,
+            DiagnosticsService diagnosticsService, VividusStudioEnvronment vividusStudioEnvironment,
+            ClientNotificationService clientNotificationService, Executor executor)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.diagnosticFactory = diagnosticFactory;
+        this.diagnosticsService = diagnosticsService;
+        this.vividusStudioEnvironment = vividusStudioEnvironment;
+        this.clientNotificationService = clientNotificationService;
+        this.executor = executor;
+    }
+
+    /**
+     * Validates all the story and composite step files of the project, the documents opened in the editor are
+     * reported with the diagnostics of their current version calculated by {@link DiagnosticsService}
+     *
+     * @param params The workspace diagnostics parameters
+     * @param cancelChecker The checker of the request cancellation
+     * @return The reports of all the files or empty report if the reports were sent as partial results
+     */
+    public WorkspaceDiagnosticReport diagnose(WorkspaceDiagnosticParams params, CancelChecker cancelChecker)
+    {
+        if (vividusStudioEnvironment.getJavaProject() == null)
+        {
+            return new WorkspaceDiagnosticReport(List.of());
+        }
+
+        Path resourcesPath = ResourceUtils.resolveResourcesPath(vividusStudioEnvironment.getProject());
+        List<Path> files = wrapMono(() -> ResourceUtils.findStepsFiles(resourcesPath), VividusStudioException::new);
+        reports.keySet().retainAll(new HashSet<>(files));
+
+        Map<String, String> previousResultIds = Optional.ofNullable(params.getPreviousResultIds())
+                .orElseGet(List::of)
+                .stream()
+                .collect(Collectors.toMap(previous -> ResourceUtils.normalizeUri(previous.getUri()),
+                        PreviousResultId::getValue, (l, r) -> r));
+        int revision = stepDefinitionResolver.getRevision();
+        Either<String, Integer> partialResultToken = params.getPartialResultToken();
+
+        List<CompletableFuture<List<WorkspaceDocumentDiagnosticReport>>> batches = Lists.partition(files, BATCH_SIZE)
+                .stream()
+                .map(batch -> CompletableFuture.supplyAsync(
+                        () -> diagnose(batch, previousResultIds, revision, cancelChecker), executor)
+                        .thenApply(batchReports ->
+                        {
+                            if (partialResultToken == null || batchReports.isEmpty())
+                            {
+                                return batchReports;
+                            }
+                            clientNotificationService.reportPartialResult(partialResultToken,
+                                    new WorkspaceDiagnosticReportPartialResult(batchReports));
+                            return List.<WorkspaceDocumentDiagnosticReport>of();
+                        }))
+                .collect(Collectors.toList());
+
+        List<WorkspaceDocumentDiagnosticReport> items = new ArrayList<>();
+        try
+        {
+            batches.forEach(batch -> items.addAll(join(batch)));
+        }
+        finally
+        {
+            batches.forEach(batch -> batch.cancel(false));
+        }
+        return new WorkspaceDiagnosticReport(items);
+    }
+
+    private List<WorkspaceDocumentDiagnosticReport> diagnose(List<Path> files, Map<String, String> previousResultIds,
+            int revision, CancelChecker cancelChecker)
+    {
+        List<WorkspaceDocumentDiagnosticReport> batchReports = new ArrayList<>(files.size());
+        for (Path file : files)
+        {
+            cancelChecker.checkCanceled();
+            diagnose(file, previousResultIds, revision).ifPresent(batchReports::add);
+        }
+        return batchReports;
+    }
+
+    private Optional<WorkspaceDocumentDiagnosticReport> diagnose(Path file, Map<String, String> previousResultIds,
+            int revision)
+    {
+        String documentUri = ResourceUtils.toUri(file);
+        Optional<WorkspaceDocumentDiagnosticReport> openDocumentReport = diagnosticsService.diagnoseInWorkspace(
+                documentUri, previousResultIds.get(documentUri));
+        if (openDocumentReport.isPresent())
+        {
+            return openDocumentReport;
+        }
+
+        byte[] content;
+        try
+        {
+            content = Files.readAllBytes(file);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to read {}", file, e);
+            return Optional.empty();
+        }
+
+        String resultId = revision + "-" + Hashing.murmur3_128().hashBytes(content);
+        if (resultId.equals(previousResultIds.get(documentUri)))
+        {
+            return Optional.of(new WorkspaceDocumentDiagnosticReport(
+                    new WorkspaceUnchangedDocumentDiagnosticReport(resultId, documentUri, null)));
+        }
+
+        CachedReport cached = reports.get(file);
+        List<Diagnostic> diagnostics;
+        if (cached != null && cached.getResultId().equals(resultId))
+        {
+            diagnostics = cached.getDiagnostics();
+        }
+        else
+        {
+            List<String> lines = Splitter.split(new String(content, StandardCharsets.UTF_8));
+            diagnostics = stepDefinitionResolver.resolveSteps(documentUri, lines, diagnosticFactory::createDiagnostics)
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+            reports.put(file, new CachedReport(resultId, diagnostics));
+        }
+
+        WorkspaceFullDocumentDiagnosticReport report = new WorkspaceFullDocumentDiagnosticReport(diagnostics,
+                documentUri, null);
+        report.setResultId(resultId);
+        return Optional.of(new WorkspaceDocumentDiagnosticReport(report));
+    }
+
+    private static Executor createExecutor(int threads)
+    {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("vividus-studio-workspace-diagnostics-%d")
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class CachedReport
+    {
+        private final String resultId;
+        private final List<Diagnostic> diagnostics;
+
+        private CachedReport(String resultId, List<Diagnostic> diagnostics)
+        {
+            this.resultId = resultId;
+            this.diagnostics = diagnostics;
+        }
+
+        private String getResultId()
+        {
+            return resultId;
+        }
+
+        private List<Diagnostic> getDiagnostics()
+        {
+            return diagnostics;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.document.TextDocumentEventListener;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.model.IndexedSteps;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.util.ResourceUtils;
+
+/**
+ * Index of the steps used in the story and composite step files located in the project resources, the files are
+ * parsed once and only the resolved step definition identifiers and the step lines are kept per file. All the files
+ * are indexed on the low priority background thread when the project step definitions are loaded, after that the
+ * files are reindexed one by one as they are saved in the editor or changed on the file system. All the files are
+ * reindexed every time the step definitions are changed, e.g. when a composite step file is saved, since the steps of
+ * any file may resolve to other step definitions.
+ */
+@Singleton
+public class WorkspaceStepIndex implements TextDocumentEventListener, StepDefinitionsRevisionListener
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceStepIndex.class);
+
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final TextDocumentProvider textDocumentProvider;
+    private final VividusStudioEnvronment vividusStudioEnvironment;
+    private final Set<StepIndexListener> stepIndexListeners;
+    private final Executor indexExecutor;
+
+    private final Map<Path, IndexedSteps> indexedFiles = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    @Inject
+    public WorkspaceStepIndex(StepDefinitionResolver stepDefinitionResolver, TextDocumentProvider textDocumentProvider,
+            VividusStudioEnvronment vividusStudioEnvironment, Set<StepIndexListener> stepIndexListeners)
+    {
+        this(stepDefinitionResolver, textDocumentProvider, vividusStudioEnvironment, stepIndexListeners,
+                Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setPriority(Thread.MIN_PRIORITY)
+                        .setNameFormat("vividus-studio-workspace-indexer-%d")
+                        .build()));
+    }
+
+    WorkspaceStepIndex(StepDefinitionResolver stepDefinitionResolver, TextDocumentProvider textDocumentProvider,
+            VividusStudioEnvronment vividusStudioEnvironment, Set<StepIndexListener> stepIndexListeners,
+            Executor indexExecutor)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.textDocumentProvider = textDocumentProvider;
+        this.vividusStudioEnvironment = vividusStudioEnvironment;
+        this.stepIndexListeners = stepIndexListeners;
+        this.indexExecutor = indexExecutor;
+        stepDefinitionResolver.addRevisionListener(this);
+    }
+
+    /**
+     * Schedules indexing of all the story and composite step files of the project, the indexing is not scheduled
+     * if the previously scheduled one has not started yet
+     */
+    public void rebuild()
+    {
+        if (!rebuildPending.compareAndSet(false, true))
+        {
+            return;
+        }
+        execute(() ->
+        {
+            rebuildPending.set(false);
+            Path resourcesPath = ResourceUtils.resolveResourcesPath(vividusStudioEnvironment.getProject());
+            Map<Path, IndexedSteps> files = new HashMap<>();
+            try
+            {
+                ResourceUtils.findStepsFiles(resourcesPath)
+                        .forEach(file -> readLines(file).ifPresent(lines -> files.put(file, index(file, lines))));
+            }
+            catch (IOException | UncheckedIOException e)
+            {
+                LOGGER.warn("Unable to index steps in {}", resourcesPath, e);
+            }
+
+            List<IndexedSteps> removed = new ArrayList<>(indexedFiles.values());
+            indexedFiles.keySet().retainAll(files.keySet());
+            indexedFiles.putAll(files);
+            notifyListeners(removed, new ArrayList<>(files.values()));
+        });
+    }
+
+    @Override
+    public void onRevisionChanged(int revision)
+    {
+        if (vividusStudioEnvironment.getJavaProject() != null)
+        {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onSave(DidSaveTextDocumentParams params)
+    {
+        String documentUri = params.getTextDocument().getUri();
+        toIndexableFile(documentUri).ifPresent(file ->
+        {
+            List<String> lines = textDocumentProvider.getTextDocument(documentUri);
+            execute(() -> update(file, index(file, lines)));
+        });
+    }
+
+    /**
+     * Reindexes the story and composite step files changed on the file system
+     *
+     * @param changes The file system changes
+     */
+    public void onFilesChanged(List<FileEvent> changes)
+    {
+        changes.forEach(change -> toIndexableFile(change.getUri()).ifPresent(file ->
+        {
+            if (change.getType() == FileChangeType.Deleted)
+            {
+                execute(() -> update(file, null));
+            }
+            else
+            {
+                execute(() -> readLines(file).ifPresent(lines -> update(file, index(file, lines))));
+            }
+        }));
+    }
+
+    /**
+     * Returns the snapshot of the indexed files, the files are indexed on the background thread, so the snapshot
+     * may not contain the files which are not indexed yet
+     *
+     * @return The step indexes by files
+     */
+    public Map<Path, IndexedSteps> getIndexedFiles()
+    {
+        return Collections.unmodifiableMap(new HashMap<>(indexedFiles));
+    }
+
+    private Optional<Path> toIndexableFile(String uri)
+    {
+        if (!ResourceUtils.isStepsFile(uri) || vividusStudioEnvironment.getJavaProject() == null)
+        {
+            return Optional.empty();
+        }
+        Path file = ResourceUtils.asFile(ResourceUtils.normalizeUri(uri)).toPath();
+        return file.startsWith(ResourceUtils.resolveResourcesPath(vividusStudioEnvironment.getProject()))
+                ? Optional.of(file) : Optional.empty();
+    }
+
+    private void update(Path file, IndexedSteps indexedSteps)
+    {
+        IndexedSteps previous = indexedSteps == null ? indexedFiles.remove(file) : indexedFiles.put(file,
+                indexedSteps);
+        notifyListeners(previous == null ? List.of() : List.of(previous),
+                indexedSteps == null ? List.of() : List.of(indexedSteps));
+    }
+
+    private IndexedSteps index(Path file, List<String> lines)
+    {
+        String documentUri = ResourceUtils.toUri(file);
+        return IndexedSteps.of(documentUri, stepDefinitionResolver.resolve(documentUri, lines)
+                .filter(ResolvedStepDefinition::isFullyMatched)
+                .collect(Collectors.toList()));
+    }
+
+    private void notifyListeners(List<IndexedSteps> removed, List<IndexedSteps> added)
+    {
+        stepIndexListeners.forEach(l -> l.onIndexChanged(removed, added));
+    }
+
+    private static Optional<List<String>> readLines(Path file)
+    {
+        try
+        {
+            return Optional.of(Files.readAllLines(file));
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to read {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("IllegalCatchExtended")
+    private void execute(Runnable task)
+    {
+        indexExecutor.execute(() ->
+        {
+            try
+            {
+                task.run();
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error("Unable to index steps", e);
+            }
+        });
+    }
+}
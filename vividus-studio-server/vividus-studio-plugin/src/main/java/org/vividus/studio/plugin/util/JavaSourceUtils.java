@@ -0,0 +1,187 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.core.Signature;
+
+/**
+ * Helpers to look up declarations in the Java source text without building the AST
+ */
+public final class JavaSourceUtils
+{
+    private static final int PRINTABLE_ASCII_START = 0x20;
+    private static final int PRINTABLE_ASCII_END = 0x7E;
+    private static final String UNICODE_ESCAPE_FORMAT = "\\u%04x";
+
+    private JavaSourceUtils()
+    {
+    }
+
+    /**
+     * Returns the string literals the value may be written as in the Java source: the literal with escaped quotes,
+     * backslashes and control characters and, if the value contains not ASCII characters, the literal with the not
+     * ASCII characters written as unicode escapes
+     *
+     * @param value The value of the string literal
+     * @return The string literals including the enclosing quotes
+     */
+    public static Set<String> toStringLiterals(String value)
+    {
+        Set<String> literals = new LinkedHashSet<>();
+        literals.add(toStringLiteral(value, false));
+        literals.add(toStringLiteral(value, true));
+        return literals;
+    }
+
+    private static String toStringLiteral(String value, boolean escapeNotAscii)
+    {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int index = 0; index < value.length(); index++)
+        {
+            char current = value.charAt(index);
+            String escape = escape(current);
+            if (escape != null)
+            {
+                literal.append(escape);
+            }
+            else if (current < PRINTABLE_ASCII_START || escapeNotAscii && current > PRINTABLE_ASCII_END)
+            {
+                literal.append(String.format(UNICODE_ESCAPE_FORMAT, (int) current));
+            }
+            else
+            {
+                literal.append(current);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static String escape(char value)
+    {
+        if (value == '"')
+        {
+            return "\\\"";
+        }
+        if (value == '\\')
+        {
+            return "\\\\";
+        }
+        if (value == '\t')
+        {
+            return "\\t";
+        }
+        if (value == '\n')
+        {
+            return "\\n";
+        }
+        if (value == '\r')
+        {
+            return "\\r";
+        }
+        if (value == '\b')
+        {
+            return "\\b";
+        }
+        if (value == '\f')
+        {
+            return "\\f";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of the method parameters
+     *
+     * @param methodSignature The method signature in the JDT or the class file format
+     * @return The number of the parameters or <code>-1</code> if the signature is not known or malformed
+     */
+    public static int getParameterCount(String methodSignature)
+    {
+        if (methodSignature == null)
+        {
+            return -1;
+        }
+        try
+        {
+            return Signature.getParameterCount(methodSignature);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * Counts the parameters of the method declaration, the commas within type arguments, annotation arguments and
+     * string literals are not counted
+     *
+     * @param source The Java source
+     * @param openingParenthesis The index of the opening parenthesis of the parameter list
+     * @return The number of the parameters or <code>-1</code> if the parameter list is not closed
+     */
+    public static int countParameters(CharSequence source, int openingParenthesis)
+    {
+        int depth = 0;
+        int commas = 0;
+        boolean empty = true;
+        boolean literal = false;
+        for (int index = openingParenthesis + 1; index < source.length(); index++)
+        {
+            char current = source.charAt(index);
+            if (literal)
+            {
+                if (current == '\\')
+                {
+                    index++;
+                }
+                else if (current == '"')
+                {
+                    literal = false;
+                }
+                continue;
+            }
+            if (current == ')' && depth == 0)
+            {
+                return empty ? 0 : commas + 1;
+            }
+            if (current == '"')
+            {
+                literal = true;
+            }
+            else if (current == '(' || current == '<')
+            {
+                depth++;
+            }
+            else if (current == ')' || current == '>')
+            {
+                depth--;
+            }
+            else if (current == ',' && depth == 0)
+            {
+                commas++;
+            }
+            empty &= Character.isWhitespace(current);
+        }
+        return -1;
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,14 +20,26 @@
 package org.vividus.studio.plugin.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
 
 public final class ResourceUtils
 {
+    private static final String FILE_SCHEME = "file";
+    private static final Pattern WINDOWS_DRIVE_PATTERN = Pattern.compile("^/([a-zA-Z]):");
+
     private ResourceUtils()
     {
     }
@@ -37,6 +49,48 @@ public final class ResourceUtils
         return new File(URI.create(uri).getPath());
     }
 
+    /**
+     * Normalizes the file URI, so the URI of the file sent by the client, e.g. <code>file:///c%3A/story.story</code>,
+     * and the URI built from the file path, e.g. <code>file:///C:/story.story</code>, are equal
+     *
+     * @param uri The URI to normalize
+     * @return The normalized URI or the URI as is if it's not a file URI
+     */
+    public static String normalizeUri(String uri)
+    {
+        URI parsed = URI.create(uri);
+        String path = parsed.getPath();
+        if (!FILE_SCHEME.equalsIgnoreCase(parsed.getScheme()) || path == null)
+        {
+            return uri;
+        }
+        Matcher drive = WINDOWS_DRIVE_PATTERN.matcher(path);
+        if (drive.find())
+        {
+            path = "/" + drive.group(1).toUpperCase(Locale.ROOT) + path.substring(2);
+        }
+        try
+        {
+            return new URI(FILE_SCHEME, "", path, null).toASCIIString();
+        }
+        catch (URISyntaxException e)
+        {
+            return uri;
+        }
+    }
+
+    /**
+     * Builds the normalized URI of the file
+     *
+     * @param file The file
+     * @return The normalized URI
+     * @see #normalizeUri(String)
+     */
+    public static String toUri(Path file)
+    {
+        return normalizeUri(file.toUri().toString());
+    }
+
     public static Path resolveResourcesPath(IProject project)
     {
         String projectLocation = project.getLocation().toString();
@@ -47,4 +101,34 @@ public final class ResourceUtils
     {
         return file.endsWith(".steps");
     }
+
+    public static boolean isStoryFile(String file)
+    {
+        return file.endsWith(".story");
+    }
+
+    /**
+     * Finds all the story and composite step files located in the folder and its sub-folders
+     *
+     * @param folder The folder to search in
+     * @return The found files or empty list if the folder doesn't exist
+     * @throws IOException If an I/O error occurs while walking the folder
+     */
+    public static List<Path> findStepsFiles(Path folder) throws IOException
+    {
+        if (!Files.isDirectory(folder))
+        {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(folder))
+        {
+            return paths.filter(file -> isStepsFile(file.toString()) && Files.isRegularFile(file))
+                        .collect(Collectors.toList());
+        }
+    }
+
+    public static boolean isStepsFile(String file)
+    {
+        return isStoryFile(file) || isCompositeFile(file);
+    }
 }
@@ -19,6 +19,8 @@
 
 package org.vividus.studio.plugin.util;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -52,6 +54,30 @@ public final class RuntimeWrapper
         }
     }
 
+    /**
+     * Waits for the future to complete, the runtime exception the future is completed with is rethrown as is rather
+     * than wrapped into {@link CompletionException}
+     *
+     * @param <T> The type of the future result
+     * @param future The future to wait for
+     * @return The result of the future
+     */
+    public static <T> T join(CompletableFuture<T> future)
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     public static <T, E extends Exception> Stream<T> wrapStream(ExceptionSupplier<E, T[]> supplier,
             Function<Exception, ? extends RuntimeException> factory)
     {
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,9 @@ import java.util.stream.Stream;
 
 public final class Splitter
 {
+    @SuppressWarnings("AvoidEscapedUnicodeCharacters")
+    private static final String LINE_BREAKS = "\n\u000B\u000C\r\u0085\u2028\u2029";
+
     private Splitter()
     {
     }
@@ -33,4 +36,55 @@ public final class Splitter
     {
         return Stream.of(text.split("\\R", -1)).collect(Collectors.toList());
     }
+
+    /**
+     * Finds the first line break within the range of the text, the line breaks are the same as matched by
+     * <code>\R</code> regular expression
+     *
+     * @param text The text to search in
+     * @param from The start of the range, inclusive
+     * @param to The end of the range, exclusive
+     * @return The index of the first line break or <code>-1</code> if the range doesn't contain line breaks
+     */
+    public static int indexOfLineBreak(CharSequence text, int from, int to)
+    {
+        for (int index = from; index < to; index++)
+        {
+            if (isLineBreak(text.charAt(index)))
+            {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the length of the line break located at the index of the text
+     *
+     * @param text The text containing the line break
+     * @param index The index of the line break
+     * @param to The end of the text range, exclusive
+     * @return <code>2</code> for <code>\r\n</code> sequence, otherwise <code>1</code>
+     */
+    public static int lineBreakLength(CharSequence text, int index, int to)
+    {
+        return text.charAt(index) == '\r' && index + 1 < to && text.charAt(index + 1) == '\n' ? 2 : 1;
+    }
+
+    public static int countLineBreaks(CharSequence text)
+    {
+        int count = 0;
+        int length = text.length();
+        for (int index = indexOfLineBreak(text, 0, length); index != -1;
+                index = indexOfLineBreak(text, index + lineBreakLength(text, index, length), length))
+        {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isLineBreak(char character)
+    {
+        return LINE_BREAKS.indexOf(character) != -1;
+    }
 }
@@ -0,0 +1,111 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.vividus.studio.plugin.model.StepIssue;
+import org.vividus.studio.plugin.model.ValidationReport;
+
+/**
+ * Writes the report in JUnit XML format: every validated file is a test case failed if the file contains unresolved
+ * steps, the ambiguous and deprecated steps are listed in the standard output of the test case
+ */
+public class JUnitValidationReportWriter implements ValidationReportWriter
+{
+    private static final String SUITE_NAME = "vividus-step-validation";
+    private static final double MILLIS_IN_SECOND = 1000.0;
+
+    @Override
+    public void write(ValidationReport report, Writer writer) throws IOException
+    {
+        Map<String, List<StepIssue>> issuesByFile = report.getIssues().stream()
+                .collect(Collectors.groupingBy(StepIssue::getFile));
+        long failures = issuesByFile.values().stream().filter(JUnitValidationReportWriter::hasUnresolved).count();
+        try
+        {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", SUITE_NAME);
+            xml.writeAttribute("tests", String.valueOf(report.getFiles().size()));
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("errors", "0");
+            xml.writeAttribute("time", String.valueOf(report.getDurationMillis() / MILLIS_IN_SECOND));
+            for (String file : report.getFiles())
+            {
+                writeTestCase(xml, file, issuesByFile.getOrDefault(file, List.of()));
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        }
+        catch (XMLStreamException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    private static void writeTestCase(XMLStreamWriter xml, String file, List<StepIssue> issues)
+            throws XMLStreamException
+    {
+        xml.writeStartElement("testcase");
+        xml.writeAttribute("classname", SUITE_NAME);
+        xml.writeAttribute("name", file);
+        if (hasUnresolved(issues))
+        {
+            xml.writeStartElement("failure");
+            xml.writeAttribute("type", StepIssue.Type.UNRESOLVED.name());
+            xml.writeAttribute("message", "File contains steps not matching any step definition");
+            xml.writeCharacters(describe(issues, true));
+            xml.writeEndElement();
+        }
+        String warnings = describe(issues, false);
+        if (!warnings.isEmpty())
+        {
+            xml.writeStartElement("system-out");
+            xml.writeCharacters(warnings);
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private static boolean hasUnresolved(List<StepIssue> issues)
+    {
+        return issues.stream().anyMatch(issue -> issue.getType() == StepIssue.Type.UNRESOLVED);
+    }
+
+    private static String describe(List<StepIssue> issues, boolean unresolved)
+    {
+        return issues.stream()
+                .filter(issue -> unresolved == (issue.getType() == StepIssue.Type.UNRESOLVED))
+                .map(issue -> String.format("%s:%d %s: %s", issue.getFile(), issue.getLine(), issue.getType(),
+                        issue.getStep()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,57 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.google.gson.stream.JsonWriter;
+
+import org.vividus.studio.plugin.model.StepIssue;
+import org.vividus.studio.plugin.model.ValidationReport;
+
+public class JsonValidationReportWriter implements ValidationReportWriter
+{
+    @Override
+    public void write(ValidationReport report, Writer writer) throws IOException
+    {
+        JsonWriter json = new JsonWriter(writer);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("files").value(report.getFiles().size());
+        json.name("steps").value(report.getSteps());
+        json.name("durationMillis").value(report.getDurationMillis());
+        json.name("filesPerSecond").value(report.getFilesPerSecond());
+        json.name("stepsPerSecond").value(report.getStepsPerSecond());
+        json.name("issues").beginArray();
+        for (StepIssue issue : report.getIssues())
+        {
+            json.beginObject();
+            json.name("file").value(issue.getFile());
+            json.name("line").value(issue.getLine());
+            json.name("type").value(issue.getType().name());
+            json.name("step").value(issue.getStep());
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+}
@@ -0,0 +1,164 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import static org.vividus.studio.plugin.util.RuntimeWrapper.join;
+import static org.vividus.studio.plugin.util.RuntimeWrapper.wrapMono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.exception.VividusStudioException;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.Step;
+import org.vividus.studio.plugin.model.StepIssue;
+import org.vividus.studio.plugin.model.ValidationReport;
+import org.vividus.studio.plugin.service.StepDefinitionResolver;
+import org.vividus.studio.plugin.util.ResourceUtils;
+import org.vividus.studio.plugin.util.Splitter;
+
+@Singleton
+public class ProjectValidator
+{
+    private final StepDefinitionResolver stepDefinitionResolver;
+    private final VividusStudioSettings settings;
+
+    @Inject
+    public ProjectValidator(StepDefinitionResolver stepDefinitionResolver, VividusStudioSettings settings)
+    {
+        this.stepDefinitionResolver = stepDefinitionResolver;
+        this.settings = settings;
+    }
+
+    /**
+     * Resolves the steps of all the story and composite step files of the resources folder in parallel and reports
+     * the unresolved, ambiguous and deprecated steps
+     *
+     * @param resourcesFolder The folder with the story and composite step files
+     * @return The validation report
+     * @throws IOException If an I/O error occurs while looking for the files
+     */
+    public ValidationReport validate(Path resourcesFolder) throws IOException
+    {
+        long start = System.nanoTime();
+        List<Path> files = ResourceUtils.findStepsFiles(resourcesFolder);
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getWorkspaceDiagnosticsThreads(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("vividus-studio-validator-%d").build());
+        try
+        {
+            List<CompletableFuture<FileValidation>> validations = files.stream()
+                    .map(file -> CompletableFuture.supplyAsync(
+                            () -> validate(resourcesFolder.relativize(file).toString(), file), executor))
+                    .collect(Collectors.toList());
+
+            List<String> validatedFiles = new ArrayList<>(files.size());
+            List<StepIssue> issues = new ArrayList<>();
+            int steps = 0;
+            for (CompletableFuture<FileValidation> validation : validations)
+            {
+                FileValidation fileValidation = join(validation);
+                validatedFiles.add(fileValidation.getFile());
+                steps += fileValidation.getSteps();
+                issues.addAll(fileValidation.getIssues());
+            }
+            return new ValidationReport(validatedFiles, steps, System.nanoTime() - start, issues);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private FileValidation validate(String relativePath, Path file)
+    {
+        String content = wrapMono(() -> Files.readString(file), VividusStudioException::new);
+        List<Optional<StepIssue>> results = stepDefinitionResolver
+                .resolveSteps(file.toUri().toString(), Splitter.split(content),
+                        (step, resolved) -> toIssue(relativePath, step, resolved))
+                .collect(Collectors.toList());
+        List<StepIssue> issues = results.stream().flatMap(Optional::stream).collect(Collectors.toList());
+        return new FileValidation(relativePath, results.size(), issues);
+    }
+
+    private static Optional<StepIssue> toIssue(String file, Step step, ResolvedStepDefinition resolved)
+    {
+        StepIssue.Type type;
+        if (resolved == null || !resolved.isFullyMatched())
+        {
+            type = StepIssue.Type.UNRESOLVED;
+        }
+        else if (resolved.isAmbiguous())
+        {
+            type = StepIssue.Type.AMBIGUOUS;
+        }
+        else if (resolved.isDeprecated())
+        {
+            type = StepIssue.Type.DEPRECATED;
+        }
+        else
+        {
+            return Optional.empty();
+        }
+        return Optional.of(new StepIssue(file, step.getLineIndex() + 1, step.getValue(), type));
+    }
+
+    private static final class FileValidation
+    {
+        private final String file;
+        private final int steps;
+        private final List<StepIssue> issues;
+
+        private FileValidation(String file, int steps, List<StepIssue> issues)
+        {
+            this.file = file;
+            this.steps = steps;
+            this.issues = issues;
+        }
+
+        private String getFile()
+        {
+            return file;
+        }
+
+        private int getSteps()
+        {
+            return steps;
+        }
+
+        private List<StepIssue> getIssues()
+        {
+            return issues;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import org.apache.commons.lang3.Validate;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.core.IJavaProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.studio.plugin.configuration.JVMConfigurator;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioModule;
+import org.vividus.studio.plugin.loader.IJavaProjectLoader;
+import org.vividus.studio.plugin.model.ValidationReport;
+import org.vividus.studio.plugin.service.StepDefinitionResolver;
+import org.vividus.studio.plugin.util.ResourceUtils;
+
+/**
+ * Headless application validating steps of the project stories and composite steps, it's run from the server
+ * distribution: <code>-application org.vividus.studio.plugin.validator --project &lt;path&gt;
+ * [--report &lt;path&gt;] [--format json|junit]</code>, the report is written to the standard output if the report
+ * path is not set and the throughput metrics are logged, the application exits with code 1 if any step doesn't match
+ * step definitions
+ */
+public class StepValidationApplication implements IApplication
+{
+    public static final String ID = "org.vividus.studio.plugin.validator";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepValidationApplication.class);
+
+    private static final String PROJECT = "--project";
+    private static final String REPORT = "--report";
+    private static final String FORMAT = "--format";
+    private static final Set<String> OPTIONS = Set.of(PROJECT, REPORT, FORMAT);
+    private static final Map<String, ValidationReportWriter> WRITERS = Map.of(
+        "json", new JsonValidationReportWriter(),
+        "junit", new JUnitValidationReportWriter()
+    );
+    private static final Integer EXIT_UNRESOLVED_STEPS = 1;
+    private static final String RATE_FORMAT = "%.1f";
+
+    @Override
+    public Object start(IApplicationContext context) throws Exception
+    {
+        Map<String, String> options = parseOptions(
+                (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+        Validate.isTrue(options.containsKey(PROJECT), "Option '%s' must be set", PROJECT);
+        String format = options.getOrDefault(FORMAT, "json");
+        ValidationReportWriter reportWriter = WRITERS.get(format);
+        Validate.isTrue(reportWriter != null, "Unsupported report format '%s', supported formats: %s", format,
+                WRITERS.keySet());
+        context.applicationRunning();
+
+        Injector injector = Guice.createInjector(new VividusStudioModule());
+        injector.getInstance(JVMConfigurator.class).configureDefaultJvm();
+
+        Path projectFolder = Path.of(options.get(PROJECT)).toAbsolutePath();
+        IJavaProject javaProject = injector.getInstance(IJavaProjectLoader.class)
+                .load(projectFolder.toUri().toString(), LOGGER::info, LOGGER::info, LOGGER::error)
+                .orElseThrow(() -> new IllegalStateException("Unable to load project " + projectFolder));
+        injector.getInstance(VividusStudioEnvronment.class).setJavaProject(javaProject);
+        injector.getInstance(StepDefinitionResolver.class).refresh(LOGGER::info);
+
+        ValidationReport report = injector.getInstance(ProjectValidator.class)
+                .validate(ResourceUtils.resolveResourcesPath(javaProject.getProject()));
+        writeReport(reportWriter, report, options.get(REPORT));
+        injector.getInstance(IWorkspace.class).save(true, null);
+
+        LOGGER.info("Validated {} steps in {} files in {} ms: {} files/sec, {} steps/sec, {} issues found",
+                report.getSteps(), report.getFiles().size(), report.getDurationMillis(),
+                String.format(RATE_FORMAT, report.getFilesPerSecond()),
+                String.format(RATE_FORMAT, report.getStepsPerSecond()), report.getIssues().size());
+
+        return report.hasUnresolvedSteps() ? EXIT_UNRESOLVED_STEPS : IApplication.EXIT_OK;
+    }
+
+    @Override
+    public void stop()
+    {
+        // Validation is not interruptible
+    }
+
+    private static void writeReport(ValidationReportWriter reportWriter, ValidationReport report, String reportPath)
+            throws IOException
+    {
+        if (reportPath == null)
+        {
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            reportWriter.write(report, writer);
+            writer.write(System.lineSeparator());
+            writer.flush();
+            return;
+        }
+        Path reportFile = Path.of(reportPath).toAbsolutePath();
+        Files.createDirectories(reportFile.getParent());
+        try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))
+        {
+            reportWriter.write(report, writer);
+        }
+        LOGGER.info("Validation report is written to {}", reportFile);
+    }
+
+    private static Map<String, String> parseOptions(String[] arguments)
+    {
+        Map<String, String> options = new HashMap<>();
+        int index = 0;
+        while (arguments != null && index < arguments.length)
+        {
+            String argument = arguments[index];
+            if (OPTIONS.contains(argument))
+            {
+                Validate.isTrue(index + 1 < arguments.length, "Option '%s' must have a value", argument);
+                options.put(argument, arguments[index + 1]);
+                index++;
+            }
+            index++;
+        }
+        return options;
+    }
+}
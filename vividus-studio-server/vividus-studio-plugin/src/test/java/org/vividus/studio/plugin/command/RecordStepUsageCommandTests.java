@@ -0,0 +1,67 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import com.google.gson.JsonPrimitive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.service.RecentlyUsedSteps;
+
+@ExtendWith(MockitoExtension.class)
+class RecordStepUsageCommandTests
+{
+    private static final String MODULE = "module";
+    private static final String STEP = "Given step";
+
+    @Mock private RecentlyUsedSteps recentlyUsedSteps;
+    @InjectMocks private RecordStepUsageCommand command;
+
+    @Test
+    void shouldRecordStepUsage() throws InterruptedException, ExecutionException
+    {
+        assertNull(command.execute(List.of(new JsonPrimitive(MODULE), new JsonPrimitive(STEP))).get());
+        verify(recentlyUsedSteps).record(MODULE, STEP);
+    }
+
+    @Test
+    void shouldIgnoreInvalidArguments() throws InterruptedException, ExecutionException
+    {
+        assertNull(command.execute(List.of(MODULE)).get());
+        verifyNoInteractions(recentlyUsedSteps);
+    }
+
+    @Test
+    void shouldReturnName()
+    {
+        assertEquals("vividus.recordStepUsage", command.getName());
+    }
+}
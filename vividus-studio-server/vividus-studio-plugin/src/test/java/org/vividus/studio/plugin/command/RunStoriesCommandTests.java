@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2024 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -99,7 +100,7 @@ class RunStoriesCommandTests
 
         command = new RunStoriesCommand(clientNotificationService, configurationService, launchConfigurationFactory,
                 configuration);
-        assertEquals(0, command.execute().get());
+        assertEquals(0, command.execute(List.of()).get());
 
         verify(project).refreshLocal(IResource.DEPTH_INFINITE, null);
         verify(clientNotificationService).startProgress(token, "Run Stories", "Running...");
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -86,5 +86,7 @@ class CompositeStepsSaveListenerTests
         assertTrue(definition.isComposite());
         assertEquals("Then I param $param1 and $param2 and $param3", definition.getStepAsString());
         assertEquals("composite/composite.steps", definition.getModule());
+        assertEquals(Path.of(uri).toAbsolutePath().toString(), definition.getLocation().getPath());
+        assertEquals(0, definition.getLocation().getLine());
     }
 }
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,11 +20,20 @@
 package org.vividus.studio.plugin.configuration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.ClientCapabilities;
+import org.eclipse.lsp4j.CompletionCapabilities;
+import org.eclipse.lsp4j.CompletionItemCapabilities;
+import org.eclipse.lsp4j.CompletionItemResolveSupportCapabilities;
+import org.eclipse.lsp4j.TextDocumentClientCapabilities;
 import org.junit.jupiter.api.Test;
 
 class VividusStudioEnvronmentTests
@@ -42,4 +51,22 @@ class VividusStudioEnvronmentTests
         assertEquals(javaProject, envronment.getJavaProject());
         assertEquals(project, envronment.getProject());
     }
+
+    @Test
+    void shouldCheckWhetherCompletionItemPropertyIsResolvable()
+    {
+        var completionItem = new CompletionItemCapabilities();
+        completionItem.setResolveSupport(new CompletionItemResolveSupportCapabilities(List.of("documentation")));
+        var textDocument = new TextDocumentClientCapabilities();
+        textDocument.setCompletion(new CompletionCapabilities(completionItem));
+        var capabilities = new ClientCapabilities();
+        capabilities.setTextDocument(textDocument);
+
+        var envronment = new VividusStudioEnvronment();
+        assertFalse(envronment.isCompletionItemPropertyResolvable("documentation"));
+
+        envronment.setClientCapabilities(capabilities);
+        assertTrue(envronment.isCompletionItemPropertyResolvable("documentation"));
+        assertFalse(envronment.isCompletionItemPropertyResolvable("textEdit"));
+    }
 }
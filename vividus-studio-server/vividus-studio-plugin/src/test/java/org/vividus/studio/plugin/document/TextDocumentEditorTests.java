@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,7 @@ import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -102,6 +103,27 @@ class TextDocumentEditorTests
         assertThat(textDocumentEditor.getTextDocument(ID), is(empty()));
     }
 
+    @Test
+    void shouldTrackVersionsAndKeepSnapshotsIntact() throws IOException
+    {
+        var textDocumentEditor = new TextDocumentEditor();
+        textDocumentEditor.onOpen(OPEN_EVENT);
+        assertEquals(0, textDocumentEditor.getVersion(ID));
+
+        List<String> snapshot = textDocumentEditor.getTextDocument(ID);
+
+        var event = event(range(position(4, 10), position(4, 10)), 0, "Simple example of ");
+        textDocumentEditor
+                .onChange(new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(ID, 3), List.of(event)));
+
+        assertEquals(3, textDocumentEditor.getVersion(ID));
+        assertEquals(loadDocument("base.txt") + lineSeparator(),
+                snapshot.stream().collect(Collectors.joining(lineSeparator())));
+
+        textDocumentEditor.onClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(ID)));
+        assertEquals(TextDocumentProvider.UNKNOWN_VERSION, textDocumentEditor.getVersion(ID));
+    }
+
     private static Position position(int line, int character)
     {
         return new Position(line, character);
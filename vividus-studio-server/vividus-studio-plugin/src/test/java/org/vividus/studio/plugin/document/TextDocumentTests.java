@@ -0,0 +1,91 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.document;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TextDocumentTests
+{
+    private static final List<String> LINES = List.of("Scenario: Rope", "Given I am on main application page",
+            "When I click on element located by `id(submit)`", "Then text `Done` exists", "");
+
+    @Test
+    void shouldCreateDocument()
+    {
+        TextDocument document = TextDocument.of(LINES);
+        assertEquals(LINES, document);
+        assertEquals(LINES.get(2), document.get(2));
+        assertEquals(LINES, document.stream().collect(Collectors.toList()));
+        assertEquals(List.of(), TextDocument.of(List.of()));
+    }
+
+    @Test
+    void shouldReplaceLinesKeepingOriginalSnapshotIntact()
+    {
+        TextDocument document = TextDocument.of(LINES);
+
+        TextDocument changed = document.replace(1, 3, List.of("Given I am on page with URL `https://vividus.dev`"));
+
+        assertEquals(List.of("Scenario: Rope", "Given I am on page with URL `https://vividus.dev`",
+                "Then text `Done` exists", ""), changed);
+        assertEquals(LINES, document);
+    }
+
+    @Test
+    void shouldApplyRandomEditsConsistently()
+    {
+        Random random = new Random(42);
+        List<String> expected = IntStream.range(0, 500).mapToObj(i -> "line " + i)
+                .collect(Collectors.toCollection(ArrayList::new));
+        TextDocument document = TextDocument.of(expected);
+
+        for (int edit = 0; edit < 1000; edit++)
+        {
+            int from = random.nextInt(expected.size() + 1);
+            int to = from + random.nextInt(Math.min(5, expected.size() - from) + 1);
+            List<String> lines = IntStream.range(0, random.nextInt(4)).mapToObj(i -> "edit " + random.nextInt())
+                    .collect(Collectors.toList());
+
+            expected.subList(from, to).clear();
+            expected.addAll(from, lines);
+            document = document.replace(from, to, lines);
+        }
+
+        assertEquals(expected, document);
+        assertEquals(expected.size(), document.size());
+    }
+
+    @Test
+    void shouldFailOnOutOfBoundsAccess()
+    {
+        TextDocument document = TextDocument.of(LINES);
+        assertThrows(IndexOutOfBoundsException.class, () -> document.get(LINES.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> document.replace(2, 1, List.of()));
+    }
+}
@@ -0,0 +1,155 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.finder.ClassFileReader.ClassInfo;
+import org.vividus.studio.plugin.finder.ClassFileReader.MethodInfo;
+
+class ClassFileReaderTests
+{
+    private static final String STEP_ANNOTATION = "Lorg/vividus/studio/plugin/finder/ClassFileReaderTests$TestStep;";
+    private static final String STEP = "I paint $object in $colors";
+
+    @Test
+    void shouldReadAnnotatedMethods() throws IOException
+    {
+        ClassInfo classInfo = read(TestSteps.class).get();
+
+        assertEquals(TestSteps.class.getName(), classInfo.getName());
+        assertFalse(classInfo.isEnum());
+        assertEquals(List.of(), classInfo.getConstants());
+        List<MethodInfo> methods = classInfo.getMethods();
+        assertEquals(1, methods.size());
+        MethodInfo method = methods.get(0);
+        assertEquals("paint", method.getName());
+        assertEquals("(Ljava/lang/String;Ljava/util/List<L" + Color.class.getName().replace('.', '/') + ";>;)V",
+                method.getSignature());
+        assertEquals(List.of(STEP_ANNOTATION, "Ljava/lang/Deprecated;"), List.copyOf(method.getAnnotations().keySet()));
+        assertEquals(Optional.of(STEP), method.getAnnotations().get(STEP_ANNOTATION));
+    }
+
+    @Test
+    void shouldSkipBridgeMethods() throws IOException
+    {
+        List<MethodInfo> methods = read(GenericSteps.class).get().getMethods();
+
+        assertEquals(1, methods.size());
+        assertEquals("(Ljava/lang/String;)V", methods.get(0).getSignature());
+    }
+
+    @Test
+    void shouldReadEnumConstants() throws IOException
+    {
+        ClassInfo classInfo = read(Color.class).get();
+
+        assertTrue(classInfo.isEnum());
+        assertEquals(List.of("WHITE", "BLACK", "NAME"), classInfo.getConstants());
+    }
+
+    @Test
+    void shouldSkipClassesNotReferringAnnotations() throws IOException
+    {
+        assertEquals(Optional.empty(), read(PlainSteps.class));
+    }
+
+    @Test
+    void shouldFailOnMalformedClassFile()
+    {
+        InputStream classFile = new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 });
+        assertThrows(IOException.class, () -> ClassFileReader.read(classFile, Set.of(STEP_ANNOTATION)));
+    }
+
+    private static Optional<ClassInfo> read(Class<?> clazz) throws IOException
+    {
+        String classFileName = clazz.getName().substring(clazz.getPackageName().length() + 1) + ".class";
+        try (InputStream classFile = clazz.getResourceAsStream(classFileName))
+        {
+            return ClassFileReader.read(classFile, Set.of(STEP_ANNOTATION));
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface TestStep
+    {
+        String value();
+
+        int priority() default 0;
+    }
+
+    enum Color
+    {
+        WHITE, BLACK;
+
+        public static final String NAME = "color";
+    }
+
+    static class TestSteps
+    {
+        @TestStep(priority = 1, value = STEP)
+        @Deprecated
+        public void paint(String object, List<Color> colors)
+        {
+            // test method
+        }
+
+        public void reset()
+        {
+            // test method
+        }
+    }
+
+    interface Painter<T>
+    {
+        void paint(T object);
+    }
+
+    static class GenericSteps implements Painter<String>
+    {
+        @TestStep(STEP)
+        @Override
+        public void paint(String object)
+        {
+            // test method
+        }
+    }
+
+    static class PlainSteps
+    {
+        public void reset()
+        {
+            // test method
+        }
+    }
+}
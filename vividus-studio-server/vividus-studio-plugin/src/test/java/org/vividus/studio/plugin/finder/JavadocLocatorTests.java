@@ -0,0 +1,115 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class JavadocLocatorTests
+{
+    private static final String PAINT_JAVADOC = """
+            /**
+                 * Paints the object
+                 */""";
+    private static final String SOURCE = """
+            public class PaintSteps
+            {
+                %s
+                @When("I paint $object")
+                @Aliases(values = { "I colour $object", "I draw $object" })
+                public void paint(String object)
+                {
+                    paint(object, "white");
+                }
+
+                /**
+                 * Paints the object in the color
+                 */
+                @When("I paint $object in $color")
+                public void paint(String object, String color)
+                {
+                }
+
+                @When("I clean $object")
+                public void clean(String object)
+                {
+                }
+            }
+            """.formatted(PAINT_JAVADOC);
+
+    private final JavadocLocator locator = new JavadocLocator(SOURCE);
+
+    @Test
+    void shouldFindJavadocOfMethod()
+    {
+        assertEquals(Optional.of(PAINT_JAVADOC), locator.find("paint", 1, "I paint $object"));
+    }
+
+    @Test
+    void shouldFindJavadocOfOverloadedMethodByAnnotationValue()
+    {
+        assertEquals(Optional.of("""
+                /**
+                     * Paints the object in the color
+                     */"""), locator.find("paint", 2, "I paint $object in $color"));
+    }
+
+    @Test
+    void shouldFindJavadocOfOverloadedMethodByParameterCount()
+    {
+        assertEquals(Optional.of("""
+                /**
+                     * Paints the object in the color
+                     */"""), locator.find("paint", 2, "I paint $object with $brush"));
+    }
+
+    @Test
+    @SuppressWarnings("AvoidEscapedUnicodeCharacters")
+    void shouldFindJavadocOfMethodByEscapedAnnotationValue()
+    {
+        JavadocLocator escapedLocator = new JavadocLocator("""
+                public class PaintSteps
+                {
+                    /** Paints the object */
+                    @When("I paint $object")
+                    public void paint(String object)
+                    {
+                    }
+
+                    /** Paints the quoted object */
+                    @When("I paint \\"$object\\"\\tin \\u00e9cru")
+                    public void paint(String object)
+                    {
+                    }
+                }
+                """);
+        assertEquals(Optional.of("/** Paints the quoted object */"),
+                escapedLocator.find("paint", 1, "I paint \"$object\"\tin \u00e9cru"));
+    }
+
+    @Test
+    void shouldNotFindJavadocOfMethodWithoutJavadoc()
+    {
+        assertEquals(Optional.empty(), locator.find("clean", 1, "I clean $object"));
+    }
+}
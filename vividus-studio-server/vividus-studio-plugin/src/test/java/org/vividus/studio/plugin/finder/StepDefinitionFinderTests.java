@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,10 +20,12 @@
 package org.vividus.studio.plugin.finder;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -31,11 +33,16 @@ import static org.mockito.Mockito.withSettings;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.lang3.function.FailableConsumer;
 import org.eclipse.core.resources.IProject;
@@ -60,11 +67,15 @@ import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.factory.StepDefinitionFactory;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
 import org.vividus.studio.plugin.model.Parameter;
 import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
 import org.vividus.studio.plugin.model.StepType;
 
 @ExtendWith(MockitoExtension.class)
@@ -77,8 +88,12 @@ class StepDefinitionFinderTests
     private static final String COMPOSITE_JAVADOC = "Given I perform system initialization\nWhen I shutdown system\n"
             + "Then the system is inactive";
     private static final String MODULE_NAME = "module-name";
+    private static final String STEPS_CLASS = "org.vividus.steps.ClassWithSteps";
+    private static final String COMPOSITE_ENTRY = "steps/composite.steps";
 
-    private final StepDefinitionFinder finder = new StepDefinitionFinder(new StepDefinitionFactory());
+    private final StepDefinitionFinder finder = new StepDefinitionFinder(new StepDefinitionFactory(),
+            mock(StepDefinitionIndex.class), new RequestMetrics(new VividusStudioSettings()),
+            new VividusStudioSettings());
 
     @Mock private IJavaProject root;
 
@@ -162,6 +177,11 @@ class StepDefinitionFinderTests
         IPackageFragment resourceFragment = mock();
 
         when(resource.getName()).thenReturn("composite.steps");
+        IPath resourcePath = mock();
+        IPath relativeResourcePath = mock();
+        when(resource.getFullPath()).thenReturn(resourcePath);
+        when(resourcePath.makeRelative()).thenReturn(relativeResourcePath);
+        when(relativeResourcePath.toString()).thenReturn(COMPOSITE_ENTRY);
         when(packageFragment.getNonJavaResources()).thenReturn(new Object[] { resource });
         when(resource.getParent()).thenReturn(resourceFragment);
         mockModuleName(resourceFragment);
@@ -169,8 +189,11 @@ class StepDefinitionFinderTests
         InputStream inputStream = getClass().getResource("composite.steps").openStream();
         when(resource.getContents()).thenReturn(inputStream);
 
-        List<StepDefinition> definitions = new ArrayList<>(finder.find(root));
+        List<String> notifications = Collections.synchronizedList(new ArrayList<>());
+        List<StepDefinition> definitions = new ArrayList<>(finder.find(root,
+                (source, found, scanned, total) -> notifications.add(found.size() + " of " + total)));
         assertThat(definitions, hasSize(7));
+        assertThat(notifications, containsInAnyOrder("6 of 2", "1 of 2"));
 
         // assert java steps
         asserJavaStepDefinition(definitions.get(0), MODULE_NAME, StepType.GIVEN, GIVEN_FULL_NAME,
@@ -202,6 +225,57 @@ class StepDefinitionFinderTests
                 .of(new Parameter(1, "$param1", 13, List.of()), new Parameter(2, "$param2", 25, List.of()),
                         new Parameter(3, "$param3", 37, List.of())),
                 true);
+
+        // assert locations
+        StepDefinitionLocation givenLocation = definitions.get(0).getLocation();
+        assertTrue(givenLocation.isMethod());
+        assertEquals(STEPS_CLASS, givenLocation.getPath());
+        assertEquals("givenStep", givenLocation.getMethodName());
+        assertEquals("(I)V", givenLocation.getMethodSignature());
+        assertLocation(definitions.get(4).getLocation(), COMPOSITE_ENTRY, 5);
+        StepDefinitionLocation localLocation = definitions.get(6).getLocation();
+        assertNull(localLocation.getArchive());
+        assertTrue(localLocation.getPath().endsWith("composite.steps"));
+        assertEquals(0, localLocation.getLine());
+    }
+
+    @Test
+    void shouldFindStepsByReadingJarEntries(@TempDir Path folder) throws IOException, CoreException
+    {
+        Path jarPath = folder.resolve("steps.jar");
+        try (ZipOutputStream jar = new ZipOutputStream(Files.newOutputStream(jarPath));
+                InputStream composites = getClass().getResourceAsStream("composite.steps"))
+        {
+            byte[] content = composites.readAllBytes();
+            jar.putNextEntry(new ZipEntry(COMPOSITE_ENTRY));
+            jar.write(content);
+            jar.closeEntry();
+            jar.putNextEntry(new ZipEntry("META-INF/versions/17/" + COMPOSITE_ENTRY));
+            jar.write(content);
+            jar.closeEntry();
+        }
+
+        JarPackageFragmentRoot module = createStepsModule();
+        IPath path = mock();
+        when(module.getPath()).thenReturn(path);
+        when(path.toFile()).thenReturn(jarPath.toFile());
+        when(module.getElementName()).thenReturn(MODULE_NAME);
+        when(root.getChildren()).thenReturn(new IJavaElement[] { module });
+
+        List<StepDefinition> definitions = new ArrayList<>(finder.find(root));
+        assertThat(definitions, hasSize(4));
+        asserCompositeStepDefinition(definitions.get(0), MODULE_NAME, StepType.GIVEN, GIVEN_FULL_NAME, COMPOSITE_JAVADOC,
+                List.of(new Parameter(1, "$param1", 14, List.of())), false);
+        StepDefinitionLocation location = definitions.get(2).getLocation();
+        assertEquals(jarPath.toFile().getAbsolutePath(), location.getArchive());
+        assertLocation(location, COMPOSITE_ENTRY, 10);
+    }
+
+    private static void assertLocation(StepDefinitionLocation location, String path, int line)
+    {
+        assertFalse(location.isMethod());
+        assertEquals(path, location.getPath());
+        assertEquals(line, location.getLine());
     }
 
     private static String rawType(String type)
@@ -297,7 +371,13 @@ class StepDefinitionFinderTests
         IMemberValuePair pair = mock();
         ISourceRange sourceRange = mock();
 
+        IType declaringType = mock();
+
         when(javaElement.getElementType()).thenReturn(IJavaElement.METHOD);
+        when(javaElement.getElementName()).thenReturn(type.toLowerCase() + "Step");
+        when(method.getDeclaringType()).thenReturn(declaringType);
+        when(declaringType.getFullyQualifiedName()).thenReturn(STEPS_CLASS);
+        when(method.getSignature()).thenReturn("(I)V");
         when(method.getAnnotations()).thenReturn(annotations);
         when(annotation.getMemberValuePairs()).thenReturn(new IMemberValuePair[] { pair });
         when(pair.getMemberName()).thenReturn("value");
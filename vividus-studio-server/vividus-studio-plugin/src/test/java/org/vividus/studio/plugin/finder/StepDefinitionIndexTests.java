@@ -0,0 +1,227 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.finder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.factory.StepDefinitionFactory;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
+
+@ExtendWith(MockitoExtension.class)
+class StepDefinitionIndexTests
+{
+    private static final String MODULE = "org.vividus.plugin";
+    private static final String STEP = "When I convert $value into $type";
+    private static final String SOURCES = "/libraries/plugin-sources.jar";
+    private static final String CLASS_NAME = "org.vividus.ConversionSteps";
+    private static final String SIGNATURE = "(Ljava.lang.String;Ljava.lang.String;)V";
+    private static final String ENUM_SIGNATURE = "(Ljava.lang.String;Lorg.vividus.DataType;)V";
+    private static final String ENUM_TYPE = "Lorg.vividus.DataType;";
+    private static final String CONTENT = "content";
+    private static final String PLUGIN_JAR = "plugin.jar";
+    private static final Function<String, List<String>> NO_VALUES = type -> List.of();
+
+    private final StepDefinitionFactory stepDefinitionFactory = new StepDefinitionFactory();
+
+    @Mock private IWorkspace workspace;
+    @Mock private IWorkspaceRoot workspaceRoot;
+    @Mock private IPath workspaceLocation;
+
+    @TempDir private Path workspaceFolder;
+    @TempDir private Path librariesFolder;
+
+    private StepDefinitionIndex index;
+
+    @BeforeEach
+    void init()
+    {
+        when(workspace.getRoot()).thenReturn(workspaceRoot);
+        when(workspaceRoot.getLocation()).thenReturn(workspaceLocation);
+        when(workspaceLocation.toFile()).thenReturn(workspaceFolder.toFile());
+        index = new StepDefinitionIndex(workspace, stepDefinitionFactory);
+    }
+
+    @Test
+    void shouldStoreAndLoadStepDefinitions() throws IOException
+    {
+        File jar = createJar(PLUGIN_JAR, CONTENT);
+        StepDefinition definition = stepDefinitionFactory.createStepDefinition(MODULE, STEP, "docs",
+                Map.of(1, List.of("INT", "STRING")));
+        definition.setDeprecated(true);
+        definition.setLocation(StepDefinitionLocation.ofMethod(jar.getAbsolutePath(), SOURCES, CLASS_NAME,
+                "convert", ENUM_SIGNATURE));
+
+        index.put(jar, List.of(definition));
+
+        List<StepDefinition> definitions = index.get(jar,
+                type -> ENUM_TYPE.equals(type) ? List.of("INT", "STRING") : List.of()).get();
+        assertThat(definitions, hasSize(1));
+        StepDefinition indexed = definitions.get(0);
+        assertEquals(definition, indexed);
+        assertEquals(StepDefinitionFinder.NO_DOCUMENTATION, indexed.getDocumentation());
+        assertTrue(indexed.isDeprecated());
+        assertFalse(indexed.isComposite());
+        assertEquals(definition.getMatchTokens(), indexed.getMatchTokens());
+        assertEquals(List.of(), indexed.getParameters().get(0).getValues());
+        assertEquals(List.of("INT", "STRING"), indexed.getParameters().get(1).getValues());
+        StepDefinitionLocation location = indexed.getLocation();
+        assertTrue(location.isMethod());
+        assertEquals(jar.getAbsolutePath(), location.getArchive());
+        assertEquals(SOURCES, location.getSources());
+        assertEquals(CLASS_NAME, location.getPath());
+        assertEquals("convert", location.getMethodName());
+        assertEquals(ENUM_SIGNATURE, location.getMethodSignature());
+    }
+
+    @Test
+    void shouldResolveParameterValuesOnEveryLoad() throws IOException
+    {
+        File jar = createJar(PLUGIN_JAR, CONTENT);
+        StepDefinition definition = stepDefinitionFactory.createStepDefinition(MODULE, STEP, "docs",
+                Map.of(1, List.of("INT")));
+        definition.setLocation(StepDefinitionLocation.ofMethod(jar.getAbsolutePath(), SOURCES, CLASS_NAME,
+                "convert", ENUM_SIGNATURE));
+
+        index.put(jar, List.of(definition));
+
+        assertEquals(List.of(), index.get(jar, NO_VALUES).get().get(0).getParameters().get(1).getValues());
+        assertEquals(List.of("INT", "LONG"), index.get(jar, type -> List.of("INT", "LONG")).get().get(0)
+                .getParameters().get(1).getValues());
+    }
+
+    @Test
+    void shouldRemoveEntriesOfJarsNotOnClasspath() throws IOException
+    {
+        File jar = createJar(PLUGIN_JAR, CONTENT);
+        File removedJar = createJar("removed-plugin.jar", CONTENT);
+        StepDefinition definition = stepDefinitionFactory.createStepDefinition(MODULE, STEP, "docs", true, false);
+        index.put(jar, List.of(definition));
+        index.put(removedJar, List.of(definition));
+
+        index.retain(List.of(jar));
+
+        assertTrue(index.get(jar, NO_VALUES).isPresent());
+        assertTrue(index.get(removedJar, NO_VALUES).isEmpty());
+        try (Stream<Path> entries = Files.list(workspaceFolder.resolve(
+                ".metadata/.plugins/org.vividus.studio.plugin/step-definitions")))
+        {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    @Test
+    void shouldStoreDocumentationAndLocationOfCompositeStep() throws IOException
+    {
+        File jar = createJar(PLUGIN_JAR, CONTENT);
+        StepDefinition definition = stepDefinitionFactory.createStepDefinition(MODULE, STEP, "docs", true, false);
+        definition.setLocation(StepDefinitionLocation.ofArchiveEntry(jar.getAbsolutePath(), "steps/plugin.steps", 7));
+
+        index.put(jar, List.of(definition));
+
+        StepDefinition indexed = index.get(jar, NO_VALUES).get().get(0);
+        assertEquals("docs", indexed.getDocumentation());
+        StepDefinitionLocation location = indexed.getLocation();
+        assertFalse(location.isMethod());
+        assertEquals(jar.getAbsolutePath(), location.getArchive());
+        assertEquals("steps/plugin.steps", location.getPath());
+        assertEquals(7, location.getLine());
+    }
+
+    @Test
+    void shouldStoreReferenceToJavadocInSourceAttachment() throws IOException
+    {
+        File sources = librariesFolder.resolve("plugin-sources.jar").toFile();
+        try (ZipOutputStream sourcesJar = new ZipOutputStream(Files.newOutputStream(sources.toPath())))
+        {
+            sourcesJar.putNextEntry(new ZipEntry("org/vividus/ConversionSteps.java"));
+            sourcesJar.write("""
+                    public class ConversionSteps
+                    {
+                        /** Converts the value */
+                        @When("I convert $value into $type")
+                        public void convert(String value, String type)
+                        {
+                        }
+                    }
+                    """.getBytes(StandardCharsets.UTF_8));
+            sourcesJar.closeEntry();
+        }
+        File jar = createJar(PLUGIN_JAR, CONTENT);
+        StepDefinition definition = stepDefinitionFactory.createStepDefinition(MODULE, STEP,
+                new JavadocReference(sources, "org.vividus.ConversionSteps$Nested", "convert", SIGNATURE,
+                        "I convert $value into $type"), Map.of());
+
+        index.put(jar, List.of(definition));
+
+        StepDefinition indexed = index.get(jar, NO_VALUES).get().get(0);
+        assertInstanceOf(JavadocReference.class, indexed.getDocumentationSource());
+        assertEquals("/** Converts the value */", indexed.getDocumentation());
+    }
+
+    @Test
+    void shouldNotReturnStepDefinitionsForChangedJar() throws IOException
+    {
+        File jar = createJar(PLUGIN_JAR, CONTENT);
+        index.put(jar, List.of(stepDefinitionFactory.createStepDefinition(MODULE, STEP, "docs", true, false)));
+
+        Files.writeString(jar.toPath(), "updated content");
+
+        assertTrue(index.get(jar, NO_VALUES).isEmpty());
+    }
+
+    @Test
+    void shouldNotReturnStepDefinitionsForNotIndexedJar() throws IOException
+    {
+        assertTrue(index.get(createJar(PLUGIN_JAR, CONTENT), NO_VALUES).isEmpty());
+    }
+
+    private File createJar(String name, String content) throws IOException
+    {
+        return Files.writeString(librariesFolder.resolve(name), content).toFile();
+    }
+}
@@ -0,0 +1,69 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.match;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTests
+{
+    private final PrefixTrie<String> trie = new PrefixTrie<>();
+
+    @BeforeEach
+    void beforeEach()
+    {
+        trie.put("When I click on element located by ", "click");
+        trie.put("When I ", "when");
+        trie.put("When I click on all elements located by ", "click-all");
+        trie.put("Then number of elements found by ", "number");
+        trie.put("When I click on element located by ", "click-duplicate");
+    }
+
+    @Test
+    void shouldFindValuesWhoseKeysArePrefixesOfInput()
+    {
+        assertEquals(List.of("click", "when", "click-duplicate"),
+                trie.findRelated("When I click on element located by `xpath(//a)`"));
+    }
+
+    @Test
+    void shouldFindValuesWhoseKeysStartWithInput()
+    {
+        assertEquals(List.of("click", "when", "click-all", "click-duplicate"), trie.findRelated("When I"));
+    }
+
+    @Test
+    void shouldFindAllValuesForEmptyInput()
+    {
+        assertEquals(List.of("click", "when", "click-all", "number", "click-duplicate"), trie.findRelated(""));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void shouldNotFindUnrelatedValues()
+    {
+        assertEquals(List.of(), trie.findRelated("Given I am on page"));
+        assertEquals(List.of("when"), trie.findRelated("When I open URL"));
+    }
+}
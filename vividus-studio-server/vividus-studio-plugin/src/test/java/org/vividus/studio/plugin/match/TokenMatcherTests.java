@@ -1,6 +1,7 @@
 package org.vividus.studio.plugin.match;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -66,4 +67,47 @@ class TokenMatcherTests
         assertEquals(List.of(12, 17, 29, 45, 61, 65), outcome.getArgIndices());
         assertEquals(StringUtils.EMPTY, outcome.getSubToken());
     }
+
+    @Test
+    void shouldNotCompleteTruncatedStepWithoutParameters()
+    {
+        TokenMatcher matcher = TokenMatcher.compile(List.of("When I refresh page"));
+
+        MatchOutcome truncated = matcher.match("When I refresh");
+        assertTrue(truncated.isMatch());
+        assertFalse(truncated.isComplete());
+        assertTrue(matcher.match("When I refresh page").isComplete());
+        assertFalse(matcher.match("When I refresh page twice").isMatch());
+    }
+
+    @Test
+    void shouldNotCompleteStepWithPartlyTypedTrailingLiteral()
+    {
+        TokenMatcher matcher = TokenMatcher.compile(List.of("When I open `", "` page"));
+
+        MatchOutcome partlyTyped = matcher.match("When I open `home` pa");
+        assertTrue(partlyTyped.isMatch());
+        assertEquals(1, partlyTyped.getTokenIndex());
+        assertFalse(partlyTyped.isComplete());
+        assertTrue(matcher.match("When I open `home` page").isComplete());
+    }
+
+    @Test
+    void shouldReuseCompiledMatcher()
+    {
+        TokenMatcher matcher = TokenMatcher.compile(TOKENS);
+
+        MatchOutcome fullMatch = matcher.match(
+                "When I capture HTTP GET request with URL pattern `.*` and save URL query to scenario variable `req`");
+        MatchOutcome partialMatch = matcher.match("When I capture HTTP POST request with");
+        MatchOutcome mismatch = matcher.match("When I capture HTTP GET data");
+
+        assertEquals(List.of(20, 23, 50, 52, 76, 84, 95, 98), fullMatch.getArgIndices());
+        assertEquals(4, fullMatch.getTokenIndex());
+        assertTrue(fullMatch.isComplete());
+        assertFalse(partialMatch.isComplete());
+        assertEquals(List.of(20, 24), partialMatch.getArgIndices());
+        assertEquals(" request with", partialMatch.getSubToken());
+        assertFalse(mismatch.isMatch());
+    }
 }
@@ -0,0 +1,90 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+
+class RequestMetricsTests
+{
+    private static final String FIND = "find";
+    private static final String RESULT = "result";
+
+    private final RequestMetrics requestMetrics = new RequestMetrics(new VividusStudioSettings());
+
+    @Test
+    void shouldMeasureOperations() throws IOException
+    {
+        assertEquals(RESULT, requestMetrics.measure(FIND, () -> RESULT));
+        assertThrows(IOException.class, () -> requestMetrics.measure(FIND, () ->
+        {
+            throw new IOException();
+        }));
+        requestMetrics.recordDrop("completion");
+
+        List<OperationStatistics> statistics = requestMetrics.getStatistics();
+        assertThat(statistics, hasSize(2));
+
+        OperationStatistics completion = statistics.get(0);
+        assertEquals("completion", completion.getOperation());
+        assertEquals(0, completion.getCount());
+        assertEquals(1, completion.getDropped());
+        assertEquals(0, completion.getLatency().getMax(), 0);
+
+        OperationStatistics find = statistics.get(1);
+        assertEquals(FIND, find.getOperation());
+        assertEquals(2, find.getCount());
+        assertEquals(1, find.getFailures());
+        assertEquals(0, find.getDropped());
+        Distribution latency = find.getLatency();
+        assertThat(latency.getP50(), lessThanOrEqualTo(latency.getP99()));
+        assertThat(latency.getP99(), lessThanOrEqualTo(latency.getMax()));
+        assertThat(find.getMeanAllocatedBytes(), greaterThanOrEqualTo(-1L));
+    }
+
+    @Test
+    void shouldCalculatePercentilesOfLatency()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 0; index < 98; index++)
+        {
+            histogram.record(1_500_000);
+        }
+        histogram.record(40_000_000);
+        histogram.record(100_000_000);
+
+        Distribution distribution = histogram.toDistribution();
+        assertEquals(2.048, distribution.getP50(), 0);
+        assertEquals(2.048, distribution.getP90(), 0);
+        assertEquals(65.536, distribution.getP99(), 0);
+        assertEquals(100, distribution.getMax(), 0);
+        assertEquals(2.87, distribution.getMean(), 0);
+    }
+}
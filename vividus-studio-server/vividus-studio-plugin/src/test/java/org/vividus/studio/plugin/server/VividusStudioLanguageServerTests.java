@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2024 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ package org.vividus.studio.plugin.server;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
@@ -48,6 +49,7 @@ import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -63,11 +65,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.studio.plugin.command.ICommand;
 import org.vividus.studio.plugin.configuration.JVMConfigurator;
 import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.loader.IJavaProjectLoader;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
 import org.vividus.studio.plugin.log.VividusStudioLogAppender;
 import org.vividus.studio.plugin.service.ClientNotificationService;
 import org.vividus.studio.plugin.service.ConfigurationService;
+import org.vividus.studio.plugin.service.RequestExecutor;
 import org.vividus.studio.plugin.service.StepDefinitionResolver;
+import org.vividus.studio.plugin.service.WorkspaceStepIndex;
 
 @ExtendWith(MockitoExtension.class)
 class VividusStudioLanguageServerTests
@@ -81,6 +87,7 @@ class VividusStudioLanguageServerTests
     @Mock private ConfigurationService configurationService;
     @Mock private WorkspaceService workspaceService;
     @Mock private VividusStudioEnvronment vividusStudioConfiguration;
+    @Mock private WorkspaceStepIndex workspaceStepIndex;
 
     private VividusStudioLanguageServer languageServer;
 
@@ -92,7 +99,8 @@ class VividusStudioLanguageServerTests
 
         languageServer = new VividusStudioLanguageServer(null, stepDefinitionResolver, workspaceService, projectLoader,
                 null, jvmConfigurator, clientNotificationService, configurationService, vividusStudioConfiguration,
-                Set.of(command));
+                Set.of(command), new RequestExecutor(new VividusStudioSettings(),
+                        new RequestMetrics(new VividusStudioSettings())), workspaceStepIndex);
     }
 
     @Test
@@ -131,7 +139,8 @@ class VividusStudioLanguageServerTests
         assertEquals(List.of(), triggers);
         verify(jvmConfigurator).configureDefaultJvm();
         verify(vividusStudioConfiguration).setJavaProject(javaProject);
-        verify(stepDefinitionResolver).refresh();
+        verify(stepDefinitionResolver).refresh(any());
+        verify(workspaceStepIndex).rebuild();
         assertEquals(List.of(COMMAND), serverCapabilities.getExecuteCommandProvider().getCommands());
 
         notificationServiceOrder.verify(clientNotificationService).startProgress(token, "Initialization",
@@ -144,6 +153,15 @@ class VividusStudioLanguageServerTests
         CodeActionOptions codeActionOptions = serverCapabilities.getCodeActionProvider().getRight();
         assertTrue(codeActionOptions.getResolveProvider());
         assertEquals(List.of(CodeActionKind.Source), codeActionOptions.getCodeActionKinds());
+
+        SemanticTokensWithRegistrationOptions semanticTokensOptions = serverCapabilities.getSemanticTokensProvider();
+        assertTrue(semanticTokensOptions.getFull().getRight().getDelta());
+        assertTrue(semanticTokensOptions.getRange().getLeft());
+        assertTrue(serverCapabilities.getReferencesProvider().getLeft());
+        assertTrue(serverCapabilities.getDefinitionProvider().getLeft());
+        assertTrue(serverCapabilities.getHoverProvider().getLeft());
+        assertTrue(serverCapabilities.getDiagnosticProvider().isInterFileDependencies());
+        assertTrue(serverCapabilities.getDiagnosticProvider().isWorkspaceDiagnostics());
     }
 
     @Test
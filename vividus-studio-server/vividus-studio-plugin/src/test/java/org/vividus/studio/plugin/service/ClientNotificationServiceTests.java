@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -138,6 +138,27 @@ public class ClientNotificationServiceTests
         assertEquals(MESSAGE, params.getMessage());
     }
 
+    @Test
+    void shouldRefreshDiagnostics()
+    {
+        service.refreshDiagnostics();
+
+        verify(languageClient).refreshDiagnostics();
+    }
+
+    @Test
+    void shouldReportPartialResult()
+    {
+        Object partialResult = new Object();
+
+        service.reportPartialResult(TOKEN, partialResult);
+
+        verify(languageClient).notifyProgress(progressParamsCaptor.capture());
+        ProgressParams progressParams = progressParamsCaptor.getValue();
+        assertEquals(TOKEN, progressParams.getToken());
+        assertEquals(partialResult, progressParams.getValue().getRight());
+    }
+
     @Test
     void shouldCreateProgress() throws InterruptedException, ExecutionException
     {
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,22 +22,35 @@ package org.vividus.studio.plugin.service;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.stream.Stream;
 
+import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemTag;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.command.RecordStepUsageCommand;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.model.Parameter;
 import org.vividus.studio.plugin.model.StepDefinition;
@@ -49,6 +62,8 @@ class CompletionItemServiceTests
     private static final String GIVEN_TRIGGER = "G";
     private static final String GIVEN_STEP = "Given random value";
     private static final String GIVEN_STEP_SNIPPET = "Given random value";
+    private static final String GIVEN_RANDOM_NUMBER = "Given random number";
+    private static final String GIVEN_RANDOM_STRING = "Given random string";
 
     private static final int WHEN_STEP_HASH = 382930399;
     private static final String WHEN_TRIGGER = "W";
@@ -66,6 +81,11 @@ class CompletionItemServiceTests
     private static final String DOCUMENT_ID = "document-id";
 
     @Mock TextDocumentProvider textDocumentProvider;
+    @Mock VividusStudioEnvronment vividusStudioEnvironment;
+    @Mock CancelChecker cancelChecker;
+    private final RecentlyUsedSteps recentlyUsedSteps = new RecentlyUsedSteps();
+    private StepDefinitionResolver resolver;
+    private StepUsageIndex stepUsageIndex;
     private CompletionItemService completionItemService;
 
     @BeforeEach
@@ -80,9 +100,16 @@ class CompletionItemServiceTests
                 new Parameter(2, "$expected", 24, List.of("v1", "v2", "v3"))
         ), List.of("Then ", " is equal to ", " after conversion"));
         thenStepDefinition.setDeprecated(true);
-        var resolver = new StepDefinitionResolver(textDocumentProvider, null, null);
+        resolver = new StepDefinitionResolver(textDocumentProvider, null, null);
         resolver.refresh(List.of(givenStepDefinition, whenStepDefinition, thenStepDefinition));
-        completionItemService = new CompletionItemService(resolver);
+        stepUsageIndex = new StepUsageIndex();
+        completionItemService = createCompletionItemService(new VividusStudioSettings());
+    }
+
+    private CompletionItemService createCompletionItemService(VividusStudioSettings settings)
+    {
+        return new CompletionItemService(resolver, new StepDocumentationService(settings), vividusStudioEnvironment,
+                recentlyUsedSteps, settings, stepUsageIndex);
     }
 
     static Stream<Arguments> findAllDataset()
@@ -112,13 +139,155 @@ class CompletionItemServiceTests
 
         when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(lines);
 
-        List<CompletionItem> items = completionItemService.findAllAtPosition(DOCUMENT_ID, position);
+        CompletionList list = completionItemService.findAllAtPosition(DOCUMENT_ID, position, false, cancelChecker);
+        assertFalse(list.isIncomplete());
+        List<CompletionItem> items = list.getItems();
         assertThat(items, hasSize(1));
         CompletionItem item = items.get(0);
 
         assertEquals(textEdit, item.getTextEdit().getLeft().getNewText());
     }
 
+    @Test
+    void shouldResolveDocumentationOfCompletionItem()
+    {
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of("Given rand"));
+
+        CompletionItem item = completionItemService.findAllAtPosition(DOCUMENT_ID, new Position(0, 10), false,
+                cancelChecker).getItems().get(0);
+        assertNull(item.getDocumentation());
+        assertNull(item.getDetail());
+
+        CompletionItem resolved = completionItemService.resolve(item);
+        assertEquals(DOCS, resolved.getDocumentation().getLeft());
+        assertEquals(MODULE, resolved.getDetail());
+    }
+
+    @Test
+    void shouldResolveTextEditOfCompletionItemIfClientSupportsIt()
+    {
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of("Then ", "line1", " is equa"));
+        when(vividusStudioEnvironment.isCompletionItemPropertyResolvable("textEdit")).thenReturn(true);
+
+        CompletionItem item = completionItemService.findAllAtPosition(DOCUMENT_ID, new Position(2, 8), false,
+                cancelChecker).getItems().get(0);
+        assertNull(item.getTextEdit());
+        assertEquals(List.of(CompletionItemTag.Deprecated), item.getTags());
+
+        TextEdit textEdit = completionItemService.resolve(item).getTextEdit().getLeft();
+        assertEquals("l to ${2|v1,v2,v3|} after conversion", textEdit.getNewText());
+        Position position = new Position(2, 8);
+        assertEquals(new Range(position, position), textEdit.getRange());
+    }
+
+    @Test
+    void shouldSkipCompletionItemsInsertingNothingOnTyping()
+    {
+        var position = new Position(0, 52);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(
+                List.of("Then McDonald's is equal to Fat ass after conversion"));
+
+        CompletionList list = completionItemService.findAllAtPosition(DOCUMENT_ID, position, true, cancelChecker);
+        assertThat(list.getItems(), hasSize(0));
+    }
+
+    @Test
+    void shouldSkipCompletionItemsInsertingNothingOnTypingWithoutTextEditsIfClientResolvesThem()
+    {
+        when(vividusStudioEnvironment.isCompletionItemPropertyResolvable("textEdit")).thenReturn(true);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(
+                List.of("Then McDonald's is equal t"),
+                List.of("Then McDonald's is equal to Fat ass after conversion"));
+
+        List<CompletionItem> items = completionItemService.findAllAtPosition(DOCUMENT_ID, new Position(0, 26), true,
+                cancelChecker).getItems();
+        assertThat(items, hasSize(1));
+        assertNull(items.get(0).getTextEdit());
+        assertThat(completionItemService.findAllAtPosition(DOCUMENT_ID, new Position(0, 52), true, cancelChecker)
+                .getItems(), hasSize(0));
+    }
+
+    @Test
+    void shouldRankCompletionItems()
+    {
+        addRandomValueSteps();
+        recentlyUsedSteps.record(MODULE, GIVEN_RANDOM_STRING);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of("Given random "));
+
+        CompletionList list = completionItemService.findAllAtPosition(DOCUMENT_ID, new Position(0, 13), false,
+                cancelChecker);
+
+        assertFalse(list.isIncomplete());
+        List<CompletionItem> items = list.getItems();
+        assertEquals(List.of(GIVEN_RANDOM_STRING, GIVEN_STEP, GIVEN_RANDOM_NUMBER),
+                items.stream().map(CompletionItem::getLabel).toList());
+        assertEquals(List.of("00000", "00001", "00002"), items.stream().map(CompletionItem::getSortText).toList());
+        Command command = items.get(0).getCommand();
+        assertEquals(RecordStepUsageCommand.NAME, command.getCommand());
+        assertEquals(List.of(MODULE, GIVEN_RANDOM_STRING), command.getArguments());
+    }
+
+    @Test
+    void shouldLimitCompletionItems()
+    {
+        addRandomValueSteps();
+        VividusStudioSettings settings = mock();
+        when(settings.getCompletionItemsLimit()).thenReturn(2);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of("Given random "));
+
+        CompletionList list = createCompletionItemService(settings).findAllAtPosition(DOCUMENT_ID,
+                new Position(0, 13), false, cancelChecker);
+
+        assertTrue(list.isIncomplete());
+        assertEquals(List.of(GIVEN_STEP, GIVEN_RANDOM_STRING),
+                list.getItems().stream().map(CompletionItem::getLabel).toList());
+    }
+
+    @Test
+    void shouldNotMarkListIncompleteIfOnlyItemsInsertingNothingAreOmitted()
+    {
+        String givenStepInRange = GIVEN_STEP + " in range";
+        resolver.refresh(List.of(new StepDefinition(MODULE, givenStepInRange, DOCS, List.of(),
+                List.of(givenStepInRange))));
+        recentlyUsedSteps.record(MODULE, givenStepInRange);
+        VividusStudioSettings settings = mock();
+        when(settings.getCompletionItemsLimit()).thenReturn(1);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(GIVEN_STEP));
+
+        CompletionList list = createCompletionItemService(settings).findAllAtPosition(DOCUMENT_ID,
+                new Position(0, GIVEN_STEP.length()), true, cancelChecker);
+
+        assertFalse(list.isIncomplete());
+        assertEquals(List.of(givenStepInRange), list.getItems().stream().map(CompletionItem::getLabel).toList());
+    }
+
+    @Test
+    void shouldRankFrequentlyUsedStepsFirstAndPreselectTopOne()
+    {
+        addRandomValueSteps();
+        stepUsageIndex = mock();
+        when(stepUsageIndex.getUsageCounts()).thenReturn(
+                stepDefinition -> GIVEN_RANDOM_STRING.equals(stepDefinition.getStepAsString()) ? 3 : 0);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of("Given random "));
+
+        List<CompletionItem> items = createCompletionItemService(new VividusStudioSettings())
+                .findAllAtPosition(DOCUMENT_ID, new Position(0, 13), false, cancelChecker).getItems();
+
+        assertEquals(List.of(GIVEN_RANDOM_STRING, GIVEN_STEP, GIVEN_RANDOM_NUMBER),
+                items.stream().map(CompletionItem::getLabel).toList());
+        assertEquals(Boolean.TRUE, items.get(0).getPreselect());
+        assertNull(items.get(1).getPreselect());
+    }
+
+    private void addRandomValueSteps()
+    {
+        var deprecatedStepDefinition = new StepDefinition(MODULE, GIVEN_RANDOM_NUMBER, DOCS, List.of(),
+                List.of(GIVEN_RANDOM_NUMBER));
+        deprecatedStepDefinition.setDeprecated(true);
+        resolver.refresh(List.of(deprecatedStepDefinition,
+                new StepDefinition(MODULE, GIVEN_RANDOM_STRING, DOCS, List.of(), List.of(GIVEN_RANDOM_STRING))));
+    }
+
     static Stream<Arguments> noMatchDataSet()
     {
         return Stream.of(
@@ -145,6 +314,7 @@ class CompletionItemServiceTests
 
         when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(lines);
 
-        assertThat(completionItemService.findAllAtPosition(DOCUMENT_ID, position), hasSize(0));
+        assertThat(completionItemService.findAllAtPosition(DOCUMENT_ID, position, false, cancelChecker).getItems(),
+                hasSize(0));
     }
 }
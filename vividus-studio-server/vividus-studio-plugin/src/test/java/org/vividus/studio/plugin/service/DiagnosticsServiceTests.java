@@ -0,0 +1,402 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticTag;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.factory.DiagnosticFactory;
+import org.vividus.studio.plugin.model.Parameter;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class DiagnosticsServiceTests
+{
+    private static final String DOCUMENT_ID = "file:///diagnostics.story";
+    private static final String MODULE = "module";
+    private static final String DOCS = "documentation";
+    private static final String AMBIGUOUS_STEP = "Given ambiguous step";
+    private static final String UNKNOWN_STEP = "Given unknown step";
+    private static final String UNKNOWN = "Step does not match any step definition";
+    private static final String DEPRECATED = "Step is deprecated";
+
+    private static final List<String> DOCUMENT = List.of(
+        "Scenario: diagnostics",
+        UNKNOWN_STEP,
+        "When I convert 1 into custom type",
+        "Then deprecated step",
+        AMBIGUOUS_STEP,
+        "When I convert 1"
+    );
+
+    @Mock private TextDocumentProvider textDocumentProvider;
+    @Mock private ClientNotificationService clientNotificationService;
+    @Mock private VividusStudioSettings settings;
+    @Mock private ScheduledExecutorService executor;
+
+    private StepDefinitionResolver resolver;
+    private DiagnosticsService diagnosticsService;
+
+    @BeforeEach
+    void init()
+    {
+        var whenStepDefinition = new StepDefinition(MODULE, "When I convert $value into custom type", DOCS,
+                List.of(new Parameter(1, "$value", 15, List.of())), List.of("When I convert ", " into custom type"));
+        var deprecatedStepDefinition = new StepDefinition(MODULE, "Then deprecated step", DOCS, List.of(),
+                List.of("Then deprecated step"));
+        deprecatedStepDefinition.setDeprecated(true);
+        var ambiguousStepDefinition = new StepDefinition(MODULE, AMBIGUOUS_STEP, DOCS, List.of(),
+                List.of(AMBIGUOUS_STEP));
+        var compositeStepDefinition = new StepDefinition("composite/ambiguous.steps", AMBIGUOUS_STEP, DOCS,
+                List.of(), List.of(AMBIGUOUS_STEP));
+        compositeStepDefinition.setDynamic(true);
+
+        resolver = spy(new StepDefinitionResolver(textDocumentProvider, null, null));
+        resolver.refresh(List.of(whenStepDefinition, deprecatedStepDefinition, ambiguousStepDefinition,
+                compositeStepDefinition));
+
+        when(executor.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation ->
+        {
+            invocation.getArgument(0, Runnable.class).run();
+            return mock(ScheduledFuture.class);
+        });
+        diagnosticsService = new DiagnosticsService(resolver, new DiagnosticFactory(), textDocumentProvider,
+                clientNotificationService, settings, executor);
+    }
+
+    @Test
+    void shouldCalculateDiagnosticsOnOpen()
+    {
+        open();
+
+        DocumentDiagnosticReport report = diagnosticsService.diagnose(DOCUMENT_ID, null);
+
+        List<Diagnostic> diagnostics = report.getLeft().getItems();
+        assertEquals(List.of(
+            "1:0-18:Error:" + UNKNOWN,
+            "3:0-20:Warning:" + DEPRECATED,
+            "4:0-20:Warning:Step matches more than one step definition",
+            "5:0-16:Error:" + UNKNOWN
+        ), describe(diagnostics));
+        assertEquals(List.of(DiagnosticTag.Deprecated), diagnostics.get(1).getTags());
+        verify(resolver).resolveSteps(eq(DOCUMENT_ID), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldReportUnchangedDiagnostics()
+    {
+        open();
+
+        String resultId = diagnosticsService.diagnose(DOCUMENT_ID, null).getLeft().getResultId();
+        DocumentDiagnosticReport report = diagnosticsService.diagnose(DOCUMENT_ID, resultId);
+
+        assertEquals(resultId, report.getRight().getResultId());
+    }
+
+    @Test
+    void shouldCalculateDiagnosticsOfLifecycleSteps()
+    {
+        open(List.of(
+            "Lifecycle:",
+            "Before:",
+            "Scope: STEP",
+            "When I convert 1 into custom type",
+            "After:",
+            "Scope: SCENARIO",
+            "Outcome: ANY",
+            "Then deprecated step",
+            "Scenario: lifecycle",
+            "When I convert 2 into custom type"
+        ));
+
+        assertEquals(List.of("7:0-20:Warning:" + DEPRECATED), diagnose());
+    }
+
+    @Test
+    void shouldCalculateDiagnosticsOfAndStepsUsingTypeOfPreviousStep()
+    {
+        open(List.of(
+            "Scenario: and steps",
+            "When I convert 1 into custom type",
+            "And I convert 2 into custom type",
+            "!-- comment",
+            "And I convert 3 into custom type",
+            "Then deprecated step",
+            "And deprecated step",
+            "And I convert 4 into custom type",
+            "Scenario: and step without previous step",
+            "And deprecated step"
+        ));
+
+        assertEquals(List.of(
+            "5:0-20:Warning:" + DEPRECATED,
+            "6:0-19:Warning:" + DEPRECATED,
+            "7:0-32:Error:" + UNKNOWN
+        ), diagnose());
+    }
+
+    @Test
+    void shouldRecalculateDiagnosticsOfChangedStepsOnly()
+    {
+        open();
+
+        List<String> changedDocument = List.of(
+            "Scenario: diagnostics",
+            "When I convert 2 into custom type",
+            UNKNOWN_STEP,
+            "When I convert 1 into custom type",
+            "Then deprecated step",
+            AMBIGUOUS_STEP,
+            "When I convert 1 into custom type"
+        );
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(changedDocument);
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(2);
+        DidChangeTextDocumentParams changeEvent = new DidChangeTextDocumentParams(
+                new VersionedTextDocumentIdentifier(DOCUMENT_ID, 2), List.of(
+                    new TextDocumentContentChangeEvent(new Range(new Position(1, 0), new Position(1, 0)),
+                            "When I convert 2 into custom type\n"),
+                    new TextDocumentContentChangeEvent(new Range(new Position(6, 16), new Position(6, 16)),
+                            " into custom type")
+                ));
+        resolver.onChange(changeEvent);
+        diagnosticsService.onChange(changeEvent);
+
+        verify(resolver).resolveSteps(eq(DOCUMENT_ID), eq(1), eq(6), any());
+        WorkspaceFullDocumentDiagnosticReport report = diagnosticsService.diagnoseInWorkspace(DOCUMENT_ID, null)
+                .get().getLeft();
+        assertEquals(2, report.getVersion());
+        assertEquals(List.of(
+            "2:0-18:Error:" + UNKNOWN,
+            "4:0-20:Warning:" + DEPRECATED,
+            "5:0-20:Warning:Step matches more than one step definition"
+        ), describe(report.getItems()));
+    }
+
+    @Test
+    void shouldShiftDiagnosticsBelowChangedLines()
+    {
+        open();
+
+        List<String> changedDocument = List.of(
+            "Scenario: diagnostics",
+            "",
+            UNKNOWN_STEP,
+            "When I convert 1 into custom type",
+            "Then deprecated step",
+            AMBIGUOUS_STEP,
+            "When I convert 1"
+        );
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(changedDocument);
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(2);
+        DidChangeTextDocumentParams changeEvent = new DidChangeTextDocumentParams(
+                new VersionedTextDocumentIdentifier(DOCUMENT_ID, 2), List.of(new TextDocumentContentChangeEvent(
+                    new Range(new Position(0, 21), new Position(0, 21)), "\n")));
+        resolver.onChange(changeEvent);
+        diagnosticsService.onChange(changeEvent);
+
+        verify(resolver).resolveSteps(eq(DOCUMENT_ID), eq(0), eq(1), any());
+        assertEquals(List.of(
+            "2:0-18:Error:" + UNKNOWN,
+            "4:0-20:Warning:" + DEPRECATED,
+            "5:0-20:Warning:Step matches more than one step definition",
+            "6:0-16:Error:" + UNKNOWN
+        ), diagnose());
+    }
+
+    @Test
+    void shouldRecalculateDiagnosticsOfStepCutOffByChange()
+    {
+        open(List.of(
+            "Scenario: diagnostics",
+            "When I convert 1 into custom type",
+            "with continuation",
+            "Then deprecated step"
+        ));
+        assertEquals(List.of(
+            "1:0-33:Error:" + UNKNOWN,
+            "3:0-20:Warning:" + DEPRECATED
+        ), diagnose());
+
+        List<String> changedDocument = List.of(
+            "Scenario: diagnostics",
+            "When I convert 1 into custom type",
+            "!-- with continuation",
+            "Then deprecated step"
+        );
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(changedDocument);
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(2);
+        DidChangeTextDocumentParams changeEvent = new DidChangeTextDocumentParams(
+                new VersionedTextDocumentIdentifier(DOCUMENT_ID, 2), List.of(new TextDocumentContentChangeEvent(
+                    new Range(new Position(2, 0), new Position(2, 0)), "!-- ")));
+        resolver.onChange(changeEvent);
+        diagnosticsService.onChange(changeEvent);
+
+        verify(resolver).resolveSteps(eq(DOCUMENT_ID), eq(1), eq(2), any());
+        assertEquals(List.of("3:0-20:Warning:" + DEPRECATED), diagnose());
+    }
+
+    @Test
+    void shouldNotCalculateDiagnosticsOfOutdatedDocumentVersion()
+    {
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(2);
+
+        diagnosticsService.onOpen(new DidOpenTextDocumentParams(new TextDocumentItem(DOCUMENT_ID, "vividus-story", 1,
+                String.join("\n", DOCUMENT))));
+        RelatedFullDocumentDiagnosticReport report = diagnosticsService.diagnose(DOCUMENT_ID, null).getLeft();
+
+        assertEquals(List.of(), report.getItems());
+        assertNull(report.getResultId());
+        verify(resolver, never()).resolveSteps(eq(DOCUMENT_ID), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldNotBlockDocumentChangesDuringResolution()
+    {
+        DidChangeTextDocumentParams changeEvent = new DidChangeTextDocumentParams(
+                new VersionedTextDocumentIdentifier(DOCUMENT_ID, 2), List.of(new TextDocumentContentChangeEvent(
+                    String.join("\n", DOCUMENT))));
+        doAnswer(invocation ->
+        {
+            when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(2);
+            Thread change = new Thread(() -> diagnosticsService.onChange(changeEvent));
+            change.start();
+            change.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(change.isAlive());
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(resolver).resolveSteps(eq(DOCUMENT_ID), anyInt(), anyInt(), any());
+
+        open();
+
+        WorkspaceFullDocumentDiagnosticReport report = diagnosticsService.diagnoseInWorkspace(DOCUMENT_ID, null)
+                .get().getLeft();
+        assertEquals(2, report.getVersion());
+        assertEquals(4, report.getItems().size());
+    }
+
+    @Test
+    void shouldRecalculateDiagnosticsOnStepDefinitionsRefresh()
+    {
+        open();
+
+        var unknownStepDefinition = new StepDefinition("composite/unknown.steps", UNKNOWN_STEP, DOCS, List.of(),
+                List.of(UNKNOWN_STEP));
+        unknownStepDefinition.setDynamic(true);
+        resolver.refresh(List.of(unknownStepDefinition));
+
+        verify(clientNotificationService).refreshDiagnostics();
+        assertEquals(List.of(
+            "3:0-20:Warning:" + DEPRECATED,
+            "4:0-20:Warning:Step matches more than one step definition",
+            "5:0-16:Error:" + UNKNOWN
+        ), diagnose());
+    }
+
+    @Test
+    void shouldDiagnoseOpenDocumentInWorkspaceByFileUri()
+    {
+        String clientUri = "file:///c%3A/project/diagnostics.story";
+        when(textDocumentProvider.getTextDocument(clientUri)).thenReturn(DOCUMENT);
+        when(textDocumentProvider.getVersion(clientUri)).thenReturn(1);
+        diagnosticsService.onOpen(new DidOpenTextDocumentParams(new TextDocumentItem(clientUri, "vividus-story", 1,
+                String.join("\n", DOCUMENT))));
+
+        String fileUri = "file:///C:/project/diagnostics.story";
+        WorkspaceFullDocumentDiagnosticReport report = diagnosticsService.diagnoseInWorkspace(fileUri, null).get()
+                .getLeft();
+        assertEquals(fileUri, report.getUri());
+        assertEquals(4, report.getItems().size());
+    }
+
+    @Test
+    void shouldNotDiagnoseClosedDocuments()
+    {
+        open();
+
+        diagnosticsService.onClose(new DidCloseTextDocumentParams(new TextDocumentIdentifier(DOCUMENT_ID)));
+
+        assertEquals(Optional.empty(), diagnosticsService.diagnoseInWorkspace(DOCUMENT_ID, null));
+        assertEquals(List.of(), diagnose());
+    }
+
+    private void open()
+    {
+        open(DOCUMENT);
+    }
+
+    private void open(List<String> document)
+    {
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(document);
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(1);
+        diagnosticsService.onOpen(new DidOpenTextDocumentParams(new TextDocumentItem(DOCUMENT_ID, "vividus-story", 1,
+                String.join("\n", document))));
+    }
+
+    private List<String> diagnose()
+    {
+        return describe(diagnosticsService.diagnose(DOCUMENT_ID, null).getLeft().getItems());
+    }
+
+    private static List<String> describe(List<Diagnostic> diagnostics)
+    {
+        return diagnostics.stream()
+                .map(d -> d.getRange().getStart().getLine() + ":" + d.getRange().getStart().getCharacter() + "-"
+                        + d.getRange().getEnd().getCharacter() + ":" + d.getSeverity() + ":" + d.getMessage())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class JavadocMarkdownRendererTests
+{
+    @Test
+    void shouldRenderJavadocToMarkdown()
+    {
+        String javadoc = """
+                /**
+                     * Clicks on the <b>element</b> found by {@code locator} &amp; waits for
+                     * the page load, see {@link org.vividus.steps.PageSteps#open(String) page opening step}.
+                     * <p>
+                     * Example:
+                     * <pre>
+                     * When I click on element located `id(submit)`
+                     *   with List&lt;String&gt;
+                     * </pre>
+                     * <ul>
+                     * <li>first</li>
+                     * <li>second {@code Map<String, String>}</li>
+                     * </ul>
+                     *
+                     * @param locator The locator of
+                     * the element
+                     * @param times
+                     * @throws IllegalStateException if the element is not found
+                     * @return Whether the element is clicked
+                     * @deprecated Use {@link #click(String)}
+                     */""";
+        String markdown = """
+                Clicks on the **element** found by `locator` & waits for
+                the page load, see page opening step.
+
+                Example:
+                ```
+                When I click on element located `id(submit)`
+                  with List<String>
+                ```
+
+                - first
+                - second `Map<String, String>`
+
+                **Parameters:**
+                - `locator` - The locator of the element
+                - `times`
+
+                **Returns:** Whether the element is clicked
+
+                **Deprecated:** Use `#click(String)`""";
+        assertEquals(markdown, JavadocMarkdownRenderer.render(javadoc));
+    }
+
+    @Test
+    void shouldRenderSingleLineJavadoc()
+    {
+        assertEquals("Opens the page", JavadocMarkdownRenderer.render("/** Opens the page */"));
+    }
+}
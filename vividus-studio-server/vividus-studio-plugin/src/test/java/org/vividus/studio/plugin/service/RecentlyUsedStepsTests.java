@@ -0,0 +1,71 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+class RecentlyUsedStepsTests
+{
+    private static final String MODULE = "module";
+    private static final String FIRST = "Given first step";
+    private static final String SECOND = "Given second step";
+
+    @Test
+    void shouldRankRecentlyUsedStepsFirst()
+    {
+        var recentlyUsedSteps = new RecentlyUsedSteps();
+        recentlyUsedSteps.record(MODULE, FIRST);
+        recentlyUsedSteps.record(MODULE, SECOND);
+        recentlyUsedSteps.record(MODULE, FIRST);
+
+        ToIntFunction<StepDefinition> recency = recentlyUsedSteps.getRecency();
+
+        assertEquals(0, recency.applyAsInt(createStepDefinition(MODULE, FIRST)));
+        assertEquals(1, recency.applyAsInt(createStepDefinition(MODULE, SECOND)));
+        assertEquals(Integer.MAX_VALUE, recency.applyAsInt(createStepDefinition("other-module", FIRST)));
+    }
+
+    @Test
+    void shouldForgetLeastRecentlyUsedStepsOverCapacity()
+    {
+        var recentlyUsedSteps = new RecentlyUsedSteps();
+        recentlyUsedSteps.record(MODULE, FIRST);
+        for (int index = 0; index < 64; index++)
+        {
+            recentlyUsedSteps.record(MODULE, "Given step " + index);
+        }
+
+        ToIntFunction<StepDefinition> recency = recentlyUsedSteps.getRecency();
+
+        assertEquals(Integer.MAX_VALUE, recency.applyAsInt(createStepDefinition(MODULE, FIRST)));
+        assertEquals(63, recency.applyAsInt(createStepDefinition(MODULE, "Given step 0")));
+    }
+
+    private static StepDefinition createStepDefinition(String module, String step)
+    {
+        return new StepDefinition(module, step, "", List.of(), List.of(step));
+    }
+}
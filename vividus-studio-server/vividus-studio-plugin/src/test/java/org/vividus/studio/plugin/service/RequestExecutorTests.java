@@ -0,0 +1,225 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.metrics.OperationStatistics;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
+
+@ExtendWith(MockitoExtension.class)
+class RequestExecutorTests
+{
+    private static final String RESULT = "result";
+    private static final String COMPLETION = "completion";
+    private static final String CODE_ACTION = "codeAction";
+    private static final String REFRESH = "vividus/refreshProject";
+
+    @Mock private VividusStudioSettings settings;
+
+    private RequestMetrics requestMetrics;
+    private RequestExecutor requestExecutor;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        when(settings.getExecutorThreads(any())).thenReturn(1);
+        when(settings.getExecutorQueueCapacity(any())).thenReturn(1);
+        requestMetrics = new RequestMetrics(settings);
+        requestExecutor = new RequestExecutor(settings, requestMetrics);
+    }
+
+    @Test
+    void shouldExecuteRequest() throws InterruptedException, ExecutionException
+    {
+        assertEquals(RESULT,
+                requestExecutor.submit(RequestType.COMPLETION, COMPLETION, cancelChecker -> RESULT).get());
+    }
+
+    @Test
+    void shouldCompleteOutdatedRequestWithContentModifiedError()
+    {
+        CompletableFuture<String> future = requestExecutor.submit(RequestType.SEMANTIC_TOKENS, "semanticTokens",
+                () -> false, cancelChecker -> RESULT);
+
+        assertResponseError(future, ResponseErrorCode.ContentModified);
+    }
+
+    @Test
+    void shouldStopCancelledRequest() throws InterruptedException
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CompletableFuture<Boolean> checked = new CompletableFuture<>();
+        CompletableFuture<String> future = requestExecutor.submit(RequestType.COMPLETION, COMPLETION, cancelChecker ->
+        {
+            started.countDown();
+            await(cancelled);
+            checked.complete(cancelChecker.isCanceled());
+            return RESULT;
+        });
+
+        started.await(1, TimeUnit.SECONDS);
+        future.cancel(true);
+        cancelled.countDown();
+
+        assertEquals(Boolean.TRUE, checked.join());
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    void shouldDropOldestQueuedRequestOnOverflow() throws InterruptedException, ExecutionException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = requestExecutor.submit(RequestType.CODE_ACTION, CODE_ACTION,
+                cancelChecker ->
+        {
+            await(release);
+            return RESULT;
+        });
+        CompletableFuture<String> oldest = requestExecutor.submit(RequestType.CODE_ACTION, CODE_ACTION,
+                cancelChecker -> "oldest");
+        CompletableFuture<String> newest = requestExecutor.submit(RequestType.CODE_ACTION, CODE_ACTION,
+                cancelChecker -> "newest");
+
+        assertResponseError(oldest, ResponseErrorCode.ServerCancelled);
+
+        release.countDown();
+        assertEquals(RESULT, running.get());
+        assertEquals("newest", newest.get());
+
+        OperationStatistics statistics = requestMetrics.getStatistics().get(0);
+        assertEquals(CODE_ACTION, statistics.getOperation());
+        assertEquals(2, statistics.getCount());
+        assertEquals(1, statistics.getDropped());
+    }
+
+    @Test
+    void shouldNotDropQueuedRequestsOfNotDroppableType() throws InterruptedException, ExecutionException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = requestExecutor.submit(RequestType.PROJECT, REFRESH, cancelChecker ->
+        {
+            await(release);
+            return RESULT;
+        });
+        CompletableFuture<String> first = requestExecutor.submit(RequestType.PROJECT, REFRESH,
+                cancelChecker -> "first");
+        CompletableFuture<String> second = requestExecutor.submit(RequestType.PROJECT, REFRESH,
+                cancelChecker -> "second");
+
+        release.countDown();
+        assertEquals(RESULT, running.get());
+        assertEquals("first", first.get());
+        assertEquals("second", second.get());
+        assertEquals(0, requestMetrics.getStatistics().get(0).getDropped());
+    }
+
+    @Test
+    void shouldRecordMetricsOfFailedRequest()
+    {
+        CompletableFuture<String> future = requestExecutor.submit(RequestType.COMPLETION, COMPLETION,
+                cancelChecker ->
+        {
+            throw new IllegalStateException();
+        });
+
+        assertThrows(CompletionException.class, future::join);
+        OperationStatistics statistics = requestMetrics.getStatistics().get(0);
+        assertEquals(COMPLETION, statistics.getOperation());
+        assertEquals(1, statistics.getCount());
+        assertEquals(1, statistics.getFailures());
+    }
+
+    @Test
+    void shouldCompleteRequestFailedWithErrorExceptionally()
+    {
+        CompletableFuture<String> future = requestExecutor.submit(RequestType.COMPLETION, COMPLETION,
+                cancelChecker ->
+        {
+            throw new AssertionError();
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), instanceOf(AssertionError.class));
+        assertEquals(1, requestMetrics.getStatistics().get(0).getFailures());
+    }
+
+    @Test
+    void shouldRejectNotPositiveNumberOfThreads()
+    {
+        when(settings.getExecutorThreads(any())).thenReturn(0);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new RequestExecutor(settings, requestMetrics));
+        assertEquals("The number of 'completion' executor threads must be positive, but got 0",
+                exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectNotPositiveQueueCapacity()
+    {
+        when(settings.getExecutorQueueCapacity(any())).thenReturn(-1);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new RequestExecutor(settings, requestMetrics));
+        assertEquals("The queue capacity of 'completion' executor must be positive, but got -1",
+                exception.getMessage());
+    }
+
+    private static void assertResponseError(CompletableFuture<?> future, ResponseErrorCode code)
+    {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertThat(exception.getCause(), instanceOf(ResponseErrorException.class));
+        assertEquals(code.getValue(), ((ResponseErrorException) exception.getCause()).getResponseError().getCode());
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(1, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
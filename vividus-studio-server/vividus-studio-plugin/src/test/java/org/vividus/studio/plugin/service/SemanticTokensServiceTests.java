@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2022 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,16 +19,38 @@
 
 package org.vividus.studio.plugin.service;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.model.Parameter;
 import org.vividus.studio.plugin.model.StepDefinition;
@@ -40,8 +62,11 @@ class SemanticTokensServiceTests
 
     private static final String DOCS = "documentation";
     private static final String MODULE = "module";
+    private static final int DEBOUNCE_MILLIS = 60_000;
 
     @Mock TextDocumentProvider textDocumentProvider;
+    @Mock VividusStudioSettings settings;
+    @Mock CancelChecker cancelChecker;
     private StepDefinitionResolver resolver;
     private SemanticTokensService tokenService;
 
@@ -66,7 +91,7 @@ class SemanticTokensServiceTests
     @Test
     void shouldReturnSemanticTokensForInlinedArguments()
     {
-        tokenService = new SemanticTokensService(resolver);
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
 
         when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
             "Scenario: Conversion",
@@ -126,7 +151,7 @@ class SemanticTokensServiceTests
     @Test
     void shouldReturnSemanticTokensForMultilineArguments()
     {
-        tokenService = new SemanticTokensService(resolver);
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
 
         when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
             "Scenario: Conversion",
@@ -156,4 +181,147 @@ class SemanticTokensServiceTests
 
         assertEquals(expectedTokens, tokenService.getSemanticTokens(DOCUMENT_ID));
     }
+
+    @Test
+    void shouldReturnSemanticTokensDelta()
+    {
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
+
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Conversion",
+            "When I convert PI into custom type",
+            "Then PI is equal to 3.14 after conversion"
+        ), List.of(
+            "Scenario: Conversion",
+            "When I convert PI into custom type",
+            "Then PI is equal to 3.1415 after conversion"
+        ));
+
+        SemanticTokens full = tokenService.getFullSemanticTokens(DOCUMENT_ID, cancelChecker);
+        assertEquals(List.of(
+            1, 15, 2, 0, 0,
+            1, 5, 2, 0, 0,
+            0, 15, 4, 0, 0
+        ), full.getData());
+
+        Either<SemanticTokens, SemanticTokensDelta> delta = tokenService.getSemanticTokensDelta(DOCUMENT_ID,
+                full.getResultId(), cancelChecker);
+        SemanticTokensDelta tokensDelta = delta.getRight();
+        assertNotEquals(full.getResultId(), tokensDelta.getResultId());
+        assertThat(tokensDelta.getEdits(), hasSize(1));
+        SemanticTokensEdit edit = tokensDelta.getEdits().get(0);
+        assertEquals(12, edit.getStart());
+        assertEquals(1, edit.getDeleteCount());
+        assertEquals(List.of(6), edit.getData());
+    }
+
+    @Test
+    void shouldReturnFullSemanticTokensIfPreviousResultIsUnknown()
+    {
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
+
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Conversion",
+            "When I convert PI into custom type"
+        ));
+
+        Either<SemanticTokens, SemanticTokensDelta> delta = tokenService.getSemanticTokensDelta(DOCUMENT_ID, "1",
+                cancelChecker);
+        assertEquals(List.of(1, 15, 2, 0, 0), delta.getLeft().getData());
+    }
+
+    @Test
+    void shouldStopCalculationOfCancelledRequest()
+    {
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
+
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Conversion",
+            "When I convert PI into custom type"
+        ));
+        doThrow(new CancellationException()).when(cancelChecker).checkCanceled();
+
+        assertThrows(CancellationException.class, () -> tokenService.getFullSemanticTokens(DOCUMENT_ID, cancelChecker));
+    }
+
+    @Test
+    void shouldStopWaitingForCalculationInProgressOnceRequestIsCancelled() throws InterruptedException
+    {
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
+
+        CountDownLatch calculationStarted = new CountDownLatch(1);
+        CountDownLatch calculationReleased = new CountDownLatch(1);
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenAnswer(invocation ->
+        {
+            calculationStarted.countDown();
+            calculationReleased.await();
+            return List.of("Scenario: Conversion");
+        });
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(1);
+
+        tokenService.onChange(new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(DOCUMENT_ID, 1),
+                List.of(new TextDocumentContentChangeEvent("Scenario: Conversion"))));
+        assertTrue(calculationStarted.await(1, TimeUnit.MINUTES));
+        doThrow(new CancellationException()).when(cancelChecker).checkCanceled();
+
+        try
+        {
+            assertThrows(CancellationException.class,
+                    () -> tokenService.getFullSemanticTokens(DOCUMENT_ID, cancelChecker));
+        }
+        finally
+        {
+            calculationReleased.countDown();
+        }
+    }
+
+    @Test
+    void shouldReturnSemanticTokensForRange()
+    {
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
+
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Conversion",
+            "When I convert PI into custom type",
+            "Then P",
+            "I is equal to 3.14 after conversion",
+            "When I convert XII into custom type",
+            "When I convert IV into custom type"
+        ));
+
+        var expectedTokens = List.of(
+            2, 5, 1, 0, 0,
+            1, 0, 1, 0, 0,
+            0, 14, 4, 0, 0,
+            1, 15, 3, 0, 0
+        );
+
+        assertEquals(expectedTokens, tokenService.getSemanticTokens(DOCUMENT_ID,
+                new Range(new Position(3, 0), new Position(4, 0)), cancelChecker));
+    }
+
+    @Test
+    void shouldCalculateSemanticTokensOncePerDocumentChange()
+    {
+        when(settings.getSemanticTokensDebounceMillis()).thenReturn(DEBOUNCE_MILLIS);
+        tokenService = new SemanticTokensService(resolver, textDocumentProvider, settings);
+
+        when(textDocumentProvider.getTextDocument(DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Conversion",
+            "When I convert PI into custom type"
+        ));
+        when(textDocumentProvider.getVersion(DOCUMENT_ID)).thenReturn(1);
+
+        tokenService.onChange(new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(DOCUMENT_ID, 0),
+                List.of(new TextDocumentContentChangeEvent("Scenario: Initial"))));
+        tokenService.onChange(new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(DOCUMENT_ID, 1),
+                List.of(new TextDocumentContentChangeEvent("Scenario: Conversion"))));
+
+        SemanticTokens full = tokenService.getFullSemanticTokens(DOCUMENT_ID, cancelChecker);
+        assertEquals(List.of(1, 15, 2, 0, 0), full.getData());
+        Either<SemanticTokens, SemanticTokensDelta> delta = tokenService.getSemanticTokensDelta(DOCUMENT_ID,
+                full.getResultId(), cancelChecker);
+        assertThat(delta.getRight().getEdits(), hasSize(0));
+        verify(textDocumentProvider, times(1)).getTextDocument(DOCUMENT_ID);
+    }
 }
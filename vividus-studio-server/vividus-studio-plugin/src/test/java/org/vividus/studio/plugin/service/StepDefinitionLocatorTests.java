@@ -0,0 +1,232 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.Step;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepDefinitionLocation;
+import org.vividus.studio.plugin.model.StepType;
+
+@ExtendWith(MockitoExtension.class)
+class StepDefinitionLocatorTests
+{
+    private static final String IDENTIFIER = "file:///opened.story";
+    private static final String STEP = "When I click on $element";
+    private static final String CLASS_NAME = "org.vividus.steps.ClickSteps";
+    private static final String SOURCE_ENTRY = "org/vividus/steps/ClickSteps.java";
+    private static final String SIGNATURE = "(Ljava.lang.String;)V";
+
+    @Mock private StepDefinitionResolver stepDefinitionResolver;
+    @Mock private IWorkspace workspace;
+    @Mock private IWorkspaceRoot workspaceRoot;
+    @Mock private IPath workspaceLocation;
+    @InjectMocks private StepDefinitionLocator stepDefinitionLocator;
+
+    @TempDir private Path workspaceFolder;
+    @TempDir private Path librariesFolder;
+
+    @Test
+    void shouldFindStepMethodInSourceAttachment() throws IOException
+    {
+        mockWorkspace();
+        String source = """
+                package org.vividus.steps;
+
+                public class ClickSteps
+                {
+                    public void click(String element)
+                    {
+                    }
+
+                    /**
+                     * Clicks on the element
+                     */
+                    @When("I click on $element")
+                    public void click(String element, int times)
+                    {
+                    }
+                }
+                """;
+        Path sources = createJar("steps-sources.jar", SOURCE_ENTRY, source);
+        StepDefinition stepDefinition = createStepDefinition(STEP, StepDefinitionLocation.ofMethod("steps.jar",
+                sources.toString(), CLASS_NAME + "$Nested", "click", "(Ljava.lang.String;I)V"));
+
+        Location location = stepDefinitionLocator.findDefinition(stepDefinition).get();
+
+        Path extracted = Path.of(URI.create(location.getUri()));
+        assertTrue(extracted.startsWith(workspaceFolder));
+        assertTrue(extracted.endsWith(SOURCE_ENTRY));
+        assertEquals(source, Files.readString(extracted));
+        assertEquals(range(12), location.getRange());
+    }
+
+    @Test
+    void shouldFindOverloadedStepMethodByEscapedAnnotationValueAndParameterCount() throws IOException
+    {
+        mockWorkspace();
+        String source = """
+                package org.vividus.steps;
+
+                public class ClickSteps
+                {
+                    private void click(String element, long times)
+                    {
+                    }
+
+                    @When("I click on \\"$element\\"\\t$times times")
+                    public void click(String element, int times)
+                    {
+                        click(element);
+                    }
+
+                    private void click(String element)
+                    {
+                    }
+                }
+                """;
+        Path sources = createJar("steps-sources.jar", SOURCE_ENTRY, source);
+        StepDefinition stepDefinition = createStepDefinition("When I click on \"$element\"\t$times times",
+                StepDefinitionLocation.ofMethod("steps.jar", sources.toString(), CLASS_NAME, "click",
+                        "(Ljava.lang.String;I)V"));
+
+        assertEquals(range(9), stepDefinitionLocator.findDefinition(stepDefinition).get().getRange());
+    }
+
+    @Test
+    void shouldFallbackToFirstStepMethodDeclarationIfAnnotationIsNotFound() throws IOException
+    {
+        mockWorkspace();
+        Path sources = createJar("steps-sources.jar", SOURCE_ENTRY, "class ClickSteps\n{\n    void click()\n}\n");
+        StepDefinition stepDefinition = createStepDefinition(STEP, StepDefinitionLocation.ofMethod("steps.jar",
+                sources.toString(), CLASS_NAME, "click", SIGNATURE));
+
+        assertEquals(range(2), stepDefinitionLocator.findDefinition(stepDefinition).get().getRange());
+    }
+
+    @Test
+    void shouldNotFindStepMethodWithoutSourceAttachment()
+    {
+        StepDefinition stepDefinition = createStepDefinition(STEP, StepDefinitionLocation.ofMethod("steps.jar", null,
+                CLASS_NAME, "click", SIGNATURE));
+
+        assertEquals(Optional.empty(), stepDefinitionLocator.findDefinition(stepDefinition));
+    }
+
+    @Test
+    void shouldFindCompositeStepInArchiveEntry() throws IOException
+    {
+        mockWorkspace();
+        String entry = "steps/defaults/composite.steps";
+        Path archive = createJar("plugin.jar", entry, "Composite: Given composite step\nGiven step\n");
+        StepDefinition stepDefinition = createStepDefinition("Given composite step",
+                StepDefinitionLocation.ofArchiveEntry(archive.toString(), entry, 0));
+
+        Location location = stepDefinitionLocator.findDefinition(stepDefinition).get();
+
+        assertTrue(location.getUri().endsWith(entry));
+        assertEquals(range(0), location.getRange());
+    }
+
+    @Test
+    void shouldFindResolvedCompositeStepInFile()
+    {
+        Path file = librariesFolder.resolve("local.steps");
+        StepDefinition stepDefinition = createStepDefinition("Given local step",
+                StepDefinitionLocation.ofFile(file.toString(), 4));
+        when(stepDefinitionResolver.resolve(IDENTIFIER, 3, 3)).thenReturn(Stream.of(resolve(stepDefinition)));
+
+        assertEquals(List.of(new Location(file.toUri().toString(), range(4))),
+                stepDefinitionLocator.findDefinition(IDENTIFIER, new Position(3, 7)));
+    }
+
+    @Test
+    void shouldNotFindDefinitionOutsideOfSteps()
+    {
+        when(stepDefinitionResolver.resolve(IDENTIFIER, 0, 0)).thenReturn(Stream.empty());
+
+        assertEquals(List.of(), stepDefinitionLocator.findDefinition(IDENTIFIER, new Position(0, 0)));
+    }
+
+    private void mockWorkspace()
+    {
+        when(workspace.getRoot()).thenReturn(workspaceRoot);
+        when(workspaceRoot.getLocation()).thenReturn(workspaceLocation);
+        when(workspaceLocation.toFile()).thenReturn(workspaceFolder.toFile());
+    }
+
+    private Path createJar(String name, String entry, String content) throws IOException
+    {
+        Path jar = librariesFolder.resolve(name);
+        try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(output))
+        {
+            zip.putNextEntry(new ZipEntry(entry));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return jar;
+    }
+
+    private static ResolvedStepDefinition resolve(StepDefinition stepDefinition)
+    {
+        return new ResolvedStepDefinition(new Step(3, StepType.GIVEN, stepDefinition.getStepAsString()),
+                stepDefinition.getMatchTokens().size() - 1, "", List.of(), stepDefinition, true);
+    }
+
+    private static StepDefinition createStepDefinition(String step, StepDefinitionLocation location)
+    {
+        StepDefinition stepDefinition = new StepDefinition("module", step, "", List.of(), List.of(step));
+        stepDefinition.setLocation(location);
+        return stepDefinition;
+    }
+
+    private static Range range(int line)
+    {
+        return new Range(new Position(line, 0), new Position(line, 0));
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2022 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,17 +24,28 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +58,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
 import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.finder.IStepDefinitionFinder;
+import org.vividus.studio.plugin.finder.StepDefinitionsListener;
 import org.vividus.studio.plugin.model.Parameter;
 import org.vividus.studio.plugin.model.ResolvedStepDefinition;
 import org.vividus.studio.plugin.model.StepDefinition;
@@ -115,6 +127,13 @@ class StepDefinitionResolverTests
                 1, 2,
                 "",
                 List.of(5, 15, 28, 35)
+            ),
+            arguments(
+                List.of("Then 1 is equal to 1 after conversion", "And McDonald's is equal t"),
+                new Position(1, 25),
+                1, 1,
+                " is equal t",
+                List.of(4, 14)
             )
         );
     }
@@ -190,14 +209,102 @@ class StepDefinitionResolverTests
         when(vividusStudioConfiguration.getJavaProject()).thenReturn(javaProject);
         var staticStepDefTwo = new StepDefinition(MODULE, "Given static step definition 2", DOCS,
                 List.of(), List.of("Given static step definition 2"));
-        when(stepDefinitionFinder.find(javaProject)).thenReturn(List.of(staticStepDefTwo));
-        resolver.refresh();
+        when(stepDefinitionFinder.find(eq(javaProject), any())).thenReturn(List.of(staticStepDefTwo));
+        resolver.refresh(message -> { });
 
         resolvedDefinitions = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
         assertThat(resolvedDefinitions, hasSize(1));
         assertEquals("Given static step definition 2", resolvedDefinitions.get(0).getStepAsString());
     }
 
+    @Test
+    void shouldPublishStepDefinitionsFoundInEachSourceBeforeScanIsCompleted() throws IOException
+    {
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Partial steps",
+            "Given library step"
+        ));
+
+        IJavaProject javaProject = mock();
+        when(vividusStudioConfiguration.getJavaProject()).thenReturn(javaProject);
+        var libraryStepDef = new StepDefinition(MODULE, "Given library step", DOCS, List.of(),
+                List.of("Given library step"));
+        List<List<ResolvedStepDefinition>> partialResolutions = new ArrayList<>();
+        when(stepDefinitionFinder.find(eq(javaProject), any())).thenAnswer(invocation ->
+        {
+            StepDefinitionsListener listener = invocation.getArgument(1);
+            listener.onFound("library.jar", List.of(libraryStepDef), 1, 2);
+            partialResolutions.add(resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList()));
+            listener.onFound("local composite steps", List.of(), 2, 2);
+            return List.of(libraryStepDef);
+        });
+        List<String> progress = new ArrayList<>();
+        resolver.refresh(progress::add);
+
+        assertThat(partialResolutions.get(0), hasSize(1));
+        assertEquals(List.of("Found 1 steps in library.jar (1/2)", "Found 0 steps in local composite steps (2/2)"),
+                progress);
+        List<StepDefinition> stepDefinitions = resolver.getStepDefinitions().collect(Collectors.toList());
+        assertEquals(List.of(libraryStepDef), stepDefinitions);
+    }
+
+    @Test
+    void shouldReplaceStaticStepDefinitionsOfPreviousRefreshOnlyOnce() throws IOException
+    {
+        IJavaProject javaProject = mock();
+        when(vividusStudioConfiguration.getJavaProject()).thenReturn(javaProject);
+        var previousStepDef = new StepDefinition(MODULE, "Given previous step", DOCS, List.of(),
+                List.of("Given previous step"));
+        var firstStepDef = new StepDefinition(MODULE, "Given first library step", DOCS, List.of(),
+                List.of("Given first library step"));
+        var secondStepDef = new StepDefinition(MODULE, "Given second library step", DOCS, List.of(),
+                List.of("Given second library step"));
+        List<List<StepDefinition>> partialStepDefinitions = new ArrayList<>();
+        when(stepDefinitionFinder.find(eq(javaProject), any())).thenReturn(List.of(previousStepDef))
+                .thenAnswer(invocation ->
+                {
+                    StepDefinitionsListener listener = invocation.getArgument(1);
+                    listener.onFound("first.jar", List.of(firstStepDef), 1, 2);
+                    listener.onFound("second.jar", List.of(secondStepDef), 2, 2);
+                    partialStepDefinitions.add(resolver.getStepDefinitions().collect(Collectors.toList()));
+                    return List.of(firstStepDef, secondStepDef);
+                });
+        resolver.refresh(message -> { });
+        resolver.refresh(message -> { });
+
+        assertEquals(List.of(List.of(firstStepDef, secondStepDef)), partialStepDefinitions);
+    }
+
+    @Test
+    void shouldResolveNothingBeforeStepDefinitionsAreRefreshed()
+    {
+        var notRefreshedResolver = new StepDefinitionResolver(textDocumentProvider, stepDefinitionFinder,
+                vividusStudioConfiguration);
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(List.of(GIVEN_STEP));
+
+        assertThat(notRefreshedResolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList()), empty());
+        assertThat(notRefreshedResolver.getStepDefinitions().collect(Collectors.toList()), empty());
+        assertEquals(Optional.empty(), notRefreshedResolver.findStepDefinition(MODULE, GIVEN_STEP));
+    }
+
+    @Test
+    void shouldReuseIdsOfRemovedStepDefinitionsOnceProjectIsRefreshed() throws IOException
+    {
+        StepDefinition dynamicStepDefinition = resolver.getStepDefinitions().filter(StepDefinition::isDynamic)
+                .findFirst().get();
+        assertEquals(3, dynamicStepDefinition.getId());
+
+        IJavaProject javaProject = mock();
+        when(vividusStudioConfiguration.getJavaProject()).thenReturn(javaProject);
+        var libraryStepDef = new StepDefinition(MODULE, "Given library step", DOCS, List.of(),
+                List.of("Given library step"));
+        when(stepDefinitionFinder.find(eq(javaProject), any())).thenReturn(List.of(libraryStepDef));
+        resolver.refresh(message -> { });
+
+        assertEquals(0, libraryStepDef.getId());
+        assertEquals(3, dynamicStepDefinition.getId());
+    }
+
     @Test
     void shouldResolveForDocument()
     {
@@ -301,13 +408,154 @@ class StepDefinitionResolverTests
 
         IJavaProject javaProject = mock();
         when(vividusStudioConfiguration.getJavaProject()).thenReturn(javaProject);
-        when(stepDefinitionFinder.find(javaProject)).thenReturn(List.of());
-        resolver.refresh();
+        when(stepDefinitionFinder.find(eq(javaProject), any())).thenReturn(List.of());
+        resolver.refresh(message -> { });
 
         List<ResolvedStepDefinition> resolvedDefinitions = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
         assertThat(resolvedDefinitions, is(empty()));
     }
 
+    @Test
+    void shouldReuseResolutionsOfStepsNotAffectedByChanges()
+    {
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: Cache",
+            GIVEN_STEP,
+            "When I convert 1 into custom type",
+            "Then 1 is equal to 1 after conversion"
+        ), List.of(
+            "Scenario: Cache",
+            "",
+            GIVEN_STEP,
+            "When I convert 2 into custom type",
+            "Then 1 is equal to 1 after conversion"
+        ));
+
+        List<ResolvedStepDefinition> initial = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
+
+        resolver.onChange(createChangeEvent(new Range(new Position(0, 15), new Position(0, 15)), "\n"));
+        resolver.onChange(createChangeEvent(new Range(new Position(3, 15), new Position(3, 16)), "2"));
+
+        List<ResolvedStepDefinition> updated = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
+        assertThat(updated, hasSize(3));
+        assertStepDefinition(updated.get(0), 2, 0, List.of());
+        assertStepDefinition(updated.get(1), 3, 1, List.of(15, 16));
+        assertStepDefinition(updated.get(2), 4, 2, List.of(5, 6, 19, 20));
+        assertNotSame(initial.get(1).getArgIndices(), updated.get(1).getArgIndices());
+        assertSame(initial.get(2).getArgIndices(), updated.get(2).getArgIndices());
+    }
+
+    @Test
+    void shouldShiftResolutionsOfAllStepsBelowChange()
+    {
+        List<String> steps = Collections.nCopies(10, GIVEN_STEP);
+        List<String> updatedSteps = new ArrayList<>(List.of(""));
+        updatedSteps.addAll(steps);
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(steps, updatedSteps);
+
+        resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
+        resolver.onChange(createChangeEvent(new Range(new Position(0, 0), new Position(0, 0)), "\n"));
+
+        List<Integer> lines = resolver.resolve(STORY_DOCUMENT_ID).map(resolved -> resolved.getStep().getLineIndex())
+                .collect(Collectors.toList());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), lines);
+    }
+
+    @Test
+    void shouldResolveStepsNotMatchingAnyStepDefinition()
+    {
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(List.of(
+            "Scenario: unknown steps",
+            "Given unknown step",
+            GIVEN_STEP
+        ));
+
+        List<String> steps = resolver.resolveSteps(STORY_DOCUMENT_ID, 0, Integer.MAX_VALUE,
+                (step, resolved) -> step.getLineIndex() + ":" + (resolved != null)).collect(Collectors.toList());
+
+        assertEquals(List.of("1:false", "2:true"), steps);
+    }
+
+    @Test
+    void shouldMarkStepMatchingSeveralStepDefinitionsAsAmbiguous()
+    {
+        var duplicate = new StepDefinition("composite/duplicates.steps", GIVEN_STEP, DOCS, List.of(),
+                List.of(GIVEN_STEP));
+        duplicate.setDynamic(true);
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(List.of(
+            GIVEN_STEP,
+            "When I convert 1 into custom type"
+        ));
+
+        List<ResolvedStepDefinition> resolved = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
+        assertEquals(List.of(false, false), resolved.stream().map(ResolvedStepDefinition::isAmbiguous).toList());
+
+        resolver.refresh(List.of(duplicate));
+
+        resolved = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
+        assertEquals(List.of(true, false), resolved.stream().map(ResolvedStepDefinition::isAmbiguous).toList());
+    }
+
+    @Test
+    void shouldNotFullyMatchTruncatedSteps()
+    {
+        var longer = new StepDefinition("composite/longer.steps", GIVEN_STEP + " twice", DOCS, List.of(),
+                List.of(GIVEN_STEP + " twice"));
+        longer.setDynamic(true);
+        resolver.refresh(List.of(longer));
+        when(textDocumentProvider.getTextDocument(STORY_DOCUMENT_ID)).thenReturn(List.of(
+            "Given random",
+            "When I convert 1 into custom ty",
+            "When I convert 1 into custom type"
+        ));
+
+        List<ResolvedStepDefinition> resolved = resolver.resolve(STORY_DOCUMENT_ID).collect(Collectors.toList());
+        assertEquals(List.of(false, false, true),
+                resolved.stream().map(ResolvedStepDefinition::isFullyMatched).toList());
+        assertEquals(List.of(false, false, false),
+                resolved.stream().map(ResolvedStepDefinition::isAmbiguous).toList());
+    }
+
+    @Test
+    void shouldResolveDocumentLinesWithoutOpeningDocument()
+    {
+        List<ResolvedStepDefinition> resolved = resolver.resolve("file:///stories/not-opened.story", List.of(
+            "Scenario: convert values",
+            GIVEN_STEP,
+            "When I convert 1 into custom type",
+            "!-- Given random value"
+        )).collect(Collectors.toList());
+
+        assertThat(resolved, hasSize(2));
+        assertEquals(GIVEN_STEP, resolved.get(0).getStepAsString());
+        assertEquals(1, resolved.get(0).getStep().getLineIndex());
+        assertEquals(2, resolved.get(1).getStep().getLineIndex());
+    }
+
+    @Test
+    void shouldKeepStepDefinitionIdsOnRefresh()
+    {
+        StepDefinition given = resolver.findStepDefinition(MODULE, GIVEN_STEP).get();
+        List<Integer> ids = resolver.getStepDefinitions().map(StepDefinition::getId).sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of(0, 1, 2, 3), ids);
+
+        var newStepDefinition = new StepDefinition(MODULE, "Given new step", DOCS, List.of(),
+                List.of("Given new step"));
+        resolver.refresh(List.of(newStepDefinition, new StepDefinition(MODULE, GIVEN_STEP, DOCS, List.of(),
+                List.of(GIVEN_STEP))));
+
+        assertEquals(4, newStepDefinition.getId());
+        assertThat(resolver.getStepDefinitions().filter(sd -> GIVEN_STEP.equals(sd.getStepAsString()))
+                .map(StepDefinition::getId).distinct().collect(Collectors.toList()), is(List.of(given.getId())));
+    }
+
+    private static DidChangeTextDocumentParams createChangeEvent(Range range, String text)
+    {
+        return new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(STORY_DOCUMENT_ID, 1),
+                List.of(new TextDocumentContentChangeEvent(range, text)));
+    }
+
     private static void assertStepDefinition(ResolvedStepDefinition resolved, int lineIndex, int tokenIndex,
             List<Integer> argIndices)
     {
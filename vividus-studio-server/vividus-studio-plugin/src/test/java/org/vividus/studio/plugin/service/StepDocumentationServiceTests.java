@@ -0,0 +1,78 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+class StepDocumentationServiceTests
+{
+    private static final String MODULE = "module";
+    private static final String STEP = "Given random value";
+    private static final String DOCS = "documentation";
+
+    private final StepDocumentationService stepDocumentationService = new StepDocumentationService(
+            new VividusStudioSettings());
+
+    @Test
+    void shouldLoadDocumentationOnce()
+    {
+        AtomicInteger loads = new AtomicInteger();
+        StepDefinition definition = new StepDefinition(MODULE, STEP, () ->
+        {
+            loads.incrementAndGet();
+            return DOCS;
+        }, List.of(), List.of(STEP));
+
+        assertEquals(DOCS, stepDocumentationService.getDocumentation(definition));
+        assertEquals(DOCS, stepDocumentationService.getDocumentation(definition));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldShareMarkdownOfSameJavadoc()
+    {
+        String javadoc = "/**\n * Generates <b>random</b> value\n */";
+        StepDefinition definition = new StepDefinition(MODULE, STEP, javadoc, List.of(), List.of(STEP));
+        StepDefinition alias = new StepDefinition(MODULE, "Given random alias", javadoc, List.of(), List.of(STEP));
+
+        String markdown = stepDocumentationService.getMarkdown(definition);
+
+        assertEquals("Generates **random** value", markdown);
+        assertSame(markdown, stepDocumentationService.getMarkdown(alias));
+    }
+
+    @Test
+    void shouldRenderBodyOfCompositeStepAsCodeBlock()
+    {
+        StepDefinition definition = new StepDefinition(MODULE, STEP, "Given value\nWhen I wait\n", List.of(),
+                List.of(STEP));
+        definition.setComposite(true);
+
+        assertEquals("```\nGiven value\nWhen I wait\n```", stepDocumentationService.getMarkdown(definition));
+    }
+}
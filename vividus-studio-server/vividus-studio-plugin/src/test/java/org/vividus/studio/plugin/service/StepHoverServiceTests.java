@@ -0,0 +1,122 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.MarkupKind;
+import org.eclipse.lsp4j.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.model.Parameter;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.Step;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepType;
+
+@ExtendWith(MockitoExtension.class)
+class StepHoverServiceTests
+{
+    private static final String IDENTIFIER = "file:///opened.story";
+    private static final String STEP = "When I convert $value into $type";
+    private static final String JAVADOC = "/**\n * Converts the value\n */";
+
+    @Mock private StepDefinitionResolver stepDefinitionResolver;
+
+    private StepHoverService stepHoverService;
+
+    @BeforeEach
+    void init()
+    {
+        stepHoverService = new StepHoverService(stepDefinitionResolver,
+                new StepDocumentationService(new VividusStudioSettings()));
+    }
+
+    @Test
+    void shouldCreateHoverWithDocumentationAndParameterValues()
+    {
+        StepDefinition stepDefinition = new StepDefinition("module", STEP, JAVADOC,
+                List.of(new Parameter(1, "$value", 15, List.of()),
+                        new Parameter(2, "$type", 27, List.of("INT", "STRING"))),
+                List.of("When I convert ", " into "));
+        when(stepDefinitionResolver.resolve(IDENTIFIER, 2, 2)).thenReturn(Stream.of(resolve(stepDefinition, true)));
+
+        Hover hover = stepHoverService.hover(IDENTIFIER, new Position(2, 4)).get();
+
+        MarkupContent contents = new MarkupContent(MarkupKind.MARKDOWN,
+                "Converts the value\n\n**Parameter values:**\n- `$type`: `INT`, `STRING`");
+        assertEquals(contents, hover.getContents().getRight());
+    }
+
+    @Test
+    void shouldLoadDocumentationOnceAcrossStepResolutions()
+    {
+        AtomicInteger loads = new AtomicInteger();
+        StepDefinition stepDefinition = new StepDefinition("module", STEP, () ->
+        {
+            loads.incrementAndGet();
+            return JAVADOC;
+        }, List.of(), List.of("When I convert ", " into "));
+        when(stepDefinitionResolver.resolve(IDENTIFIER, 0, 0)).thenReturn(Stream.of(resolve(stepDefinition, true)),
+                Stream.of(resolve(stepDefinition, true)));
+
+        Hover first = stepHoverService.hover(IDENTIFIER, new Position(0, 0)).get();
+        Hover second = stepHoverService.hover(IDENTIFIER, new Position(0, 0)).get();
+
+        assertEquals(first.getContents().getRight(), second.getContents().getRight());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNotCreateHoverForPartiallyMatchedStep()
+    {
+        StepDefinition stepDefinition = new StepDefinition("module", STEP, JAVADOC, List.of(),
+                List.of("When I convert ", " into "));
+        when(stepDefinitionResolver.resolve(IDENTIFIER, 0, 0)).thenReturn(Stream.of(resolve(stepDefinition, false)));
+
+        assertTrue(stepHoverService.hover(IDENTIFIER, new Position(0, 0)).isEmpty());
+    }
+
+    @Test
+    void shouldNotCreateHoverOutsideOfSteps()
+    {
+        when(stepDefinitionResolver.resolve(IDENTIFIER, 1, 1)).thenReturn(Stream.empty());
+
+        assertTrue(stepHoverService.hover(IDENTIFIER, new Position(1, 0)).isEmpty());
+    }
+
+    private static ResolvedStepDefinition resolve(StepDefinition stepDefinition, boolean fullyMatched)
+    {
+        return new ResolvedStepDefinition(new Step(0, StepType.WHEN, "When I convert 1 into INT"), 1, "",
+                List.of(), stepDefinition, fullyMatched);
+    }
+}
@@ -0,0 +1,152 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.model.IndexedSteps;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.Step;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepType;
+
+@ExtendWith(MockitoExtension.class)
+class StepReferenceIndexTests
+{
+    private static final String FIRST_STORY = "file:///first.story";
+    private static final String SECOND_STORY = "file:///second.story";
+
+    private final StepDefinition first = createStepDefinition("Given first step", 0);
+    private final StepDefinition second = createStepDefinition("Given second step", 1);
+
+    @Mock private StepDefinitionResolver stepDefinitionResolver;
+    @Mock private StepDefinitionLocator stepDefinitionLocator;
+    @Mock private CancelChecker cancelChecker;
+    @InjectMocks private StepReferenceIndex stepReferenceIndex;
+
+    @Test
+    void shouldFindReferencesOfStepDefinition()
+    {
+        IndexedSteps firstStory = index(FIRST_STORY, first, second, first);
+        IndexedSteps secondStory = index(SECOND_STORY, first);
+
+        stepReferenceIndex.onIndexChanged(List.of(), List.of(secondStory, firstStory));
+        assertEquals(List.of(location(FIRST_STORY, 0), location(FIRST_STORY, 2), location(SECOND_STORY, 0)),
+                stepReferenceIndex.findReferences(first, cancelChecker));
+        assertEquals(List.of(location(FIRST_STORY, 1)), stepReferenceIndex.findReferences(second, cancelChecker));
+
+        stepReferenceIndex.onIndexChanged(List.of(firstStory), List.of(index(FIRST_STORY, second)));
+        assertEquals(List.of(location(SECOND_STORY, 0)), stepReferenceIndex.findReferences(first, cancelChecker));
+        assertEquals(List.of(location(FIRST_STORY, 0)), stepReferenceIndex.findReferences(second, cancelChecker));
+
+        stepReferenceIndex.onIndexChanged(List.of(secondStory), List.of());
+        assertEquals(List.of(), stepReferenceIndex.findReferences(first, cancelChecker));
+    }
+
+    @Test
+    void shouldFindReferencesOfStepAtPosition()
+    {
+        String identifier = "file:///opened.story";
+        stepReferenceIndex.onIndexChanged(List.of(), List.of(index(FIRST_STORY, second)));
+        when(stepDefinitionResolver.resolve(identifier, 3, 3)).thenReturn(Stream.of(resolve(second, 2)));
+
+        assertEquals(List.of(location(FIRST_STORY, 0)),
+                stepReferenceIndex.findReferences(identifier, new Position(3, 5), false, cancelChecker));
+    }
+
+    @Test
+    void shouldFindReferencesOfStepAtPositionIncludingDeclaration()
+    {
+        String identifier = "file:///opened.story";
+        Location declaration = location("file:///steps.steps", 7);
+        stepReferenceIndex.onIndexChanged(List.of(), List.of(index(FIRST_STORY, second)));
+        ResolvedStepDefinition resolved = resolve(second, 2);
+        when(stepDefinitionResolver.resolve(identifier, 2, 2)).thenReturn(Stream.of(resolved));
+        when(stepDefinitionLocator.findDefinition(resolved)).thenReturn(Optional.of(declaration));
+
+        assertEquals(List.of(declaration, location(FIRST_STORY, 0)),
+                stepReferenceIndex.findReferences(identifier, new Position(2, 0), true, cancelChecker));
+    }
+
+    @Test
+    void shouldNotFindReferencesOfPartiallyMatchedStep()
+    {
+        String identifier = "file:///opened.story";
+        stepReferenceIndex.onIndexChanged(List.of(), List.of(index(FIRST_STORY, second)));
+        ResolvedStepDefinition partial = new ResolvedStepDefinition(new Step(1, StepType.GIVEN, "Given second"), 0,
+                second.getStepAsString(), List.of(), second, false);
+        when(stepDefinitionResolver.resolve(identifier, 1, 1)).thenReturn(Stream.of(partial));
+
+        assertEquals(List.of(), stepReferenceIndex.findReferences(identifier, new Position(1, 0), true, cancelChecker));
+    }
+
+    @Test
+    void shouldNotFindReferencesOutsideOfSteps()
+    {
+        String identifier = "file:///opened.story";
+        when(stepDefinitionResolver.resolve(identifier, 0, 0)).thenReturn(Stream.empty());
+
+        assertEquals(List.of(),
+                stepReferenceIndex.findReferences(identifier, new Position(0, 0), false, cancelChecker));
+    }
+
+    private static IndexedSteps index(String documentUri, StepDefinition... stepDefinitions)
+    {
+        List<ResolvedStepDefinition> resolved = new ArrayList<>();
+        for (int line = 0; line < stepDefinitions.length; line++)
+        {
+            resolved.add(resolve(stepDefinitions[line], line));
+        }
+        return IndexedSteps.of(documentUri, resolved);
+    }
+
+    private static ResolvedStepDefinition resolve(StepDefinition stepDefinition, int line)
+    {
+        return new ResolvedStepDefinition(new Step(line, StepType.GIVEN, stepDefinition.getStepAsString()),
+                stepDefinition.getMatchTokens().size() - 1, "", List.of(), stepDefinition, true);
+    }
+
+    private static Location location(String documentUri, int line)
+    {
+        return new Location(documentUri, new Range(new Position(line, 0), new Position(line + 1, 0)));
+    }
+
+    private static StepDefinition createStepDefinition(String step, int id)
+    {
+        StepDefinition stepDefinition = new StepDefinition("module", step, "", List.of(), List.of(step));
+        stepDefinition.setId(id);
+        return stepDefinition;
+    }
+}
@@ -0,0 +1,72 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.model.IndexedSteps;
+import org.vividus.studio.plugin.model.ResolvedStepDefinition;
+import org.vividus.studio.plugin.model.Step;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepType;
+
+class StepUsageIndexTests
+{
+    private final StepDefinition first = createStepDefinition("Given first step", 0);
+    private final StepDefinition second = createStepDefinition("Given second step", 1);
+    private final StepDefinition unknown = createStepDefinition("Given unknown step", 5);
+
+    @Test
+    void shouldCountStepUsages()
+    {
+        var stepUsageIndex = new StepUsageIndex();
+        IndexedSteps firstFile = index(first, second, second);
+        IndexedSteps secondFile = index(second);
+
+        stepUsageIndex.onIndexChanged(List.of(), List.of(firstFile, secondFile));
+        ToIntFunction<StepDefinition> usageCounts = stepUsageIndex.getUsageCounts();
+        assertEquals(1, usageCounts.applyAsInt(first));
+        assertEquals(3, usageCounts.applyAsInt(second));
+        assertEquals(0, usageCounts.applyAsInt(unknown));
+
+        stepUsageIndex.onIndexChanged(List.of(firstFile), List.of(index(first)));
+        assertEquals(1, stepUsageIndex.getUsageCounts().applyAsInt(second));
+        assertEquals(3, usageCounts.applyAsInt(second));
+    }
+
+    private static IndexedSteps index(StepDefinition... stepDefinitions)
+    {
+        return IndexedSteps.of("file:///test.story", List.of(stepDefinitions).stream()
+                .map(sd -> new ResolvedStepDefinition(new Step(0, StepType.GIVEN, sd.getStepAsString()),
+                        sd.getMatchTokens().size() - 1, "", List.of(), sd, true))
+                .toList());
+    }
+
+    private static StepDefinition createStepDefinition(String step, int id)
+    {
+        StepDefinition stepDefinition = new StepDefinition("module", step, "", List.of(), List.of(step));
+        stepDefinition.setId(id);
+        return stepDefinition;
+    }
+}
@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,19 +22,24 @@ package org.vividus.studio.plugin.service;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
@@ -47,17 +52,26 @@ import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.CompletionContext;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
 import org.eclipse.lsp4j.CompletionTriggerKind;
+import org.eclipse.lsp4j.DefinitionParams;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ReferenceContext;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
-import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,9 +83,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
 import org.vividus.studio.plugin.document.TextDocumentEventListener;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
 import org.vividus.studio.plugin.factory.CodeActionFactory;
 import org.vividus.studio.plugin.loader.IJavaProjectLoader;
+import org.vividus.studio.plugin.metrics.OperationStatistics;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
 import org.vividus.studio.plugin.model.StepDefinition;
 
 @ExtendWith(MockitoExtension.class)
@@ -87,14 +105,24 @@ class VividusStudioTextDocumentServiceTests
     @Mock private ClientNotificationService clientNotificationService;
     @Mock private IJavaProjectLoader projectLoader;
     @Mock private VividusStudioEnvronment vividusStudioConfiguration;
+    @Mock private TextDocumentProvider textDocumentProvider;
+    @Mock private WorkspaceStepIndex workspaceStepIndex;
+    @Mock private StepReferenceIndex stepReferenceIndex;
+    @Mock private StepDefinitionLocator stepDefinitionLocator;
+    @Mock private StepHoverService stepHoverService;
+    @Mock private DiagnosticsService diagnosticsService;
     @InjectMocks private VividusStudioTextDocumentService textDocumentService;
 
+    private final RequestMetrics requestMetrics = new RequestMetrics(new VividusStudioSettings());
+
     @BeforeEach
     void init()
     {
         this.textDocumentService = new VividusStudioTextDocumentService(completionItemService,
                 Set.of(textDocumentEventListener), semanticTokensService, codeActionFactory, stepDefinitionsProvider,
-                clientNotificationService, projectLoader, vividusStudioConfiguration);
+                clientNotificationService, projectLoader, vividusStudioConfiguration, textDocumentProvider,
+                new RequestExecutor(new VividusStudioSettings(), requestMetrics), requestMetrics, workspaceStepIndex,
+                stepReferenceIndex, stepDefinitionLocator, stepHoverService, diagnosticsService);
     }
 
     @Test
@@ -102,7 +130,7 @@ class VividusStudioTextDocumentServiceTests
     {
         CompletionParams params = mock();
         CompletionContext context = mock();
-        CompletionItem item = mockCompletionItem("text");
+        CompletionItem item = mock();
         TextDocumentIdentifier identifier = mock();
         Position position = mock();
 
@@ -111,9 +139,10 @@ class VividusStudioTextDocumentServiceTests
         when(params.getTextDocument()).thenReturn(identifier);
         when(identifier.getUri()).thenReturn(TEXT_DOCUMENT_IDENTIFIER);
         when(params.getPosition()).thenReturn(position);
-        when(completionItemService.findAllAtPosition(TEXT_DOCUMENT_IDENTIFIER, position)).thenReturn(List.of(item));
+        when(completionItemService.findAllAtPosition(eq(TEXT_DOCUMENT_IDENTIFIER), eq(position), eq(false), any()))
+                .thenReturn(new CompletionList(List.of(item)));
 
-        List<CompletionItem> items = textDocumentService.completion(params).get().getLeft();
+        List<CompletionItem> items = textDocumentService.completion(params).get().getRight().getItems();
 
         assertEquals(List.of(item), items);
         verifyNoMoreInteractions(completionItemService, context, params, item);
@@ -123,9 +152,75 @@ class VividusStudioTextDocumentServiceTests
     void testResolveCompletionItem() throws InterruptedException, ExecutionException
     {
         CompletionItem item = mock();
+        CompletionItem resolvedItem = mock();
+        when(completionItemService.resolve(item)).thenReturn(resolvedItem);
         CompletionItem outputItem = textDocumentService.resolveCompletionItem(item).get();
-        assertEquals(item, outputItem);
-        verifyNoInteractions(completionItemService, item);
+        assertEquals(resolvedItem, outputItem);
+        verifyNoInteractions(item);
+    }
+
+    @Test
+    void shouldReturnDocumentDiagnosticReport() throws InterruptedException, ExecutionException
+    {
+        DocumentDiagnosticParams params = new DocumentDiagnosticParams(
+                new TextDocumentIdentifier(TEXT_DOCUMENT_IDENTIFIER));
+        params.setPreviousResultId("1-1-1");
+        DocumentDiagnosticReport report = new DocumentDiagnosticReport(
+                new RelatedFullDocumentDiagnosticReport(List.of()));
+        when(diagnosticsService.diagnose(TEXT_DOCUMENT_IDENTIFIER, "1-1-1")).thenReturn(report);
+
+        assertSame(report, textDocumentService.diagnostic(params).get());
+    }
+
+    @Test
+    void shouldFindReferences() throws InterruptedException, ExecutionException
+    {
+        ReferenceParams params = mock();
+        TextDocumentIdentifier identifier = mock();
+        Position position = mock();
+        Location location = mock();
+        when(params.getTextDocument()).thenReturn(identifier);
+        when(identifier.getUri()).thenReturn(TEXT_DOCUMENT_IDENTIFIER);
+        when(params.getPosition()).thenReturn(position);
+        when(params.getContext()).thenReturn(new ReferenceContext(true));
+        when(stepReferenceIndex.findReferences(eq(TEXT_DOCUMENT_IDENTIFIER), eq(position), eq(true), any()))
+                .thenReturn(List.of(location));
+
+        List<? extends Location> references = textDocumentService.references(params).get();
+
+        assertEquals(List.of(location), references);
+    }
+
+    @Test
+    void shouldFindDefinition() throws InterruptedException, ExecutionException
+    {
+        DefinitionParams params = mock();
+        TextDocumentIdentifier identifier = mock();
+        Position position = mock();
+        Location location = mock();
+        when(params.getTextDocument()).thenReturn(identifier);
+        when(identifier.getUri()).thenReturn(TEXT_DOCUMENT_IDENTIFIER);
+        when(params.getPosition()).thenReturn(position);
+        when(stepDefinitionLocator.findDefinition(TEXT_DOCUMENT_IDENTIFIER, position)).thenReturn(List.of(location));
+
+        List<? extends Location> definitions = textDocumentService.definition(params).get().getLeft();
+
+        assertEquals(List.of(location), definitions);
+    }
+
+    @Test
+    void shouldCreateHover() throws InterruptedException, ExecutionException
+    {
+        HoverParams params = mock();
+        TextDocumentIdentifier identifier = mock();
+        Position position = mock();
+        Hover hover = mock();
+        when(params.getTextDocument()).thenReturn(identifier);
+        when(identifier.getUri()).thenReturn(TEXT_DOCUMENT_IDENTIFIER);
+        when(params.getPosition()).thenReturn(position);
+        when(stepHoverService.hover(TEXT_DOCUMENT_IDENTIFIER, position)).thenReturn(Optional.of(hover));
+
+        assertEquals(hover, textDocumentService.hover(params).get());
     }
 
     @Test
@@ -169,15 +264,16 @@ class VividusStudioTextDocumentServiceTests
 
     @ParameterizedTest
     @CsvSource({
-        "'', 0",
-        "new text, 1"
+        "O,        10, true",
+        "new text, 10, false",
+        "O,        5,  false"
     })
-    void shouldFilterCompletionItemsBasedOnInvocationType(String newText, int expectedSize)
+    void shouldDetectCompletionInvokedOnTyping(String newText, int changeCharacter, boolean invokedOnTyping)
             throws InterruptedException, ExecutionException
     {
         CompletionParams params = mock();
         CompletionContext context = mock();
-        CompletionItem item = mockCompletionItem(newText);
+        CompletionItem item = mock();
         TextDocumentIdentifier identifier = mock();
         Position position = spy();
         when(position.getCharacter()).thenReturn(11);
@@ -187,14 +283,16 @@ class VividusStudioTextDocumentServiceTests
         when(params.getTextDocument()).thenReturn(identifier);
         when(identifier.getUri()).thenReturn(TEXT_DOCUMENT_IDENTIFIER);
         when(params.getPosition()).thenReturn(position);
-        when(completionItemService.findAllAtPosition(TEXT_DOCUMENT_IDENTIFIER, position)).thenReturn(List.of(item));
+        when(completionItemService.findAllAtPosition(eq(TEXT_DOCUMENT_IDENTIFIER), eq(position), eq(invokedOnTyping),
+                any()))
+                .thenReturn(new CompletionList(List.of(item)));
 
-        DidChangeTextDocumentParams docParams = mockDidChange("O", 10);
+        DidChangeTextDocumentParams docParams = mockDidChange(newText, changeCharacter);
         textDocumentService.didChange(docParams);
 
-        List<CompletionItem> items = textDocumentService.completion(params).get().getLeft();
+        List<CompletionItem> items = textDocumentService.completion(params).get().getRight().getItems();
 
-        assertThat(items, hasSize(expectedSize));
+        assertEquals(List.of(item), items);
     }
 
     @Test
@@ -234,6 +332,21 @@ class VividusStudioTextDocumentServiceTests
         assertEquals(List.of(stepAsString), steps);
     }
 
+    @Test
+    void shouldReturnMetricsOfExecutedRequests() throws InterruptedException, ExecutionException
+    {
+        when(stepDefinitionsProvider.getStepDefinitions()).thenReturn(Stream.of());
+
+        textDocumentService.getSteps().get();
+
+        List<OperationStatistics> metrics = textDocumentService.metrics().get();
+        assertThat(metrics, hasSize(1));
+        OperationStatistics statistics = metrics.get(0);
+        assertEquals("vividus/getSteps", statistics.getOperation());
+        assertEquals(1, statistics.getCount());
+        assertEquals(0, statistics.getFailures());
+    }
+
     @Test
     void shouldRefreshProject() throws Exception
     {
@@ -248,17 +361,33 @@ class VividusStudioTextDocumentServiceTests
             messageConsumer.accept(message);
             return null;
         }).when(projectLoader).reload(eq(project), any(), any());
-        InOrder order = inOrder(clientNotificationService, projectLoader, stepDefinitionsProvider);
+        InOrder order = inOrder(clientNotificationService, projectLoader, stepDefinitionsProvider, workspaceStepIndex);
 
         textDocumentService.refreshProject().get();
 
         order.verify(clientNotificationService).startProgress(token, "Refresh", "Refreshing...");
         order.verify(projectLoader).reload(eq(project), any(), any());
         order.verify(clientNotificationService).progress(token, message);
-        order.verify(stepDefinitionsProvider).refresh();
+        order.verify(stepDefinitionsProvider).refresh(any());
+        order.verify(workspaceStepIndex).rebuild();
         order.verify(clientNotificationService).endProgress(token, "Completed");
     }
 
+    @Test
+    void shouldCancelProjectRefreshBeforeProgressIsCreated()
+    {
+        CompletableFuture<Either<String, Integer>> progress = new CompletableFuture<>();
+        when(clientNotificationService.createProgress()).thenReturn(progress);
+
+        CompletableFuture<Void> refresh = textDocumentService.refreshProject();
+        verify(clientNotificationService, timeout(1000)).createProgress();
+        refresh.cancel(true);
+        progress.complete(Either.forLeft("token"));
+
+        assertThrows(CancellationException.class, refresh::join);
+        verifyNoInteractions(projectLoader, stepDefinitionsProvider, workspaceStepIndex);
+    }
+
     private static DidChangeTextDocumentParams mockDidChange(String text, int character)
     {
         DidChangeTextDocumentParams docParams = mock();
@@ -272,13 +401,4 @@ class VividusStudioTextDocumentServiceTests
         when(position.getCharacter()).thenReturn(character);
         return docParams;
     }
-
-    private static CompletionItem mockCompletionItem(String text)
-    {
-        CompletionItem item = mock();
-        TextEdit textEdit = mock();
-        when(item.getTextEdit()).thenReturn(Either.forLeft(textEdit));
-        when(textEdit.getNewText()).thenReturn(text);
-        return item;
-    }
 }
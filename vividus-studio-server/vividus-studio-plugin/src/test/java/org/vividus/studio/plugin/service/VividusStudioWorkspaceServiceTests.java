@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2021 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,16 +19,27 @@
 
 package org.vividus.studio.plugin.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
 import org.junit.jupiter.api.Test;
 import org.vividus.studio.plugin.command.ICommand;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.metrics.RequestMetrics;
 
 class VividusStudioWorkspaceServiceTests
 {
@@ -39,11 +50,41 @@ class VividusStudioWorkspaceServiceTests
         var commandKey = "command-key";
         when(command.getName()).thenReturn(commandKey);
 
-        var params = new ExecuteCommandParams(commandKey, List.of());
+        List<Object> arguments = List.of("argument");
+        var params = new ExecuteCommandParams(commandKey, arguments);
 
-        var service = new VividusStudioWorkspaceService(Set.of(command));
+        var service = new VividusStudioWorkspaceService(Set.of(command), null, null, null);
         service.executeCommand(params);
 
-        verify(command).execute();
+        verify(command).execute(arguments);
+    }
+
+    @Test
+    void shouldReindexChangedFiles()
+    {
+        WorkspaceStepIndex workspaceStepIndex = mock();
+        List<FileEvent> changes = List.of(new FileEvent("file:///project/src/main/resources/story/test.story",
+                FileChangeType.Changed));
+
+        var service = new VividusStudioWorkspaceService(Set.of(), workspaceStepIndex, null, null);
+        service.didChangeWatchedFiles(new DidChangeWatchedFilesParams(changes));
+
+        verify(workspaceStepIndex).onFilesChanged(changes);
+    }
+
+    @Test
+    void shouldDiagnoseWorkspace() throws InterruptedException, ExecutionException
+    {
+        WorkspaceDiagnosticsService workspaceDiagnosticsService = mock();
+        WorkspaceDiagnosticParams params = new WorkspaceDiagnosticParams();
+        WorkspaceDiagnosticReport report = new WorkspaceDiagnosticReport(List.of());
+        when(workspaceDiagnosticsService.diagnose(eq(params), any())).thenReturn(report);
+        var settings = new VividusStudioSettings();
+        var requestExecutor = new RequestExecutor(settings, new RequestMetrics(settings));
+
+        var service = new VividusStudioWorkspaceService(Set.of(), null, requestExecutor,
+                workspaceDiagnosticsService);
+
+        assertEquals(report, service.diagnostic(params).get());
     }
 }
@@ -0,0 +1,190 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.PreviousResultId;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReportPartialResult;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.factory.DiagnosticFactory;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class WorkspaceDiagnosticsServiceTests
+{
+    private static final String GIVEN_STEP = "Given random value";
+
+    @Mock private TextDocumentProvider textDocumentProvider;
+    @Mock private DiagnosticsService diagnosticsService;
+    @Mock private VividusStudioEnvronment vividusStudioEnvironment;
+    @Mock private ClientNotificationService clientNotificationService;
+    @Mock private CancelChecker cancelChecker;
+    @Captor private ArgumentCaptor<WorkspaceDiagnosticReportPartialResult> partialResultCaptor;
+    @TempDir private Path projectFolder;
+
+    private String storyUri;
+    private String stepsUri;
+    private WorkspaceDiagnosticsService workspaceDiagnosticsService;
+
+    @BeforeEach
+    void init() throws IOException
+    {
+        var resolver = new StepDefinitionResolver(textDocumentProvider, null, null);
+        resolver.refresh(List.of(new StepDefinition("module", GIVEN_STEP, "documentation", List.of(),
+                List.of(GIVEN_STEP))));
+        workspaceDiagnosticsService = new WorkspaceDiagnosticsService(resolver, new DiagnosticFactory(),
+                diagnosticsService, vividusStudioEnvironment, clientNotificationService, Runnable::run);
+
+        IProject project = mock();
+        IPath location = mock();
+        when(project.getLocation()).thenReturn(location);
+        when(location.toString()).thenReturn(projectFolder.toString());
+        when(vividusStudioEnvironment.getJavaProject()).thenReturn(mock(IJavaProject.class));
+        when(vividusStudioEnvironment.getProject()).thenReturn(project);
+        when(diagnosticsService.diagnoseInWorkspace(anyString(), any())).thenReturn(Optional.empty());
+
+        Path resourcesFolder = Files.createDirectories(projectFolder.resolve("src/main/resources/story"));
+        Path story = Files.write(resourcesFolder.resolve("first.story"), List.of("Scenario: first", GIVEN_STEP,
+                "When I do unknown action"));
+        Path steps = Files.write(resourcesFolder.resolve("steps.steps"), List.of("Composite: Given composite",
+                GIVEN_STEP));
+        Files.write(resourcesFolder.resolve("notes.txt"), List.of("When I do unknown action"));
+        storyUri = story.toUri().toString();
+        stepsUri = steps.toUri().toString();
+    }
+
+    @Test
+    void shouldReportDiagnosticsOfAllProjectFiles()
+    {
+        WorkspaceDiagnosticReport report = workspaceDiagnosticsService.diagnose(new WorkspaceDiagnosticParams(),
+                cancelChecker);
+
+        Map<String, WorkspaceFullDocumentDiagnosticReport> reports = toFullReports(report.getItems());
+        assertEquals(List.of(storyUri, stepsUri).stream().sorted().toList(),
+                reports.keySet().stream().sorted().toList());
+        List<Diagnostic> diagnostics = reports.get(storyUri).getItems();
+        assertEquals(1, diagnostics.size());
+        Diagnostic diagnostic = diagnostics.get(0);
+        assertEquals(DiagnosticSeverity.Error, diagnostic.getSeverity());
+        assertEquals(2, diagnostic.getRange().getStart().getLine());
+        verify(cancelChecker, times(2)).checkCanceled();
+        verifyNoInteractions(clientNotificationService);
+    }
+
+    @Test
+    void shouldReportUnchangedFiles() throws IOException
+    {
+        WorkspaceDiagnosticReport report = workspaceDiagnosticsService.diagnose(new WorkspaceDiagnosticParams(),
+                cancelChecker);
+        List<PreviousResultId> previousResultIds = toFullReports(report.getItems()).values().stream()
+                .map(r -> new PreviousResultId(r.getUri(), r.getResultId()))
+                .toList();
+        Files.write(Path.of(URI.create(stepsUri)), List.of("Composite: Given composite", "When unknown"));
+
+        WorkspaceDiagnosticReport nextReport = workspaceDiagnosticsService.diagnose(
+                new WorkspaceDiagnosticParams(previousResultIds), cancelChecker);
+
+        List<WorkspaceDocumentDiagnosticReport> items = nextReport.getItems();
+        assertEquals(2, items.size());
+        WorkspaceDocumentDiagnosticReport unchanged = items.stream().filter(Either::isRight).findFirst().get();
+        assertEquals(storyUri, unchanged.getRight().getUri());
+        WorkspaceDocumentDiagnosticReport changed = items.stream().filter(Either::isLeft).findFirst().get();
+        assertEquals(stepsUri, changed.getLeft().getUri());
+        assertEquals(1, changed.getLeft().getItems().size());
+    }
+
+    @Test
+    void shouldSendReportsAsPartialResults()
+    {
+        Either<String, Integer> token = Either.forLeft("token");
+        WorkspaceDiagnosticParams params = new WorkspaceDiagnosticParams();
+        params.setPartialResultToken(token);
+
+        WorkspaceDiagnosticReport report = workspaceDiagnosticsService.diagnose(params, cancelChecker);
+
+        assertTrue(report.getItems().isEmpty());
+        verify(clientNotificationService).reportPartialResult(eq(token), partialResultCaptor.capture());
+        assertEquals(2, partialResultCaptor.getValue().getItems().size());
+    }
+
+    @Test
+    void shouldReportDiagnosticsOfOpenedDocumentsCalculatedForTheirVersion()
+    {
+        WorkspaceFullDocumentDiagnosticReport openDocumentReport = new WorkspaceFullDocumentDiagnosticReport(
+                List.of(), storyUri, 3);
+        openDocumentReport.setResultId("1-3-1");
+        when(diagnosticsService.diagnoseInWorkspace(storyUri, "previous")).thenReturn(
+                Optional.of(new WorkspaceDocumentDiagnosticReport(openDocumentReport)));
+
+        WorkspaceDiagnosticReport report = workspaceDiagnosticsService.diagnose(
+                new WorkspaceDiagnosticParams(List.of(new PreviousResultId(storyUri, "previous"))), cancelChecker);
+
+        assertSame(openDocumentReport, toFullReports(report.getItems()).get(storyUri));
+    }
+
+    private static Map<String, WorkspaceFullDocumentDiagnosticReport> toFullReports(
+            List<WorkspaceDocumentDiagnosticReport> items)
+    {
+        return items.stream()
+                .map(Either::getLeft)
+                .collect(Collectors.toMap(WorkspaceFullDocumentDiagnosticReport::getUri, Function.identity()));
+    }
+}
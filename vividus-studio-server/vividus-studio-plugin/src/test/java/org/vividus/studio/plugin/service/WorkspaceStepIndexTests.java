@@ -0,0 +1,205 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioEnvronment;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.model.IndexedSteps;
+import org.vividus.studio.plugin.model.StepDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class WorkspaceStepIndexTests
+{
+    private static final String GIVEN_STEP = "Given random value";
+    private static final String WHEN_STEP = "When I refresh page";
+    private static final String THEN_STEP = "Then page is loaded";
+    private static final String STORY = "first.story";
+
+    @Mock private TextDocumentProvider textDocumentProvider;
+    @Mock private VividusStudioEnvronment vividusStudioEnvironment;
+    @TempDir private Path projectFolder;
+
+    private final StepDefinition givenStep = createStepDefinition(GIVEN_STEP);
+    private final StepDefinition whenStep = createStepDefinition(WHEN_STEP);
+    private final StepDefinition thenStep = createStepDefinition(THEN_STEP);
+    private final StepUsageIndex stepUsageIndex = new StepUsageIndex();
+    private StepDefinitionResolver resolver;
+    private Path resourcesFolder;
+    private WorkspaceStepIndex workspaceStepIndex;
+
+    @BeforeEach
+    void init() throws IOException
+    {
+        resolver = new StepDefinitionResolver(textDocumentProvider, null, null);
+        resolver.refresh(List.of(givenStep, whenStep, thenStep));
+        workspaceStepIndex = new WorkspaceStepIndex(resolver, textDocumentProvider, vividusStudioEnvironment,
+                Set.of(stepUsageIndex), Runnable::run);
+
+        IProject project = mock();
+        IPath location = mock();
+        when(project.getLocation()).thenReturn(location);
+        when(location.toString()).thenReturn(projectFolder.toString());
+        when(vividusStudioEnvironment.getProject()).thenReturn(project);
+
+        resourcesFolder = Files.createDirectories(projectFolder.resolve("src/main/resources/story"));
+        Files.write(resourcesFolder.resolve(STORY), List.of("Scenario: first", GIVEN_STEP, WHEN_STEP,
+                WHEN_STEP));
+        Files.write(resourcesFolder.resolve("steps.steps"), List.of("Composite: Given composite", WHEN_STEP));
+        Files.write(resourcesFolder.resolve("notes.txt"), List.of(THEN_STEP));
+    }
+
+    @Test
+    void shouldIndexStepsInProjectResources()
+    {
+        workspaceStepIndex.rebuild();
+
+        Map<Path, IndexedSteps> indexedFiles = workspaceStepIndex.getIndexedFiles();
+        assertEquals(Set.of(resourcesFolder.resolve(STORY), resourcesFolder.resolve("steps.steps")),
+                indexedFiles.keySet());
+        IndexedSteps story = indexedFiles.get(resourcesFolder.resolve(STORY));
+        assertEquals(resourcesFolder.resolve(STORY).toUri().toString(), story.getDocumentUri());
+        assertEquals(3, story.size());
+        assertEquals(givenStep.getId(), story.getStepDefinitionId(0));
+        assertEquals(1, story.getLine(0));
+        assertEquals(whenStep.getId(), story.getStepDefinitionId(2));
+        assertEquals(3, story.getLine(2));
+
+        ToIntFunction<StepDefinition> usageCounts = stepUsageIndex.getUsageCounts();
+        assertEquals(1, usageCounts.applyAsInt(givenStep));
+        assertEquals(3, usageCounts.applyAsInt(whenStep));
+        assertEquals(0, usageCounts.applyAsInt(thenStep));
+    }
+
+    @Test
+    void shouldIndexOnlyFullyMatchedSteps() throws IOException
+    {
+        Path story = resourcesFolder.resolve(STORY);
+        Files.write(story, List.of("Scenario: unfinished", "Given random", "When I refresh pa", GIVEN_STEP));
+
+        workspaceStepIndex.rebuild();
+
+        IndexedSteps indexed = workspaceStepIndex.getIndexedFiles().get(story);
+        assertEquals(1, indexed.size());
+        assertEquals(givenStep.getId(), indexed.getStepDefinitionId(0));
+        assertEquals(3, indexed.getLine(0));
+        assertEquals(1, stepUsageIndex.getUsageCounts().applyAsInt(givenStep));
+        assertEquals(1, stepUsageIndex.getUsageCounts().applyAsInt(whenStep));
+    }
+
+    @Test
+    void shouldReindexFilesChangedOnFileSystem() throws IOException
+    {
+        workspaceStepIndex.rebuild();
+
+        when(vividusStudioEnvironment.getJavaProject()).thenReturn(mock(IJavaProject.class));
+        Path story = resourcesFolder.resolve(STORY);
+        Files.write(story, List.of("Scenario: first", THEN_STEP));
+        Path created = resourcesFolder.resolve("created.story");
+        Files.write(created, List.of("Scenario: created", GIVEN_STEP));
+        Path composite = resourcesFolder.resolve("steps.steps");
+
+        workspaceStepIndex.onFilesChanged(List.of(
+            new FileEvent(story.toUri().toString(), FileChangeType.Changed),
+            new FileEvent(created.toUri().toString(), FileChangeType.Created),
+            new FileEvent(composite.toUri().toString(), FileChangeType.Deleted)
+        ));
+
+        assertEquals(Set.of(story, created), workspaceStepIndex.getIndexedFiles().keySet());
+        ToIntFunction<StepDefinition> usageCounts = stepUsageIndex.getUsageCounts();
+        assertEquals(1, usageCounts.applyAsInt(givenStep));
+        assertEquals(0, usageCounts.applyAsInt(whenStep));
+        assertEquals(1, usageCounts.applyAsInt(thenStep));
+    }
+
+    @Test
+    void shouldReindexSavedFile()
+    {
+        workspaceStepIndex.rebuild();
+
+        String uri = resourcesFolder.resolve(STORY).toUri().toString();
+        when(vividusStudioEnvironment.getJavaProject()).thenReturn(mock(IJavaProject.class));
+        when(textDocumentProvider.getTextDocument(uri)).thenReturn(List.of("Scenario: first", THEN_STEP));
+        workspaceStepIndex.onSave(new DidSaveTextDocumentParams(new TextDocumentIdentifier(uri)));
+
+        ToIntFunction<StepDefinition> usageCounts = stepUsageIndex.getUsageCounts();
+        assertEquals(0, usageCounts.applyAsInt(givenStep));
+        assertEquals(1, usageCounts.applyAsInt(whenStep));
+        assertEquals(1, usageCounts.applyAsInt(thenStep));
+    }
+
+    @Test
+    void shouldReindexAllFilesOnceStepDefinitionsAreChanged() throws IOException
+    {
+        String compositeStep = "Then composite step is used";
+        Files.write(resourcesFolder.resolve("second.story"), List.of("Scenario: second", compositeStep));
+        workspaceStepIndex.rebuild();
+
+        when(vividusStudioEnvironment.getJavaProject()).thenReturn(mock(IJavaProject.class));
+        StepDefinition compositeStepDefinition = createStepDefinition(compositeStep);
+        resolver.refresh(List.of(compositeStepDefinition));
+
+        ToIntFunction<StepDefinition> usageCounts = stepUsageIndex.getUsageCounts();
+        assertEquals(1, usageCounts.applyAsInt(compositeStepDefinition));
+        assertEquals(3, usageCounts.applyAsInt(whenStep));
+    }
+
+    @Test
+    void shouldIgnoreSavedFilesOutsideProjectResources()
+    {
+        String uri = projectFolder.resolve("outside.story").toUri().toString();
+        when(vividusStudioEnvironment.getJavaProject()).thenReturn(mock(IJavaProject.class));
+
+        workspaceStepIndex.onSave(new DidSaveTextDocumentParams(new TextDocumentIdentifier(uri)));
+
+        assertEquals(0, stepUsageIndex.getUsageCounts().applyAsInt(givenStep));
+        verifyNoInteractions(textDocumentProvider);
+    }
+
+    private static StepDefinition createStepDefinition(String step)
+    {
+        return new StepDefinition("module", step, "", List.of(), List.of(step));
+    }
+}
@@ -0,0 +1,57 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class JavaSourceUtilsTests
+{
+    @Test
+    @SuppressWarnings("AvoidEscapedUnicodeCharacters")
+    void shouldConvertValueToStringLiterals()
+    {
+        assertEquals(Set.of("\"I paint \\\"$object\\\"\\tin \\\\ \u00e9cru\"",
+                "\"I paint \\\"$object\\\"\\tin \\\\ \\u00e9cru\""),
+                JavaSourceUtils.toStringLiterals("I paint \"$object\"\tin \\ \u00e9cru"));
+        assertEquals(Set.of("\"I paint $object\""), JavaSourceUtils.toStringLiterals("I paint $object"));
+    }
+
+    @Test
+    void shouldGetParameterCountFromSignature()
+    {
+        assertEquals(2, JavaSourceUtils.getParameterCount("(Ljava.util.List<Ljava.lang.String;>;I)V"));
+        assertEquals(0, JavaSourceUtils.getParameterCount("()V"));
+        assertEquals(-1, JavaSourceUtils.getParameterCount(null));
+        assertEquals(-1, JavaSourceUtils.getParameterCount("V"));
+    }
+
+    @Test
+    void shouldCountDeclaredParameters()
+    {
+        String declaration = "void paint(@Named(\"a, b\") Map<String, List<Integer>> objects, int... times)";
+        assertEquals(2, JavaSourceUtils.countParameters(declaration, declaration.indexOf('(')));
+        assertEquals(0, JavaSourceUtils.countParameters("void paint( )", 10));
+        assertEquals(-1, JavaSourceUtils.countParameters("void paint(String", 10));
+    }
+}
@@ -0,0 +1,50 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ResourceUtilsTests
+{
+    @ParameterizedTest
+    @CsvSource({
+        "file:///c%3A/project/my%20story.story, file:///C:/project/my%20story.story",
+        "file:///C:/project/my%20story.story,   file:///C:/project/my%20story.story",
+        "file:/project/%5Bdraft%5D.story,       file:///project/%5Bdraft%5D.story",
+        "untitled:Untitled-1,                   untitled:Untitled-1"
+    })
+    void shouldNormalizeUri(String uri, String expected)
+    {
+        assertEquals(expected, ResourceUtils.normalizeUri(uri));
+    }
+
+    @Test
+    void shouldBuildNormalizedUriOfFile()
+    {
+        Path file = Path.of("project", "my story.story").toAbsolutePath();
+        assertEquals(file.toUri().toString(), ResourceUtils.toUri(file));
+    }
+}
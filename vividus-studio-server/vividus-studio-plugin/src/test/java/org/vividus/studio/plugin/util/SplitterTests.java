@@ -1,7 +1,7 @@
 /*-
  * *
  * *
- * Copyright (C) 2020 - 2023 the original author or authors.
+ * Copyright (C) 2020 - 2026 the original author or authors.
  * *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,4 +41,19 @@ class SplitterTests
             ""
         ), actual);
     }
+
+    @Test
+    void shouldFindLineBreaks()
+    {
+        var value = "Home is where\n\n you trust the \r\n\r\ntoilet seat.\u2028";
+        int length = value.length();
+        assertEquals(13, Splitter.indexOfLineBreak(value, 0, length));
+        assertEquals(1, Splitter.lineBreakLength(value, 13, length));
+        assertEquals(30, Splitter.indexOfLineBreak(value, 15, length));
+        assertEquals(2, Splitter.lineBreakLength(value, 30, length));
+        assertEquals(1, Splitter.lineBreakLength(value, 30, 31));
+        assertEquals(-1, Splitter.indexOfLineBreak(value, 0, 13));
+        assertEquals(5, Splitter.countLineBreaks(value));
+        assertEquals(Splitter.split(value).size() - 1, Splitter.countLineBreaks(value));
+    }
 }
@@ -0,0 +1,63 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.model.StepIssue;
+import org.vividus.studio.plugin.model.ValidationReport;
+
+class JUnitValidationReportWriterTests
+{
+    private static final String FIRST_STORY = "first.story";
+    private static final String SECOND_STORY = "second.story";
+
+    @Test
+    void shouldWriteReport() throws IOException
+    {
+        var report = new ValidationReport(List.of(FIRST_STORY, SECOND_STORY), 10, TimeUnit.MILLISECONDS.toNanos(1500),
+                List.of(
+                    new StepIssue(FIRST_STORY, 3, "When I do unknown action", StepIssue.Type.UNRESOLVED),
+                    new StepIssue(SECOND_STORY, 2, "Then deprecated step", StepIssue.Type.DEPRECATED)
+                ));
+        StringWriter writer = new StringWriter();
+
+        new JUnitValidationReportWriter().write(report, writer);
+
+        String xml = writer.toString();
+        assertThat(xml, containsString(
+                "<testsuite name=\"vividus-step-validation\" tests=\"2\" failures=\"1\" errors=\"0\" time=\"1.5\">"));
+        assertThat(xml, containsString("<testcase classname=\"vividus-step-validation\" name=\"first.story\">"
+                + "<failure type=\"UNRESOLVED\" message=\"File contains steps not matching any step definition\">"
+                + "first.story:3 UNRESOLVED: When I do unknown action</failure></testcase>"));
+        assertThat(xml, containsString("<testcase classname=\"vividus-step-validation\" name=\"second.story\">"
+                + "<system-out>second.story:2 DEPRECATED: Then deprecated step</system-out></testcase>"));
+        assertThat(xml, not(containsString("<failure type=\"UNRESOLVED\" message=\"File contains steps not matching "
+                + "any step definition\">second.story")));
+    }
+}
@@ -0,0 +1,62 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.studio.plugin.model.StepIssue;
+import org.vividus.studio.plugin.model.ValidationReport;
+
+class JsonValidationReportWriterTests
+{
+    @Test
+    void shouldWriteReport() throws IOException
+    {
+        var report = new ValidationReport(List.of("first.story", "second.story"), 10, TimeUnit.SECONDS.toNanos(2),
+                List.of(new StepIssue("first.story", 3, "When I do unknown action", StepIssue.Type.UNRESOLVED)));
+        StringWriter writer = new StringWriter();
+
+        new JsonValidationReportWriter().write(report, writer);
+
+        JsonObject json = JsonParser.parseString(writer.toString()).getAsJsonObject();
+        assertEquals(2, json.get("files").getAsInt());
+        assertEquals(10, json.get("steps").getAsInt());
+        assertEquals(2000, json.get("durationMillis").getAsLong());
+        assertEquals(1.0, json.get("filesPerSecond").getAsDouble());
+        assertEquals(5.0, json.get("stepsPerSecond").getAsDouble());
+        JsonArray issues = json.getAsJsonArray("issues");
+        assertEquals(1, issues.size());
+        JsonObject issue = issues.get(0).getAsJsonObject();
+        assertEquals("first.story", issue.get("file").getAsString());
+        assertEquals(3, issue.get("line").getAsInt());
+        assertEquals("UNRESOLVED", issue.get("type").getAsString());
+        assertEquals("When I do unknown action", issue.get("step").getAsString());
+    }
+}
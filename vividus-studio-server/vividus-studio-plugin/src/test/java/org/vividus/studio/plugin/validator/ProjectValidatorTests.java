@@ -0,0 +1,124 @@
+/*-
+ * *
+ * *
+ * Copyright (C) 2020 - 2026 the original author or authors.
+ * *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * *
+ */
+
+package org.vividus.studio.plugin.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.studio.plugin.configuration.VividusStudioSettings;
+import org.vividus.studio.plugin.document.TextDocumentProvider;
+import org.vividus.studio.plugin.model.StepDefinition;
+import org.vividus.studio.plugin.model.StepIssue;
+import org.vividus.studio.plugin.model.ValidationReport;
+import org.vividus.studio.plugin.service.StepDefinitionResolver;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectValidatorTests
+{
+    private static final String MODULE = "module";
+    private static final String DOCS = "documentation";
+    private static final String GIVEN_STEP = "Given random value";
+    private static final String DEPRECATED_STEP = "Then deprecated step";
+    private static final String UNKNOWN_STEP = "When I do unknown action";
+
+    @Mock private TextDocumentProvider textDocumentProvider;
+    @Mock private VividusStudioSettings settings;
+    @TempDir private Path resourcesFolder;
+
+    @Test
+    void shouldReportUnresolvedAndDeprecatedSteps() throws IOException
+    {
+        var deprecatedStepDefinition = new StepDefinition(MODULE, DEPRECATED_STEP, DOCS, List.of(),
+                List.of(DEPRECATED_STEP));
+        deprecatedStepDefinition.setDeprecated(true);
+        var resolver = new StepDefinitionResolver(textDocumentProvider, null, null);
+        resolver.refresh(List.of(new StepDefinition(MODULE, GIVEN_STEP, DOCS, List.of(), List.of(GIVEN_STEP)),
+                deprecatedStepDefinition));
+        when(settings.getWorkspaceDiagnosticsThreads()).thenReturn(2);
+
+        Path storyFolder = Files.createDirectories(resourcesFolder.resolve("story"));
+        Files.write(storyFolder.resolve("first.story"), List.of("Scenario: first", GIVEN_STEP, UNKNOWN_STEP));
+        Files.write(storyFolder.resolve("second.story"), List.of("Scenario: second", GIVEN_STEP, DEPRECATED_STEP));
+        Files.write(resourcesFolder.resolve("notes.txt"), List.of(UNKNOWN_STEP));
+
+        ValidationReport report = new ProjectValidator(resolver, settings).validate(resourcesFolder);
+
+        assertEquals(List.of(Path.of("story", "first.story").toString(), Path.of("story", "second.story").toString()),
+                report.getFiles().stream().sorted().collect(Collectors.toList()));
+        assertEquals(4, report.getSteps());
+        List<StepIssue> issues = report.getIssues().stream()
+                .sorted(Comparator.comparing(StepIssue::getFile))
+                .collect(Collectors.toList());
+        assertEquals(2, issues.size());
+        assertIssue(issues.get(0), StepIssue.Type.UNRESOLVED, UNKNOWN_STEP);
+        assertIssue(issues.get(1), StepIssue.Type.DEPRECATED, DEPRECATED_STEP);
+        assertTrue(report.hasUnresolvedSteps());
+        assertTrue(report.getStepsPerSecond() > 0);
+    }
+
+    @Test
+    void shouldNotReportStepsOfLifecycleAndAndSteps() throws IOException
+    {
+        var resolver = new StepDefinitionResolver(textDocumentProvider, null, null);
+        resolver.refresh(List.of(new StepDefinition(MODULE, GIVEN_STEP, DOCS, List.of(), List.of(GIVEN_STEP))));
+        when(settings.getWorkspaceDiagnosticsThreads()).thenReturn(1);
+
+        Files.write(resourcesFolder.resolve("lifecycle.story"), List.of(
+            "Lifecycle:",
+            "Before:",
+            "Scope: STEP",
+            GIVEN_STEP,
+            "After:",
+            "Scope: SCENARIO",
+            "Outcome: ANY",
+            GIVEN_STEP,
+            "Scenario: and steps",
+            GIVEN_STEP,
+            "And random value"
+        ));
+
+        ValidationReport report = new ProjectValidator(resolver, settings).validate(resourcesFolder);
+
+        assertEquals(4, report.getSteps());
+        assertEquals(List.of(), report.getIssues());
+        assertFalse(report.hasUnresolvedSteps());
+    }
+
+    private static void assertIssue(StepIssue issue, StepIssue.Type type, String step)
+    {
+        assertEquals(type, issue.getType());
+        assertEquals(3, issue.getLine());
+        assertEquals(step, issue.getStep());
+    }
+}